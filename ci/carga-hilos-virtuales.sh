@@ -0,0 +1,91 @@
+#!/bin/bash
+
+###############################################################################
+# Script: carga-hilos-virtuales.sh
+# Descripción: Compara rendimiento (solicitudes/s y p99) de /api/citas y
+#              /api/resultados con hilos de plataforma y con hilos virtuales
+# Uso: ./carga-hilos-virtuales.sh [clientes] [segundos]
+# Requiere: JARs compilados (./build-backend.sh) y la base de datos accesible.
+#           Si los endpoints exigen autenticación, exportar TOKEN con un JWT.
+###############################################################################
+
+set -e
+
+# Colores para output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+CLIENTES=${1:-64}
+SEGUNDOS=${2:-30}
+CALENTAMIENTO=10
+
+# Directorio raíz del proyecto
+PROJECT_ROOT="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+LOGS_DIR="$PROJECT_ROOT/logs"
+RESUMEN="$LOGS_DIR/carga-hilos-virtuales.tsv"
+mkdir -p "$LOGS_DIR"
+
+# Inicia un microservicio desde su JAR con el modo indicado y guarda el PID
+start_service() {
+    local service=$1
+    local virtual=$2
+    local jar
+    jar=$(ls "$PROJECT_ROOT/microservicio-$service"/target/*.jar 2>/dev/null | grep -v '\.original$' | head -1)
+    if [ -z "$jar" ]; then
+        echo -e "${RED}❌ No se encontró el JAR de $service. Ejecuta ./build-backend.sh${NC}"
+        exit 1
+    fi
+    java -jar "$jar" --spring.threads.virtual.enabled=$virtual > "$LOGS_DIR/carga-$service.log" 2>&1 &
+    echo $! > "$LOGS_DIR/carga-$service.pid"
+}
+
+# Espera a que el puerto responda (máximo 120 segundos)
+wait_port() {
+    local port=$1
+    for _ in $(seq 1 120); do
+        if curl -s -o /dev/null "http://localhost:$port/"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo -e "${RED}❌ El puerto $port no respondió. Revisa $LOGS_DIR/carga-*.log${NC}"
+    exit 1
+}
+
+stop_service() {
+    local pid_file="$LOGS_DIR/carga-$1.pid"
+    if [ -f "$pid_file" ]; then
+        kill "$(cat "$pid_file")" 2>/dev/null || true
+        rm -f "$pid_file"
+    fi
+}
+
+trap 'stop_service laboratorios; stop_service resultados' EXIT
+
+echo -e "modo\turl\tsolicitudes/s\tp50_ms\tp99_ms\tmax_ms\terrores\trechazadas_429" > "$RESUMEN"
+
+for virtual in false true; do
+    [ "$virtual" = "true" ] && modo="virtual" || modo="plataforma"
+    echo -e "${GREEN}🚀 Modo $modo: iniciando laboratorios (8082) y resultados (8083)...${NC}"
+    start_service laboratorios $virtual
+    start_service resultados $virtual
+    wait_port 8082
+    wait_port 8083
+
+    echo -e "${YELLOW}📈 $CLIENTES clientes, ${CALENTAMIENTO}s de calentamiento y ${SEGUNDOS}s de medición por endpoint${NC}"
+    java "$PROJECT_ROOT/ci/carga/PruebaCarga.java" $modo "http://localhost:8082/api/citas?size=50" \
+        $CLIENTES $SEGUNDOS $CALENTAMIENTO >> "$RESUMEN"
+    java "$PROJECT_ROOT/ci/carga/PruebaCarga.java" $modo "http://localhost:8083/api/resultados?size=50" \
+        $CLIENTES $SEGUNDOS $CALENTAMIENTO >> "$RESUMEN"
+
+    stop_service laboratorios
+    stop_service resultados
+    sleep 3
+done
+
+echo ""
+column -t -s $'\t' "$RESUMEN"
+echo ""
+echo -e "${GREEN}✅ Resumen guardado en $RESUMEN${NC}"
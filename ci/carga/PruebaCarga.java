@@ -0,0 +1,119 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de carga HTTP de lazo cerrado (cada cliente envía la siguiente
+ * solicitud al recibir la respuesta anterior)
+ *
+ * Uso: java PruebaCarga.java <etiqueta> <url> [clientes=64] [segundos=30] [calentamiento=10]
+ * Con la variable TOKEN se envía "Authorization: Bearer $TOKEN".
+ *
+ * Imprime una línea separada por tabuladores: etiqueta, url, solicitudes/s,
+ * p50, p99 y máximo en ms, errores (sin respuesta o 5xx) y rechazadas (429).
+ * Las latencias solo cuentan respuestas 2xx.
+ */
+public class PruebaCarga {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Uso: java PruebaCarga.java <etiqueta> <url> [clientes] [segundos] [calentamiento]");
+            System.exit(1);
+        }
+        String etiqueta = args[0];
+        URI url = URI.create(args[1]);
+        int clientes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int segundos = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        int calentamiento = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+
+        HttpRequest.Builder solicitud = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(60)).GET();
+        String token = System.getenv("TOKEN");
+        if (token != null && !token.isBlank()) {
+            solicitud.header("Authorization", "Bearer " + token);
+        }
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ExecutorService hilos = Executors.newFixedThreadPool(clientes);
+        try {
+            ejecutar(cliente, solicitud.build(), hilos, clientes, calentamiento);
+            Medicion medicion = ejecutar(cliente, solicitud.build(), hilos, clientes, segundos);
+            System.out.println(medicion.resumen(etiqueta, url, segundos));
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private static Medicion ejecutar(HttpClient cliente, HttpRequest solicitud, ExecutorService hilos,
+                                     int clientes, int segundos) throws Exception {
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        AtomicLong errores = new AtomicLong();
+        AtomicLong rechazadas = new AtomicLong();
+        List<Future<long[]>> latenciasPorCliente = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            latenciasPorCliente.add(hilos.submit(() -> {
+                long[] latencias = new long[1024];
+                int total = 0;
+                while (System.nanoTime() < fin) {
+                    long inicio = System.nanoTime();
+                    int estado;
+                    try {
+                        estado = cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        errores.incrementAndGet();
+                        continue;
+                    }
+                    if (estado == 429) {
+                        rechazadas.incrementAndGet();
+                    } else if (estado >= 200 && estado < 300) {
+                        if (total == latencias.length) {
+                            latencias = Arrays.copyOf(latencias, total * 2);
+                        }
+                        latencias[total++] = System.nanoTime() - inicio;
+                    } else {
+                        errores.incrementAndGet();
+                    }
+                }
+                return Arrays.copyOf(latencias, total);
+            }));
+        }
+        long[] todas = new long[0];
+        for (Future<long[]> latencias : latenciasPorCliente) {
+            long[] propias = latencias.get();
+            int previas = todas.length;
+            todas = Arrays.copyOf(todas, previas + propias.length);
+            System.arraycopy(propias, 0, todas, previas, propias.length);
+        }
+        Arrays.sort(todas);
+        return new Medicion(todas, errores.get(), rechazadas.get());
+    }
+
+    private record Medicion(long[] latencias, long errores, long rechazadas) {
+
+        String resumen(String etiqueta, URI url, int segundos) {
+            return String.join("\t", etiqueta, url.toString(),
+                String.format("%.1f", (double) latencias.length / segundos),
+                milisegundos(percentil(0.50)), milisegundos(percentil(0.99)),
+                milisegundos(latencias.length == 0 ? 0 : latencias[latencias.length - 1]),
+                String.valueOf(errores), String.valueOf(rechazadas));
+        }
+
+        private long percentil(double p) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            return latencias[(int) Math.min(latencias.length - 1, Math.ceil(p * latencias.length) - 1)];
+        }
+
+        private static String milisegundos(long nanos) {
+            return String.format("%.1f", nanos / 1_000_000.0);
+        }
+    }
+}
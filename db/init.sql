@@ -3,6 +3,11 @@
 -- Sistema de Gestión de Laboratorios Clínicos
 -- Oracle Database Express Edition (XE)
 -- ========================================
+-- Crea la línea base del esquema (versión 1.1 de las migraciones de Flyway).
+-- Al iniciar, cada microservicio la registra como tal y aplica las migraciones
+-- posteriores de src/main/resources/db/migration (ver db/README.md).
+-- No agregar cambios aquí: van en una migración nueva del servicio dueño.
+-- ========================================
 
 -- Conectarse como SYSTEM
 -- CONN system/Oracle123@XE
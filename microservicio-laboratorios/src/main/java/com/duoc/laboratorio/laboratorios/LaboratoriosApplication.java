@@ -2,6 +2,7 @@ package com.duoc.laboratorio.laboratorios;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal del Microservicio de Gestión de Laboratorios
@@ -16,6 +17,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @version 1.0.0
  */
 @SpringBootApplication
+@EnableScheduling
 public class LaboratoriosApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,46 @@
+package com.duoc.laboratorio.laboratorios.client;
+
+import com.duoc.laboratorio.laboratorios.config.ContextoTraza;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Utilidades comunes de los clientes HTTP hacia los otros microservicios
+ */
+final class ClientesHttp {
+
+    private ClientesHttp() {
+    }
+
+    /**
+     * Cliente con tiempo de espera de conexión y de lectura propio de la dependencia.
+     * Cada llamada lleva el ID de traza de la solicitud en curso.
+     */
+    static RestClient crear(RestClient.Builder builder, String url, Duration timeout) {
+        return builder
+            .baseUrl(url)
+            .requestFactory(fabrica(timeout))
+            .requestInitializer(request -> request.getHeaders().set(ContextoTraza.CABECERA, ContextoTraza.actual()))
+            .build();
+    }
+
+    /**
+     * Reenviar el token del usuario (los otros servicios lo exigen)
+     */
+    static void reenviarAutorizacion(HttpHeaders headers, String autorizacion) {
+        if (autorizacion != null && !autorizacion.isBlank()) {
+            headers.set(HttpHeaders.AUTHORIZATION, autorizacion);
+        }
+    }
+
+    private static ClientHttpRequestFactory fabrica(Duration timeout) {
+        SimpleClientHttpRequestFactory fabrica = new SimpleClientHttpRequestFactory();
+        fabrica.setConnectTimeout(timeout);
+        fabrica.setReadTimeout(timeout);
+        return fabrica;
+    }
+}
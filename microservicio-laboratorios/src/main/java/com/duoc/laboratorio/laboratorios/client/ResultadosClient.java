@@ -0,0 +1,49 @@
+package com.duoc.laboratorio.laboratorios.client;
+
+import com.duoc.laboratorio.laboratorios.dto.ApiResponse;
+import com.duoc.laboratorio.laboratorios.dto.ResultadoCitaDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cliente HTTP del microservicio de resultados
+ */
+@Component
+public class ResultadosClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<List<ResultadoCitaDTO>>> RESPUESTA_RESULTADOS =
+        new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+    private final Duration timeout;
+
+    public ResultadosClient(RestClient.Builder builder,
+                            @Value("${servicios.resultados.url:http://localhost:8083}") String url,
+                            @Value("${servicios.resultados.timeout:3s}") Duration timeout) {
+        this.restClient = ClientesHttp.crear(builder, url, timeout);
+        this.timeout = timeout;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Obtener los resultados de varias citas en una sola petición
+     * (las citas sin resultado no aparecen en la respuesta)
+     */
+    public List<ResultadoCitaDTO> obtenerPorIdsCita(Collection<Long> idsCita, String autorizacion) {
+        ApiResponse<List<ResultadoCitaDTO>> respuesta = restClient.get()
+            .uri(uri -> uri.path("/api/resultados").queryParam("idsCita", idsCita).build())
+            .headers(headers -> ClientesHttp.reenviarAutorizacion(headers, autorizacion))
+            .retrieve()
+            .body(RESPUESTA_RESULTADOS);
+        return respuesta != null && respuesta.getData() != null ? respuesta.getData() : List.of();
+    }
+}
@@ -0,0 +1,52 @@
+package com.duoc.laboratorio.laboratorios.client;
+
+import com.duoc.laboratorio.laboratorios.dto.ApiResponse;
+import com.duoc.laboratorio.laboratorios.dto.PacienteDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cliente HTTP del microservicio de usuarios
+ */
+@Component
+public class UsuariosClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<PacienteDTO>> RESPUESTA_USUARIO =
+        new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+    private final Duration timeout;
+
+    public UsuariosClient(RestClient.Builder builder,
+                          @Value("${servicios.usuarios.url:http://localhost:8081}") String url,
+                          @Value("${servicios.usuarios.timeout:2s}") Duration timeout) {
+        this.restClient = ClientesHttp.crear(builder, url, timeout);
+        this.timeout = timeout;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Obtener un usuario por ID (vacío si no existe)
+     */
+    public Optional<PacienteDTO> obtenerUsuario(Long idUsuario, String autorizacion) {
+        try {
+            ApiResponse<PacienteDTO> respuesta = restClient.get()
+                .uri("/api/usuarios/{id}", idUsuario)
+                .headers(headers -> ClientesHttp.reenviarAutorizacion(headers, autorizacion))
+                .retrieve()
+                .body(RESPUESTA_USUARIO);
+            return Optional.ofNullable(respuesta).map(ApiResponse::getData);
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+}
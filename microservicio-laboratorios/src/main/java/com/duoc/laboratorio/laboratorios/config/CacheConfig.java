@@ -0,0 +1,49 @@
+package com.duoc.laboratorio.laboratorios.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuración de la caché local de catálogos (tipos de análisis y laboratorios)
+ *
+ * Los catálogos cambian pocas veces al día y se consultan en cada carga del
+ * dashboard, por lo que se guardan en memoria acotados por tamaño y TTL.
+ * Los desalojos se difieren hasta el commit de la transacción que modifica los
+ * datos, para que una lectura concurrente no vuelva a cargar la versión anterior.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TIPOS_ANALISIS_ACTIVOS = "tiposAnalisisActivos";
+    public static final String LABORATORIOS_ACTIVOS = "laboratoriosActivos";
+    public static final String LABORATORIOS_POR_ESPECIALIDAD = "laboratoriosPorEspecialidad";
+
+    @Value("${laboratorios.cache.tamano-maximo:500}")
+    private long tamanoMaximo;
+
+    @Value("${laboratorios.cache.ttl:10m}")
+    private Duration ttl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(
+                TIPOS_ANALISIS_ACTIVOS, LABORATORIOS_ACTIVOS, LABORATORIOS_POR_ESPECIALIDAD));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
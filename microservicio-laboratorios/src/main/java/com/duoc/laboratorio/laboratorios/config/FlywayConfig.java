@@ -0,0 +1,99 @@
+package com.duoc.laboratorio.laboratorios.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.flywaydb.core.api.MigrationState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Configuración de las migraciones del esquema al iniciar
+ *
+ * Aplica las migraciones pendientes (o solo verifica, con
+ * esquema.migrar-al-iniciar=false) y detiene el arranque si la versión del
+ * esquema no coincide con las migraciones incluidas en el servicio: pendientes,
+ * modificadas después de aplicarse o aplicadas por una versión más nueva.
+ * Una BD creada con db/init.sql se registra como línea base antes de migrar.
+ */
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    /** Versión del esquema que crea db/init.sql (V1 + V1_1) */
+    static final String VERSION_INIT_SQL = "1.1";
+
+    /** Tabla del servicio que crea db/init.sql */
+    private static final String TABLA_INIT_SQL = "CITAS";
+
+    @Value("${esquema.migrar-al-iniciar:true}")
+    private boolean migrarAlIniciar;
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            if (migrarAlIniciar) {
+                registrarLineaBaseInitSql(flyway);
+                flyway.migrate();
+            }
+            // Falla con migraciones pendientes o con checksum distinto
+            flyway.validate();
+            verificarSinVersionesFuturas(flyway);
+        };
+    }
+
+    /**
+     * Con las tablas del servicio y sin historial, la BD viene de db/init.sql:
+     * se registra la versión 1.1 sin ejecutar V1/V1_1 y migrate() sigue desde
+     * V1_2. Sin esas tablas, baseline-on-migrate registra la versión 0 (el
+     * esquema compartido puede tener tablas de otros servicios) y se aplica
+     * desde V1.
+     */
+    private void registrarLineaBaseInitSql(Flyway flyway) {
+        if (flyway.info().current() != null || !existeTabla(flyway, TABLA_INIT_SQL)) {
+            return;
+        }
+        log.info("{} existe sin historial de migraciones: se registra como versión {} (db/init.sql)",
+            TABLA_INIT_SQL, VERSION_INIT_SQL);
+        Flyway.configure()
+            .configuration(flyway.getConfiguration())
+            .baselineVersion(VERSION_INIT_SQL)
+            .baselineDescription("db/init.sql")
+            .load()
+            .baseline();
+    }
+
+    private boolean existeTabla(Flyway flyway, String tabla) {
+        try (Connection conexion = flyway.getConfiguration().getDataSource().getConnection();
+             ResultSet tablas = conexion.getMetaData().getTables(null, conexion.getSchema(), tabla, null)) {
+            return tablas.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo consultar el esquema para la línea base", e);
+        }
+    }
+
+    /**
+     * validate() ignora por defecto las migraciones de versiones posteriores:
+     * este servicio no conoce ese esquema y no debe arrancar sobre él
+     */
+    private void verificarSinVersionesFuturas(Flyway flyway) {
+        MigrationInfoService info = flyway.info();
+        MigrationInfo[] futuras = Arrays.stream(info.applied())
+            .filter(migracion -> migracion.getState() == MigrationState.FUTURE_SUCCESS)
+            .toArray(MigrationInfo[]::new);
+        if (futuras.length > 0) {
+            throw new IllegalStateException(String.format(
+                "El esquema está en la versión %s, posterior a la última migración de este servicio. " +
+                "Desplegar la versión del servicio que corresponde al esquema",
+                info.current().getVersion()));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.duoc.laboratorio.laboratorios.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Métricas del pool de conexiones (Hikari)
+ *
+ * Hikari acepta un solo MetricsTrackerFactory: este reenvía cada evento al
+ * tracker de Micrometer (hikaricp.connections.* en /actuator/prometheus: activas,
+ * inactivas, hilos en espera, timeouts e histogramas de espera y de uso) y deja
+ * en el log, como WARN, los préstamos que superan pool.uso-prolongado con la
+ * solicitud que retuvo la conexión, para encontrar transacciones largas.
+ */
+@Slf4j
+public class MetricasPoolConexiones implements MetricsTrackerFactory {
+
+    private final long usoProlongadoMs;
+    private final ObjectProvider<MeterRegistry> registroMetricas;
+
+    public MetricasPoolConexiones(Duration usoProlongado, ObjectProvider<MeterRegistry> registroMetricas) {
+        this.usoProlongadoMs = usoProlongado.toMillis();
+        this.registroMetricas = registroMetricas;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        MeterRegistry registro = registroMetricas.getIfAvailable();
+        IMetricsTracker micrometer = registro != null
+            ? new MicrometerMetricsTrackerFactory(registro).create(poolName, poolStats)
+            : new IMetricsTracker() { };
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                micrometer.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                micrometer.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                micrometer.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                if (elapsedBorrowedMillis >= usoProlongadoMs) {
+                    log.warn("Conexión retenida {} ms por {} (hilo {})",
+                        elapsedBorrowedMillis, origen(), Thread.currentThread().getName());
+                }
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                micrometer.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                micrometer.close();
+            }
+        };
+    }
+
+    /**
+     * Solicitud HTTP que devolvió la conexión (Hikari informa el uso al cerrarla,
+     * en el mismo hilo que la usó); en tareas programadas, el nombre del hilo
+     */
+    private static String origen() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos instanceof ServletRequestAttributes servlet) {
+            return servlet.getRequest().getMethod() + " " + servlet.getRequest().getRequestURI();
+        }
+        return "sin solicitud HTTP";
+    }
+}
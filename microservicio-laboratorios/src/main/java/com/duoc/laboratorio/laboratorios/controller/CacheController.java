@@ -0,0 +1,63 @@
+package com.duoc.laboratorio.laboratorios.controller;
+
+import com.duoc.laboratorio.laboratorios.dto.ApiResponse;
+import com.duoc.laboratorio.laboratorios.dto.EstadisticasCacheDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controlador REST para observar la caché local de catálogos
+ *
+ * Endpoints disponibles:
+ * - GET /api/cache/estadisticas - Aciertos, fallos y desalojos por caché
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * GET /api/cache/estadisticas
+     * Obtener estadísticas de aciertos/fallos de cada caché
+     */
+    @GetMapping("/estadisticas")
+    public ResponseEntity<ApiResponse<List<EstadisticasCacheDTO>>> obtenerEstadisticas() {
+        List<EstadisticasCacheDTO> estadisticas = new ArrayList<>();
+        for (String nombre : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nombre);
+            if (cache instanceof TransactionAwareCacheDecorator decorador) {
+                cache = decorador.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativa = caffeineCache.getNativeCache();
+                CacheStats stats = nativa.stats();
+                estadisticas.add(new EstadisticasCacheDTO(
+                    nombre,
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.hitRate(),
+                    stats.evictionCount(),
+                    nativa.estimatedSize()
+                ));
+            }
+        }
+        ApiResponse<List<EstadisticasCacheDTO>> response = ApiResponse.success(
+            "Estadísticas de caché obtenidas exitosamente",
+            estadisticas
+        );
+        return ResponseEntity.ok(response);
+    }
+}
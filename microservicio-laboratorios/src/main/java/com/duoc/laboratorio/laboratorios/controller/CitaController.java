@@ -2,29 +2,57 @@ package com.duoc.laboratorio.laboratorios.controller;
 
 import com.duoc.laboratorio.laboratorios.dto.ApiResponse;
 import com.duoc.laboratorio.laboratorios.dto.CitaDTO;
+import com.duoc.laboratorio.laboratorios.dto.ConsultaPaginaDTO;
+import com.duoc.laboratorio.laboratorios.dto.PaginaDTO;
+import com.duoc.laboratorio.laboratorios.dto.TransicionLoteCitasRequest;
+import com.duoc.laboratorio.laboratorios.dto.TransicionLoteDTO;
+import com.duoc.laboratorio.laboratorios.service.ArchivadorCitas;
+import com.duoc.laboratorio.laboratorios.service.CitaLoteService;
 import com.duoc.laboratorio.laboratorios.service.CitaService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST para gestión de citas
  * 
  * Endpoints disponibles:
  * - POST   /api/citas - Crear cita
+ * - POST   /api/citas/lote - Crear citas por lote (JSON array o NDJSON, respuesta NDJSON)
+ * - POST   /api/citas/archivo - Mover al archivo las citas anteriores al horizonte
  * - GET    /api/citas - Listar todas las citas
  * - GET    /api/citas/{id} - Obtener cita por ID
  * - GET    /api/citas/paciente/{idPaciente} - Obtener citas por paciente
  * - GET    /api/citas/laboratorio/{idLaboratorio} - Obtener citas por laboratorio
  * - GET    /api/citas/laboratorio/{idLaboratorio}/proximas - Obtener próximas citas
  * - GET    /api/citas/estado/{estado} - Obtener citas por estado
+ * - GET    /api/citas/rango?desde&hasta - Obtener citas por rango de fechas
  * - PUT    /api/citas/{id} - Actualizar cita
  * - PUT    /api/citas/{id}/estado - Cambiar estado de cita
+ * - PUT    /api/citas/estado/lote - Cambiar el estado de las citas de un rango
  * - DELETE /api/citas/{id} - Eliminar cita
+ *
+ * Los listados son paginados: ?page=&size= (por página) o ?cursor=&size=
+ * (keyset, con el nextCursor de la respuesta anterior). size se acota a
+ * CitaService.TAMANO_PAGINA_MAXIMO y el total solo se informa con ?total=true.
  */
 @RestController
 @RequestMapping("/api/citas")
@@ -33,6 +61,15 @@ public class CitaController {
     @Autowired
     private CitaService citaService;
 
+    @Autowired
+    private CitaLoteService citaLoteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArchivadorCitas archivadorCitas;
+
     /**
      * POST /api/citas
      * Crear nueva cita
@@ -49,14 +86,56 @@ public class CitaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * POST /api/citas/lote
+     * Crear citas por lote. El cuerpo (arreglo JSON o una cita por línea en NDJSON)
+     * se lee a medida que llega y la respuesta informa, en NDJSON, el resultado de
+     * cada cita en el mismo orden (CREADA con su idCita, o RECHAZADA con el motivo).
+     */
+    @PostMapping(value = "/lote",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void crearLote(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (MappingIterator<CitaDTO> citas = objectMapper.readerFor(CitaDTO.class)
+                 .readValues(request.getInputStream());
+             Writer writer = new BufferedWriter(
+                 new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8))) {
+            citaLoteService.crearLote(citas, resultado -> {
+                try {
+                    writer.write(objectMapper.writeValueAsString(resultado));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * POST /api/citas/archivo
+     * Mover al archivo las citas anteriores al horizonte configurado.
+     * Normalmente lo ejecuta la tarea programada; este endpoint permite adelantarlo
+     */
+    @PostMapping("/archivo")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> archivarCitas() {
+        int archivadas = archivadorCitas.archivar();
+        return ResponseEntity.ok(
+            ApiResponse.success("Archivo de citas completado", Map.of("citasArchivadas", archivadas))
+        );
+    }
+
     /**
      * GET /api/citas
      * Obtener todas las citas
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CitaDTO>>> obtenerTodas() {
-        List<CitaDTO> citas = citaService.obtenerTodas();
-        ApiResponse<List<CitaDTO>> response = ApiResponse.success(
+    public ResponseEntity<ApiResponse<List<CitaDTO>>> obtenerTodas(ConsultaPaginaDTO consulta) {
+        PaginaDTO<CitaDTO> citas = citaService.obtenerTodas(consulta);
+        ApiResponse<List<CitaDTO>> response = ApiResponse.paginada(
             "Lista de citas obtenida exitosamente",
             citas
         );
@@ -83,10 +162,11 @@ public class CitaController {
      */
     @GetMapping("/paciente/{idPaciente}")
     public ResponseEntity<ApiResponse<List<CitaDTO>>> obtenerPorPaciente(
-            @PathVariable Long idPaciente) {
+            @PathVariable Long idPaciente,
+            ConsultaPaginaDTO consulta) {
         
-        List<CitaDTO> citas = citaService.obtenerPorPaciente(idPaciente);
-        ApiResponse<List<CitaDTO>> response = ApiResponse.success(
+        PaginaDTO<CitaDTO> citas = citaService.obtenerPorPaciente(idPaciente, consulta);
+        ApiResponse<List<CitaDTO>> response = ApiResponse.paginada(
             "Citas del paciente obtenidas exitosamente",
             citas
         );
@@ -99,10 +179,11 @@ public class CitaController {
      */
     @GetMapping("/laboratorio/{idLaboratorio}")
     public ResponseEntity<ApiResponse<List<CitaDTO>>> obtenerPorLaboratorio(
-            @PathVariable Long idLaboratorio) {
+            @PathVariable Long idLaboratorio,
+            ConsultaPaginaDTO consulta) {
         
-        List<CitaDTO> citas = citaService.obtenerPorLaboratorio(idLaboratorio);
-        ApiResponse<List<CitaDTO>> response = ApiResponse.success(
+        PaginaDTO<CitaDTO> citas = citaService.obtenerPorLaboratorio(idLaboratorio, consulta);
+        ApiResponse<List<CitaDTO>> response = ApiResponse.paginada(
             "Citas del laboratorio obtenidas exitosamente",
             citas
         );
@@ -115,10 +196,11 @@ public class CitaController {
      */
     @GetMapping("/laboratorio/{idLaboratorio}/proximas")
     public ResponseEntity<ApiResponse<List<CitaDTO>>> obtenerProximasCitas(
-            @PathVariable Long idLaboratorio) {
+            @PathVariable Long idLaboratorio,
+            ConsultaPaginaDTO consulta) {
         
-        List<CitaDTO> citas = citaService.obtenerProximasCitas(idLaboratorio);
-        ApiResponse<List<CitaDTO>> response = ApiResponse.success(
+        PaginaDTO<CitaDTO> citas = citaService.obtenerProximasCitas(idLaboratorio, consulta);
+        ApiResponse<List<CitaDTO>> response = ApiResponse.paginada(
             "Próximas citas obtenidas exitosamente",
             citas
         );
@@ -131,16 +213,35 @@ public class CitaController {
      */
     @GetMapping("/estado/{estado}")
     public ResponseEntity<ApiResponse<List<CitaDTO>>> obtenerPorEstado(
-            @PathVariable String estado) {
+            @PathVariable String estado,
+            ConsultaPaginaDTO consulta) {
         
-        List<CitaDTO> citas = citaService.obtenerPorEstado(estado);
-        ApiResponse<List<CitaDTO>> response = ApiResponse.success(
+        PaginaDTO<CitaDTO> citas = citaService.obtenerPorEstado(estado, consulta);
+        ApiResponse<List<CitaDTO>> response = ApiResponse.paginada(
             "Citas con estado " + estado + " obtenidas exitosamente",
             citas
         );
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/citas/rango?desde={fecha}&hasta={fecha}
+     * Obtener citas entre dos fechas/horas (ambas incluidas)
+     */
+    @GetMapping("/rango")
+    public ResponseEntity<ApiResponse<List<CitaDTO>>> obtenerPorRangoFechas(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            ConsultaPaginaDTO consulta) {
+
+        PaginaDTO<CitaDTO> citas = citaService.obtenerPorRangoFechas(desde, hasta, consulta);
+        ApiResponse<List<CitaDTO>> response = ApiResponse.paginada(
+            "Citas del rango obtenidas exitosamente",
+            citas
+        );
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * PUT /api/citas/{id}
      * Actualizar cita
@@ -161,13 +262,17 @@ public class CitaController {
     /**
      * PUT /api/citas/{id}/estado
      * Cambiar estado de cita
+     * Opcionales: estadoEsperado (transición condicional, 409 si la cita ya cambió)
+     * y version (409 si no es la versión actual)
      */
     @PutMapping("/{id}/estado")
     public ResponseEntity<ApiResponse<CitaDTO>> cambiarEstado(
             @PathVariable Long id,
-            @RequestParam String estado) {
+            @RequestParam String estado,
+            @RequestParam(required = false) String estadoEsperado,
+            @RequestParam(required = false) Long version) {
         
-        CitaDTO actualizada = citaService.cambiarEstado(id, estado);
+        CitaDTO actualizada = citaService.cambiarEstado(id, estado, estadoEsperado, version);
         ApiResponse<CitaDTO> response = ApiResponse.success(
             "Estado de cita actualizado exitosamente",
             actualizada
@@ -175,6 +280,24 @@ public class CitaController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * PUT /api/citas/estado/lote
+     * Cambiar el estado de las citas de un rango de fechas (máximo 31 días)
+     * Las que no admiten la transición se informan como omitidas
+     */
+    @PutMapping("/estado/lote")
+    public ResponseEntity<ApiResponse<TransicionLoteDTO>> cambiarEstadoLote(
+            @Valid @RequestBody TransicionLoteCitasRequest request) {
+
+        TransicionLoteDTO resultado = citaService.cambiarEstadoLote(request);
+        ApiResponse<TransicionLoteDTO> response = ApiResponse.success(
+            resultado.getActualizados() + " citas pasaron a " + resultado.getEstado()
+                + ", " + resultado.getOmitidos() + " omitidas",
+            resultado
+        );
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * DELETE /api/citas/{id}
      * Eliminar cita
@@ -0,0 +1,33 @@
+package com.duoc.laboratorio.laboratorios.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Cálculo de ETag para los catálogos cacheados
+ *
+ * El ETag se deriva solo de los datos (no del ApiResponse, cuyo traceId cambia
+ * en cada respuesta), de modo que un catálogo sin cambios responda 304 cuando
+ * el cliente envía If-None-Match.
+ */
+final class EtagCatalogo {
+
+    private EtagCatalogo() {
+    }
+
+    /**
+     * ETag débil a partir de la representación de los DTOs (toString de Lombok)
+     */
+    static String calcular(List<?> datos) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.valueOf(datos).getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
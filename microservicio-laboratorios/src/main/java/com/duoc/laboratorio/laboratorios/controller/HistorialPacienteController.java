@@ -0,0 +1,41 @@
+package com.duoc.laboratorio.laboratorios.controller;
+
+import com.duoc.laboratorio.laboratorios.dto.ApiResponse;
+import com.duoc.laboratorio.laboratorios.dto.HistorialPacienteDTO;
+import com.duoc.laboratorio.laboratorios.service.HistorialPacienteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST del historial del paciente (agrega usuarios, citas y resultados)
+ *
+ * Endpoints disponibles:
+ * - GET /api/pacientes/{idPaciente}/historial - Datos del paciente, sus citas y sus resultados
+ */
+@RestController
+@RequestMapping("/api/pacientes")
+public class HistorialPacienteController {
+
+    @Autowired
+    private HistorialPacienteService historialPacienteService;
+
+    /**
+     * GET /api/pacientes/{idPaciente}/historial
+     * Responde 200 aunque usuarios o resultados no estén disponibles; en ese caso
+     * completo=false y dependenciasNoDisponibles indica cuál
+     */
+    @GetMapping("/{idPaciente}/historial")
+    public ResponseEntity<ApiResponse<HistorialPacienteDTO>> obtenerHistorial(
+            @PathVariable Long idPaciente,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String autorizacion) {
+
+        HistorialPacienteDTO historial = historialPacienteService.obtenerHistorial(idPaciente, autorizacion);
+        ApiResponse<HistorialPacienteDTO> response = ApiResponse.success(
+            historial.isCompleto() ? "Historial obtenido exitosamente" : "Historial obtenido parcialmente",
+            historial
+        );
+        return ResponseEntity.ok(response);
+    }
+}
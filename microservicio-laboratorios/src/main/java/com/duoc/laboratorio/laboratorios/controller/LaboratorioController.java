@@ -2,15 +2,20 @@ package com.duoc.laboratorio.laboratorios.controller;
 
 import com.duoc.laboratorio.laboratorios.dto.ApiResponse;
 import com.duoc.laboratorio.laboratorios.dto.AsignarAnalisisRequest;
+import com.duoc.laboratorio.laboratorios.dto.DisponibilidadDiaDTO;
 import com.duoc.laboratorio.laboratorios.dto.LaboratorioDTO;
+import com.duoc.laboratorio.laboratorios.exception.ResourceNotFoundException;
 import com.duoc.laboratorio.laboratorios.model.LaboratorioAnalisis;
+import com.duoc.laboratorio.laboratorios.service.AgendaCitas;
 import com.duoc.laboratorio.laboratorios.service.LaboratorioService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -20,13 +25,14 @@ import java.util.List;
  * - POST   /api/laboratorios - Crear laboratorio
  * - GET    /api/laboratorios - Listar todos los laboratorios
  * - GET    /api/laboratorios/{id} - Obtener laboratorio por ID
- * - GET    /api/laboratorios/activos - Obtener laboratorios activos
- * - GET    /api/laboratorios/especialidad/{especialidad} - Filtrar por especialidad
+ * - GET    /api/laboratorios/activos - Obtener laboratorios activos (ETag / If-None-Match)
+ * - GET    /api/laboratorios/especialidad/{especialidad} - Filtrar por especialidad (ETag / If-None-Match)
  * - GET    /api/laboratorios/buscar?nombre={nombre} - Buscar por nombre
  * - PUT    /api/laboratorios/{id} - Actualizar laboratorio
  * - DELETE /api/laboratorios/{id} - Eliminar laboratorio
  * - POST   /api/laboratorios/{id}/analisis - Asignar análisis a laboratorio
  * - GET    /api/laboratorios/{id}/analisis - Obtener análisis asignados
+ * - GET    /api/laboratorios/{id}/disponibilidad?desde={fecha}&hasta={fecha} - Bloques horarios libres
  */
 @RestController
 @RequestMapping("/api/laboratorios")
@@ -35,6 +41,9 @@ public class LaboratorioController {
     @Autowired
     private LaboratorioService laboratorioService;
 
+    @Autowired
+    private AgendaCitas agendaCitas;
+
     /**
      * POST /api/laboratorios
      * Crear nuevo laboratorio
@@ -81,7 +90,7 @@ public class LaboratorioController {
 
     /**
      * GET /api/laboratorios/activos
-     * Obtener laboratorios activos
+     * Obtener laboratorios activos; responde 304 si el ETag enviado sigue vigente
      */
     @GetMapping("/activos")
     public ResponseEntity<ApiResponse<List<LaboratorioDTO>>> obtenerActivos() {
@@ -90,12 +99,12 @@ public class LaboratorioController {
             "Laboratorios activos obtenidos exitosamente",
             laboratorios
         );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EtagCatalogo.calcular(laboratorios)).body(response);
     }
 
     /**
      * GET /api/laboratorios/especialidad/{especialidad}
-     * Obtener laboratorios por especialidad
+     * Obtener laboratorios por especialidad; responde 304 si el ETag enviado sigue vigente
      */
     @GetMapping("/especialidad/{especialidad}")
     public ResponseEntity<ApiResponse<List<LaboratorioDTO>>> obtenerPorEspecialidad(
@@ -106,7 +115,7 @@ public class LaboratorioController {
             "Laboratorios con especialidad " + especialidad + " obtenidos exitosamente",
             laboratorios
         );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EtagCatalogo.calcular(laboratorios)).body(response);
     }
 
     /**
@@ -189,6 +198,31 @@ public class LaboratorioController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/laboratorios/{id}/disponibilidad?desde={fecha}&hasta={fecha}
+     * Obtener los bloques horarios libres de un laboratorio activo (desde la agenda en memoria)
+     */
+    @GetMapping("/{id}/disponibilidad")
+    public ResponseEntity<ApiResponse<List<DisponibilidadDiaDTO>>> obtenerDisponibilidad(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        // Lista de activos cacheada: la validación no consulta la BD
+        boolean activo = laboratorioService.obtenerActivos().stream()
+            .anyMatch(laboratorio -> id.equals(laboratorio.getIdLaboratorio()));
+        if (!activo) {
+            throw new ResourceNotFoundException("Laboratorio activo no encontrado con ID: " + id);
+        }
+
+        List<DisponibilidadDiaDTO> disponibilidad = agendaCitas.obtenerDisponibilidad(id, desde, hasta);
+        ApiResponse<List<DisponibilidadDiaDTO>> response = ApiResponse.success(
+            "Disponibilidad obtenida exitosamente",
+            disponibilidad
+        );
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * GET /api/laboratorios/health
      * Health check endpoint
@@ -18,7 +18,7 @@ import java.util.List;
  * - POST   /api/analisis - Crear tipo de análisis
  * - GET    /api/analisis - Listar todos los tipos de análisis
  * - GET    /api/analisis/{id} - Obtener tipo de análisis por ID
- * - GET    /api/analisis/activos - Obtener tipos de análisis activos
+ * - GET    /api/analisis/activos - Obtener tipos de análisis activos (ETag / If-None-Match)
  * - GET    /api/analisis/buscar?nombre={nombre} - Buscar por nombre
  * - PUT    /api/analisis/{id} - Actualizar tipo de análisis
  * - DELETE /api/analisis/{id} - Eliminar tipo de análisis
@@ -76,7 +76,7 @@ public class TipoAnalisisController {
 
     /**
      * GET /api/analisis/activos
-     * Obtener tipos de análisis activos
+     * Obtener tipos de análisis activos; responde 304 si el ETag enviado sigue vigente
      */
     @GetMapping("/activos")
     public ResponseEntity<ApiResponse<List<TipoAnalisisDTO>>> obtenerActivos() {
@@ -85,7 +85,7 @@ public class TipoAnalisisController {
             "Tipos de análisis activos obtenidos exitosamente",
             analisis
         );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(EtagCatalogo.calcular(analisis)).body(response);
     }
 
     /**
@@ -1,10 +1,12 @@
 package com.duoc.laboratorio.laboratorios.dto;
 
+import com.duoc.laboratorio.laboratorios.config.ContextoTraza;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.UUID;
+import java.util.List;
 
 /**
  * Clase DTO para estandarizar las respuestas de la API
@@ -14,6 +16,7 @@ import java.util.UUID;
  * - code: Código de respuesta (SUCCESS/ERROR)
  * - message: Mensaje descriptivo
  * - data: Datos de respuesta (puede ser null en caso de error)
+ * - nextCursor / total: solo en listados paginados
  */
 @Data
 @NoArgsConstructor
@@ -25,24 +28,54 @@ public class ApiResponse<T> {
     private String message;
     private T data;
 
+    /**
+     * Token opaco para solicitar la página siguiente (solo en listados paginados)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    /**
+     * Total de elementos, solo si el cliente lo solicitó con total=true
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+
+    public ApiResponse(String traceId, String code, String message, T data) {
+        this(traceId, code, message, data, null, null);
+    }
+
     /**
      * Constructor para respuestas exitosas
      */
     public static <T> ApiResponse<T> success(String message, T data) {
         return new ApiResponse<>(
-            UUID.randomUUID().toString(),
+            ContextoTraza.actual(),
             "SUCCESS",
             message,
             data
         );
     }
 
+    /**
+     * Constructor para respuestas exitosas paginadas
+     */
+    public static <T> ApiResponse<List<T>> paginada(String message, PaginaDTO<T> pagina) {
+        return new ApiResponse<>(
+            ContextoTraza.actual(),
+            "SUCCESS",
+            message,
+            pagina.getContenido(),
+            pagina.getSiguienteCursor(),
+            pagina.getTotal()
+        );
+    }
+
     /**
      * Constructor para respuestas de error
      */
     public static <T> ApiResponse<T> error(String message) {
         return new ApiResponse<>(
-            UUID.randomUUID().toString(),
+            ContextoTraza.actual(),
             "ERROR",
             message,
             null
@@ -39,6 +39,12 @@ public class CitaDTO {
     private String observaciones;
 
     private LocalDateTime fechaCreacion;
+
+    /**
+     * Versión de la cita al leerla. Opcional al actualizar: si no coincide con la
+     * actual, la respuesta es 409 con la versión vigente
+     */
+    private Long version;
 }
 
 
@@ -0,0 +1,20 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.Data;
+
+/**
+ * Parámetros de paginación de los listados (query string)
+ *
+ * - page: número de página (desde 0), paginación por desplazamiento
+ * - size: tamaño de página, acotado por el servidor
+ * - cursor: token de la página siguiente (paginación keyset), excluyente con page
+ * - total: si es true se informa el total de elementos (ejecuta un COUNT adicional)
+ */
+@Data
+public class ConsultaPaginaDTO {
+
+    private Integer page;
+    private int size = 50;
+    private String cursor;
+    private boolean total;
+}
@@ -0,0 +1,27 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO con los bloques horarios libres de un laboratorio en un día
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadDiaDTO {
+
+    private LocalDate fecha;
+
+    private int duracionBloqueMinutos;
+
+    /**
+     * Hora de inicio de cada bloque libre dentro del horario de atención
+     */
+    private List<LocalTime> bloquesLibres;
+}
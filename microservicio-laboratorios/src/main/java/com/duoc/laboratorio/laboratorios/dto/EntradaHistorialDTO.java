@@ -0,0 +1,17 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Una cita del historial con su resultado (null si aún no tiene o no se pudo obtener)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntradaHistorialDTO {
+
+    private CitaDTO cita;
+    private ResultadoCitaDTO resultado;
+}
@@ -0,0 +1,21 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con las estadísticas de aciertos/fallos de una caché local
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticasCacheDTO {
+
+    private String nombre;
+    private long aciertos;
+    private long fallos;
+    private double tasaAciertos;
+    private long desalojos;
+    private long entradas;
+}
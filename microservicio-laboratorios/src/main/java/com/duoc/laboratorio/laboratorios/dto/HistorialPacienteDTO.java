@@ -0,0 +1,28 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Historial de un paciente: sus datos, sus citas más recientes y el resultado de cada una
+ *
+ * - completo: false si algún servicio no respondió; paciente o resultados quedan
+ *   vacíos y dependenciasNoDisponibles indica cuál y por qué
+ * - citasTruncadas: true si el paciente tiene más citas que citas.historial.max-citas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistorialPacienteDTO {
+
+    private Long idPaciente;
+    private PacienteDTO paciente;
+    private List<EntradaHistorialDTO> citas;
+    private boolean citasTruncadas;
+    private boolean completo;
+    private Map<String, String> dependenciasNoDisponibles;
+}
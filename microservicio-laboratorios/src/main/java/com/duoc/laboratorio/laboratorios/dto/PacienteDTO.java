@@ -0,0 +1,21 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Datos del paciente obtenidos del microservicio de usuarios (GET /api/usuarios/{id})
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PacienteDTO {
+
+    private Long idUsuario;
+    private String nombre;
+    private String apellido;
+    private String email;
+    private String rol;
+    private Integer activo;
+}
@@ -0,0 +1,22 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para una página de un listado paginado
+ * siguienteCursor es null cuando no quedan más elementos y total es null
+ * salvo que se haya solicitado explícitamente (evita el COUNT(*))
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    private List<T> contenido;
+    private String siguienteCursor;
+    private Long total;
+}
@@ -0,0 +1,25 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen de un resultado obtenido del microservicio de resultados
+ * (GET /api/resultados?idsCita=...), sin valores medidos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoCitaDTO {
+
+    private Long idResultado;
+    private Long idCita;
+    private Long idLaboratorista;
+    private String archivoPdf;
+    private String observaciones;
+    private LocalDateTime fechaResultado;
+    private String estado;
+}
@@ -0,0 +1,37 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de una cita dentro de una carga por lote
+ * (una línea de la respuesta NDJSON de POST /api/citas/lote)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteCitaDTO {
+
+    public static final String CREADA = "CREADA";
+    public static final String RECHAZADA = "RECHAZADA";
+
+    /**
+     * Posición de la cita en el cuerpo de la solicitud (desde 0)
+     */
+    private long indice;
+
+    private String estado;
+
+    private Long idCita;
+
+    private String mensaje;
+
+    public static ResultadoLoteCitaDTO creada(long indice, Long idCita) {
+        return new ResultadoLoteCitaDTO(indice, CREADA, idCita, null);
+    }
+
+    public static ResultadoLoteCitaDTO rechazada(long indice, String mensaje) {
+        return new ResultadoLoteCitaDTO(indice, RECHAZADA, null, mensaje);
+    }
+}
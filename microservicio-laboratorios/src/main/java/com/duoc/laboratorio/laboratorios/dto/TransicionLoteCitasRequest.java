@@ -0,0 +1,38 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para aplicar una transición de estado a un conjunto de citas
+ * (PUT /api/citas/estado/lote): las citas del rango de fechas, y del
+ * laboratorio y el estado actual si se indican, pasan al estado pedido
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransicionLoteCitasRequest {
+
+    @NotNull(message = "El estado es obligatorio")
+    @Pattern(regexp = "PROGRAMADA|CONFIRMADA|COMPLETADA|CANCELADA",
+             message = "El estado debe ser: PROGRAMADA, CONFIRMADA, COMPLETADA o CANCELADA")
+    private String estado;
+
+    @NotNull(message = "La fecha desde es obligatoria")
+    private LocalDateTime desde;
+
+    @NotNull(message = "La fecha hasta es obligatoria")
+    private LocalDateTime hasta;
+
+    private Long idLaboratorio;
+
+    /**
+     * Solo las citas que están en este estado (opcional)
+     */
+    private String estadoActual;
+}
@@ -0,0 +1,44 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una transición de estado por lote
+ * Las citas que ya estaban en el estado pedido no se cuentan como omitidas.
+ * Los campos se llaman igual que en el DTO de microservicio-resultados
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransicionLoteDTO {
+
+    private String estado;
+
+    private int actualizados;
+
+    /**
+     * Total de citas del filtro que no pudieron pasar al estado pedido
+     */
+    private long omitidos;
+
+    /**
+     * Detalle de las omitidas (las primeras, en orden de fecha)
+     */
+    private List<Omitido> detalleOmitidos;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Omitido {
+
+        private Long idCita;
+
+        private String estado;
+
+        private String motivo;
+    }
+}
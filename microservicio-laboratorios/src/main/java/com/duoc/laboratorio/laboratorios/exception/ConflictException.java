@@ -0,0 +1,29 @@
+package com.duoc.laboratorio.laboratorios.exception;
+
+/**
+ * Excepción personalizada para conflictos con el estado actual del recurso
+ * (p. ej. un horario ya reservado o una versión desactualizada)
+ */
+public class ConflictException extends RuntimeException {
+
+    /** Versión actual del recurso, si el conflicto es de concurrencia */
+    private final Long versionActual;
+
+    public ConflictException(String message) {
+        this(message, (Long) null);
+    }
+
+    public ConflictException(String message, Long versionActual) {
+        super(message);
+        this.versionActual = versionActual;
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+        this.versionActual = null;
+    }
+
+    public Long getVersionActual() {
+        return versionActual;
+    }
+}
@@ -1,6 +1,9 @@
 package com.duoc.laboratorio.laboratorios.exception;
 
+import com.duoc.laboratorio.laboratorios.config.ContextoTraza;
 import com.duoc.laboratorio.laboratorios.dto.ApiResponse;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,7 +13,6 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Manejador global de excepciones
@@ -39,6 +41,43 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Maneja conflictos con el estado actual (p. ej. horario ya reservado)
+     * Si es de concurrencia, la respuesta incluye la versión actual del recurso
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleConflictException(ConflictException ex) {
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        if (ex.getVersionActual() != null) {
+            response.setData(Map.of("versionActual", ex.getVersionActual()));
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Maneja modificaciones concurrentes detectadas al escribir: la VERSION de la
+     * fila cambió después de leerla en la misma transacción
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ApiResponse<Object> response = ApiResponse.error(
+            "El registro fue modificado por otra operación; vuelva a consultarlo"
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Maneja violaciones de restricciones de la BD detectadas al confirmar la transacción
+     * (p. ej. el índice único de horario de citas)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<Object>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        ApiResponse<Object> response = ApiResponse.error(
+            "La operación entra en conflicto con datos existentes"
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * Maneja errores de validación de campos
      */
@@ -54,7 +93,7 @@ public class GlobalExceptionHandler {
         });
 
         ApiResponse<Map<String, String>> response = new ApiResponse<>(
-            UUID.randomUUID().toString(),
+            ContextoTraza.actual(),
             "VALIDATION_ERROR",
             "Error de validación en los campos enviados",
             errors
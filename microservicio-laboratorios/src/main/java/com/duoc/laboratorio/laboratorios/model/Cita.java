@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -11,9 +12,22 @@ import java.time.LocalDateTime;
  * Entidad que representa una Cita para análisis clínico
  * 
  * Esta entidad mapea la tabla CITAS en Oracle Database
+ * Los índices replican los de las migraciones para que el esquema generado en H2
+ * (tests y benchmarks) tenga los mismos caminos de acceso
+ * Los UPDATE solo escriben las columnas modificadas y verifican VERSION: una
+ * modificación concurrente falla en lugar de sobrescribirse
  */
 @Entity
-@Table(name = "CITAS")
+@Table(name = "CITAS", indexes = {
+    @Index(name = "IDX_CITA_PAC_FECHA", columnList = "ID_PACIENTE, FECHA_CITA, ID_CITA"),
+    @Index(name = "IDX_CITA_PAC_ESTADO", columnList = "ID_PACIENTE, ESTADO, FECHA_CITA"),
+    @Index(name = "IDX_CITA_LAB_FECHA", columnList = "ID_LABORATORIO, FECHA_CITA, ID_CITA"),
+    @Index(name = "IDX_CITA_LAB_ESTADO", columnList = "ID_LABORATORIO, ESTADO, FECHA_CITA"),
+    @Index(name = "IDX_CITA_ESTADO_FECHA", columnList = "ESTADO, FECHA_CITA, ID_CITA"),
+    @Index(name = "IDX_CITA_FECHA_RESERVA", columnList = "FECHA_CITA, ID_CITA, ESTADO, ID_LABORATORIO"),
+    @Index(name = "IDX_CITA_TIPO_ANALISIS", columnList = "ID_TIPO_ANALISIS")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +35,7 @@ public class Cita {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_cita")
-    @SequenceGenerator(name = "seq_cita", sequenceName = "SEQ_CITA", allocationSize = 1)
+    @SequenceGenerator(name = "seq_cita", sequenceName = "SEQ_CITA", allocationSize = 50)
     @Column(name = "ID_CITA")
     private Long idCita;
 
@@ -46,6 +60,10 @@ public class Cita {
     @Column(name = "FECHA_CREACION")
     private LocalDateTime fechaCreacion;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (fechaCreacion == null) {
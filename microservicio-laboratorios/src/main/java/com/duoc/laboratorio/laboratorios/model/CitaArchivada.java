@@ -0,0 +1,55 @@
+package com.duoc.laboratorio.laboratorios.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cita movida al archivo (solo lectura)
+ *
+ * Esta entidad mapea la tabla CITAS_ARCHIVO, comprimida en Oracle, con las citas
+ * anteriores al horizonte de archivo (ver ArchivadorCitas)
+ */
+@Entity
+@Immutable
+@Table(name = "CITAS_ARCHIVO", indexes = {
+    @Index(name = "IDX_CITA_ARCH_FECHA", columnList = "FECHA_CITA, ID_CITA"),
+    @Index(name = "IDX_CITA_ARCH_PACIENTE", columnList = "ID_PACIENTE, FECHA_CITA")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CitaArchivada {
+
+    @Id
+    @Column(name = "ID_CITA")
+    private Long idCita;
+
+    @Column(name = "ID_PACIENTE", nullable = false)
+    private Long idPaciente;
+
+    @Column(name = "ID_LABORATORIO", nullable = false)
+    private Long idLaboratorio;
+
+    @Column(name = "ID_TIPO_ANALISIS", nullable = false)
+    private Long idTipoAnalisis;
+
+    @Column(name = "FECHA_CITA", nullable = false)
+    private LocalDateTime fechaCita;
+
+    @Column(name = "ESTADO", length = 50)
+    private String estado;
+
+    @Column(name = "OBSERVACIONES", length = 500)
+    private String observaciones;
+
+    @Column(name = "FECHA_CREACION")
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "FECHA_ARCHIVO", nullable = false)
+    private LocalDateTime fechaArchivo;
+}
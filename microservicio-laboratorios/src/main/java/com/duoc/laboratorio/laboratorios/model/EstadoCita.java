@@ -0,0 +1,98 @@
+package com.duoc.laboratorio.laboratorios.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ciclo de vida de una cita: transiciones permitidas y sus guardas
+ *
+ * - PROGRAMADA -> CONFIRMADA, COMPLETADA, CANCELADA
+ * - CONFIRMADA -> PROGRAMADA, COMPLETADA, CANCELADA
+ * - COMPLETADA y CANCELADA son finales
+ *
+ * Guarda: una cita solo se completa cuando su fecha ya llegó.
+ * Los nombres coinciden con CHK_CITA_ESTADO; la columna ESTADO sigue siendo texto.
+ */
+public enum EstadoCita {
+
+    PROGRAMADA,
+    CONFIRMADA,
+    COMPLETADA,
+    CANCELADA;
+
+    /**
+     * Estado en el que nace una cita: los demás solo se alcanzan por transiciones
+     */
+    public static final EstadoCita INICIAL = PROGRAMADA;
+
+    private static final Map<EstadoCita, Set<EstadoCita>> SIGUIENTES = new EnumMap<>(EstadoCita.class);
+
+    static {
+        SIGUIENTES.put(PROGRAMADA, EnumSet.of(CONFIRMADA, COMPLETADA, CANCELADA));
+        SIGUIENTES.put(CONFIRMADA, EnumSet.of(PROGRAMADA, COMPLETADA, CANCELADA));
+        SIGUIENTES.put(COMPLETADA, EnumSet.noneOf(EstadoCita.class));
+        SIGUIENTES.put(CANCELADA, EnumSet.noneOf(EstadoCita.class));
+    }
+
+    /**
+     * Estado con ese nombre, o vacío si no es un estado válido
+     */
+    public static Optional<EstadoCita> de(String nombre) {
+        return Arrays.stream(values()).filter(estado -> estado.name().equals(nombre)).findFirst();
+    }
+
+    /**
+     * Motivo por el que una cita no puede crearse en ese estado, o vacío si es el
+     * inicial o no se indica
+     */
+    public static Optional<String> motivoRechazoCreacion(String estado) {
+        if (estado == null || INICIAL.name().equals(estado)) {
+            return Optional.empty();
+        }
+        return Optional.of("Una cita nueva debe crearse en estado " + INICIAL.name() + ", no " + estado);
+    }
+
+    /**
+     * Indica si una cita en el estado origen puede pasar a este estado
+     */
+    public boolean permiteDesde(String origen) {
+        return de(origen).map(estado -> SIGUIENTES.get(estado).contains(this)).orElse(false);
+    }
+
+    /**
+     * Nombres de los estados desde los que se puede llegar a este
+     */
+    public Set<String> origenes() {
+        return SIGUIENTES.entrySet().stream()
+            .filter(transicion -> transicion.getValue().contains(this))
+            .map(transicion -> transicion.getKey().name())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Guarda: la transición exige que la fecha de la cita ya haya llegado
+     */
+    public boolean exigeFechaCumplida() {
+        return this == COMPLETADA;
+    }
+
+    /**
+     * Motivo por el que una cita en el estado origen y con esa fecha no puede pasar
+     * a este estado, o vacío si la transición es válida
+     */
+    public Optional<String> motivoRechazo(String origen, LocalDateTime fechaCita, LocalDateTime ahora) {
+        if (!permiteDesde(origen)) {
+            return Optional.of("Transición no permitida: " + origen + " -> " + name());
+        }
+        if (exigeFechaCumplida() && fechaCita.isAfter(ahora)) {
+            return Optional.of("La cita del " + fechaCita + " aún no ocurre");
+        }
+        return Optional.empty();
+    }
+}
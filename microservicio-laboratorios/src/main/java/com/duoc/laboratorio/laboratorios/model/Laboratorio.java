@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
  * Esta entidad mapea la tabla LABORATORIOS en Oracle Database
  */
 @Entity
-@Table(name = "LABORATORIOS")
+@Table(name = "LABORATORIOS", indexes = {
+    @Index(name = "IDX_LAB_ACTIVO", columnList = "ACTIVO"),
+    @Index(name = "IDX_LAB_ESPECIALIDAD_ACTIVO", columnList = "ESPECIALIDAD, ACTIVO")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +24,7 @@ public class Laboratorio {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_laboratorio")
-    @SequenceGenerator(name = "seq_laboratorio", sequenceName = "SEQ_LABORATORIO", allocationSize = 1)
+    @SequenceGenerator(name = "seq_laboratorio", sequenceName = "SEQ_LABORATORIO", allocationSize = 50)
     @Column(name = "ID_LABORATORIO")
     private Long idLaboratorio;
 
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
  * Esta entidad mapea la tabla LABORATORIO_ANALISIS en Oracle Database
  */
 @Entity
-@Table(name = "LABORATORIO_ANALISIS")
+@Table(name = "LABORATORIO_ANALISIS",
+       indexes = @Index(name = "IDX_LA_TIPO_ANALISIS", columnList = "ID_TIPO_ANALISIS"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
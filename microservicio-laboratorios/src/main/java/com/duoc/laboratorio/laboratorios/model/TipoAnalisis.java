@@ -22,7 +22,7 @@ public class TipoAnalisis {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_tipo_analisis")
-    @SequenceGenerator(name = "seq_tipo_analisis", sequenceName = "SEQ_TIPO_ANALISIS", allocationSize = 1)
+    @SequenceGenerator(name = "seq_tipo_analisis", sequenceName = "SEQ_TIPO_ANALISIS", allocationSize = 50)
     @Column(name = "ID_TIPO_ANALISIS")
     private Long idTipoAnalisis;
 
@@ -0,0 +1,65 @@
+package com.duoc.laboratorio.laboratorios.repository;
+
+import com.duoc.laboratorio.laboratorios.model.CitaArchivada;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static com.duoc.laboratorio.laboratorios.repository.CitaRepository.DESDE_CURSOR;
+import static com.duoc.laboratorio.laboratorios.repository.CitaRepository.ORDEN_CURSOR;
+
+/**
+ * Repositorio del archivo de citas (CITAS_ARCHIVO)
+ *
+ * Las consultas por rango repiten las de CitaRepository, con el mismo orden,
+ * para poder mezclar ambas tablas en una sola página
+ */
+@Repository
+public interface CitaArchivadaRepository extends JpaRepository<CitaArchivada, Long> {
+
+    /**
+     * Primeras citas archivadas de un rango de fechas (orden y límite en el Pageable)
+     */
+    @Query("SELECT c FROM CitaArchivada c WHERE c.fechaCita BETWEEN :fechaInicio AND :fechaFin")
+    List<CitaArchivada> findByRangoFechas(@Param("fechaInicio") LocalDateTime fechaInicio,
+                                          @Param("fechaFin") LocalDateTime fechaFin,
+                                          Pageable pageable);
+
+    /**
+     * Citas archivadas de un rango de fechas a partir de un cursor
+     */
+    @Query("SELECT c FROM CitaArchivada c WHERE c.fechaCita <= :fechaFin AND " + DESDE_CURSOR + ORDEN_CURSOR)
+    List<CitaArchivada> findPaginaSiguientePorRangoFechas(@Param("fechaFin") LocalDateTime fechaFin,
+                                                          @Param("fecha") LocalDateTime fecha,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
+    /**
+     * Citas archivadas de un paciente (orden y límite en el Pageable)
+     * Usa IDX_CITA_ARCH_PACIENTE
+     */
+    List<CitaArchivada> findByIdPaciente(Long idPaciente, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM CitaArchivada c WHERE c.fechaCita BETWEEN :fechaInicio AND :fechaFin")
+    long countByRangoFechas(@Param("fechaInicio") LocalDateTime fechaInicio,
+                            @Param("fechaFin") LocalDateTime fechaFin);
+
+    /**
+     * Copiar citas de CITAS al archivo
+     * Se ejecuta en la misma transacción que las elimina de la tabla viva
+     */
+    @Modifying
+    @Query(value = "INSERT INTO CITAS_ARCHIVO (ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, " +
+                   "FECHA_CITA, ESTADO, OBSERVACIONES, FECHA_CREACION, FECHA_ARCHIVO) " +
+                   "SELECT ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, FECHA_CITA, ESTADO, " +
+                   "OBSERVACIONES, FECHA_CREACION, CURRENT_TIMESTAMP FROM CITAS WHERE ID_CITA IN (:ids)",
+           nativeQuery = true)
+    int copiarDesdeCitas(@Param("ids") Collection<Long> ids);
+}
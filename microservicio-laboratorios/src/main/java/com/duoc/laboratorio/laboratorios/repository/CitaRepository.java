@@ -1,16 +1,30 @@
 package com.duoc.laboratorio.laboratorios.repository;
 
 import com.duoc.laboratorio.laboratorios.model.Cita;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repositorio para operaciones de base de datos de Cita
+ *
+ * Los listados tienen tres variantes: por página (Slice, sin COUNT), por cursor
+ * (keyset sobre FECHA_CITA, ID_CITA) y el conteo, que solo se ejecuta si el
+ * cliente pide el total. Las variantes por cursor ordenan igual que el Sort
+ * usado por las variantes por página (fecha e ID ascendentes).
  */
 @Repository
 public interface CitaRepository extends JpaRepository<Cita, Long> {
@@ -54,6 +68,208 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
            "AND c.fechaCita >= CURRENT_TIMESTAMP " +
            "ORDER BY c.fechaCita ASC")
     List<Cita> findProximasCitasPorLaboratorio(@Param("idLaboratorio") Long idLaboratorio);
-}
 
+    // ========== Variantes paginadas ==========
+
+    String DESDE_CURSOR = "c.fechaCita >= :fecha AND (c.fechaCita > :fecha OR c.idCita > :id) ";
+    String ORDEN_CURSOR = "ORDER BY c.fechaCita ASC, c.idCita ASC";
+
+    /**
+     * Página de todas las citas
+     */
+    Slice<Cita> findAllBy(Pageable pageable);
+
+    /**
+     * Página siguiente de todas las citas a partir de un cursor
+     */
+    @Query("SELECT c FROM Cita c WHERE " + DESDE_CURSOR + ORDEN_CURSOR)
+    List<Cita> findPaginaSiguiente(@Param("fecha") LocalDateTime fecha,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    /**
+     * Página de citas de un paciente
+     */
+    Slice<Cita> findByIdPaciente(Long idPaciente, Pageable pageable);
+
+    /**
+     * Página siguiente de citas de un paciente a partir de un cursor
+     */
+    @Query("SELECT c FROM Cita c WHERE c.idPaciente = :idPaciente AND " + DESDE_CURSOR + ORDEN_CURSOR)
+    List<Cita> findPaginaSiguientePorPaciente(@Param("idPaciente") Long idPaciente,
+                                              @Param("fecha") LocalDateTime fecha,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    long countByIdPaciente(Long idPaciente);
+
+    /**
+     * Página de citas de un laboratorio
+     */
+    Slice<Cita> findByIdLaboratorio(Long idLaboratorio, Pageable pageable);
+
+    /**
+     * Página siguiente de citas de un laboratorio a partir de un cursor
+     */
+    @Query("SELECT c FROM Cita c WHERE c.idLaboratorio = :idLaboratorio AND " + DESDE_CURSOR + ORDEN_CURSOR)
+    List<Cita> findPaginaSiguientePorLaboratorio(@Param("idLaboratorio") Long idLaboratorio,
+                                                 @Param("fecha") LocalDateTime fecha,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    long countByIdLaboratorio(Long idLaboratorio);
+
+    /**
+     * Página de citas por estado
+     */
+    Slice<Cita> findByEstado(String estado, Pageable pageable);
+
+    /**
+     * Página siguiente de citas por estado a partir de un cursor
+     */
+    @Query("SELECT c FROM Cita c WHERE c.estado = :estado AND " + DESDE_CURSOR + ORDEN_CURSOR)
+    List<Cita> findPaginaSiguientePorEstado(@Param("estado") String estado,
+                                            @Param("fecha") LocalDateTime fecha,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    long countByEstado(String estado);
+
+    /**
+     * Página de citas por rango de fechas
+     */
+    @Query("SELECT c FROM Cita c WHERE c.fechaCita BETWEEN :fechaInicio AND :fechaFin")
+    Slice<Cita> findByRangoFechas(@Param("fechaInicio") LocalDateTime fechaInicio,
+                                  @Param("fechaFin") LocalDateTime fechaFin,
+                                  Pageable pageable);
+
+    /**
+     * Página siguiente de citas por rango de fechas a partir de un cursor
+     */
+    @Query("SELECT c FROM Cita c WHERE c.fechaCita <= :fechaFin AND " + DESDE_CURSOR + ORDEN_CURSOR)
+    List<Cita> findPaginaSiguientePorRangoFechas(@Param("fechaFin") LocalDateTime fechaFin,
+                                                 @Param("fecha") LocalDateTime fecha,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Cita c WHERE c.fechaCita BETWEEN :fechaInicio AND :fechaFin")
+    long countByRangoFechas(@Param("fechaInicio") LocalDateTime fechaInicio,
+                            @Param("fechaFin") LocalDateTime fechaFin);
+
+    /**
+     * Página de próximas citas por laboratorio
+     */
+    @Query("SELECT c FROM Cita c WHERE c.idLaboratorio = :idLaboratorio " +
+           "AND c.fechaCita >= CURRENT_TIMESTAMP")
+    Slice<Cita> findProximasCitasPorLaboratorio(@Param("idLaboratorio") Long idLaboratorio,
+                                                Pageable pageable);
+
+    /**
+     * Página siguiente de próximas citas por laboratorio a partir de un cursor
+     * (el cursor ya es posterior a la fecha actual de la primera página)
+     */
+    @Query("SELECT c FROM Cita c WHERE c.idLaboratorio = :idLaboratorio AND " + DESDE_CURSOR + ORDEN_CURSOR)
+    List<Cita> findProximasSiguientesPorLaboratorio(@Param("idLaboratorio") Long idLaboratorio,
+                                                    @Param("fecha") LocalDateTime fecha,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Cita c WHERE c.idLaboratorio = :idLaboratorio " +
+           "AND c.fechaCita >= CURRENT_TIMESTAMP")
+    long countProximasCitasPorLaboratorio(@Param("idLaboratorio") Long idLaboratorio);
 
+    /**
+     * Laboratorio y fecha de las citas que ocupan horario desde una fecha
+     * (usado para reconstruir la agenda en memoria)
+     */
+    @Query("SELECT c.idLaboratorio, c.fechaCita FROM Cita c " +
+           "WHERE c.fechaCita >= :desde AND c.estado <> 'CANCELADA'")
+    List<Object[]> findReservasDesde(@Param("desde") LocalDateTime desde);
+
+    /**
+     * Fechas de las citas de un laboratorio que ocupan horario en [desde, hasta)
+     * (agenda compartida entre réplicas). Usa IDX_CITA_LAB_FECHA y no vuelca los
+     * cambios pendientes de la transacción: se compara con lo ya confirmado.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT c.fechaCita FROM Cita c WHERE c.idLaboratorio = :idLaboratorio " +
+           "AND c.fechaCita >= :desde AND c.fechaCita < :hasta AND c.estado <> 'CANCELADA'")
+    List<LocalDateTime> findReservasLaboratorio(@Param("idLaboratorio") Long idLaboratorio,
+                                                @Param("desde") LocalDateTime desde,
+                                                @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * IDs de citas anteriores al límite de archivo, por lotes
+     * Usa IDX_CITA_FECHA_RESERVA (local a cada partición mensual)
+     */
+    @Query("SELECT c.idCita FROM Cita c WHERE c.fechaCita < :limite ORDER BY c.fechaCita")
+    List<Long> findIdsAnterioresA(@Param("limite") LocalDateTime limite, Pageable pageable);
+
+    // ========== Transiciones de estado ==========
+
+    String GUARDA_FECHA_CUMPLIDA = "AND (:exigeFechaCumplida = false OR c.fechaCita <= :ahora) ";
+
+    String FILTRO_LOTE = "c.fechaCita >= :desde AND c.fechaCita <= :hasta " +
+                         "AND (:idLaboratorio IS NULL OR c.idLaboratorio = :idLaboratorio) ";
+
+    /**
+     * Cambiar el estado de una cita en una sola sentencia, sin leerla antes, solo
+     * si sigue en el estado esperado (y en la versión indicada, si no es null) y
+     * cumple la guarda de EstadoCita
+     * Devuelve 0 si la cita no existe, ya cambió o no cumple la guarda
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cita c SET c.estado = :nuevoEstado, c.version = c.version + 1 " +
+           "WHERE c.idCita = :id AND c.estado = :estadoEsperado " +
+           "AND (:version IS NULL OR c.version = :version) " + GUARDA_FECHA_CUMPLIDA)
+    int actualizarEstado(@Param("id") Long id,
+                         @Param("estadoEsperado") String estadoEsperado,
+                         @Param("nuevoEstado") String nuevoEstado,
+                         @Param("version") Long version,
+                         @Param("exigeFechaCumplida") boolean exigeFechaCumplida,
+                         @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Citas del filtro que pueden pasar al nuevo estado (están en uno de los
+     * estados de origen y cumplen la guarda), bloqueadas hasta el fin de la
+     * transacción (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cita c WHERE " + FILTRO_LOTE +
+           "AND c.estado IN :origenes " + GUARDA_FECHA_CUMPLIDA)
+    List<Cita> findParaTransicion(@Param("desde") LocalDateTime desde,
+                                  @Param("hasta") LocalDateTime hasta,
+                                  @Param("idLaboratorio") Long idLaboratorio,
+                                  @Param("origenes") Collection<String> origenes,
+                                  @Param("exigeFechaCumplida") boolean exigeFechaCumplida,
+                                  @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Cambiar el estado de un bloque de citas (ya bloqueadas) en una sola sentencia
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cita c SET c.estado = :nuevoEstado, c.version = c.version + 1 WHERE c.idCita IN :ids")
+    int actualizarEstadoLote(@Param("ids") Collection<Long> ids, @Param("nuevoEstado") String nuevoEstado);
+
+    /**
+     * Citas del filtro que quedaron fuera de una transición por lote
+     * (las que no están en el nuevo estado después de aplicarla)
+     */
+    @Query("SELECT c FROM Cita c WHERE " + FILTRO_LOTE +
+           "AND (:estadoActual IS NULL OR c.estado = :estadoActual) AND c.estado <> :nuevoEstado " +
+           ORDEN_CURSOR)
+    List<Cita> findOmitidasTransicion(@Param("desde") LocalDateTime desde,
+                                      @Param("hasta") LocalDateTime hasta,
+                                      @Param("idLaboratorio") Long idLaboratorio,
+                                      @Param("estadoActual") String estadoActual,
+                                      @Param("nuevoEstado") String nuevoEstado,
+                                      Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM Cita c WHERE " + FILTRO_LOTE +
+           "AND (:estadoActual IS NULL OR c.estado = :estadoActual) AND c.estado <> :nuevoEstado")
+    long countOmitidasTransicion(@Param("desde") LocalDateTime desde,
+                                 @Param("hasta") LocalDateTime hasta,
+                                 @Param("idLaboratorio") Long idLaboratorio,
+                                 @Param("estadoActual") String estadoActual,
+                                 @Param("nuevoEstado") String nuevoEstado);
+}
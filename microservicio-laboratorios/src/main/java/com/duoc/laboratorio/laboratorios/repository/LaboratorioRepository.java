@@ -1,12 +1,16 @@
 package com.duoc.laboratorio.laboratorios.repository;
 
 import com.duoc.laboratorio.laboratorios.model.Laboratorio;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para operaciones de base de datos de Laboratorio
@@ -40,6 +44,20 @@ public interface LaboratorioRepository extends JpaRepository<Laboratorio, Long>
      */
     @Query("SELECT l FROM Laboratorio l WHERE l.especialidad = :especialidad AND l.activo = 1")
     List<Laboratorio> findActivosByEspecialidad(@Param("especialidad") String especialidad);
-}
 
+    /**
+     * Obtener, de los IDs indicados, los que existen (una sola consulta IN).
+     * Oracle admite hasta 1000 elementos por lista IN.
+     */
+    @Query("SELECT l.idLaboratorio FROM Laboratorio l WHERE l.idLaboratorio IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Bloquear la fila del laboratorio hasta el fin de la transacción
+     * (SELECT ... FOR UPDATE). Serializa entre réplicas las reservas de horario
+     * de un mismo laboratorio con la agenda compartida
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Laboratorio l WHERE l.idLaboratorio = :id")
+    Optional<Laboratorio> bloquearParaReserva(@Param("id") Long id);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,6 +31,11 @@ public interface TipoAnalisisRepository extends JpaRepository<TipoAnalisis, Long
      */
     @Query("SELECT t FROM TipoAnalisis t WHERE t.precio BETWEEN :precioMin AND :precioMax AND t.activo = 1")
     List<TipoAnalisis> findByRangoPrecio(@Param("precioMin") Double precioMin, @Param("precioMax") Double precioMax);
-}
-
 
+    /**
+     * Obtener, de los IDs indicados, los que existen (una sola consulta IN).
+     * Oracle admite hasta 1000 elementos por lista IN.
+     */
+    @Query("SELECT t.idTipoAnalisis FROM TipoAnalisis t WHERE t.idTipoAnalisis IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,289 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.dto.DisponibilidadDiaDTO;
+import com.duoc.laboratorio.laboratorios.exception.BadRequestException;
+import com.duoc.laboratorio.laboratorios.repository.CitaRepository;
+import com.duoc.laboratorio.laboratorios.repository.LaboratorioRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Índice en memoria de bloques horarios ocupados por laboratorio
+ *
+ * Cada día de cada laboratorio se representa como un bitset (un bit por bloque de
+ * citas.agenda.duracion-bloque-minutos) sobre un AtomicLongArray, de modo que
+ * reservar y liberar son operaciones compare-and-set sin bloqueos y la consulta
+ * de disponibilidad no toca la base de datos. Una cita ocupa el bloque que
+ * contiene su fecha/hora.
+ *
+ * El índice se reconstruye desde CITAS al crear el bean, antes de que el servidor
+ * acepte solicitudes (así ninguna cita creada durante el arranque se cuenta dos
+ * veces), y se mantiene al crear, cancelar y reprogramar citas. La reserva es
+ * optimista: se marca el bloque antes de insertar y se libera si la transacción
+ * no se confirma.
+ *
+ * Las citas existentes que comparten bloque (anteriores a la agenda, o a una
+ * hora distinta dentro del mismo bloque) se cuentan como sobrecupo al
+ * reconstruir: liberar una de ellas descuenta el sobrecupo sin desocupar el
+ * bloque mientras quede otra.
+ *
+ * El índice es local a cada instancia: con varias réplicas cada una conoce solo
+ * las citas que creó (más las del arranque), y UX_CITA_LAB_HORARIO solo detecta
+ * citas a la misma hora exacta. Con citas.agenda.compartida=true la disponibilidad
+ * suma los bloques ocupados en CITAS y cada reserva, además del índice, bloquea la
+ * fila del laboratorio y verifica el bloque en CITAS dentro de la transacción.
+ */
+@Slf4j
+@Service
+public class AgendaCitas {
+
+    private static final int MINUTOS_DIA = 24 * 60;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    private final int duracionBloqueMinutos;
+    private final int bloquesPorDia;
+    private final LocalTime horaApertura;
+    private final LocalTime horaCierre;
+    private final int maxDiasConsulta;
+    private final boolean compartida;
+
+    /** idLaboratorio -> día -> bitset de bloques ocupados */
+    private final Map<Long, Map<LocalDate, AtomicLongArray>> ocupacion = new ConcurrentHashMap<>();
+
+    /** Citas adicionales en un bloque ya ocupado, encontradas al reconstruir */
+    private final Map<Bloque, Integer> sobrecupo = new ConcurrentHashMap<>();
+
+    public AgendaCitas(@Value("${citas.agenda.duracion-bloque-minutos:30}") int duracionBloqueMinutos,
+                       @Value("${citas.agenda.hora-apertura:08:00}") String horaApertura,
+                       @Value("${citas.agenda.hora-cierre:18:00}") String horaCierre,
+                       @Value("${citas.agenda.max-dias-consulta:31}") int maxDiasConsulta,
+                       @Value("${citas.agenda.compartida:false}") boolean compartida) {
+        if (duracionBloqueMinutos <= 0 || MINUTOS_DIA % duracionBloqueMinutos != 0) {
+            throw new IllegalArgumentException(
+                "citas.agenda.duracion-bloque-minutos debe dividir exactamente un día: " + duracionBloqueMinutos);
+        }
+        this.duracionBloqueMinutos = duracionBloqueMinutos;
+        this.bloquesPorDia = MINUTOS_DIA / duracionBloqueMinutos;
+        this.horaApertura = LocalTime.parse(horaApertura);
+        this.horaCierre = LocalTime.parse(horaCierre);
+        this.maxDiasConsulta = maxDiasConsulta;
+        this.compartida = compartida;
+    }
+
+    /**
+     * Una cita ocupa horario salvo que esté cancelada
+     */
+    public static boolean ocupaHorario(String estado) {
+        return !"CANCELADA".equals(estado);
+    }
+
+    /**
+     * Reconstruir el índice con las citas vigentes desde hoy
+     */
+    @PostConstruct
+    public void reconstruir() {
+        for (Object[] reserva : citaRepository.findReservasDesde(LocalDate.now().atStartOfDay())) {
+            Long idLaboratorio = (Long) reserva[0];
+            LocalDateTime fechaCita = (LocalDateTime) reserva[1];
+            if (!reservar(idLaboratorio, fechaCita)) {
+                sobrecupo.merge(new Bloque(idLaboratorio, inicioBloque(fechaCita)), 1, Integer::sum);
+                log.warn("Laboratorio {} con más de una cita vigente en el bloque de {}", idLaboratorio, fechaCita);
+            }
+        }
+    }
+
+    /**
+     * Descartar los días ya pasados para que el índice no crezca indefinidamente
+     */
+    @Scheduled(cron = "${citas.agenda.limpieza-cron:0 5 0 * * *}")
+    public void descartarDiasPasados() {
+        LocalDate hoy = LocalDate.now();
+        ocupacion.values().forEach(dias -> dias.keySet().removeIf(dia -> dia.isBefore(hoy)));
+        sobrecupo.keySet().removeIf(bloque -> bloque.inicio().toLocalDate().isBefore(hoy));
+    }
+
+    /**
+     * Marcar como ocupado el bloque de la fecha indicada
+     *
+     * @return false si el bloque ya estaba ocupado
+     */
+    public boolean reservar(Long idLaboratorio, LocalDateTime fechaCita) {
+        AtomicLongArray dia = ocupacion
+            .computeIfAbsent(idLaboratorio, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(fechaCita.toLocalDate(), fecha -> new AtomicLongArray((bloquesPorDia + 63) / 64));
+        int bloque = bloque(fechaCita.toLocalTime());
+        int palabra = bloque >>> 6;
+        long bit = 1L << (bloque & 63);
+        while (true) {
+            long actual = dia.get(palabra);
+            if ((actual & bit) != 0) {
+                return false;
+            }
+            if (dia.compareAndSet(palabra, actual, actual | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Volver a ocupar el bloque de una cita liberada (compensación de una
+     * cancelación que no se confirmó). Si el bloque se ocupó entretanto, la
+     * cita vuelve como sobrecupo
+     */
+    public void reponer(Long idLaboratorio, LocalDateTime fechaCita) {
+        if (!reservar(idLaboratorio, fechaCita)) {
+            sobrecupo.merge(new Bloque(idLaboratorio, inicioBloque(fechaCita)), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Liberar el bloque de la fecha indicada
+     * Si el bloque tiene sobrecupo, se descuenta una cita y el bloque sigue ocupado
+     */
+    public void liberar(Long idLaboratorio, LocalDateTime fechaCita) {
+        boolean[] descontado = {false};
+        sobrecupo.computeIfPresent(new Bloque(idLaboratorio, inicioBloque(fechaCita)), (bloque, citas) -> {
+            descontado[0] = true;
+            return citas > 1 ? citas - 1 : null;
+        });
+        if (descontado[0]) {
+            return;
+        }
+        Map<LocalDate, AtomicLongArray> dias = ocupacion.get(idLaboratorio);
+        AtomicLongArray dia = dias != null ? dias.get(fechaCita.toLocalDate()) : null;
+        if (dia == null) {
+            return;
+        }
+        int bloque = bloque(fechaCita.toLocalTime());
+        int palabra = bloque >>> 6;
+        long bit = 1L << (bloque & 63);
+        while (true) {
+            long actual = dia.get(palabra);
+            if ((actual & bit) == 0 || dia.compareAndSet(palabra, actual, actual & ~bit)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Verificar en CITAS si otra réplica ya ocupó el bloque (solo con la agenda
+     * compartida). Bloquea la fila del laboratorio hasta el fin de la transacción
+     * actual, de modo que dos réplicas no confirmen el mismo bloque; quien llame
+     * en varios laboratorios debe hacerlo en orden de ID
+     */
+    public boolean ocupadoEnBaseDeDatos(Long idLaboratorio, LocalDateTime fechaCita) {
+        if (!compartida) {
+            return false;
+        }
+        laboratorioRepository.bloquearParaReserva(idLaboratorio);
+        LocalDateTime inicio = inicioBloque(fechaCita);
+        return !citaRepository.findReservasLaboratorio(
+            idLaboratorio, inicio, inicio.plusMinutes(duracionBloqueMinutos)).isEmpty();
+    }
+
+    /**
+     * Verificar si el bloque de la fecha indicada está ocupado
+     */
+    public boolean estaOcupado(Long idLaboratorio, LocalDateTime fechaCita) {
+        Map<LocalDate, AtomicLongArray> dias = ocupacion.get(idLaboratorio);
+        AtomicLongArray dia = dias != null ? dias.get(fechaCita.toLocalDate()) : null;
+        return dia != null && estaOcupado(dia, bloque(fechaCita.toLocalTime()));
+    }
+
+    /**
+     * Verificar si dos fechas caen en el mismo bloque
+     */
+    public boolean mismoBloque(LocalDateTime a, LocalDateTime b) {
+        return a.toLocalDate().equals(b.toLocalDate()) && bloque(a.toLocalTime()) == bloque(b.toLocalTime());
+    }
+
+    /**
+     * Obtener los bloques libres (dentro del horario de atención y no pasados)
+     * de un laboratorio entre dos días, ambos incluidos
+     */
+    public List<DisponibilidadDiaDTO> obtenerDisponibilidad(Long idLaboratorio, LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde)) {
+            throw new BadRequestException("La fecha 'hasta' debe ser igual o posterior a 'desde'");
+        }
+        if (ChronoUnit.DAYS.between(desde, hasta) >= maxDiasConsulta) {
+            throw new BadRequestException("El rango consultado no puede superar " + maxDiasConsulta + " días");
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        Map<LocalDate, AtomicLongArray> dias = ocupacion.getOrDefault(idLaboratorio, Map.of());
+        Map<LocalDate, BitSet> ocupadosEnBd = compartida
+            ? ocupadosEnBaseDeDatos(idLaboratorio, desde, hasta)
+            : Map.of();
+        int primerBloque = bloque(horaApertura);
+        int finBloques = horaCierre.equals(LocalTime.MIDNIGHT) ? bloquesPorDia
+            : (horaCierre.toSecondOfDay() / 60) / duracionBloqueMinutos;
+
+        List<DisponibilidadDiaDTO> disponibilidad = new ArrayList<>();
+        for (LocalDate fecha = desde; !fecha.isAfter(hasta); fecha = fecha.plusDays(1)) {
+            AtomicLongArray dia = dias.get(fecha);
+            BitSet ocupadosDia = ocupadosEnBd.get(fecha);
+            List<LocalTime> libres = new ArrayList<>();
+            for (int b = primerBloque; b < finBloques; b++) {
+                LocalTime inicio = LocalTime.ofSecondOfDay((long) b * duracionBloqueMinutos * 60);
+                if (fecha.atTime(inicio).isBefore(ahora)) {
+                    continue;
+                }
+                if ((dia == null || !estaOcupado(dia, b)) && (ocupadosDia == null || !ocupadosDia.get(b))) {
+                    libres.add(inicio);
+                }
+            }
+            disponibilidad.add(new DisponibilidadDiaDTO(fecha, duracionBloqueMinutos, libres));
+        }
+        return disponibilidad;
+    }
+
+    /**
+     * Bloques ocupados en CITAS (por cualquier réplica) entre dos días, ambos incluidos
+     */
+    private Map<LocalDate, BitSet> ocupadosEnBaseDeDatos(Long idLaboratorio, LocalDate desde, LocalDate hasta) {
+        Map<LocalDate, BitSet> ocupados = new HashMap<>();
+        for (LocalDateTime fechaCita : citaRepository.findReservasLaboratorio(
+                idLaboratorio, desde.atStartOfDay(), hasta.plusDays(1).atStartOfDay())) {
+            ocupados.computeIfAbsent(fechaCita.toLocalDate(), fecha -> new BitSet(bloquesPorDia))
+                .set(bloque(fechaCita.toLocalTime()));
+        }
+        return ocupados;
+    }
+
+    private int bloque(LocalTime hora) {
+        return (hora.toSecondOfDay() / 60) / duracionBloqueMinutos;
+    }
+
+    private LocalDateTime inicioBloque(LocalDateTime fechaCita) {
+        return fechaCita.toLocalDate().atStartOfDay()
+            .plusMinutes((long) bloque(fechaCita.toLocalTime()) * duracionBloqueMinutos);
+    }
+
+    private record Bloque(Long idLaboratorio, LocalDateTime inicio) {
+    }
+
+    private static boolean estaOcupado(AtomicLongArray dia, int bloque) {
+        return (dia.get(bloque >>> 6) & (1L << (bloque & 63))) != 0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.exception.BadRequestException;
+import com.duoc.laboratorio.laboratorios.repository.CitaArchivadaRepository;
+import com.duoc.laboratorio.laboratorios.repository.CitaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Archivo de citas antiguas
+ * Mueve a CITAS_ARCHIVO las citas anteriores al horizonte, por lotes y cada lote
+ * en su propia transacción (copiar y eliminar juntos). El límite es siempre el
+ * inicio de un mes, así las particiones mensuales antiguas de CITAS quedan vacías.
+ * Las citas archivadas son pasadas, por lo que no afectan la agenda.
+ */
+@Service
+public class ArchivadorCitas {
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private CitaArchivadaRepository citaArchivadaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean enEjecucion = new AtomicBoolean(false);
+
+    @Value("${citas.archivo.horizonte-meses:24}")
+    private int horizonteMeses;
+
+    @Value("${citas.archivo.tamano-lote:500}")
+    private int tamanoLote;
+
+    /**
+     * Fecha desde la que las citas permanecen en la tabla viva
+     * Todo lo archivado es anterior a este límite
+     */
+    public LocalDateTime limite() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(horizonteMeses).atStartOfDay();
+    }
+
+    /**
+     * Ejecución programada (citas.archivo.cron, "-" la desactiva)
+     */
+    @Scheduled(cron = "${citas.archivo.cron:0 0 2 * * *}")
+    public void archivarProgramado() {
+        if (!enEjecucion.get()) {
+            archivar();
+        }
+    }
+
+    /**
+     * Archivar todas las citas anteriores al límite
+     *
+     * @return cantidad de citas archivadas
+     */
+    public int archivar() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            throw new BadRequestException("El archivo de citas ya está en ejecución");
+        }
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            LocalDateTime limite = limite();
+            int archivadas = 0;
+            while (true) {
+                Integer lote = transaccion.execute(estado -> archivarLote(limite));
+                if (lote == null || lote == 0) {
+                    return archivadas;
+                }
+                archivadas += lote;
+            }
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+
+    private int archivarLote(LocalDateTime limite) {
+        List<Long> ids = citaRepository.findIdsAnterioresA(limite, PageRequest.of(0, tamanoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        citaArchivadaRepository.copiarDesdeCitas(ids);
+        citaRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,269 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.dto.CitaDTO;
+import com.duoc.laboratorio.laboratorios.dto.ResultadoLoteCitaDTO;
+import com.duoc.laboratorio.laboratorios.model.Cita;
+import com.duoc.laboratorio.laboratorios.model.EstadoCita;
+import com.duoc.laboratorio.laboratorios.repository.CitaRepository;
+import com.duoc.laboratorio.laboratorios.repository.LaboratorioRepository;
+import com.duoc.laboratorio.laboratorios.repository.TipoAnalisisRepository;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Servicio para la creación masiva de citas (importación desde sistemas de agenda)
+ *
+ * Las citas se leen de un iterador (el cuerpo de la solicitud se procesa a medida
+ * que llega) y se agrupan en bloques. Por bloque se valida la existencia de
+ * laboratorios y tipos de análisis con una consulta IN por entidad, y las citas
+ * válidas se insertan en lotes JDBC dentro de una transacción propia, de modo que
+ * una importación grande no necesita caber en memoria ni en una sola transacción.
+ */
+@Service
+public class CitaLoteService {
+
+    /** Límite de elementos de una lista IN en Oracle */
+    private static final int MAX_TAMANO_BLOQUE = 1000;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private LaboratorioRepository laboratorioRepository;
+
+    @Autowired
+    private TipoAnalisisRepository tipoAnalisisRepository;
+
+    @Autowired
+    private AgendaCitas agendaCitas;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${citas.lote.tamano-bloque:500}")
+    private int tamanoBloque = 500;
+
+    /**
+     * Crear las citas del iterador, informando el resultado de cada una en orden.
+     * Si el contenido deja de poder leerse, se procesa lo ya leído y se informa
+     * el error en la posición correspondiente.
+     */
+    public void crearLote(Iterator<CitaDTO> citas, Consumer<ResultadoLoteCitaDTO> resultados) {
+        int tamano = Math.max(1, Math.min(tamanoBloque, MAX_TAMANO_BLOQUE));
+        IdsConocidos laboratorios = new IdsConocidos(laboratorioRepository::findIdsExistentes);
+        IdsConocidos tiposAnalisis = new IdsConocidos(tipoAnalisisRepository::findIdsExistentes);
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+        List<CitaDTO> bloque = new ArrayList<>(tamano);
+        long indice = 0;
+        while (true) {
+            CitaDTO cita;
+            try {
+                if (!citas.hasNext()) {
+                    break;
+                }
+                cita = citas.next();
+            } catch (RuntimeException e) {
+                procesarBloque(bloque, indice - bloque.size(), laboratorios, tiposAnalisis, transaccion, resultados);
+                resultados.accept(ResultadoLoteCitaDTO.rechazada(indice,
+                    "Contenido inválido, se detiene la carga: " + e.getMessage()));
+                return;
+            }
+            bloque.add(cita);
+            indice++;
+            if (bloque.size() == tamano) {
+                procesarBloque(bloque, indice - bloque.size(), laboratorios, tiposAnalisis, transaccion, resultados);
+                bloque.clear();
+            }
+        }
+        procesarBloque(bloque, indice - bloque.size(), laboratorios, tiposAnalisis, transaccion, resultados);
+    }
+
+    private void procesarBloque(List<CitaDTO> bloque, long inicio, IdsConocidos laboratorios,
+                                IdsConocidos tiposAnalisis, TransactionTemplate transaccion,
+                                Consumer<ResultadoLoteCitaDTO> resultados) {
+        if (bloque.isEmpty()) {
+            return;
+        }
+        laboratorios.resolver(bloque.stream().map(CitaDTO::getIdLaboratorio).collect(Collectors.toSet()));
+        tiposAnalisis.resolver(bloque.stream().map(CitaDTO::getIdTipoAnalisis).collect(Collectors.toSet()));
+
+        ResultadoLoteCitaDTO[] salida = new ResultadoLoteCitaDTO[bloque.size()];
+        List<Cita> nuevas = new ArrayList<>(bloque.size());
+        List<Integer> posiciones = new ArrayList<>(bloque.size());
+        for (int i = 0; i < bloque.size(); i++) {
+            CitaDTO dto = bloque.get(i);
+            String error = validar(dto, laboratorios, tiposAnalisis);
+            if (error != null) {
+                salida[i] = ResultadoLoteCitaDTO.rechazada(inicio + i, error);
+                continue;
+            }
+            Cita cita = convertirAEntidad(dto);
+            if (AgendaCitas.ocupaHorario(cita.getEstado())
+                    && !agendaCitas.reservar(cita.getIdLaboratorio(), cita.getFechaCita())) {
+                salida[i] = ResultadoLoteCitaDTO.rechazada(inicio + i,
+                    "El laboratorio ya tiene una cita en el horario " + cita.getFechaCita());
+                continue;
+            }
+            nuevas.add(cita);
+            posiciones.add(i);
+        }
+
+        if (!nuevas.isEmpty()) {
+            try {
+                transaccion.executeWithoutResult(status -> {
+                    descartarOcupadasEnBaseDeDatos(nuevas, posiciones, inicio, salida);
+                    citaRepository.saveAll(nuevas);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                Metrics.counter(CitaService.METRICA_CITAS_CREADAS, "origen", "lote").increment(nuevas.size());
+                for (int k = 0; k < nuevas.size(); k++) {
+                    int posicion = posiciones.get(k);
+                    salida[posicion] = ResultadoLoteCitaDTO.creada(inicio + posicion, nuevas.get(k).getIdCita());
+                }
+            } catch (RuntimeException e) {
+                for (Cita cita : nuevas) {
+                    if (AgendaCitas.ocupaHorario(cita.getEstado())) {
+                        agendaCitas.liberar(cita.getIdLaboratorio(), cita.getFechaCita());
+                    }
+                }
+                for (int posicion : posiciones) {
+                    salida[posicion] = ResultadoLoteCitaDTO.rechazada(inicio + posicion,
+                        "Error al guardar el bloque: " + e.getMessage());
+                }
+            }
+        }
+
+        for (ResultadoLoteCitaDTO resultado : salida) {
+            resultados.accept(resultado);
+        }
+    }
+
+    /**
+     * Con la agenda compartida, rechazar las citas cuyo bloque ya ocupó otra
+     * réplica. Se recorren por laboratorio para tomar los bloqueos en orden
+     */
+    private void descartarOcupadasEnBaseDeDatos(List<Cita> nuevas, List<Integer> posiciones, long inicio,
+                                                ResultadoLoteCitaDTO[] salida) {
+        List<Integer> orden = IntStream.range(0, nuevas.size()).boxed()
+            .filter(k -> AgendaCitas.ocupaHorario(nuevas.get(k).getEstado()))
+            .sorted(Comparator.comparing(k -> nuevas.get(k).getIdLaboratorio()))
+            .toList();
+        Set<Integer> ocupadas = new HashSet<>();
+        for (int k : orden) {
+            Cita cita = nuevas.get(k);
+            if (agendaCitas.ocupadoEnBaseDeDatos(cita.getIdLaboratorio(), cita.getFechaCita())) {
+                ocupadas.add(k);
+                agendaCitas.liberar(cita.getIdLaboratorio(), cita.getFechaCita());
+                salida[posiciones.get(k)] = ResultadoLoteCitaDTO.rechazada(inicio + posiciones.get(k),
+                    "El laboratorio ya tiene una cita en el horario " + cita.getFechaCita());
+            }
+        }
+        for (int k = nuevas.size() - 1; k >= 0; k--) {
+            if (ocupadas.contains(k)) {
+                nuevas.remove(k);
+                posiciones.remove(k);
+            }
+        }
+    }
+
+    /**
+     * Mismas reglas que la creación individual: restricciones del DTO, estado
+     * inicial, laboratorio y tipo de análisis existentes (el horario se reserva aparte)
+     */
+    private String validar(CitaDTO dto, IdsConocidos laboratorios, IdsConocidos tiposAnalisis) {
+        if (dto == null) {
+            return "La cita no puede ser nula";
+        }
+        Set<ConstraintViolation<CitaDTO>> violaciones = validator.validate(dto);
+        if (!violaciones.isEmpty()) {
+            return violaciones.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+        Optional<String> estadoInvalido = EstadoCita.motivoRechazoCreacion(dto.getEstado());
+        if (estadoInvalido.isPresent()) {
+            return estadoInvalido.get();
+        }
+        if (!laboratorios.existe(dto.getIdLaboratorio())) {
+            return "Laboratorio no encontrado con ID: " + dto.getIdLaboratorio();
+        }
+        if (!tiposAnalisis.existe(dto.getIdTipoAnalisis())) {
+            return "Tipo de análisis no encontrado con ID: " + dto.getIdTipoAnalisis();
+        }
+        return null;
+    }
+
+    private Cita convertirAEntidad(CitaDTO dto) {
+        Cita cita = new Cita();
+        cita.setIdPaciente(dto.getIdPaciente());
+        cita.setIdLaboratorio(dto.getIdLaboratorio());
+        cita.setIdTipoAnalisis(dto.getIdTipoAnalisis());
+        cita.setFechaCita(dto.getFechaCita());
+        cita.setEstado(EstadoCita.INICIAL.name());
+        cita.setObservaciones(dto.getObservaciones());
+        return cita;
+    }
+
+    /**
+     * IDs ya verificados durante la carga, para consultar a la BD solo los nuevos
+     */
+    private static final class IdsConocidos {
+
+        private final Function<Collection<Long>, List<Long>> consulta;
+        private final Set<Long> existentes = new HashSet<>();
+        private final Set<Long> inexistentes = new HashSet<>();
+
+        IdsConocidos(Function<Collection<Long>, List<Long>> consulta) {
+            this.consulta = consulta;
+        }
+
+        void resolver(Set<Long> ids) {
+            Set<Long> pendientes = ids.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !existentes.contains(id) && !inexistentes.contains(id))
+                .collect(Collectors.toSet());
+            if (pendientes.isEmpty()) {
+                return;
+            }
+            List<Long> encontrados = consulta.apply(pendientes);
+            existentes.addAll(encontrados);
+            pendientes.removeAll(encontrados);
+            inexistentes.addAll(pendientes);
+        }
+
+        boolean existe(Long id) {
+            return id != null && existentes.contains(id);
+        }
+    }
+}
@@ -1,27 +1,78 @@
 package com.duoc.laboratorio.laboratorios.service;
 
 import com.duoc.laboratorio.laboratorios.dto.CitaDTO;
+import com.duoc.laboratorio.laboratorios.dto.ConsultaPaginaDTO;
+import com.duoc.laboratorio.laboratorios.dto.PaginaDTO;
+import com.duoc.laboratorio.laboratorios.dto.TransicionLoteCitasRequest;
+import com.duoc.laboratorio.laboratorios.dto.TransicionLoteDTO;
 import com.duoc.laboratorio.laboratorios.exception.BadRequestException;
+import com.duoc.laboratorio.laboratorios.exception.ConflictException;
 import com.duoc.laboratorio.laboratorios.exception.ResourceNotFoundException;
 import com.duoc.laboratorio.laboratorios.model.Cita;
+import com.duoc.laboratorio.laboratorios.model.CitaArchivada;
+import com.duoc.laboratorio.laboratorios.model.EstadoCita;
+import com.duoc.laboratorio.laboratorios.repository.CitaArchivadaRepository;
 import com.duoc.laboratorio.laboratorios.repository.CitaRepository;
 import com.duoc.laboratorio.laboratorios.repository.LaboratorioRepository;
 import com.duoc.laboratorio.laboratorios.repository.TipoAnalisisRepository;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 /**
  * Servicio que contiene la lógica de negocio para gestión de citas
+ *
+ * Las citas anteriores al límite de ArchivadorCitas están en CITAS_ARCHIVO. Solo
+ * se consulta el archivo cuando hace falta: búsqueda por ID que no existe en CITAS
+ * y rangos de fechas que comienzan antes del límite. Las modificaciones operan
+ * únicamente sobre citas vivas.
  */
 @Service
 @Transactional
 public class CitaService {
 
+    public static final int TAMANO_PAGINA_MAXIMO = 200;
+
+    /** Contador de citas creadas, por origen (individual/lote) */
+    static final String METRICA_CITAS_CREADAS = "citas.creadas";
+
+    /** Debe coincidir con el ORDER BY de las variantes por cursor de CitaRepository */
+    private static final Sort ORDEN_PAGINACION = Sort.by("fechaCita", "idCita");
+
+    private static final Comparator<CitaDTO> ORDEN_CITAS =
+        Comparator.comparing(CitaDTO::getFechaCita).thenComparing(CitaDTO::getIdCita);
+
+    private static final Sort ORDEN_RECIENTES = Sort.by(Sort.Direction.DESC, "fechaCita", "idCita");
+
+    /** Rango máximo de una transición por lote: acota las filas bloqueadas */
+    static final int MAX_DIAS_TRANSICION_LOTE = 31;
+
+    /** IDs por UPDATE ... IN (límite de Oracle para una lista IN) */
+    private static final int TAMANO_BLOQUE_IN = 1000;
+
+    /** Citas omitidas que se detallan en la respuesta de una transición por lote */
+    static final int MAX_DETALLE_OMITIDAS = 1000;
+
     @Autowired
     private CitaRepository citaRepository;
 
@@ -31,6 +82,15 @@ public class CitaService {
     @Autowired
     private TipoAnalisisRepository tipoAnalisisRepository;
 
+    @Autowired
+    private AgendaCitas agendaCitas;
+
+    @Autowired
+    private CitaArchivadaRepository citaArchivadaRepository;
+
+    @Autowired
+    private ArchivadorCitas archivadorCitas;
+
     /**
      * Crear nueva cita
      */
@@ -50,26 +110,39 @@ public class CitaService {
             throw new BadRequestException("La fecha de la cita debe ser futura");
         }
 
+        // Los demás estados solo se alcanzan por las transiciones de EstadoCita
+        EstadoCita.motivoRechazoCreacion(dto.getEstado()).ifPresent(motivo -> {
+            throw new BadRequestException(motivo);
+        });
+
         Cita cita = new Cita();
         cita.setIdPaciente(dto.getIdPaciente());
         cita.setIdLaboratorio(dto.getIdLaboratorio());
         cita.setIdTipoAnalisis(dto.getIdTipoAnalisis());
         cita.setFechaCita(dto.getFechaCita());
-        cita.setEstado(dto.getEstado() != null ? dto.getEstado() : "PROGRAMADA");
+        cita.setEstado(EstadoCita.INICIAL.name());
         cita.setObservaciones(dto.getObservaciones());
 
+        // Reserva optimista del bloque horario (se libera si la transacción no se confirma)
+        if (AgendaCitas.ocupaHorario(cita.getEstado())) {
+            reservarHorario(cita.getIdLaboratorio(), cita.getFechaCita());
+        }
+
         Cita guardada = citaRepository.save(cita);
+        alConfirmar(() -> Metrics.counter(METRICA_CITAS_CREADAS, "origen", "individual").increment());
         return convertirADTO(guardada);
     }
 
     /**
-     * Obtener todas las citas
+     * Obtener una página de todas las citas
      */
     @Transactional(readOnly = true)
-    public List<CitaDTO> obtenerTodas() {
-        return citaRepository.findAll().stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
+    public PaginaDTO<CitaDTO> obtenerTodas(ConsultaPaginaDTO consulta) {
+        return paginar(consulta,
+            citaRepository::findAllBy,
+            (cursor, limite) -> citaRepository.findPaginaSiguiente(
+                cursor.getFechaCita(), cursor.getIdCita(), limite),
+            citaRepository::count);
     }
 
     /**
@@ -77,57 +150,112 @@ public class CitaService {
      */
     @Transactional(readOnly = true)
     public CitaDTO obtenerPorId(Long id) {
-        Cita cita = citaRepository.findById(id)
+        return citaRepository.findById(id)
+            .map(this::convertirADTO)
+            .or(() -> citaArchivadaRepository.findById(id).map(this::convertirADTO))
             .orElseThrow(() -> new ResourceNotFoundException("Cita no encontrada con ID: " + id));
-        return convertirADTO(cita);
     }
 
     /**
-     * Obtener citas por paciente
+     * Obtener una página de citas por paciente
      */
     @Transactional(readOnly = true)
-    public List<CitaDTO> obtenerPorPaciente(Long idPaciente) {
-        return citaRepository.findByIdPaciente(idPaciente).stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
+    public PaginaDTO<CitaDTO> obtenerPorPaciente(Long idPaciente, ConsultaPaginaDTO consulta) {
+        return paginar(consulta,
+            pagina -> citaRepository.findByIdPaciente(idPaciente, pagina),
+            (cursor, limite) -> citaRepository.findPaginaSiguientePorPaciente(
+                idPaciente, cursor.getFechaCita(), cursor.getIdCita(), limite),
+            () -> citaRepository.countByIdPaciente(idPaciente));
     }
 
     /**
-     * Obtener citas por laboratorio
+     * Obtener las citas más recientes de un paciente (más nuevas primero)
+     * El archivo se consulta solo si las citas vivas no alcanzan el límite
      */
     @Transactional(readOnly = true)
-    public List<CitaDTO> obtenerPorLaboratorio(Long idLaboratorio) {
-        return citaRepository.findByIdLaboratorio(idLaboratorio).stream()
+    public List<CitaDTO> obtenerRecientesPorPaciente(Long idPaciente, int limite) {
+        List<CitaDTO> citas = citaRepository.findByIdPaciente(idPaciente, PageRequest.of(0, limite, ORDEN_RECIENTES))
+            .stream()
             .map(this::convertirADTO)
-            .collect(Collectors.toList());
+            .collect(Collectors.toCollection(ArrayList::new));
+        if (citas.size() < limite) {
+            citaArchivadaRepository.findByIdPaciente(idPaciente, PageRequest.of(0, limite - citas.size(), ORDEN_RECIENTES))
+                .forEach(archivada -> citas.add(convertirADTO(archivada)));
+        }
+        return citas;
     }
 
     /**
-     * Obtener citas por estado
+     * Obtener una página de citas por laboratorio
      */
     @Transactional(readOnly = true)
-    public List<CitaDTO> obtenerPorEstado(String estado) {
-        return citaRepository.findByEstado(estado).stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
+    public PaginaDTO<CitaDTO> obtenerPorLaboratorio(Long idLaboratorio, ConsultaPaginaDTO consulta) {
+        return paginar(consulta,
+            pagina -> citaRepository.findByIdLaboratorio(idLaboratorio, pagina),
+            (cursor, limite) -> citaRepository.findPaginaSiguientePorLaboratorio(
+                idLaboratorio, cursor.getFechaCita(), cursor.getIdCita(), limite),
+            () -> citaRepository.countByIdLaboratorio(idLaboratorio));
     }
 
     /**
-     * Obtener próximas citas por laboratorio
+     * Obtener una página de citas por estado
      */
     @Transactional(readOnly = true)
-    public List<CitaDTO> obtenerProximasCitas(Long idLaboratorio) {
-        return citaRepository.findProximasCitasPorLaboratorio(idLaboratorio).stream()
-            .map(this::convertirADTO)
-            .collect(Collectors.toList());
+    public PaginaDTO<CitaDTO> obtenerPorEstado(String estado, ConsultaPaginaDTO consulta) {
+        return paginar(consulta,
+            pagina -> citaRepository.findByEstado(estado, pagina),
+            (cursor, limite) -> citaRepository.findPaginaSiguientePorEstado(
+                estado, cursor.getFechaCita(), cursor.getIdCita(), limite),
+            () -> citaRepository.countByEstado(estado));
+    }
+
+    /**
+     * Obtener una página de citas entre dos fechas (ambas incluidas)
+     * Si el rango comienza antes del límite de archivo, incluye CITAS_ARCHIVO
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<CitaDTO> obtenerPorRangoFechas(LocalDateTime desde, LocalDateTime hasta,
+                                                   ConsultaPaginaDTO consulta) {
+        if (hasta.isBefore(desde)) {
+            throw new BadRequestException("La fecha 'hasta' debe ser igual o posterior a 'desde'");
+        }
+        if (desde.isBefore(archivadorCitas.limite())) {
+            return paginarConArchivo(desde, hasta, consulta);
+        }
+        return paginar(consulta,
+            pagina -> citaRepository.findByRangoFechas(desde, hasta, pagina),
+            (cursor, limite) -> citaRepository.findPaginaSiguientePorRangoFechas(
+                hasta, cursor.getFechaCita(), cursor.getIdCita(), limite),
+            () -> citaRepository.countByRangoFechas(desde, hasta));
+    }
+
+    /**
+     * Obtener una página de próximas citas por laboratorio
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<CitaDTO> obtenerProximasCitas(Long idLaboratorio, ConsultaPaginaDTO consulta) {
+        return paginar(consulta,
+            pagina -> citaRepository.findProximasCitasPorLaboratorio(idLaboratorio, pagina),
+            (cursor, limite) -> citaRepository.findProximasSiguientesPorLaboratorio(
+                idLaboratorio, cursor.getFechaCita(), cursor.getIdCita(), limite),
+            () -> citaRepository.countProximasCitasPorLaboratorio(idLaboratorio));
     }
 
     /**
      * Actualizar cita
+     * Si el DTO trae la versión que leyó el cliente y la cita cambió desde
+     * entonces, se rechaza con la versión actual
      */
     public CitaDTO actualizarCita(Long id, CitaDTO dto) {
         Cita cita = citaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Cita no encontrada con ID: " + id));
+        verificarVersion(cita, dto.getVersion());
+        if (!cita.getEstado().equals(dto.getEstado())) {
+            verificarTransicion(cita, validarEstado(dto.getEstado()));
+        }
+
+        moverHorario(cita.getIdLaboratorio(), cita.getFechaCita(), AgendaCitas.ocupaHorario(cita.getEstado()),
+                     dto.getIdLaboratorio(), dto.getFechaCita(), AgendaCitas.ocupaHorario(dto.getEstado()));
 
         cita.setIdPaciente(dto.getIdPaciente());
         cita.setIdLaboratorio(dto.getIdLaboratorio());
@@ -142,29 +270,329 @@ public class CitaService {
 
     /**
      * Cambiar estado de cita
+     *
+     * Con estadoEsperado la transición es un UPDATE condicional (WHERE ESTADO =
+     * estadoEsperado), sin leer la cita antes; si ya no está en ese estado, conflicto.
+     * Sin él se lee la cita y el UPDATE verifica la versión leída.
+     * version es opcional: la versión que leyó el cliente.
+     * En ambos casos la transición debe estar permitida por EstadoCita.
      */
-    public CitaDTO cambiarEstado(Long id, String nuevoEstado) {
+    public CitaDTO cambiarEstado(Long id, String nuevoEstado, String estadoEsperado, Long version) {
+        if (estadoEsperado != null && !estadoEsperado.equals(nuevoEstado)) {
+            return cambiarEstadoCondicional(id, estadoEsperado, nuevoEstado, version);
+        }
+
         Cita cita = citaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Cita no encontrada con ID: " + id));
 
-        // Validar estado válido
-        if (!List.of("PROGRAMADA", "CONFIRMADA", "COMPLETADA", "CANCELADA").contains(nuevoEstado)) {
-            throw new BadRequestException("Estado inválido: " + nuevoEstado);
+        EstadoCita destino = validarEstado(nuevoEstado);
+        verificarVersion(cita, version);
+        if (estadoEsperado != null && !estadoEsperado.equals(cita.getEstado())) {
+            throw conflicto(cita);
+        }
+        if (!cita.getEstado().equals(nuevoEstado)) {
+            verificarTransicion(cita, destino);
         }
 
+        moverHorario(cita.getIdLaboratorio(), cita.getFechaCita(), AgendaCitas.ocupaHorario(cita.getEstado()),
+                     cita.getIdLaboratorio(), cita.getFechaCita(), AgendaCitas.ocupaHorario(nuevoEstado));
+
         cita.setEstado(nuevoEstado);
         Cita actualizada = citaRepository.save(cita);
         return convertirADTO(actualizada);
     }
 
+    /**
+     * Transición en una sola sentencia; la cita se lee después, para la agenda y
+     * la respuesta. La guarda de fecha va en el WHERE del UPDATE.
+     */
+    private CitaDTO cambiarEstadoCondicional(Long id, String estadoEsperado, String nuevoEstado, Long version) {
+        EstadoCita destino = validarEstado(nuevoEstado);
+        if (!destino.permiteDesde(estadoEsperado)) {
+            throw new BadRequestException("Transición no permitida: " + estadoEsperado + " -> " + nuevoEstado);
+        }
+        if (citaRepository.actualizarEstado(id, estadoEsperado, nuevoEstado, version,
+                destino.exigeFechaCumplida(), LocalDateTime.now()) == 0) {
+            Cita actual = citaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cita no encontrada con ID: " + id));
+            if (!estadoEsperado.equals(actual.getEstado())) {
+                throw conflicto(actual);
+            }
+            verificarVersion(actual, version);
+            verificarTransicion(actual, destino);
+            throw conflicto(actual);
+        }
+        Cita cita = citaRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Cita no encontrada con ID: " + id));
+        moverHorario(cita.getIdLaboratorio(), cita.getFechaCita(), AgendaCitas.ocupaHorario(estadoEsperado),
+                     cita.getIdLaboratorio(), cita.getFechaCita(), AgendaCitas.ocupaHorario(nuevoEstado));
+        return convertirADTO(cita);
+    }
+
+    /**
+     * Aplicar una transición de estado a las citas de un rango (y laboratorio),
+     * en una transacción
+     *
+     * Las citas que pueden pasar al nuevo estado según EstadoCita se bloquean con
+     * un SELECT ... FOR UPDATE (por la agenda: hay que saber cuáles cambiaron) y
+     * se actualizan con un UPDATE por cada TAMANO_BLOQUE_IN IDs. El resto del
+     * filtro se informa como omitido, con el motivo.
+     */
+    public TransicionLoteDTO cambiarEstadoLote(TransicionLoteCitasRequest request) {
+        EstadoCita destino = validarEstado(request.getEstado());
+        if (request.getHasta().isBefore(request.getDesde())) {
+            throw new BadRequestException("La fecha hasta debe ser posterior a la fecha desde");
+        }
+        if (request.getDesde().plusDays(MAX_DIAS_TRANSICION_LOTE).isBefore(request.getHasta())) {
+            throw new BadRequestException("El rango de una transición por lote no puede superar "
+                + MAX_DIAS_TRANSICION_LOTE + " días");
+        }
+        Set<String> origenes = new HashSet<>(destino.origenes());
+        if (request.getEstadoActual() != null) {
+            origenes.retainAll(Set.of(request.getEstadoActual()));
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        int actualizadas = 0;
+        if (!origenes.isEmpty()) {
+            List<Cita> candidatas = citaRepository.findParaTransicion(request.getDesde(), request.getHasta(),
+                request.getIdLaboratorio(), origenes, destino.exigeFechaCumplida(), ahora);
+            for (int i = 0; i < candidatas.size(); i += TAMANO_BLOQUE_IN) {
+                List<Cita> bloque = candidatas.subList(i, Math.min(i + TAMANO_BLOQUE_IN, candidatas.size()));
+                actualizadas += citaRepository.actualizarEstadoLote(
+                    bloque.stream().map(Cita::getIdCita).collect(Collectors.toList()), destino.name());
+            }
+            for (Cita cita : candidatas) {
+                moverHorario(cita.getIdLaboratorio(), cita.getFechaCita(), AgendaCitas.ocupaHorario(cita.getEstado()),
+                             cita.getIdLaboratorio(), cita.getFechaCita(), AgendaCitas.ocupaHorario(destino.name()));
+            }
+        }
+
+        long omitidas = citaRepository.countOmitidasTransicion(request.getDesde(), request.getHasta(),
+            request.getIdLaboratorio(), request.getEstadoActual(), destino.name());
+        List<TransicionLoteDTO.Omitido> detalle = omitidas == 0 ? List.of() : citaRepository
+            .findOmitidasTransicion(request.getDesde(), request.getHasta(), request.getIdLaboratorio(),
+                request.getEstadoActual(), destino.name(), PageRequest.of(0, MAX_DETALLE_OMITIDAS))
+            .stream()
+            .map(cita -> new TransicionLoteDTO.Omitido(cita.getIdCita(), cita.getEstado(),
+                destino.motivoRechazo(cita.getEstado(), cita.getFechaCita(), ahora)
+                    .orElse("Modificada por otra operación durante la transición")))
+            .collect(Collectors.toList());
+        return new TransicionLoteDTO(destino.name(), actualizadas, omitidas, detalle);
+    }
+
     /**
      * Eliminar cita
      */
     public void eliminarCita(Long id) {
-        if (!citaRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Cita no encontrada con ID: " + id);
+        Cita cita = citaRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Cita no encontrada con ID: " + id));
+        if (AgendaCitas.ocupaHorario(cita.getEstado())) {
+            liberarHorario(cita.getIdLaboratorio(), cita.getFechaCita());
         }
-        citaRepository.deleteById(id);
+        citaRepository.delete(cita);
+    }
+
+    /**
+     * Validar estado válido
+     */
+    private EstadoCita validarEstado(String estado) {
+        return EstadoCita.de(estado)
+            .orElseThrow(() -> new BadRequestException("Estado inválido: " + estado));
+    }
+
+    /**
+     * Rechazar la transición si EstadoCita no la permite o no se cumple su guarda
+     */
+    private void verificarTransicion(Cita cita, EstadoCita destino) {
+        destino.motivoRechazo(cita.getEstado(), cita.getFechaCita(), LocalDateTime.now())
+            .ifPresent(motivo -> {
+                throw new ConflictException(motivo, cita.getVersion());
+            });
+    }
+
+    /**
+     * Rechazar la modificación si el cliente leyó una versión anterior de la cita
+     */
+    private void verificarVersion(Cita cita, Long version) {
+        if (version != null && !version.equals(cita.getVersion())) {
+            throw conflicto(cita);
+        }
+    }
+
+    private ConflictException conflicto(Cita cita) {
+        return new ConflictException("La cita " + cita.getIdCita() + " fue modificada por otra operación "
+            + "(estado " + cita.getEstado() + ", versión " + cita.getVersion() + ")", cita.getVersion());
+    }
+
+    /**
+     * Trasladar la ocupación de la agenda al reprogramar o cambiar de estado una cita.
+     * Se reserva primero el bloque nuevo para no perder el anterior si está ocupado.
+     */
+    private void moverHorario(Long idLaboratorioAnterior, LocalDateTime fechaAnterior, boolean ocupabaAnterior,
+                              Long idLaboratorioNuevo, LocalDateTime fechaNueva, boolean ocupaNueva) {
+        boolean mismoBloque = Objects.equals(idLaboratorioAnterior, idLaboratorioNuevo)
+            && agendaCitas.mismoBloque(fechaAnterior, fechaNueva);
+        if (ocupaNueva && !(ocupabaAnterior && mismoBloque)) {
+            reservarHorario(idLaboratorioNuevo, fechaNueva);
+        }
+        if (ocupabaAnterior && !(ocupaNueva && mismoBloque)) {
+            liberarHorario(idLaboratorioAnterior, fechaAnterior);
+        }
+    }
+
+    private void reservarHorario(Long idLaboratorio, LocalDateTime fechaCita) {
+        if (!agendaCitas.reservar(idLaboratorio, fechaCita)) {
+            throw new ConflictException("El laboratorio ya tiene una cita en el horario " + fechaCita);
+        }
+        alRevertir(() -> agendaCitas.liberar(idLaboratorio, fechaCita));
+        // Con la agenda compartida, otra réplica puede haber ocupado el bloque
+        if (agendaCitas.ocupadoEnBaseDeDatos(idLaboratorio, fechaCita)) {
+            throw new ConflictException("El laboratorio ya tiene una cita en el horario " + fechaCita);
+        }
+    }
+
+    private void liberarHorario(Long idLaboratorio, LocalDateTime fechaCita) {
+        agendaCitas.liberar(idLaboratorio, fechaCita);
+        alRevertir(() -> agendaCitas.reponer(idLaboratorio, fechaCita));
+    }
+
+    /**
+     * Deshacer un cambio en la agenda si la transacción actual no se confirma
+     */
+    private void alRevertir(Runnable compensacion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        compensacion.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Ejecutar una acción solo si la transacción actual se confirma
+     */
+    private void alConfirmar(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    /**
+     * Resolver una página de citas en orden (fecha, ID) ascendente.
+     * Con cursor se usa la variante keyset; si no, la variante por página (Slice,
+     * que lee un elemento extra en lugar de contar). El tamaño se acota a
+     * TAMANO_PAGINA_MAXIMO y el COUNT solo se ejecuta si se pidió el total.
+     * Ambos modos devuelven el cursor de la página siguiente.
+     */
+    private PaginaDTO<CitaDTO> paginar(ConsultaPaginaDTO consulta,
+                                       Function<Pageable, Slice<Cita>> porPagina,
+                                       BiFunction<CursorCita, Pageable, List<Cita>> desdeCursor,
+                                       LongSupplier contar) {
+        int tamano = Math.max(1, Math.min(consulta.getSize(), TAMANO_PAGINA_MAXIMO));
+        String cursor = consulta.getCursor();
+
+        List<Cita> citas;
+        boolean haySiguiente;
+        if (cursor != null && !cursor.isBlank()) {
+            if (consulta.getPage() != null) {
+                throw new BadRequestException("Use 'page' o 'cursor', no ambos");
+            }
+            List<Cita> leidas = desdeCursor.apply(CursorCita.decodificar(cursor), PageRequest.of(0, tamano + 1));
+            haySiguiente = leidas.size() > tamano;
+            citas = haySiguiente ? leidas.subList(0, tamano) : leidas;
+        } else {
+            int pagina = consulta.getPage() != null ? consulta.getPage() : 0;
+            if (pagina < 0) {
+                throw new BadRequestException("El número de página no puede ser negativo");
+            }
+            Slice<Cita> slice = porPagina.apply(PageRequest.of(pagina, tamano, ORDEN_PAGINACION));
+            citas = slice.getContent();
+            haySiguiente = slice.hasNext();
+        }
+
+        String siguienteCursor = null;
+        if (haySiguiente) {
+            Cita ultima = citas.get(citas.size() - 1);
+            siguienteCursor = new CursorCita(ultima.getFechaCita(), ultima.getIdCita()).codificar();
+        }
+        Long total = consulta.isTotal() ? contar.getAsLong() : null;
+
+        return new PaginaDTO<>(
+            citas.stream().map(this::convertirADTO).collect(Collectors.toList()),
+            siguienteCursor,
+            total
+        );
+    }
+
+    /**
+     * Página de un rango de fechas que abarca CITAS y CITAS_ARCHIVO.
+     * Se leen de cada tabla las filas necesarias para cubrir la página (desde el
+     * cursor, o hasta offset + tamaño con page) y se mezclan en orden (fecha, ID).
+     * Una cita está en una sola de las tablas, así que no hay duplicados. Con page
+     * la lectura crece con el número de página; para recorrer rangos largos conviene el cursor.
+     */
+    private PaginaDTO<CitaDTO> paginarConArchivo(LocalDateTime desde, LocalDateTime hasta,
+                                                ConsultaPaginaDTO consulta) {
+        int tamano = Math.max(1, Math.min(consulta.getSize(), TAMANO_PAGINA_MAXIMO));
+        String cursor = consulta.getCursor();
+
+        List<Cita> vivas;
+        List<CitaArchivada> archivadas;
+        int omitir;
+        if (cursor != null && !cursor.isBlank()) {
+            if (consulta.getPage() != null) {
+                throw new BadRequestException("Use 'page' o 'cursor', no ambos");
+            }
+            CursorCita desdeCursor = CursorCita.decodificar(cursor);
+            PageRequest limite = PageRequest.of(0, tamano + 1);
+            vivas = citaRepository.findPaginaSiguientePorRangoFechas(
+                hasta, desdeCursor.getFechaCita(), desdeCursor.getIdCita(), limite);
+            archivadas = citaArchivadaRepository.findPaginaSiguientePorRangoFechas(
+                hasta, desdeCursor.getFechaCita(), desdeCursor.getIdCita(), limite);
+            omitir = 0;
+        } else {
+            int pagina = consulta.getPage() != null ? consulta.getPage() : 0;
+            if (pagina < 0) {
+                throw new BadRequestException("El número de página no puede ser negativo");
+            }
+            omitir = pagina * tamano;
+            PageRequest limite = PageRequest.of(0, omitir + tamano + 1, ORDEN_PAGINACION);
+            vivas = citaRepository.findByRangoFechas(desde, hasta, limite).getContent();
+            archivadas = citaArchivadaRepository.findByRangoFechas(desde, hasta, limite);
+        }
+
+        List<CitaDTO> mezcla = Stream.concat(
+                vivas.stream().map(this::convertirADTO),
+                archivadas.stream().map(this::convertirADTO))
+            .sorted(ORDEN_CITAS)
+            .skip(omitir)
+            .limit(tamano + 1L)
+            .collect(Collectors.toList());
+        boolean haySiguiente = mezcla.size() > tamano;
+        List<CitaDTO> citas = haySiguiente ? mezcla.subList(0, tamano) : mezcla;
+
+        String siguienteCursor = null;
+        if (haySiguiente) {
+            CitaDTO ultima = citas.get(citas.size() - 1);
+            siguienteCursor = new CursorCita(ultima.getFechaCita(), ultima.getIdCita()).codificar();
+        }
+        Long total = consulta.isTotal()
+            ? citaRepository.countByRangoFechas(desde, hasta) + citaArchivadaRepository.countByRangoFechas(desde, hasta)
+            : null;
+
+        return new PaginaDTO<>(citas, siguienteCursor, total);
     }
 
     /**
@@ -180,8 +608,23 @@ public class CitaService {
         dto.setEstado(cita.getEstado());
         dto.setObservaciones(cita.getObservaciones());
         dto.setFechaCreacion(cita.getFechaCreacion());
+        dto.setVersion(cita.getVersion());
         return dto;
     }
-}
-
 
+    /**
+     * Convertir cita archivada a DTO
+     */
+    private CitaDTO convertirADTO(CitaArchivada cita) {
+        CitaDTO dto = new CitaDTO();
+        dto.setIdCita(cita.getIdCita());
+        dto.setIdPaciente(cita.getIdPaciente());
+        dto.setIdLaboratorio(cita.getIdLaboratorio());
+        dto.setIdTipoAnalisis(cita.getIdTipoAnalisis());
+        dto.setFechaCita(cita.getFechaCita());
+        dto.setEstado(cita.getEstado());
+        dto.setObservaciones(cita.getObservaciones());
+        dto.setFechaCreacion(cita.getFechaCreacion());
+        return dto;
+    }
+}
@@ -0,0 +1,48 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor para paginación keyset sobre (FECHA_CITA, ID_CITA)
+ * Se expone al cliente como un token opaco en Base64 URL-safe
+ */
+@Getter
+@AllArgsConstructor
+public class CursorCita {
+
+    private static final String SEPARADOR = "|";
+
+    private final LocalDateTime fechaCita;
+    private final Long idCita;
+
+    /**
+     * Codificar el cursor como token opaco
+     */
+    public String codificar() {
+        String valor = fechaCita + SEPARADOR + idCita;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodificar un token recibido del cliente
+     */
+    public static CursorCita decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new CursorCita(
+                LocalDateTime.parse(valor.substring(0, separador)),
+                Long.valueOf(valor.substring(separador + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+}
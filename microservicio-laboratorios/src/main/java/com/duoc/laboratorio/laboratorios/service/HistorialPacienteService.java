@@ -0,0 +1,136 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.client.ResultadosClient;
+import com.duoc.laboratorio.laboratorios.client.UsuariosClient;
+import com.duoc.laboratorio.laboratorios.config.ContextoTraza;
+import com.duoc.laboratorio.laboratorios.dto.CitaDTO;
+import com.duoc.laboratorio.laboratorios.dto.EntradaHistorialDTO;
+import com.duoc.laboratorio.laboratorios.dto.HistorialPacienteDTO;
+import com.duoc.laboratorio.laboratorios.dto.PacienteDTO;
+import com.duoc.laboratorio.laboratorios.dto.ResultadoCitaDTO;
+import com.duoc.laboratorio.laboratorios.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Historial del paciente compuesto desde los tres microservicios
+ *
+ * Reemplaza las llamadas que hacía el frontend (citas del paciente, un
+ * GET /api/resultados/cita/{id} por cita y el usuario) por una sola petición.
+ * Los datos del paciente se piden a usuarios en un hilo virtual mientras se leen
+ * las citas; con los IDs de las citas se piden todos los resultados en una sola
+ * llamada a resultados. Cada dependencia tiene su propio tiempo de espera y, si
+ * falla, el historial se entrega igual, marcado como incompleto.
+ */
+@Service
+public class HistorialPacienteService {
+
+    static final String USUARIOS = "usuarios";
+    static final String RESULTADOS = "resultados";
+
+    @Autowired
+    private CitaService citaService;
+
+    @Autowired
+    private UsuariosClient usuariosClient;
+
+    @Autowired
+    private ResultadosClient resultadosClient;
+
+    @Value("${citas.historial.max-citas:100}")
+    private int maxCitas;
+
+    private final SimpleAsyncTaskExecutor ejecutor = new SimpleAsyncTaskExecutor("historial-");
+
+    public HistorialPacienteService() {
+        ejecutor.setVirtualThreads(true);
+        // Las llamadas salen con el mismo ID de traza que la solicitud y sus spans
+        // quedan como hijos del span en curso (observación propagada al hilo)
+        ejecutor.setTaskDecorator(new CompositeTaskDecorator(
+            List.<TaskDecorator>of(new ContextPropagatingTaskDecorator(), ContextoTraza::propagar)));
+    }
+
+    /**
+     * Obtener el historial de un paciente
+     *
+     * @param autorizacion cabecera Authorization de la petición, se reenvía a los otros servicios
+     */
+    public HistorialPacienteDTO obtenerHistorial(Long idPaciente, String autorizacion) {
+        CompletableFuture<Optional<PacienteDTO>> paciente = CompletableFuture.supplyAsync(
+            () -> usuariosClient.obtenerUsuario(idPaciente, autorizacion), ejecutor);
+
+        List<CitaDTO> leidas = citaService.obtenerRecientesPorPaciente(idPaciente, maxCitas + 1);
+        boolean truncadas = leidas.size() > maxCitas;
+        List<CitaDTO> citas = truncadas ? leidas.subList(0, maxCitas) : leidas;
+
+        Map<String, String> noDisponibles = new LinkedHashMap<>();
+        Map<Long, ResultadoCitaDTO> resultadoPorCita = obtenerResultados(citas, autorizacion, noDisponibles);
+        Optional<PacienteDTO> datosPaciente = esperar(USUARIOS, paciente, usuariosClient.getTimeout(), noDisponibles)
+            .flatMap(Function.identity());
+
+        // Sin citas y con usuarios respondiendo que no existe: el paciente no existe
+        if (citas.isEmpty() && datosPaciente.isEmpty() && !noDisponibles.containsKey(USUARIOS)) {
+            throw new ResourceNotFoundException("Paciente no encontrado con ID: " + idPaciente);
+        }
+
+        List<EntradaHistorialDTO> entradas = citas.stream()
+            .map(cita -> new EntradaHistorialDTO(cita, resultadoPorCita.get(cita.getIdCita())))
+            .collect(Collectors.toList());
+        return new HistorialPacienteDTO(idPaciente, datosPaciente.orElse(null), entradas, truncadas,
+            noDisponibles.isEmpty(), noDisponibles);
+    }
+
+    /**
+     * Resultados de todas las citas en una sola llamada, indexados por ID de cita
+     */
+    private Map<Long, ResultadoCitaDTO> obtenerResultados(List<CitaDTO> citas, String autorizacion,
+                                                         Map<String, String> noDisponibles) {
+        if (citas.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> idsCita = citas.stream().map(CitaDTO::getIdCita).collect(Collectors.toList());
+        CompletableFuture<List<ResultadoCitaDTO>> llamada = CompletableFuture.supplyAsync(
+            () -> resultadosClient.obtenerPorIdsCita(idsCita, autorizacion), ejecutor);
+        return esperar(RESULTADOS, llamada, resultadosClient.getTimeout(), noDisponibles)
+            .orElse(List.of())
+            .stream()
+            .collect(Collectors.toMap(ResultadoCitaDTO::getIdCita, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * Esperar una dependencia como máximo su tiempo de espera; si falla, se
+     * registra el motivo y se continúa sin sus datos
+     */
+    private <T> Optional<T> esperar(String dependencia, CompletableFuture<T> llamada, Duration timeout,
+                                    Map<String, String> noDisponibles) {
+        try {
+            return Optional.ofNullable(llamada.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            llamada.cancel(true);
+            noDisponibles.put(dependencia, "Sin respuesta en " + timeout.toMillis() + " ms");
+        } catch (ExecutionException e) {
+            noDisponibles.put(dependencia, "Error: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            noDisponibles.put(dependencia, "Interrumpido");
+        }
+        return Optional.empty();
+    }
+}
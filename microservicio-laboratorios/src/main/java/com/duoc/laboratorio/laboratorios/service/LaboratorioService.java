@@ -1,5 +1,6 @@
 package com.duoc.laboratorio.laboratorios.service;
 
+import com.duoc.laboratorio.laboratorios.config.CacheConfig;
 import com.duoc.laboratorio.laboratorios.dto.AsignarAnalisisRequest;
 import com.duoc.laboratorio.laboratorios.dto.LaboratorioDTO;
 import com.duoc.laboratorio.laboratorios.exception.BadRequestException;
@@ -10,6 +11,8 @@ import com.duoc.laboratorio.laboratorios.repository.LaboratorioAnalisisRepositor
 import com.duoc.laboratorio.laboratorios.repository.LaboratorioRepository;
 import com.duoc.laboratorio.laboratorios.repository.TipoAnalisisRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,6 +38,8 @@ public class LaboratorioService {
     /**
      * Crear nuevo laboratorio
      */
+    @CacheEvict(cacheNames = {CacheConfig.LABORATORIOS_ACTIVOS, CacheConfig.LABORATORIOS_POR_ESPECIALIDAD},
+                allEntries = true)
     public LaboratorioDTO crearLaboratorio(LaboratorioDTO dto) {
         // Validar que el email no exista
         if (laboratorioRepository.existsByEmail(dto.getEmail())) {
@@ -74,23 +79,25 @@ public class LaboratorioService {
     }
 
     /**
-     * Obtener laboratorios activos
+     * Obtener laboratorios activos (cacheado; se invalida al crear, actualizar o eliminar)
      */
+    @Cacheable(CacheConfig.LABORATORIOS_ACTIVOS)
     @Transactional(readOnly = true)
     public List<LaboratorioDTO> obtenerActivos() {
         return laboratorioRepository.findByActivo(1).stream()
             .map(this::convertirADTO)
-            .collect(Collectors.toList());
+            .collect(Collectors.toUnmodifiableList());
     }
 
     /**
-     * Obtener laboratorios por especialidad
+     * Obtener laboratorios por especialidad (cacheado por especialidad)
      */
+    @Cacheable(CacheConfig.LABORATORIOS_POR_ESPECIALIDAD)
     @Transactional(readOnly = true)
     public List<LaboratorioDTO> obtenerPorEspecialidad(String especialidad) {
         return laboratorioRepository.findByEspecialidad(especialidad).stream()
             .map(this::convertirADTO)
-            .collect(Collectors.toList());
+            .collect(Collectors.toUnmodifiableList());
     }
 
     /**
@@ -106,6 +113,8 @@ public class LaboratorioService {
     /**
      * Actualizar laboratorio
      */
+    @CacheEvict(cacheNames = {CacheConfig.LABORATORIOS_ACTIVOS, CacheConfig.LABORATORIOS_POR_ESPECIALIDAD},
+                allEntries = true)
     public LaboratorioDTO actualizarLaboratorio(Long id, LaboratorioDTO dto) {
         Laboratorio laboratorio = laboratorioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Laboratorio no encontrado con ID: " + id));
@@ -130,6 +139,8 @@ public class LaboratorioService {
     /**
      * Eliminar laboratorio (borrado lógico)
      */
+    @CacheEvict(cacheNames = {CacheConfig.LABORATORIOS_ACTIVOS, CacheConfig.LABORATORIOS_POR_ESPECIALIDAD},
+                allEntries = true)
     public void eliminarLaboratorio(Long id) {
         Laboratorio laboratorio = laboratorioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Laboratorio no encontrado con ID: " + id));
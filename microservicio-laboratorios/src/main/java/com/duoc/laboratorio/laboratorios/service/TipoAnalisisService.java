@@ -1,10 +1,13 @@
 package com.duoc.laboratorio.laboratorios.service;
 
+import com.duoc.laboratorio.laboratorios.config.CacheConfig;
 import com.duoc.laboratorio.laboratorios.dto.TipoAnalisisDTO;
 import com.duoc.laboratorio.laboratorios.exception.ResourceNotFoundException;
 import com.duoc.laboratorio.laboratorios.model.TipoAnalisis;
 import com.duoc.laboratorio.laboratorios.repository.TipoAnalisisRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +27,7 @@ public class TipoAnalisisService {
     /**
      * Crear nuevo tipo de análisis
      */
+    @CacheEvict(cacheNames = CacheConfig.TIPOS_ANALISIS_ACTIVOS, allEntries = true)
     public TipoAnalisisDTO crearTipoAnalisis(TipoAnalisisDTO dto) {
         TipoAnalisis tipoAnalisis = new TipoAnalisis();
         tipoAnalisis.setNombre(dto.getNombre());
@@ -57,13 +61,14 @@ public class TipoAnalisisService {
     }
 
     /**
-     * Obtener tipos de análisis activos
+     * Obtener tipos de análisis activos (cacheado; se invalida al crear, actualizar o eliminar)
      */
+    @Cacheable(CacheConfig.TIPOS_ANALISIS_ACTIVOS)
     @Transactional(readOnly = true)
     public List<TipoAnalisisDTO> obtenerActivos() {
         return tipoAnalisisRepository.findByActivo(1).stream()
             .map(this::convertirADTO)
-            .collect(Collectors.toList());
+            .collect(Collectors.toUnmodifiableList());
     }
 
     /**
@@ -79,6 +84,7 @@ public class TipoAnalisisService {
     /**
      * Actualizar tipo de análisis
      */
+    @CacheEvict(cacheNames = CacheConfig.TIPOS_ANALISIS_ACTIVOS, allEntries = true)
     public TipoAnalisisDTO actualizarTipoAnalisis(Long id, TipoAnalisisDTO dto) {
         TipoAnalisis tipoAnalisis = tipoAnalisisRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Tipo de análisis no encontrado con ID: " + id));
@@ -96,6 +102,7 @@ public class TipoAnalisisService {
     /**
      * Eliminar tipo de análisis (borrado lógico)
      */
+    @CacheEvict(cacheNames = CacheConfig.TIPOS_ANALISIS_ACTIVOS, allEntries = true)
     public void eliminarTipoAnalisis(Long id) {
         TipoAnalisis tipoAnalisis = tipoAnalisisRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Tipo de análisis no encontrado con ID: " + id));
@@ -0,0 +1,10 @@
+-- ========================================
+-- V1_2: SECUENCIAS CON BLOQUES DE IDS
+-- Las entidades reservan IDs por bloques (optimizador pooled de Hibernate): un
+-- NEXTVAL = N reserva el rango (N - 49 .. N), por lo que los IDs ya asignados
+-- no se reutilizan. Compatible con Oracle y con H2 en modo Oracle (tests)
+-- ========================================
+
+ALTER SEQUENCE SEQ_LABORATORIO INCREMENT BY 50;
+ALTER SEQUENCE SEQ_TIPO_ANALISIS INCREMENT BY 50;
+ALTER SEQUENCE SEQ_CITA INCREMENT BY 50;
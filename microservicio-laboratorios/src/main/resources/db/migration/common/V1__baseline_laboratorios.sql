@@ -0,0 +1,147 @@
+-- ========================================
+-- V1: LÍNEA BASE DEL MICROSERVICIO DE LABORATORIOS
+-- Tablas LABORATORIOS, TIPOS_ANALISIS, LABORATORIO_ANALISIS y CITAS tal como
+-- las crea db/init.sql (línea base 1.1: una BD creada con ese script se
+-- registra en esta versión sin ejecutarla). Compatible con Oracle y con H2 en
+-- modo Oracle (tests). La FK hacia USUARIOS está en V1_1, en la carpeta del
+-- proveedor.
+-- ========================================
+
+CREATE SEQUENCE SEQ_LABORATORIO START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_TIPO_ANALISIS START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_CITA START WITH 1 INCREMENT BY 1;
+
+-- Tabla: LABORATORIOS
+CREATE TABLE LABORATORIOS (
+    ID_LABORATORIO NUMBER PRIMARY KEY,
+    NOMBRE VARCHAR2(200) NOT NULL,
+    DIRECCION VARCHAR2(300) NOT NULL,
+    TELEFONO VARCHAR2(20) NOT NULL,
+    EMAIL VARCHAR2(150) NOT NULL,
+    ESPECIALIDAD VARCHAR2(100),
+    ACTIVO NUMBER(1) DEFAULT 1,
+    FECHA_CREACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT CHK_LAB_ACTIVO CHECK (ACTIVO IN (0, 1)),
+    CONSTRAINT UNQ_LAB_EMAIL UNIQUE (EMAIL)
+);
+
+-- Tabla: TIPOS_ANALISIS
+CREATE TABLE TIPOS_ANALISIS (
+    ID_TIPO_ANALISIS NUMBER PRIMARY KEY,
+    NOMBRE VARCHAR2(200) NOT NULL,
+    DESCRIPCION VARCHAR2(500),
+    PRECIO NUMBER(10,2) NOT NULL,
+    TIEMPO_ENTREGA_DIAS NUMBER(3) NOT NULL,
+    ACTIVO NUMBER(1) DEFAULT 1,
+    FECHA_CREACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT CHK_ANALISIS_PRECIO CHECK (PRECIO > 0),
+    CONSTRAINT CHK_ANALISIS_TIEMPO CHECK (TIEMPO_ENTREGA_DIAS > 0),
+    CONSTRAINT CHK_ANALISIS_ACTIVO CHECK (ACTIVO IN (0, 1))
+);
+
+-- Tabla: LABORATORIO_ANALISIS (Relación N:M)
+CREATE TABLE LABORATORIO_ANALISIS (
+    ID_LABORATORIO NUMBER NOT NULL,
+    ID_TIPO_ANALISIS NUMBER NOT NULL,
+    DISPONIBLE NUMBER(1) DEFAULT 1,
+    FECHA_ASIGNACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (ID_LABORATORIO, ID_TIPO_ANALISIS),
+    CONSTRAINT FK_LA_LABORATORIO FOREIGN KEY (ID_LABORATORIO) REFERENCES LABORATORIOS(ID_LABORATORIO) ON DELETE CASCADE,
+    CONSTRAINT FK_LA_TIPO_ANALISIS FOREIGN KEY (ID_TIPO_ANALISIS) REFERENCES TIPOS_ANALISIS(ID_TIPO_ANALISIS) ON DELETE CASCADE,
+    CONSTRAINT CHK_LA_DISPONIBLE CHECK (DISPONIBLE IN (0, 1))
+);
+
+-- Tabla: CITAS
+CREATE TABLE CITAS (
+    ID_CITA NUMBER PRIMARY KEY,
+    ID_PACIENTE NUMBER NOT NULL,
+    ID_LABORATORIO NUMBER NOT NULL,
+    ID_TIPO_ANALISIS NUMBER NOT NULL,
+    FECHA_CITA TIMESTAMP NOT NULL,
+    ESTADO VARCHAR2(50) DEFAULT 'PROGRAMADA',
+    OBSERVACIONES VARCHAR2(500),
+    FECHA_CREACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT FK_CITA_LABORATORIO FOREIGN KEY (ID_LABORATORIO) REFERENCES LABORATORIOS(ID_LABORATORIO),
+    CONSTRAINT FK_CITA_TIPO_ANALISIS FOREIGN KEY (ID_TIPO_ANALISIS) REFERENCES TIPOS_ANALISIS(ID_TIPO_ANALISIS),
+    CONSTRAINT CHK_CITA_ESTADO CHECK (ESTADO IN ('PROGRAMADA', 'CONFIRMADA', 'COMPLETADA', 'CANCELADA'))
+);
+
+CREATE INDEX IDX_CITA_PACIENTE ON CITAS(ID_PACIENTE);
+CREATE INDEX IDX_CITA_LABORATORIO ON CITAS(ID_LABORATORIO);
+CREATE INDEX IDX_CITA_FECHA ON CITAS(FECHA_CITA);
+CREATE INDEX IDX_LAB_ACTIVO ON LABORATORIOS(ACTIVO);
+
+-- Laboratorios (mínimo 3 requeridos)
+INSERT INTO LABORATORIOS (ID_LABORATORIO, NOMBRE, DIRECCION, TELEFONO, EMAIL, ESPECIALIDAD, ACTIVO)
+VALUES (SEQ_LABORATORIO.NEXTVAL, 'Laboratorio Clínico Central', 'Av. Libertador Bernardo O''Higgins 1234, Santiago', '+56-2-2345-6789', 'contacto@labcentral.cl', 'Análisis General', 1);
+
+INSERT INTO LABORATORIOS (ID_LABORATORIO, NOMBRE, DIRECCION, TELEFONO, EMAIL, ESPECIALIDAD, ACTIVO)
+VALUES (SEQ_LABORATORIO.NEXTVAL, 'Laboratorio de Análisis Especializados', 'Av. Providencia 2567, Providencia', '+56-2-2876-5432', 'info@labespecializado.cl', 'Análisis Especializados', 1);
+
+INSERT INTO LABORATORIOS (ID_LABORATORIO, NOMBRE, DIRECCION, TELEFONO, EMAIL, ESPECIALIDAD, ACTIVO)
+VALUES (SEQ_LABORATORIO.NEXTVAL, 'Laboratorio de Diagnóstico Rápido', 'Av. Apoquindo 4500, Las Condes', '+56-2-2654-3210', 'atencion@labrapido.cl', 'Diagnóstico Rápido', 1);
+
+INSERT INTO LABORATORIOS (ID_LABORATORIO, NOMBRE, DIRECCION, TELEFONO, EMAIL, ESPECIALIDAD, ACTIVO)
+VALUES (SEQ_LABORATORIO.NEXTVAL, 'Laboratorio Médico Integrado', 'Calle Las Tranqueras 567, Vitacura', '+56-2-2789-1234', 'contacto@labintegrado.cl', 'Medicina Integral', 1);
+
+-- Tipos de Análisis
+INSERT INTO TIPOS_ANALISIS (ID_TIPO_ANALISIS, NOMBRE, DESCRIPCION, PRECIO, TIEMPO_ENTREGA_DIAS, ACTIVO)
+VALUES (SEQ_TIPO_ANALISIS.NEXTVAL, 'Hemograma Completo', 'Análisis completo de células sanguíneas', 15000, 1, 1);
+
+INSERT INTO TIPOS_ANALISIS (ID_TIPO_ANALISIS, NOMBRE, DESCRIPCION, PRECIO, TIEMPO_ENTREGA_DIAS, ACTIVO)
+VALUES (SEQ_TIPO_ANALISIS.NEXTVAL, 'Perfil Bioquímico', 'Glucosa, colesterol, triglicéridos, función hepática y renal', 25000, 2, 1);
+
+INSERT INTO TIPOS_ANALISIS (ID_TIPO_ANALISIS, NOMBRE, DESCRIPCION, PRECIO, TIEMPO_ENTREGA_DIAS, ACTIVO)
+VALUES (SEQ_TIPO_ANALISIS.NEXTVAL, 'Examen de Orina Completo', 'Análisis físico, químico y microscópico de orina', 12000, 1, 1);
+
+INSERT INTO TIPOS_ANALISIS (ID_TIPO_ANALISIS, NOMBRE, DESCRIPCION, PRECIO, TIEMPO_ENTREGA_DIAS, ACTIVO)
+VALUES (SEQ_TIPO_ANALISIS.NEXTVAL, 'Perfil Tiroideo', 'TSH, T3, T4 libre', 35000, 3, 1);
+
+INSERT INTO TIPOS_ANALISIS (ID_TIPO_ANALISIS, NOMBRE, DESCRIPCION, PRECIO, TIEMPO_ENTREGA_DIAS, ACTIVO)
+VALUES (SEQ_TIPO_ANALISIS.NEXTVAL, 'PCR para COVID-19', 'Test PCR para detección de SARS-CoV-2', 30000, 1, 1);
+
+INSERT INTO TIPOS_ANALISIS (ID_TIPO_ANALISIS, NOMBRE, DESCRIPCION, PRECIO, TIEMPO_ENTREGA_DIAS, ACTIVO)
+VALUES (SEQ_TIPO_ANALISIS.NEXTVAL, 'Perfil Lipídico', 'Colesterol total, HDL, LDL, triglicéridos', 20000, 2, 1);
+
+-- Asignación de Análisis a Laboratorios
+-- Laboratorio Central ofrece análisis generales
+INSERT INTO LABORATORIO_ANALISIS VALUES (1, 1, 1, CURRENT_TIMESTAMP); -- Hemograma
+INSERT INTO LABORATORIO_ANALISIS VALUES (1, 2, 1, CURRENT_TIMESTAMP); -- Perfil Bioquímico
+INSERT INTO LABORATORIO_ANALISIS VALUES (1, 3, 1, CURRENT_TIMESTAMP); -- Orina
+INSERT INTO LABORATORIO_ANALISIS VALUES (1, 6, 1, CURRENT_TIMESTAMP); -- Perfil Lipídico
+
+-- Laboratorio Especializado
+INSERT INTO LABORATORIO_ANALISIS VALUES (2, 2, 1, CURRENT_TIMESTAMP); -- Perfil Bioquímico
+INSERT INTO LABORATORIO_ANALISIS VALUES (2, 4, 1, CURRENT_TIMESTAMP); -- Perfil Tiroideo
+INSERT INTO LABORATORIO_ANALISIS VALUES (2, 6, 1, CURRENT_TIMESTAMP); -- Perfil Lipídico
+
+-- Laboratorio Rápido
+INSERT INTO LABORATORIO_ANALISIS VALUES (3, 1, 1, CURRENT_TIMESTAMP); -- Hemograma
+INSERT INTO LABORATORIO_ANALISIS VALUES (3, 3, 1, CURRENT_TIMESTAMP); -- Orina
+INSERT INTO LABORATORIO_ANALISIS VALUES (3, 5, 1, CURRENT_TIMESTAMP); -- PCR COVID
+
+-- Laboratorio Integrado
+INSERT INTO LABORATORIO_ANALISIS VALUES (4, 1, 1, CURRENT_TIMESTAMP); -- Hemograma
+INSERT INTO LABORATORIO_ANALISIS VALUES (4, 2, 1, CURRENT_TIMESTAMP); -- Perfil Bioquímico
+INSERT INTO LABORATORIO_ANALISIS VALUES (4, 4, 1, CURRENT_TIMESTAMP); -- Perfil Tiroideo
+INSERT INTO LABORATORIO_ANALISIS VALUES (4, 5, 1, CURRENT_TIMESTAMP); -- PCR COVID
+
+-- Citas de Ejemplo
+INSERT INTO CITAS (ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, FECHA_CITA, ESTADO, OBSERVACIONES)
+VALUES (SEQ_CITA.NEXTVAL, 2, 1, 1, TIMESTAMP '2025-11-05 09:00:00', 'PROGRAMADA', 'Ayuno de 8 horas');
+
+INSERT INTO CITAS (ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, FECHA_CITA, ESTADO, OBSERVACIONES)
+VALUES (SEQ_CITA.NEXTVAL, 2, 2, 4, TIMESTAMP '2025-11-06 10:30:00', 'PROGRAMADA', 'Control de tiroides');
+
+INSERT INTO CITAS (ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, FECHA_CITA, ESTADO, OBSERVACIONES)
+VALUES (SEQ_CITA.NEXTVAL, 5, 3, 5, TIMESTAMP '2025-11-07 14:00:00', 'CONFIRMADA', 'Test PCR urgente');
+
+INSERT INTO CITAS (ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, FECHA_CITA, ESTADO, OBSERVACIONES)
+VALUES (SEQ_CITA.NEXTVAL, 5, 1, 2, TIMESTAMP '2025-11-08 08:30:00', 'PROGRAMADA', 'Perfil bioquímico completo');
+
+INSERT INTO CITAS (ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, FECHA_CITA, ESTADO, OBSERVACIONES)
+VALUES (SEQ_CITA.NEXTVAL, 2, 4, 1, TIMESTAMP '2025-11-03 11:00:00', 'COMPLETADA', 'Hemograma de control');
+
+INSERT INTO CITAS (ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, FECHA_CITA, ESTADO, OBSERVACIONES)
+VALUES (SEQ_CITA.NEXTVAL, 5, 2, 4, TIMESTAMP '2025-11-04 09:30:00', 'COMPLETADA', 'Control tiroideo anual');
+
@@ -0,0 +1,6 @@
+-- ========================================
+-- V1_3: equivalente H2 de oracle/V1_3 (sin cambios)
+-- H2 no admite el índice por expresión UX_CITA_LAB_HORARIO (la doble reserva
+-- la impide AgendaCitas). Se mantiene para que ambas carpetas tengan las
+-- mismas versiones.
+-- ========================================
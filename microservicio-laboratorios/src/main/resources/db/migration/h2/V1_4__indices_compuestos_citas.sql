@@ -0,0 +1,17 @@
+-- ========================================
+-- V1_4: equivalente H2 de oracle/V1_4 (sin ONLINE)
+-- ========================================
+
+CREATE INDEX IDX_CITA_PAC_FECHA ON CITAS(ID_PACIENTE, FECHA_CITA, ID_CITA);
+CREATE INDEX IDX_CITA_PAC_ESTADO ON CITAS(ID_PACIENTE, ESTADO, FECHA_CITA);
+CREATE INDEX IDX_CITA_LAB_FECHA ON CITAS(ID_LABORATORIO, FECHA_CITA, ID_CITA);
+CREATE INDEX IDX_CITA_LAB_ESTADO ON CITAS(ID_LABORATORIO, ESTADO, FECHA_CITA);
+CREATE INDEX IDX_CITA_ESTADO_FECHA ON CITAS(ESTADO, FECHA_CITA, ID_CITA);
+CREATE INDEX IDX_CITA_FECHA_RESERVA ON CITAS(FECHA_CITA, ID_CITA, ESTADO, ID_LABORATORIO);
+CREATE INDEX IDX_CITA_TIPO_ANALISIS ON CITAS(ID_TIPO_ANALISIS);
+CREATE INDEX IDX_LAB_ESPECIALIDAD_ACTIVO ON LABORATORIOS(ESPECIALIDAD, ACTIVO);
+CREATE INDEX IDX_LA_TIPO_ANALISIS ON LABORATORIO_ANALISIS(ID_TIPO_ANALISIS);
+
+DROP INDEX IDX_CITA_PACIENTE;
+DROP INDEX IDX_CITA_LABORATORIO;
+DROP INDEX IDX_CITA_FECHA;
@@ -0,0 +1,18 @@
+-- ========================================
+-- V2: equivalente H2 de oracle/V2
+-- H2 no tiene particiones ni compresión: solo se crea el archivo
+-- ========================================
+
+CREATE TABLE CITAS_ARCHIVO (
+    ID_CITA NUMBER PRIMARY KEY,
+    ID_PACIENTE NUMBER NOT NULL,
+    ID_LABORATORIO NUMBER NOT NULL,
+    ID_TIPO_ANALISIS NUMBER NOT NULL,
+    FECHA_CITA TIMESTAMP NOT NULL,
+    ESTADO VARCHAR2(50),
+    OBSERVACIONES VARCHAR2(500),
+    FECHA_CREACION TIMESTAMP,
+    FECHA_ARCHIVO TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_CITA_ARCH_FECHA ON CITAS_ARCHIVO(FECHA_CITA, ID_CITA);
@@ -0,0 +1,5 @@
+-- ========================================
+-- V3: equivalente H2 de oracle/V3
+-- ========================================
+
+CREATE INDEX IDX_CITA_ARCH_PACIENTE ON CITAS_ARCHIVO(ID_PACIENTE, FECHA_CITA);
@@ -0,0 +1,5 @@
+-- ========================================
+-- V4: equivalente H2 de oracle/V4
+-- ========================================
+
+ALTER TABLE CITAS ADD VERSION NUMBER(19) DEFAULT 0 NOT NULL;
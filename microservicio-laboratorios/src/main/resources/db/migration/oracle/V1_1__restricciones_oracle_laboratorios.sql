@@ -0,0 +1,9 @@
+-- ========================================
+-- V1_1: OBJETOS EXCLUSIVOS DE ORACLE (CITAS)
+-- Requiere que el microservicio de usuarios haya creado USUARIOS (FK_CITA_PACIENTE)
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+ALTER TABLE CITAS ADD CONSTRAINT FK_CITA_PACIENTE FOREIGN KEY (ID_PACIENTE) REFERENCES USUARIOS(ID_USUARIO);
@@ -0,0 +1,15 @@
+-- ========================================
+-- V1_3: HORARIO ÚNICO POR LABORATORIO EN CITAS
+-- Respaldo en la base de datos de la agenda de AgendaCitas: un laboratorio no
+-- puede tener dos citas vigentes a la misma hora (las CANCELADA quedan fuera
+-- del índice). Falla si ya hay choques; para listarlos:
+-- SELECT ID_LABORATORIO, FECHA_CITA, COUNT(*) FROM CITAS WHERE ESTADO <> 'CANCELADA'
+--  GROUP BY ID_LABORATORIO, FECHA_CITA HAVING COUNT(*) > 1
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+CREATE UNIQUE INDEX UX_CITA_LAB_HORARIO ON CITAS(
+    CASE WHEN ESTADO <> 'CANCELADA' THEN ID_LABORATORIO END,
+    CASE WHEN ESTADO <> 'CANCELADA' THEN FECHA_CITA END) ONLINE;
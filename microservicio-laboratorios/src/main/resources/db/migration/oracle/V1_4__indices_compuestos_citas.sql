@@ -0,0 +1,36 @@
+-- ========================================
+-- V1_4: ÍNDICES COMPUESTOS SEGÚN LAS CONSULTAS
+-- Las consultas de CitaRepository filtran por combinaciones (laboratorio +
+-- estado, paciente + estado, laboratorio + fecha, especialidad + activo) y los
+-- listados paginados ordenan por (FECHA_CITA, ID_CITA): igualdad primero, luego
+-- el orden. Los índices se crean ONLINE para no bloquear inserciones ni
+-- actualizaciones; los de una columna que reemplazan se eliminan al final,
+-- cuando los nuevos ya cubren sus consultas y las FK. Para comparar el antes y
+-- el después: RepositoriosBenchmark.
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+-- findByIdPaciente / paginación por paciente
+CREATE INDEX IDX_CITA_PAC_FECHA ON CITAS(ID_PACIENTE, FECHA_CITA, ID_CITA) ONLINE;
+-- findByIdPacienteAndEstado
+CREATE INDEX IDX_CITA_PAC_ESTADO ON CITAS(ID_PACIENTE, ESTADO, FECHA_CITA) ONLINE;
+-- findProximasCitasPorLaboratorio / paginación por laboratorio
+CREATE INDEX IDX_CITA_LAB_FECHA ON CITAS(ID_LABORATORIO, FECHA_CITA, ID_CITA) ONLINE;
+-- findByIdLaboratorioAndEstado
+CREATE INDEX IDX_CITA_LAB_ESTADO ON CITAS(ID_LABORATORIO, ESTADO, FECHA_CITA) ONLINE;
+-- findByEstado / paginación por estado
+CREATE INDEX IDX_CITA_ESTADO_FECHA ON CITAS(ESTADO, FECHA_CITA, ID_CITA) ONLINE;
+-- findByRangoFechas y cubre findReservasDesde (reconstrucción de la agenda)
+CREATE INDEX IDX_CITA_FECHA_RESERVA ON CITAS(FECHA_CITA, ID_CITA, ESTADO, ID_LABORATORIO) ONLINE;
+-- FK sin índice: evita bloquear CITAS al eliminar un tipo de análisis
+CREATE INDEX IDX_CITA_TIPO_ANALISIS ON CITAS(ID_TIPO_ANALISIS) ONLINE;
+-- findActivosByEspecialidad
+CREATE INDEX IDX_LAB_ESPECIALIDAD_ACTIVO ON LABORATORIOS(ESPECIALIDAD, ACTIVO) ONLINE;
+-- findByIdTipoAnalisis (la PK empieza por ID_LABORATORIO)
+CREATE INDEX IDX_LA_TIPO_ANALISIS ON LABORATORIO_ANALISIS(ID_TIPO_ANALISIS) ONLINE;
+
+DROP INDEX IDX_CITA_PACIENTE;
+DROP INDEX IDX_CITA_LABORATORIO;
+DROP INDEX IDX_CITA_FECHA;
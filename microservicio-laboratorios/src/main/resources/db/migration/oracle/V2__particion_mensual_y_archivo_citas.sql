@@ -0,0 +1,48 @@
+-- ========================================
+-- V2: PARTICIÓN MENSUAL Y ARCHIVO DE CITAS
+-- CITAS pasa a particiones mensuales por FECHA_CITA (las consultas por rango de
+-- fechas leen solo los meses pedidos) y se crea el archivo comprimido al que
+-- ArchivadorCitas mueve las citas antiguas.
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+-- Archivar una cita no debe eliminar en cascada su resultado (el archivo de
+-- resultados avanza por separado). También lo elimina la V2 de resultados; el
+-- que corra primero lo hace.
+BEGIN
+  FOR fk IN (SELECT table_name, constraint_name FROM user_constraints
+             WHERE constraint_name = 'FK_RESULTADO_CITA') LOOP
+    EXECUTE IMMEDIATE 'ALTER TABLE ' || fk.table_name || ' DROP CONSTRAINT ' || fk.constraint_name;
+  END LOOP;
+END;
+/
+
+-- Conversión en línea (sin bloquear lecturas ni escrituras). IDX_CITA_FECHA_RESERVA
+-- empieza por la clave de partición y pasa a ser local; los índices por paciente,
+-- laboratorio o estado y UX_CITA_LAB_HORARIO quedan globales.
+ALTER TABLE CITAS MODIFY
+    PARTITION BY RANGE (FECHA_CITA) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+    (PARTITION P_CITAS_ANTES_2025 VALUES LESS THAN (TIMESTAMP '2025-01-01 00:00:00'))
+    ONLINE
+    UPDATE INDEXES (IDX_CITA_FECHA_RESERVA LOCAL);
+
+-- Reprogramar una cita a otro mes cambia su partición (sin esto, ORA-14402)
+ALTER TABLE CITAS ENABLE ROW MOVEMENT;
+
+-- Archivo: mismas columnas, sin FK ni CHECK, comprimido
+CREATE TABLE CITAS_ARCHIVO (
+    ID_CITA NUMBER PRIMARY KEY,
+    ID_PACIENTE NUMBER NOT NULL,
+    ID_LABORATORIO NUMBER NOT NULL,
+    ID_TIPO_ANALISIS NUMBER NOT NULL,
+    FECHA_CITA TIMESTAMP NOT NULL,
+    ESTADO VARCHAR2(50),
+    OBSERVACIONES VARCHAR2(500),
+    FECHA_CREACION TIMESTAMP,
+    FECHA_ARCHIVO TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+)
+ROW STORE COMPRESS ADVANCED;
+
+CREATE INDEX IDX_CITA_ARCH_FECHA ON CITAS_ARCHIVO(FECHA_CITA, ID_CITA);
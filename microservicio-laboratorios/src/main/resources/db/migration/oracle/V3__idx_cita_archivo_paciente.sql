@@ -0,0 +1,9 @@
+-- ========================================
+-- V3: historial del paciente sobre el archivo de citas
+-- CitaArchivadaRepository.findByIdPaciente (GET /api/pacientes/{id}/historial)
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+CREATE INDEX IDX_CITA_ARCH_PACIENTE ON CITAS_ARCHIVO(ID_PACIENTE, FECHA_CITA) ONLINE;
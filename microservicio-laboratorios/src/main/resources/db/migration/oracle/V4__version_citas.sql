@@ -0,0 +1,11 @@
+-- ========================================
+-- V4: control de concurrencia optimista en CITAS
+-- Cita (@Version) incrementa VERSION en cada UPDATE y lo verifica en el WHERE.
+-- Con DEFAULT y NOT NULL Oracle solo cambia el diccionario: no reescribe las
+-- filas existentes ni las particiones.
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+ALTER TABLE CITAS ADD VERSION NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,94 @@
+package com.duoc.laboratorio.laboratorios.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de FlywayConfig contra H2 en modo Oracle: una BD creada con db/init.sql
+ * (esquema de V1 + V1_1 sin historial del servicio) y un esquema compartido sin
+ * las tablas del servicio
+ */
+@DisplayName("Tests de FlywayConfig")
+class FlywayConfigTest {
+
+    @Test
+    @DisplayName("Debe registrar una BD de init.sql como versión 1.1 y aplicar solo las migraciones posteriores")
+    void testLineaBaseInitSql() {
+        // Given
+        DataSource dataSource = baseDeDatos("init-sql-laboratorios");
+        configurar(dataSource, "FLYWAY_INIT_SQL").target(FlywayConfig.VERSION_INIT_SQL).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE FLYWAY_INIT_SQL");
+        Flyway flyway = configurar(dataSource, "FLYWAY_LABORATORIOS").load();
+
+        // When
+        estrategia().migrate(flyway);
+
+        // Then
+        MigrationInfo[] aplicadas = flyway.info().applied();
+        assertEquals(CoreMigrationType.BASELINE, aplicadas[0].getType());
+        assertEquals(FlywayConfig.VERSION_INIT_SQL, aplicadas[0].getVersion().getVersion());
+        assertEquals("1.2", aplicadas[1].getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(6, jdbc.queryForObject("SELECT COUNT(*) FROM CITAS", Integer.class));
+        assertTrue(existeIndice(jdbc, "IDX_CITA_LAB_FECHA"));
+        assertFalse(existeIndice(jdbc, "IDX_CITA_FECHA"));
+    }
+
+    @Test
+    @DisplayName("Debe aplicar desde V1 en un esquema compartido sin las tablas del servicio")
+    void testEsquemaSinTablasDelServicio() {
+        // Given
+        DataSource dataSource = baseDeDatos("compartida-laboratorios");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE USUARIOS (ID_USUARIO NUMBER PRIMARY KEY)");
+        Flyway flyway = configurar(dataSource, "FLYWAY_LABORATORIOS").load();
+
+        // When
+        estrategia().migrate(flyway);
+
+        // Then
+        assertTrue(Arrays.stream(flyway.info().applied())
+            .anyMatch(migracion -> "1".equals(migracion.getVersion().getVersion())
+                && migracion.getType() == CoreMigrationType.SQL));
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    private static FlywayMigrationStrategy estrategia() {
+        FlywayConfig config = new FlywayConfig();
+        ReflectionTestUtils.setField(config, "migrarAlIniciar", true);
+        return config.flywayMigrationStrategy();
+    }
+
+    /** Misma configuración que spring.flyway en application.yml, con las migraciones de H2 */
+    private static FluentConfiguration configurar(DataSource dataSource, String tabla) {
+        return Flyway.configure()
+            .dataSource(dataSource)
+            .table(tabla)
+            .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+            .baselineOnMigrate(true)
+            .baselineVersion("0");
+    }
+
+    private static DataSource baseDeDatos(String nombre) {
+        return new DriverManagerDataSource(
+            "jdbc:h2:mem:" + nombre + ";MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static boolean existeIndice(JdbcTemplate jdbc, String indice) {
+        return jdbc.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?", Integer.class, indice) > 0;
+    }
+}
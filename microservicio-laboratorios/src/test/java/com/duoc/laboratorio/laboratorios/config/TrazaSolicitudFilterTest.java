@@ -0,0 +1,73 @@
+package com.duoc.laboratorio.laboratorios.config;
+
+import com.duoc.laboratorio.laboratorios.dto.ApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TrazaSolicitudFilter y ContextoTraza
+ */
+@DisplayName("Tests de TrazaSolicitudFilter")
+class TrazaSolicitudFilterTest {
+
+    private final TrazaSolicitudFilter filtro = new TrazaSolicitudFilter();
+
+    @Test
+    @DisplayName("Debe usar el ID recibido en el MDC, en ApiResponse y en la respuesta, y limpiarlo al terminar")
+    void testIdRecibido() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/citas");
+        request.addHeader(ContextoTraza.CABECERA, "abc-123_XYZ");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> traceIdRespuesta = new AtomicReference<>();
+
+        // When
+        filtro.doFilter(request, response,
+            (req, res) -> traceIdRespuesta.set(ApiResponse.success("ok", null).getTraceId()));
+
+        // Then
+        assertEquals("abc-123_XYZ", traceIdRespuesta.get());
+        assertEquals("abc-123_XYZ", response.getHeader(ContextoTraza.CABECERA));
+        assertNull(MDC.get(ContextoTraza.CLAVE_MDC));
+    }
+
+    @Test
+    @DisplayName("Debe reemplazar un ID recibido inválido por uno generado")
+    void testIdInvalido() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/citas");
+        request.addHeader(ContextoTraza.CABECERA, "x\r\nSet-Cookie: a=b");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filtro.doFilter(request, response, (req, res) -> { });
+
+        // Then
+        String generado = response.getHeader(ContextoTraza.CABECERA);
+        assertTrue(generado.matches("[0-9a-f]{32}"));
+    }
+
+    @Test
+    @DisplayName("Las tareas decoradas deben ver el ID de traza del hilo que las creó")
+    void testPropagar() throws Exception {
+        // Given
+        AtomicReference<String> visto = new AtomicReference<>();
+        MDC.put(ContextoTraza.CLAVE_MDC, "traza-padre");
+        Runnable tarea = ContextoTraza.propagar(() -> visto.set(ContextoTraza.actual()));
+        MDC.clear();
+
+        // When
+        CompletableFuture.runAsync(tarea).get();
+
+        // Then
+        assertEquals("traza-padre", visto.get());
+    }
+}
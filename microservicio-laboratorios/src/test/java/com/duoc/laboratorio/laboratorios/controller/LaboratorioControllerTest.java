@@ -1,10 +1,12 @@
 package com.duoc.laboratorio.laboratorios.controller;
 
 import com.duoc.laboratorio.laboratorios.dto.AsignarAnalisisRequest;
+import com.duoc.laboratorio.laboratorios.dto.DisponibilidadDiaDTO;
 import com.duoc.laboratorio.laboratorios.dto.LaboratorioDTO;
 import com.duoc.laboratorio.laboratorios.exception.BadRequestException;
 import com.duoc.laboratorio.laboratorios.exception.ResourceNotFoundException;
 import com.duoc.laboratorio.laboratorios.model.LaboratorioAnalisis;
+import com.duoc.laboratorio.laboratorios.service.AgendaCitas;
 import com.duoc.laboratorio.laboratorios.service.LaboratorioService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,7 +18,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -42,6 +46,9 @@ class LaboratorioControllerTest {
     @MockBean
     private LaboratorioService laboratorioService;
 
+    @MockBean
+    private AgendaCitas agendaCitas;
+
     private LaboratorioDTO laboratorioDTO;
 
     @BeforeEach
@@ -156,6 +163,74 @@ class LaboratorioControllerTest {
         verify(laboratorioService, times(1)).obtenerActivos();
     }
 
+    @Test
+    @DisplayName("GET /api/laboratorios/activos - Debe incluir ETag y responder 304 si no cambió")
+    void testObtenerActivos_EtagNoModificado() throws Exception {
+        // Given
+        List<LaboratorioDTO> laboratorios = Arrays.asList(laboratorioDTO);
+        when(laboratorioService.obtenerActivos()).thenReturn(laboratorios);
+        String etag = mockMvc.perform(get("/api/laboratorios/activos"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then
+        mockMvc.perform(get("/api/laboratorios/activos").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/laboratorios/activos - Debe responder 200 si el catálogo cambió")
+    void testObtenerActivos_EtagModificado() throws Exception {
+        // Given
+        when(laboratorioService.obtenerActivos()).thenReturn(Arrays.asList(laboratorioDTO));
+        String etag = mockMvc.perform(get("/api/laboratorios/activos"))
+            .andReturn().getResponse().getHeader("ETag");
+        LaboratorioDTO otro = new LaboratorioDTO();
+        otro.setIdLaboratorio(2L);
+        otro.setNombre("Laboratorio Norte");
+        when(laboratorioService.obtenerActivos()).thenReturn(Arrays.asList(laboratorioDTO, otro));
+
+        // When & Then
+        mockMvc.perform(get("/api/laboratorios/activos").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("GET /api/laboratorios/{id}/disponibilidad - Debe retornar bloques libres")
+    void testObtenerDisponibilidad() throws Exception {
+        // Given
+        LocalDate dia = LocalDate.of(2030, 1, 15);
+        when(laboratorioService.obtenerActivos()).thenReturn(Arrays.asList(laboratorioDTO));
+        when(agendaCitas.obtenerDisponibilidad(1L, dia, dia)).thenReturn(List.of(
+            new DisponibilidadDiaDTO(dia, 30, List.of(LocalTime.of(8, 0), LocalTime.of(9, 30)))));
+
+        // When & Then
+        mockMvc.perform(get("/api/laboratorios/1/disponibilidad")
+                .param("desde", "2030-01-15")
+                .param("hasta", "2030-01-15"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].fecha").value("2030-01-15"))
+            .andExpect(jsonPath("$.data[0].bloquesLibres", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("GET /api/laboratorios/{id}/disponibilidad - Debe retornar 404 si el laboratorio no está activo")
+    void testObtenerDisponibilidad_LaboratorioInactivo() throws Exception {
+        // Given
+        when(laboratorioService.obtenerActivos()).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/laboratorios/7/disponibilidad")
+                .param("desde", "2030-01-15")
+                .param("hasta", "2030-01-16"))
+            .andExpect(status().isNotFound());
+
+        verify(agendaCitas, never()).obtenerDisponibilidad(any(), any(), any());
+    }
+
     @Test
     @DisplayName("GET /api/laboratorios/especialidad/{especialidad} - Debe filtrar por especialidad")
     void testObtenerPorEspecialidad() throws Exception {
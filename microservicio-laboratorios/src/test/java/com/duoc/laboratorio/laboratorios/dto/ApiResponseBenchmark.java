@@ -0,0 +1,79 @@
+package com.duoc.laboratorio.laboratorios.dto;
+
+import com.duoc.laboratorio.laboratorios.config.ContextoTraza;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la construcción de ApiResponse
+ *
+ * Compara el traceId anterior (UUID.randomUUID(), SecureRandom compartido) con
+ * ContextoTraza: el ID ya presente en el MDC de la solicitud y, fuera de una
+ * solicitud, uno generado con ThreadLocalRandom. Con varios hilos se ve la
+ * contención de SecureRandom.
+ *
+ * Ejecutar: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.duoc.laboratorio.laboratorios.dto.ApiResponseBenchmark
+ * Con otra cantidad de hilos: -Dexec.args="-t 32"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Thread)
+public class ApiResponseBenchmark {
+
+    private final List<String> datos = List.of("a", "b", "c");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MDC.put(ContextoTraza.CLAVE_MDC, ContextoTraza.generar());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    /**
+     * Construcción anterior: un UUID aleatorio por respuesta
+     */
+    @Benchmark
+    public ApiResponse<List<String>> uuidAleatorio() {
+        return new ApiResponse<>(UUID.randomUUID().toString(), "SUCCESS", "ok", datos);
+    }
+
+    /**
+     * Dentro de una solicitud: el ID se lee del MDC
+     */
+    @Benchmark
+    public ApiResponse<List<String>> trazaDesdeMdc() {
+        return ApiResponse.success("ok", datos);
+    }
+
+    /**
+     * Fuera de una solicitud: ID generado con ThreadLocalRandom
+     */
+    @Benchmark
+    public ApiResponse<List<String>> trazaGenerada() {
+        return new ApiResponse<>(ContextoTraza.generar(), "SUCCESS", "ok", datos);
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ApiResponseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,369 @@
+package com.duoc.laboratorio.laboratorios.repository;
+
+import com.duoc.laboratorio.laboratorios.LaboratoriosApplication;
+import com.duoc.laboratorio.laboratorios.model.Cita;
+import com.duoc.laboratorio.laboratorios.model.Laboratorio;
+import com.duoc.laboratorio.laboratorios.model.LaboratorioAnalisis;
+import com.duoc.laboratorio.laboratorios.model.TipoAnalisis;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de todas las consultas de los repositorios de laboratorios
+ *
+ * Levanta la aplicación sin servidor web sobre H2 en modo Oracle, con el esquema
+ * generado desde las entidades (mismos índices que las migraciones), siembra un
+ * conjunto sintético reproducible (semilla fija) y mide la latencia de cada
+ * método. Sirve para comparar cambios de esquema o de consultas: correrlo antes
+ * y después y comparar los percentiles.
+ *
+ * Ejecutar: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.duoc.laboratorio.laboratorios.repository.RepositoriosBenchmark
+ * Para otro volumen: -Dexec.args="-p totalCitas=1000000"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoriosBenchmark {
+
+    private static final int TOTAL_LABORATORIOS = 200;
+    private static final int TOTAL_TIPOS_ANALISIS = 50;
+    private static final int TOTAL_PACIENTES = 20_000;
+    private static final String[] ESPECIALIDADES = {"Hematología", "Bioquímica", "Microbiología", "Endocrinología"};
+    private static final Sort ORDEN = Sort.by("fechaCita", "idCita");
+
+    @Param({"200000"})
+    public int totalCitas;
+
+    private ConfigurableApplicationContext contexto;
+    private CitaRepository citaRepository;
+    private LaboratorioRepository laboratorioRepository;
+    private TipoAnalisisRepository tipoAnalisisRepository;
+    private LaboratorioAnalisisRepository laboratorioAnalisisRepository;
+
+    private final Long idLaboratorio = 7L;
+    private final Long idPaciente = 4242L;
+    private final Pageable pagina = PageRequest.of(0, 50, ORDEN);
+    private final Pageable limite = PageRequest.of(0, 51);
+    private LocalDateTime ahora;
+    private LocalDateTime cursorFecha;
+    private final Long cursorId = 1L;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        contexto = new SpringApplicationBuilder(LaboratoriosApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                // No cargar application.yml (conexión a Oracle Cloud)
+                "--spring.config.name=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                // Esquema desde las entidades, sin los datos iniciales de las migraciones
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.hibernate.naming.physical-strategy="
+                    + "org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--logging.level.root=WARN"
+            );
+        citaRepository = contexto.getBean(CitaRepository.class);
+        laboratorioRepository = contexto.getBean(LaboratorioRepository.class);
+        tipoAnalisisRepository = contexto.getBean(TipoAnalisisRepository.class);
+        laboratorioAnalisisRepository = contexto.getBean(LaboratorioAnalisisRepository.class);
+
+        ahora = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        cursorFecha = ahora.minusDays(180);
+        sembrar(contexto.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    /**
+     * Datos sintéticos: citas repartidas en el último año y los próximos 60 días,
+     * mayoría COMPLETADA como en producción
+     */
+    private void sembrar(JdbcTemplate jdbc) {
+        Random random = new Random(42);
+        Timestamp creacion = Timestamp.valueOf(ahora);
+
+        List<Object[]> laboratorios = new ArrayList<>();
+        for (long id = 1; id <= TOTAL_LABORATORIOS; id++) {
+            laboratorios.add(new Object[]{id, "Laboratorio " + id, "Dirección " + id, "+56 2 0000 0000",
+                "lab" + id + "@lab.cl", ESPECIALIDADES[(int) (id % ESPECIALIDADES.length)], id % 10 == 0 ? 0 : 1, creacion});
+        }
+        jdbc.batchUpdate("INSERT INTO LABORATORIOS (ID_LABORATORIO, NOMBRE, DIRECCION, TELEFONO, EMAIL, " +
+            "ESPECIALIDAD, ACTIVO, FECHA_CREACION) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", laboratorios);
+
+        List<Object[]> tipos = new ArrayList<>();
+        for (long id = 1; id <= TOTAL_TIPOS_ANALISIS; id++) {
+            tipos.add(new Object[]{id, "Análisis " + id, "Descripción " + id, 5000 + id * 500, 1 + id % 7, 1, creacion});
+        }
+        jdbc.batchUpdate("INSERT INTO TIPOS_ANALISIS (ID_TIPO_ANALISIS, NOMBRE, DESCRIPCION, PRECIO, " +
+            "TIEMPO_ENTREGA_DIAS, ACTIVO, FECHA_CREACION) VALUES (?, ?, ?, ?, ?, ?, ?)", tipos);
+
+        List<Object[]> asignaciones = new ArrayList<>();
+        for (long lab = 1; lab <= TOTAL_LABORATORIOS; lab++) {
+            for (long tipo = 1; tipo <= TOTAL_TIPOS_ANALISIS; tipo += 1 + lab % 3) {
+                asignaciones.add(new Object[]{lab, tipo, tipo % 5 == 0 ? 0 : 1, creacion});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO LABORATORIO_ANALISIS (ID_LABORATORIO, ID_TIPO_ANALISIS, DISPONIBLE, " +
+            "FECHA_ASIGNACION) VALUES (?, ?, ?, ?)", asignaciones);
+
+        List<Object[]> citas = new ArrayList<>(10_000);
+        for (long id = 1; id <= totalCitas; id++) {
+            LocalDateTime fecha = ahora.minusDays(365).plusMinutes(30L * random.nextInt(425 * 48));
+            int sorteo = random.nextInt(10);
+            String estado = fecha.isAfter(ahora)
+                ? (sorteo < 7 ? "PROGRAMADA" : sorteo < 9 ? "CONFIRMADA" : "CANCELADA")
+                : (sorteo < 9 ? "COMPLETADA" : "CANCELADA");
+            citas.add(new Object[]{id, 1 + random.nextInt(TOTAL_PACIENTES), 1 + random.nextInt(TOTAL_LABORATORIOS),
+                1 + random.nextInt(TOTAL_TIPOS_ANALISIS), Timestamp.valueOf(fecha), estado, null, creacion});
+            if (citas.size() == 10_000 || id == totalCitas) {
+                jdbc.batchUpdate("INSERT INTO CITAS (ID_CITA, ID_PACIENTE, ID_LABORATORIO, ID_TIPO_ANALISIS, " +
+                    "FECHA_CITA, ESTADO, OBSERVACIONES, FECHA_CREACION) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", citas);
+                citas.clear();
+            }
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    // ========== CitaRepository ==========
+
+    @Benchmark
+    public List<Cita> citaFindByIdPaciente() {
+        return citaRepository.findByIdPaciente(idPaciente);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindByIdLaboratorio() {
+        return citaRepository.findByIdLaboratorio(idLaboratorio);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindByEstado() {
+        return citaRepository.findByEstado("CONFIRMADA");
+    }
+
+    @Benchmark
+    public List<Cita> citaFindByIdLaboratorioAndEstado() {
+        return citaRepository.findByIdLaboratorioAndEstado(idLaboratorio, "PROGRAMADA");
+    }
+
+    @Benchmark
+    public List<Cita> citaFindByIdPacienteAndEstado() {
+        return citaRepository.findByIdPacienteAndEstado(idPaciente, "COMPLETADA");
+    }
+
+    @Benchmark
+    public List<Cita> citaFindByRangoFechas() {
+        return citaRepository.findByRangoFechas(ahora, ahora.plusDays(1));
+    }
+
+    @Benchmark
+    public List<Cita> citaFindProximasCitasPorLaboratorio() {
+        return citaRepository.findProximasCitasPorLaboratorio(idLaboratorio);
+    }
+
+    @Benchmark
+    public Slice<Cita> citaFindAllByPagina() {
+        return citaRepository.findAllBy(pagina);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindPaginaSiguiente() {
+        return citaRepository.findPaginaSiguiente(cursorFecha, cursorId, limite);
+    }
+
+    @Benchmark
+    public Slice<Cita> citaFindByIdPacientePagina() {
+        return citaRepository.findByIdPaciente(idPaciente, pagina);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindPaginaSiguientePorPaciente() {
+        return citaRepository.findPaginaSiguientePorPaciente(idPaciente, cursorFecha, cursorId, limite);
+    }
+
+    @Benchmark
+    public long citaCountByIdPaciente() {
+        return citaRepository.countByIdPaciente(idPaciente);
+    }
+
+    @Benchmark
+    public Slice<Cita> citaFindByIdLaboratorioPagina() {
+        return citaRepository.findByIdLaboratorio(idLaboratorio, pagina);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindPaginaSiguientePorLaboratorio() {
+        return citaRepository.findPaginaSiguientePorLaboratorio(idLaboratorio, cursorFecha, cursorId, limite);
+    }
+
+    @Benchmark
+    public long citaCountByIdLaboratorio() {
+        return citaRepository.countByIdLaboratorio(idLaboratorio);
+    }
+
+    @Benchmark
+    public Slice<Cita> citaFindByEstadoPagina() {
+        return citaRepository.findByEstado("COMPLETADA", pagina);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindPaginaSiguientePorEstado() {
+        return citaRepository.findPaginaSiguientePorEstado("COMPLETADA", cursorFecha, cursorId, limite);
+    }
+
+    @Benchmark
+    public long citaCountByEstado() {
+        return citaRepository.countByEstado("COMPLETADA");
+    }
+
+    @Benchmark
+    public Slice<Cita> citaFindByRangoFechasPagina() {
+        return citaRepository.findByRangoFechas(cursorFecha, cursorFecha.plusDays(30), pagina);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindPaginaSiguientePorRangoFechas() {
+        return citaRepository.findPaginaSiguientePorRangoFechas(cursorFecha.plusDays(30), cursorFecha, cursorId, limite);
+    }
+
+    @Benchmark
+    public long citaCountByRangoFechas() {
+        return citaRepository.countByRangoFechas(cursorFecha, cursorFecha.plusDays(30));
+    }
+
+    @Benchmark
+    public Slice<Cita> citaFindProximasCitasPorLaboratorioPagina() {
+        return citaRepository.findProximasCitasPorLaboratorio(idLaboratorio, pagina);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindProximasSiguientesPorLaboratorio() {
+        return citaRepository.findProximasSiguientesPorLaboratorio(idLaboratorio, ahora.plusDays(7), cursorId, limite);
+    }
+
+    @Benchmark
+    public long citaCountProximasCitasPorLaboratorio() {
+        return citaRepository.countProximasCitasPorLaboratorio(idLaboratorio);
+    }
+
+    @Benchmark
+    public List<Object[]> citaFindReservasDesde() {
+        return citaRepository.findReservasDesde(ahora);
+    }
+
+    // ========== LaboratorioRepository ==========
+
+    @Benchmark
+    public List<Laboratorio> laboratorioFindByActivo() {
+        return laboratorioRepository.findByActivo(1);
+    }
+
+    @Benchmark
+    public List<Laboratorio> laboratorioFindByEspecialidad() {
+        return laboratorioRepository.findByEspecialidad("Bioquímica");
+    }
+
+    @Benchmark
+    public boolean laboratorioExistsByEmail() {
+        return laboratorioRepository.existsByEmail("lab150@lab.cl");
+    }
+
+    @Benchmark
+    public List<Laboratorio> laboratorioBuscarPorNombre() {
+        return laboratorioRepository.buscarPorNombre("oratorio 15");
+    }
+
+    @Benchmark
+    public List<Laboratorio> laboratorioFindActivosByEspecialidad() {
+        return laboratorioRepository.findActivosByEspecialidad("Bioquímica");
+    }
+
+    @Benchmark
+    public List<Long> laboratorioFindIdsExistentes() {
+        return laboratorioRepository.findIdsExistentes(List.of(1L, 50L, 100L, 150L, 999L));
+    }
+
+    // ========== TipoAnalisisRepository ==========
+
+    @Benchmark
+    public List<TipoAnalisis> tipoAnalisisFindByActivo() {
+        return tipoAnalisisRepository.findByActivo(1);
+    }
+
+    @Benchmark
+    public List<TipoAnalisis> tipoAnalisisBuscarPorNombre() {
+        return tipoAnalisisRepository.buscarPorNombre("lisis 2");
+    }
+
+    @Benchmark
+    public List<TipoAnalisis> tipoAnalisisFindByRangoPrecio() {
+        return tipoAnalisisRepository.findByRangoPrecio(10000.0, 20000.0);
+    }
+
+    @Benchmark
+    public List<Long> tipoAnalisisFindIdsExistentes() {
+        return tipoAnalisisRepository.findIdsExistentes(List.of(1L, 10L, 20L, 99L));
+    }
+
+    // ========== LaboratorioAnalisisRepository ==========
+
+    @Benchmark
+    public List<LaboratorioAnalisis> laboratorioAnalisisFindByIdLaboratorio() {
+        return laboratorioAnalisisRepository.findByIdLaboratorio(idLaboratorio);
+    }
+
+    @Benchmark
+    public List<LaboratorioAnalisis> laboratorioAnalisisFindByIdTipoAnalisis() {
+        return laboratorioAnalisisRepository.findByIdTipoAnalisis(3L);
+    }
+
+    @Benchmark
+    public boolean laboratorioAnalisisExists() {
+        return laboratorioAnalisisRepository.existsByIdLaboratorioAndIdTipoAnalisis(idLaboratorio, 3L);
+    }
+
+    @Benchmark
+    public List<LaboratorioAnalisis> laboratorioAnalisisFindDisponibles() {
+        return laboratorioAnalisisRepository.findAnalisisDisponiblesPorLaboratorio(idLaboratorio);
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(RepositoriosBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,211 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.dto.DisponibilidadDiaDTO;
+import com.duoc.laboratorio.laboratorios.exception.BadRequestException;
+import com.duoc.laboratorio.laboratorios.repository.CitaRepository;
+import com.duoc.laboratorio.laboratorios.repository.LaboratorioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para AgendaCitas
+ */
+@DisplayName("Tests de AgendaCitas")
+class AgendaCitasTest {
+
+    private AgendaCitas agendaCitas;
+
+    private final LocalDate manana = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        agendaCitas = new AgendaCitas(30, "08:00", "18:00", 31, false);
+    }
+
+    @Test
+    @DisplayName("Debe impedir reservar dos veces el mismo bloque")
+    void testReservar_BloqueOcupado() {
+        // Given
+        LocalDateTime horario = manana.atTime(10, 0);
+
+        // When
+        boolean primera = agendaCitas.reservar(1L, horario);
+        boolean segunda = agendaCitas.reservar(1L, horario.plusMinutes(15));
+        boolean otroLaboratorio = agendaCitas.reservar(2L, horario);
+
+        // Then
+        assertTrue(primera);
+        assertFalse(segunda);
+        assertTrue(otroLaboratorio);
+        assertTrue(agendaCitas.estaOcupado(1L, horario));
+    }
+
+    @Test
+    @DisplayName("Debe permitir reservar nuevamente un bloque liberado")
+    void testLiberar() {
+        // Given
+        LocalDateTime horario = manana.atTime(11, 30);
+        agendaCitas.reservar(1L, horario);
+
+        // When
+        agendaCitas.liberar(1L, horario);
+
+        // Then
+        assertFalse(agendaCitas.estaOcupado(1L, horario));
+        assertTrue(agendaCitas.reservar(1L, horario));
+    }
+
+    @Test
+    @DisplayName("Debe reconocer si dos horarios caen en el mismo bloque")
+    void testMismoBloque() {
+        // When & Then
+        assertTrue(agendaCitas.mismoBloque(manana.atTime(9, 0), manana.atTime(9, 29)));
+        assertFalse(agendaCitas.mismoBloque(manana.atTime(9, 29), manana.atTime(9, 30)));
+        assertFalse(agendaCitas.mismoBloque(manana.atTime(9, 0), manana.plusDays(1).atTime(9, 0)));
+    }
+
+    @Test
+    @DisplayName("La disponibilidad debe excluir los bloques ocupados y respetar el horario de atención")
+    void testObtenerDisponibilidad() {
+        // Given
+        agendaCitas.reservar(1L, manana.atTime(8, 0));
+        agendaCitas.reservar(1L, manana.atTime(17, 45));
+
+        // When
+        List<DisponibilidadDiaDTO> disponibilidad = agendaCitas.obtenerDisponibilidad(1L, manana, manana.plusDays(1));
+
+        // Then
+        assertEquals(2, disponibilidad.size());
+        DisponibilidadDiaDTO dia = disponibilidad.get(0);
+        assertEquals(manana, dia.getFecha());
+        assertEquals(18, dia.getBloquesLibres().size());
+        assertEquals(LocalTime.of(8, 30), dia.getBloquesLibres().get(0));
+        assertFalse(dia.getBloquesLibres().contains(LocalTime.of(17, 30)));
+        assertEquals(20, disponibilidad.get(1).getBloquesLibres().size());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar rangos invertidos o demasiado amplios")
+    void testObtenerDisponibilidad_RangoInvalido() {
+        // When & Then
+        assertThrows(BadRequestException.class,
+            () -> agendaCitas.obtenerDisponibilidad(1L, manana, manana.minusDays(1)));
+        assertThrows(BadRequestException.class,
+            () -> agendaCitas.obtenerDisponibilidad(1L, manana, manana.plusDays(31)));
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el índice desde las citas vigentes")
+    void testReconstruir() {
+        // Given
+        CitaRepository citaRepository = mock(CitaRepository.class);
+        ReflectionTestUtils.setField(agendaCitas, "citaRepository", citaRepository);
+        LocalDateTime horario = manana.atTime(14, 0);
+        when(citaRepository.findReservasDesde(any())).thenReturn(List.<Object[]>of(new Object[]{3L, horario}));
+
+        // When
+        agendaCitas.reconstruir();
+
+        // Then
+        assertTrue(agendaCitas.estaOcupado(3L, horario));
+        assertFalse(agendaCitas.reservar(3L, horario));
+    }
+
+    @Test
+    @DisplayName("Con dos citas existentes en el mismo bloque, cancelar una no debe liberar el bloque")
+    void testReconstruir_Sobrecupo() {
+        // Given
+        CitaRepository citaRepository = mock(CitaRepository.class);
+        ReflectionTestUtils.setField(agendaCitas, "citaRepository", citaRepository);
+        LocalDateTime primera = manana.atTime(14, 0);
+        LocalDateTime segunda = manana.atTime(14, 15);
+        when(citaRepository.findReservasDesde(any()))
+            .thenReturn(List.<Object[]>of(new Object[]{3L, primera}, new Object[]{3L, segunda}));
+        agendaCitas.reconstruir();
+
+        // When
+        agendaCitas.liberar(3L, segunda);
+
+        // Then
+        assertTrue(agendaCitas.estaOcupado(3L, primera));
+        assertFalse(agendaCitas.reservar(3L, primera.plusMinutes(20)));
+
+        // When: se cancela también la otra
+        agendaCitas.liberar(3L, primera);
+
+        // Then
+        assertTrue(agendaCitas.reservar(3L, primera));
+    }
+
+    @Test
+    @DisplayName("Sin agenda compartida no debe consultar la base de datos al reservar")
+    void testOcupadoEnBaseDeDatos_NoCompartida() {
+        // Given
+        CitaRepository citaRepository = mock(CitaRepository.class);
+        LaboratorioRepository laboratorioRepository = mock(LaboratorioRepository.class);
+        ReflectionTestUtils.setField(agendaCitas, "citaRepository", citaRepository);
+        ReflectionTestUtils.setField(agendaCitas, "laboratorioRepository", laboratorioRepository);
+
+        // When & Then
+        assertFalse(agendaCitas.ocupadoEnBaseDeDatos(3L, manana.atTime(14, 0)));
+        verifyNoInteractions(citaRepository, laboratorioRepository);
+    }
+
+    @Test
+    @DisplayName("Con agenda compartida debe bloquear el laboratorio y buscar citas de otras réplicas en el bloque")
+    void testOcupadoEnBaseDeDatos_Compartida() {
+        // Given
+        agendaCitas = new AgendaCitas(30, "08:00", "18:00", 31, true);
+        CitaRepository citaRepository = mock(CitaRepository.class);
+        LaboratorioRepository laboratorioRepository = mock(LaboratorioRepository.class);
+        ReflectionTestUtils.setField(agendaCitas, "citaRepository", citaRepository);
+        ReflectionTestUtils.setField(agendaCitas, "laboratorioRepository", laboratorioRepository);
+        when(citaRepository.findReservasLaboratorio(3L, manana.atTime(14, 0), manana.atTime(14, 30)))
+            .thenReturn(List.of(manana.atTime(14, 10)));
+
+        // When
+        boolean ocupado = agendaCitas.ocupadoEnBaseDeDatos(3L, manana.atTime(14, 20));
+
+        // Then
+        assertTrue(ocupado);
+        verify(laboratorioRepository).bloquearParaReserva(3L);
+    }
+
+    @Test
+    @DisplayName("Con agenda compartida la disponibilidad debe excluir los bloques ocupados por otras réplicas")
+    void testObtenerDisponibilidad_Compartida() {
+        // Given
+        agendaCitas = new AgendaCitas(30, "08:00", "18:00", 31, true);
+        CitaRepository citaRepository = mock(CitaRepository.class);
+        ReflectionTestUtils.setField(agendaCitas, "citaRepository", citaRepository);
+        agendaCitas.reservar(1L, manana.atTime(8, 0));
+        when(citaRepository.findReservasLaboratorio(1L, manana.atStartOfDay(), manana.plusDays(1).atStartOfDay()))
+            .thenReturn(List.of(manana.atTime(9, 45)));
+
+        // When
+        List<LocalTime> libres = agendaCitas.obtenerDisponibilidad(1L, manana, manana).get(0).getBloquesLibres();
+
+        // Then
+        assertEquals(18, libres.size());
+        assertFalse(libres.contains(LocalTime.of(8, 0)));
+        assertFalse(libres.contains(LocalTime.of(9, 30)));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una duración de bloque que no divida el día")
+    void testDuracionBloqueInvalida() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new AgendaCitas(7, "08:00", "18:00", 31, false));
+    }
+}
@@ -0,0 +1,257 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.dto.CitaDTO;
+import com.duoc.laboratorio.laboratorios.dto.ResultadoLoteCitaDTO;
+import com.duoc.laboratorio.laboratorios.model.Cita;
+import com.duoc.laboratorio.laboratorios.repository.CitaRepository;
+import com.duoc.laboratorio.laboratorios.repository.LaboratorioRepository;
+import com.duoc.laboratorio.laboratorios.repository.TipoAnalisisRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CitaLoteService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de CitaLoteService")
+class CitaLoteServiceTest {
+
+    @Mock
+    private CitaRepository citaRepository;
+
+    @Mock
+    private LaboratorioRepository laboratorioRepository;
+
+    @Mock
+    private TipoAnalisisRepository tipoAnalisisRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AgendaCitas agendaCitas;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private CitaLoteService citaLoteService;
+
+    private final AtomicLong secuencia = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(citaRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Cita> citas = invocation.getArgument(0);
+            citas.forEach(cita -> cita.setIdCita(secuencia.incrementAndGet()));
+            return citas;
+        });
+        lenient().when(laboratorioRepository.findIdsExistentes(anyCollection())).thenReturn(List.of(1L));
+        lenient().when(tipoAnalisisRepository.findIdsExistentes(anyCollection())).thenReturn(List.of(1L));
+        lenient().when(agendaCitas.reservar(any(), any())).thenReturn(true);
+    }
+
+    private CitaDTO cita(Long idLaboratorio, Long idTipoAnalisis, LocalDateTime fecha) {
+        CitaDTO dto = new CitaDTO();
+        dto.setIdPaciente(2L);
+        dto.setIdLaboratorio(idLaboratorio);
+        dto.setIdTipoAnalisis(idTipoAnalisis);
+        dto.setFechaCita(fecha);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Debe crear las citas válidas y rechazar las inválidas informando cada posición")
+    void testCrearLote_ValidasEInvalidas() {
+        // Given
+        LocalDateTime futura = LocalDateTime.now().plusDays(3);
+        List<CitaDTO> citas = List.of(
+            cita(1L, 1L, futura),
+            cita(99L, 1L, futura),
+            cita(1L, 1L, LocalDateTime.now().minusDays(1)),
+            cita(1L, 1L, futura)
+        );
+        List<ResultadoLoteCitaDTO> resultados = new ArrayList<>();
+
+        // When
+        citaLoteService.crearLote(citas.iterator(), resultados::add);
+
+        // Then
+        assertEquals(4, resultados.size());
+        assertEquals(ResultadoLoteCitaDTO.CREADA, resultados.get(0).getEstado());
+        assertEquals(101L, resultados.get(0).getIdCita());
+        assertEquals(ResultadoLoteCitaDTO.RECHAZADA, resultados.get(1).getEstado());
+        assertEquals("Laboratorio no encontrado con ID: 99", resultados.get(1).getMensaje());
+        assertEquals(ResultadoLoteCitaDTO.RECHAZADA, resultados.get(2).getEstado());
+        assertEquals("La fecha de la cita debe ser futura", resultados.get(2).getMensaje());
+        assertEquals(ResultadoLoteCitaDTO.CREADA, resultados.get(3).getEstado());
+        assertEquals(3L, resultados.get(3).getIndice());
+        verify(laboratorioRepository, times(1)).findIdsExistentes(anyCollection());
+        verify(tipoAnalisisRepository, times(1)).findIdsExistentes(anyCollection());
+        verify(citaRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Debe insertar por bloques y no volver a consultar IDs ya verificados")
+    void testCrearLote_PorBloques() {
+        // Given
+        ReflectionTestUtils.setField(citaLoteService, "tamanoBloque", 2);
+        LocalDateTime futura = LocalDateTime.now().plusDays(3);
+        List<CitaDTO> citas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            citas.add(cita(1L, 1L, futura));
+        }
+        List<ResultadoLoteCitaDTO> resultados = new ArrayList<>();
+
+        // When
+        citaLoteService.crearLote(citas.iterator(), resultados::add);
+
+        // Then
+        assertEquals(5, resultados.size());
+        assertTrue(resultados.stream().allMatch(r -> ResultadoLoteCitaDTO.CREADA.equals(r.getEstado())));
+        verify(citaRepository, times(3)).saveAll(any());
+        verify(entityManager, times(3)).clear();
+        verify(laboratorioRepository, times(1)).findIdsExistentes(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Debe procesar lo leído e informar el error si el contenido deja de ser válido")
+    void testCrearLote_ContenidoInvalido() {
+        // Given
+        CitaDTO valida = cita(1L, 1L, LocalDateTime.now().plusDays(3));
+        Iterator<CitaDTO> citas = new Iterator<>() {
+            private int leidas = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (leidas == 1) {
+                    throw new IllegalStateException("JSON mal formado");
+                }
+                return true;
+            }
+
+            @Override
+            public CitaDTO next() {
+                leidas++;
+                return valida;
+            }
+        };
+        List<ResultadoLoteCitaDTO> resultados = new ArrayList<>();
+
+        // When
+        citaLoteService.crearLote(citas, resultados::add);
+
+        // Then
+        assertEquals(2, resultados.size());
+        assertEquals(ResultadoLoteCitaDTO.CREADA, resultados.get(0).getEstado());
+        assertEquals(ResultadoLoteCitaDTO.RECHAZADA, resultados.get(1).getEstado());
+        assertEquals(1L, resultados.get(1).getIndice());
+        assertTrue(resultados.get(1).getMensaje().contains("JSON mal formado"));
+    }
+
+    @Test
+    @DisplayName("Si falla el guardado del bloque, sus citas se informan como rechazadas")
+    void testCrearLote_ErrorAlGuardar() {
+        // Given
+        doThrow(new IllegalStateException("ORA-02291")).when(citaRepository).saveAll(any());
+        List<ResultadoLoteCitaDTO> resultados = new ArrayList<>();
+
+        // When
+        citaLoteService.crearLote(List.of(cita(1L, 1L, LocalDateTime.now().plusDays(1))).iterator(),
+            resultados::add);
+
+        // Then
+        assertEquals(1, resultados.size());
+        assertEquals(ResultadoLoteCitaDTO.RECHAZADA, resultados.get(0).getEstado());
+        assertTrue(resultados.get(0).getMensaje().contains("ORA-02291"));
+        verify(agendaCitas, times(1)).liberar(eq(1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar las citas cuyo horario ya está ocupado")
+    void testCrearLote_HorarioOcupado() {
+        // Given
+        LocalDateTime futura = LocalDateTime.now().plusDays(2);
+        when(agendaCitas.reservar(1L, futura)).thenReturn(true, false);
+        List<ResultadoLoteCitaDTO> resultados = new ArrayList<>();
+
+        // When
+        citaLoteService.crearLote(List.of(cita(1L, 1L, futura), cita(1L, 1L, futura)).iterator(),
+            resultados::add);
+
+        // Then
+        assertEquals(ResultadoLoteCitaDTO.CREADA, resultados.get(0).getEstado());
+        assertEquals(ResultadoLoteCitaDTO.RECHAZADA, resultados.get(1).getEstado());
+        assertTrue(resultados.get(1).getMensaje().startsWith("El laboratorio ya tiene una cita"));
+    }
+
+    @Test
+    @DisplayName("Con la agenda compartida debe rechazar las citas cuyo bloque ocupó otra réplica")
+    void testCrearLote_HorarioOcupadoEnOtraReplica() {
+        // Given
+        LocalDateTime futura = LocalDateTime.now().plusDays(2);
+        when(agendaCitas.ocupadoEnBaseDeDatos(1L, futura)).thenReturn(true);
+        List<ResultadoLoteCitaDTO> resultados = new ArrayList<>();
+
+        // When
+        citaLoteService.crearLote(List.of(cita(1L, 1L, futura), cita(1L, 1L, futura.plusHours(1))).iterator(),
+            resultados::add);
+
+        // Then
+        assertEquals(ResultadoLoteCitaDTO.RECHAZADA, resultados.get(0).getEstado());
+        assertTrue(resultados.get(0).getMensaje().startsWith("El laboratorio ya tiene una cita"));
+        assertEquals(ResultadoLoteCitaDTO.CREADA, resultados.get(1).getEstado());
+        verify(agendaCitas).liberar(1L, futura);
+        verify(citaRepository).saveAll(argThat(citas -> ((Collection<?>) citas).size() == 1));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar las citas que no parten en el estado inicial")
+    void testCrearLote_EstadoInicial() {
+        // Given
+        LocalDateTime futura = LocalDateTime.now().plusDays(2);
+        CitaDTO completada = cita(1L, 1L, futura);
+        completada.setEstado("COMPLETADA");
+        CitaDTO programada = cita(1L, 1L, futura.plusHours(1));
+        programada.setEstado("PROGRAMADA");
+        List<ResultadoLoteCitaDTO> resultados = new ArrayList<>();
+
+        // When
+        citaLoteService.crearLote(List.of(completada, programada).iterator(), resultados::add);
+
+        // Then
+        assertEquals(ResultadoLoteCitaDTO.RECHAZADA, resultados.get(0).getEstado());
+        assertEquals("Una cita nueva debe crearse en estado PROGRAMADA, no COMPLETADA",
+            resultados.get(0).getMensaje());
+        assertEquals(ResultadoLoteCitaDTO.CREADA, resultados.get(1).getEstado());
+        verify(agendaCitas, times(1)).reservar(any(), any());
+    }
+}
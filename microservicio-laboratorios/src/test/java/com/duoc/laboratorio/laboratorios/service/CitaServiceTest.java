@@ -0,0 +1,285 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.dto.CitaDTO;
+import com.duoc.laboratorio.laboratorios.dto.ConsultaPaginaDTO;
+import com.duoc.laboratorio.laboratorios.dto.PaginaDTO;
+import com.duoc.laboratorio.laboratorios.dto.TransicionLoteCitasRequest;
+import com.duoc.laboratorio.laboratorios.dto.TransicionLoteDTO;
+import com.duoc.laboratorio.laboratorios.exception.BadRequestException;
+import com.duoc.laboratorio.laboratorios.exception.ConflictException;
+import com.duoc.laboratorio.laboratorios.model.Cita;
+import com.duoc.laboratorio.laboratorios.model.CitaArchivada;
+import com.duoc.laboratorio.laboratorios.repository.CitaArchivadaRepository;
+import com.duoc.laboratorio.laboratorios.repository.CitaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CitaService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de CitaService")
+class CitaServiceTest {
+
+    @Mock
+    private CitaRepository citaRepository;
+
+    @Mock
+    private AgendaCitas agendaCitas;
+
+    @Mock
+    private CitaArchivadaRepository citaArchivadaRepository;
+
+    @Mock
+    private ArchivadorCitas archivadorCitas;
+
+    @InjectMocks
+    private CitaService citaService;
+
+    private Cita cita;
+    private ConsultaPaginaDTO consulta;
+
+    @BeforeEach
+    void setUp() {
+        cita = new Cita();
+        cita.setIdCita(7L);
+        cita.setIdPaciente(2L);
+        cita.setIdLaboratorio(1L);
+        cita.setIdTipoAnalisis(1L);
+        cita.setFechaCita(LocalDateTime.of(2030, 1, 15, 9, 0));
+        cita.setEstado("COMPLETADA");
+
+        consulta = new ConsultaPaginaDTO();
+    }
+
+    @Test
+    @DisplayName("Debe paginar sin contar y entregar el cursor de la página siguiente")
+    void testObtenerPorEstado_PrimeraPagina() {
+        // Given
+        consulta.setSize(1);
+        when(citaRepository.findByEstado(eq("COMPLETADA"), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(cita), Pageable.ofSize(1), true));
+
+        // When
+        PaginaDTO<CitaDTO> pagina = citaService.obtenerPorEstado("COMPLETADA", consulta);
+
+        // Then
+        assertEquals(1, pagina.getContenido().size());
+        assertNull(pagina.getTotal());
+        CursorCita cursor = CursorCita.decodificar(pagina.getSiguienteCursor());
+        assertEquals(7L, cursor.getIdCita());
+        assertEquals(cita.getFechaCita(), cursor.getFechaCita());
+        verify(citaRepository, never()).countByEstado(any());
+    }
+
+    @Test
+    @DisplayName("Debe acotar el tamaño de página al máximo del servidor")
+    void testObtenerPorEstado_TamanoMaximo() {
+        // Given
+        consulta.setSize(100_000);
+        consulta.setPage(3);
+        when(citaRepository.findByEstado(eq("COMPLETADA"), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(cita)));
+
+        // When
+        citaService.obtenerPorEstado("COMPLETADA", consulta);
+
+        // Then
+        verify(citaRepository).findByEstado(eq("COMPLETADA"), argThat(p ->
+            p.getPageSize() == CitaService.TAMANO_PAGINA_MAXIMO && p.getPageNumber() == 3));
+    }
+
+    @Test
+    @DisplayName("Debe continuar desde el cursor, terminar sin cursor e informar el total solicitado")
+    void testObtenerPorPaciente_DesdeCursor() {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2030, 1, 14, 8, 0);
+        consulta.setCursor(new CursorCita(fecha, 5L).codificar());
+        consulta.setTotal(true);
+        when(citaRepository.findPaginaSiguientePorPaciente(eq(2L), eq(fecha), eq(5L), any(Pageable.class)))
+            .thenReturn(List.of(cita));
+        when(citaRepository.countByIdPaciente(2L)).thenReturn(6L);
+
+        // When
+        PaginaDTO<CitaDTO> pagina = citaService.obtenerPorPaciente(2L, consulta);
+
+        // Then
+        assertEquals(1, pagina.getContenido().size());
+        assertNull(pagina.getSiguienteCursor());
+        assertEquals(6L, pagina.getTotal());
+        verify(citaRepository, never()).findByIdPaciente(any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar page y cursor a la vez, o un cursor inválido")
+    void testPaginacion_ParametrosInvalidos() {
+        // Given
+        consulta.setPage(1);
+        consulta.setCursor(new CursorCita(LocalDateTime.now(), 1L).codificar());
+        ConsultaPaginaDTO cursorInvalido = new ConsultaPaginaDTO();
+        cursorInvalido.setCursor("no-es-un-cursor");
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> citaService.obtenerTodas(consulta));
+        assertThrows(BadRequestException.class, () -> citaService.obtenerTodas(cursorInvalido));
+        verifyNoInteractions(citaRepository);
+    }
+
+    @Test
+    @DisplayName("Debe buscar en el archivo una cita que ya no está en CITAS")
+    void testObtenerPorId_Archivada() {
+        // Given
+        CitaArchivada archivada = new CitaArchivada(3L, 2L, 1L, 1L, LocalDateTime.of(2020, 5, 4, 9, 0),
+            "COMPLETADA", null, null, LocalDateTime.now());
+        when(citaRepository.findById(3L)).thenReturn(Optional.empty());
+        when(citaArchivadaRepository.findById(3L)).thenReturn(Optional.of(archivada));
+
+        // When
+        CitaDTO dto = citaService.obtenerPorId(3L);
+
+        // Then
+        assertEquals(3L, dto.getIdCita());
+        assertEquals("COMPLETADA", dto.getEstado());
+    }
+
+    @Test
+    @DisplayName("Un rango que comienza antes del límite de archivo debe mezclar ambas tablas en orden")
+    void testObtenerPorRangoFechas_IncluyeArchivo() {
+        // Given
+        LocalDateTime desde = LocalDateTime.of(2020, 1, 1, 0, 0);
+        LocalDateTime hasta = LocalDateTime.of(2030, 12, 31, 0, 0);
+        CitaArchivada archivada = new CitaArchivada(3L, 2L, 1L, 1L, LocalDateTime.of(2020, 5, 4, 9, 0),
+            "COMPLETADA", null, null, LocalDateTime.now());
+        consulta.setSize(1);
+        consulta.setTotal(true);
+        when(archivadorCitas.limite()).thenReturn(LocalDateTime.of(2024, 1, 1, 0, 0));
+        when(citaRepository.findByRangoFechas(eq(desde), eq(hasta), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(cita)));
+        when(citaArchivadaRepository.findByRangoFechas(eq(desde), eq(hasta), any(Pageable.class)))
+            .thenReturn(List.of(archivada));
+        when(citaRepository.countByRangoFechas(desde, hasta)).thenReturn(1L);
+        when(citaArchivadaRepository.countByRangoFechas(desde, hasta)).thenReturn(1L);
+
+        // When
+        PaginaDTO<CitaDTO> pagina = citaService.obtenerPorRangoFechas(desde, hasta, consulta);
+
+        // Then
+        assertEquals(1, pagina.getContenido().size());
+        assertEquals(3L, pagina.getContenido().get(0).getIdCita());
+        assertEquals(3L, CursorCita.decodificar(pagina.getSiguienteCursor()).getIdCita());
+        assertEquals(2L, pagina.getTotal());
+    }
+
+    @Test
+    @DisplayName("Con estado esperado debe cancelar con un UPDATE condicional y liberar el horario")
+    void testCambiarEstado_CondicionalLiberaHorario() {
+        // Given
+        cita.setEstado("CANCELADA");
+        cita.setVersion(3L);
+        when(citaRepository.actualizarEstado(eq(7L), eq("PROGRAMADA"), eq("CANCELADA"), eq(2L), eq(false), any()))
+            .thenReturn(1);
+        when(citaRepository.findById(7L)).thenReturn(Optional.of(cita));
+
+        // When
+        CitaDTO dto = citaService.cambiarEstado(7L, "CANCELADA", "PROGRAMADA", 2L);
+
+        // Then
+        assertEquals("CANCELADA", dto.getEstado());
+        assertEquals(3L, dto.getVersion());
+        verify(agendaCitas).liberar(1L, cita.getFechaCita());
+        verify(agendaCitas, never()).reservar(any(), any());
+        verify(citaRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una transición que el ciclo de vida no permite")
+    void testCambiarEstado_TransicionNoPermitida() {
+        // Given
+        cita.setVersion(4L);
+        when(citaRepository.findById(7L)).thenReturn(Optional.of(cita));
+
+        // When
+        ConflictException ex = assertThrows(ConflictException.class,
+            () -> citaService.cambiarEstado(7L, "PROGRAMADA", null, null));
+
+        // Then
+        assertEquals("Transición no permitida: COMPLETADA -> PROGRAMADA", ex.getMessage());
+        assertEquals(4L, ex.getVersionActual());
+        verifyNoInteractions(agendaCitas);
+        verify(citaRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("La transición por lote debe actualizar las candidatas por ID e informar las omitidas")
+    void testCambiarEstadoLote_InformaOmitidas() {
+        // Given
+        LocalDateTime desde = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime hasta = LocalDateTime.of(2030, 1, 31, 0, 0);
+        Cita programada = new Cita();
+        programada.setIdCita(8L);
+        programada.setIdLaboratorio(1L);
+        programada.setFechaCita(LocalDateTime.of(2030, 1, 16, 9, 0));
+        programada.setEstado("PROGRAMADA");
+        when(citaRepository.findParaTransicion(eq(desde), eq(hasta), eq(1L),
+                argThat(origenes -> origenes.containsAll(List.of("PROGRAMADA", "CONFIRMADA")) && origenes.size() == 2),
+                eq(false), any()))
+            .thenReturn(List.of(programada));
+        when(citaRepository.actualizarEstadoLote(List.of(8L), "CANCELADA")).thenReturn(1);
+        when(citaRepository.countOmitidasTransicion(desde, hasta, 1L, null, "CANCELADA")).thenReturn(1L);
+        when(citaRepository.findOmitidasTransicion(eq(desde), eq(hasta), eq(1L), isNull(), eq("CANCELADA"),
+                any(Pageable.class)))
+            .thenReturn(List.of(cita));
+
+        // When
+        TransicionLoteDTO resultado = citaService.cambiarEstadoLote(
+            new TransicionLoteCitasRequest("CANCELADA", desde, hasta, 1L, null));
+
+        // Then
+        assertEquals(1, resultado.getActualizados());
+        assertEquals(1L, resultado.getOmitidos());
+        TransicionLoteDTO.Omitido omitida = resultado.getDetalleOmitidos().get(0);
+        assertEquals(7L, omitida.getIdCita());
+        assertEquals("Transición no permitida: COMPLETADA -> CANCELADA", omitida.getMotivo());
+        verify(agendaCitas).liberar(1L, programada.getFechaCita());
+        verify(citaRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la actualización con una versión desactualizada sin tocar la agenda")
+    void testActualizarCita_VersionDesactualizada() {
+        // Given
+        cita.setVersion(2L);
+        CitaDTO dto = new CitaDTO();
+        dto.setIdLaboratorio(1L);
+        dto.setFechaCita(cita.getFechaCita());
+        dto.setEstado("CONFIRMADA");
+        dto.setVersion(1L);
+        when(citaRepository.findById(7L)).thenReturn(Optional.of(cita));
+
+        // When
+        ConflictException ex = assertThrows(ConflictException.class, () -> citaService.actualizarCita(7L, dto));
+
+        // Then
+        assertEquals(2L, ex.getVersionActual());
+        verifyNoInteractions(agendaCitas);
+        verify(citaRepository, never()).save(any());
+    }
+}
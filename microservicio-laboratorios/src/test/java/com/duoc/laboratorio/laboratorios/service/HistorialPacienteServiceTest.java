@@ -0,0 +1,122 @@
+package com.duoc.laboratorio.laboratorios.service;
+
+import com.duoc.laboratorio.laboratorios.client.ResultadosClient;
+import com.duoc.laboratorio.laboratorios.client.UsuariosClient;
+import com.duoc.laboratorio.laboratorios.dto.CitaDTO;
+import com.duoc.laboratorio.laboratorios.dto.HistorialPacienteDTO;
+import com.duoc.laboratorio.laboratorios.dto.PacienteDTO;
+import com.duoc.laboratorio.laboratorios.dto.ResultadoCitaDTO;
+import com.duoc.laboratorio.laboratorios.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para HistorialPacienteService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de HistorialPacienteService")
+class HistorialPacienteServiceTest {
+
+    private static final String TOKEN = "Bearer token";
+
+    @Mock
+    private CitaService citaService;
+
+    @Mock
+    private UsuariosClient usuariosClient;
+
+    @Mock
+    private ResultadosClient resultadosClient;
+
+    @InjectMocks
+    private HistorialPacienteService historialPacienteService;
+
+    private PacienteDTO paciente;
+    private CitaDTO cita;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(historialPacienteService, "maxCitas", 1);
+        when(usuariosClient.getTimeout()).thenReturn(Duration.ofSeconds(1));
+
+        paciente = new PacienteDTO(2L, "Ana", "Rojas", "ana@lab.cl", "PACIENTE", 1);
+        cita = new CitaDTO();
+        cita.setIdCita(7L);
+        cita.setIdPaciente(2L);
+        cita.setFechaCita(LocalDateTime.of(2030, 1, 15, 9, 0));
+    }
+
+    @Test
+    @DisplayName("Debe componer paciente, citas y resultados con una sola llamada a resultados")
+    void testObtenerHistorial_Completo() {
+        // Given
+        CitaDTO anterior = new CitaDTO();
+        anterior.setIdCita(5L);
+        ResultadoCitaDTO resultado = new ResultadoCitaDTO(1L, 7L, 3L, null, null, null, "COMPLETADO");
+        when(usuariosClient.obtenerUsuario(2L, TOKEN)).thenReturn(Optional.of(paciente));
+        when(citaService.obtenerRecientesPorPaciente(2L, 2)).thenReturn(List.of(cita, anterior));
+        when(resultadosClient.getTimeout()).thenReturn(Duration.ofSeconds(1));
+        when(resultadosClient.obtenerPorIdsCita(List.of(7L), TOKEN)).thenReturn(List.of(resultado));
+
+        // When
+        HistorialPacienteDTO historial = historialPacienteService.obtenerHistorial(2L, TOKEN);
+
+        // Then
+        assertTrue(historial.isCompleto());
+        assertTrue(historial.isCitasTruncadas());
+        assertEquals("Ana", historial.getPaciente().getNombre());
+        assertEquals(1, historial.getCitas().size());
+        assertEquals(1L, historial.getCitas().get(0).getResultado().getIdResultado());
+        verify(resultadosClient, times(1)).obtenerPorIdsCita(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe entregar un historial parcial si resultados no está disponible")
+    void testObtenerHistorial_Parcial() {
+        // Given
+        when(usuariosClient.obtenerUsuario(2L, TOKEN)).thenReturn(Optional.of(paciente));
+        when(citaService.obtenerRecientesPorPaciente(2L, 2)).thenReturn(List.of(cita));
+        when(resultadosClient.getTimeout()).thenReturn(Duration.ofSeconds(1));
+        when(resultadosClient.obtenerPorIdsCita(any(), any()))
+            .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        HistorialPacienteDTO historial = historialPacienteService.obtenerHistorial(2L, TOKEN);
+
+        // Then
+        assertFalse(historial.isCompleto());
+        assertTrue(historial.getDependenciasNoDisponibles().containsKey(HistorialPacienteService.RESULTADOS));
+        assertEquals(1, historial.getCitas().size());
+        assertNull(historial.getCitas().get(0).getResultado());
+        assertNotNull(historial.getPaciente());
+    }
+
+    @Test
+    @DisplayName("Debe responder no encontrado si el paciente no existe ni tiene citas")
+    void testObtenerHistorial_PacienteInexistente() {
+        // Given
+        when(usuariosClient.obtenerUsuario(99L, TOKEN)).thenReturn(Optional.empty());
+        when(citaService.obtenerRecientesPorPaciente(99L, 2)).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+            () -> historialPacienteService.obtenerHistorial(99L, TOKEN));
+        verifyNoInteractions(resultadosClient);
+    }
+}
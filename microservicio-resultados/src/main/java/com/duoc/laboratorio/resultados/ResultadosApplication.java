@@ -2,12 +2,14 @@ package com.duoc.laboratorio.resultados;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal del Microservicio de Gestión de Resultados
  * Puerto: 8083
  */
 @SpringBootApplication
+@EnableScheduling
 public class ResultadosApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,82 @@
+package com.duoc.laboratorio.resultados.config;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identificador de traza de la solicitud en curso
+ *
+ * TrazaSolicitudFilter lo toma de la cabecera X-Trace-Id (o lo genera) y lo deja
+ * en el MDC mientras dura la solicitud: aparece en cada línea de log, es el
+ * traceId de ApiResponse y se devuelve en la cabecera de la respuesta.
+ * Se genera con ThreadLocalRandom (128 bits en hexadecimal) y no con
+ * UUID.randomUUID(), que usa SecureRandom y se vuelve un punto de contención
+ * bajo carga; el ID no es secreto, solo necesita ser único en la práctica.
+ * Con trazas distribuidas activas el ID es el de la traza de OpenTelemetry
+ * (propagada entre servicios con la cabecera traceparent), así el traceId de una
+ * respuesta o de un log lleva directo a la traza en el colector.
+ */
+public final class ContextoTraza {
+
+    public static final String CABECERA = "X-Trace-Id";
+    public static final String CLAVE_MDC = "traceId";
+
+    private static final int LARGO_MAXIMO = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ContextoTraza() {
+    }
+
+    /**
+     * ID de la solicitud en curso; fuera de una solicitud, uno nuevo
+     */
+    public static String actual() {
+        String id = MDC.get(CLAVE_MDC);
+        return id != null ? id : generar();
+    }
+
+    /**
+     * ID de la traza de OpenTelemetry en curso, o null si no hay un span activo
+     */
+    public static String deSpanActual() {
+        SpanContext contexto = Span.current().getSpanContext();
+        return contexto.isValid() ? contexto.getTraceId() : null;
+    }
+
+    public static String generar() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[32];
+        escribirHex(random.nextLong(), id, 0);
+        escribirHex(random.nextLong(), id, 16);
+        return new String(id);
+    }
+
+    /**
+     * Un ID recibido se acepta solo si es corto y con caracteres seguros para
+     * logs y cabeceras
+     */
+    public static boolean esValido(String id) {
+        if (id == null || id.isEmpty() || id.length() > LARGO_MAXIMO) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            boolean permitido = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                || c == '-' || c == '_';
+            if (!permitido) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void escribirHex(long valor, char[] destino, int desde) {
+        for (int i = 15; i >= 0; i--) {
+            destino[desde + i] = HEX[(int) (valor & 0xF)];
+            valor >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.duoc.laboratorio.resultados.config;
+
+import com.duoc.laboratorio.resultados.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Límite de solicitudes en curso para el modo de hilos virtuales
+ *
+ * Con spring.threads.virtual.enabled=true (en Java 21) cada solicitud tiene su
+ * propio hilo virtual y Tomcat deja de acotar la concurrencia; sin este filtro el
+ * exceso esperaría una conexión en el pool de Hikari hasta connection-timeout. Se
+ * admiten tantas solicitudes como conexiones admite el pool en ese momento
+ * (PoolAdaptativo cambia su tamaño máximo en ejecución), o
+ * concurrencia.max-solicitudes si se fija; las demás esperan como máximo
+ * concurrencia.espera-maxima y luego reciben 429 con Retry-After.
+ * Una respuesta asíncrona (StreamingResponseBody) sigue usando su conexión
+ * después de que el controlador retorna: el permiso se devuelve al terminar la
+ * respuesta. Las rutas de concurrencia.rutas-excluidas (suscripciones SSE, que
+ * no retienen una conexión mientras están abiertas) no pasan por el límite.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    private final Permisos permisos = new Permisos();
+    private final HikariDataSource pool;
+    private final int maxSolicitudes;
+    private final Duration esperaMaxima;
+    private final List<String> rutasExcluidas;
+    private final ObjectMapper objectMapper;
+
+    private volatile int capacidad;
+
+    public LimiteConcurrenciaFilter(
+            DataSource dataSource,
+            @Value("${concurrencia.max-solicitudes:0}") int maxSolicitudes,
+            @Value("${concurrencia.espera-maxima:1s}") Duration esperaMaxima,
+            @Value("${concurrencia.rutas-excluidas:}") List<String> rutasExcluidas,
+            ObjectMapper objectMapper) {
+        this.pool = PoolConexionesConfig.pool(dataSource);
+        this.maxSolicitudes = maxSolicitudes;
+        this.esperaMaxima = esperaMaxima;
+        this.rutasExcluidas = rutasExcluidas;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ajustarCapacidad();
+        boolean admitida;
+        try {
+            admitida = permisos.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitida = false;
+        }
+        if (!admitida) {
+            rechazar(response);
+            return;
+        }
+        boolean liberar = true;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new LiberarAlTerminar());
+                liberar = false;
+            }
+        } finally {
+            if (liberar) {
+                permisos.release();
+            }
+        }
+    }
+
+    /**
+     * Los scrapes de /actuator no compiten por permisos (deben responder aun con
+     * el servicio saturado), tampoco las rutas excluidas
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getRequestURI();
+        return ruta.startsWith("/actuator/") || rutasExcluidas.stream().anyMatch(ruta::startsWith);
+    }
+
+    /**
+     * Iguala los permisos al límite vigente. Al reducir, los permisos en uso
+     * se devuelven normalmente y las nuevas solicitudes esperan hasta que baje
+     * la cantidad en curso
+     */
+    private void ajustarCapacidad() {
+        int limite = maxSolicitudes > 0 ? maxSolicitudes : pool.getMaximumPoolSize();
+        if (limite == capacidad) {
+            return;
+        }
+        synchronized (permisos) {
+            int diferencia = limite - capacidad;
+            if (diferencia == 0) {
+                return;
+            }
+            if (diferencia > 0) {
+                permisos.release(diferencia);
+            } else {
+                permisos.reducePermits(-diferencia);
+            }
+            capacidad = limite;
+        }
+    }
+
+    private void rechazar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+            ApiResponse.error("Servicio saturado. Intente nuevamente en unos segundos"));
+    }
+
+    /**
+     * Semaphore expone reducePermits solo a subclases
+     */
+    private static final class Permisos extends Semaphore {
+
+        Permisos() {
+            super(0, true);
+        }
+
+        @Override
+        public void reducePermits(int reduccion) {
+            super.reducePermits(reduccion);
+        }
+    }
+
+    /**
+     * Devuelve el permiso una sola vez, sea que la respuesta termine, falle o expire
+     */
+    private final class LiberarAlTerminar implements AsyncListener {
+
+        private final AtomicBoolean liberado = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void liberar() {
+            if (liberado.compareAndSet(false, true)) {
+                permisos.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.duoc.laboratorio.resultados.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas del pool de conexiones (Hikari)
+ *
+ * Hikari acepta un solo MetricsTrackerFactory: este reenvía cada evento al
+ * tracker de Micrometer (hikaricp.connections.* en /actuator/prometheus) y
+ * acumula además la espera por conexión y el uso en histogramas de buckets
+ * fijos, de los que PoolAdaptativo toma las diferencias entre dos lecturas. Los
+ * préstamos que superan pool.uso-prolongado quedan en el log, como WARN, con la
+ * solicitud que retuvo la conexión, para encontrar transacciones largas.
+ */
+@Slf4j
+public class MetricasPoolConexiones implements MetricsTrackerFactory {
+
+    /**
+     * Límites superiores de los buckets de espera, en microsegundos
+     */
+    static final long[] LIMITES_ESPERA_US = {
+        100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000, 5_000_000, 30_000_000};
+
+    /**
+     * Límites superiores de los buckets de uso, en milisegundos
+     */
+    static final long[] LIMITES_USO_MS = {1, 5, 10, 50, 100, 250, 500, 1_000, 5_000, 30_000};
+
+    private final Histograma espera = new Histograma(LIMITES_ESPERA_US);
+    private final Histograma uso = new Histograma(LIMITES_USO_MS);
+    private final LongAdder timeouts = new LongAdder();
+    private final long usoProlongadoMs;
+    private final ObjectProvider<MeterRegistry> registroMetricas;
+
+    private volatile PoolStats poolStats;
+
+    public MetricasPoolConexiones(Duration usoProlongado) {
+        this(usoProlongado, null);
+    }
+
+    public MetricasPoolConexiones(Duration usoProlongado, ObjectProvider<MeterRegistry> registroMetricas) {
+        this.usoProlongadoMs = usoProlongado.toMillis();
+        this.registroMetricas = registroMetricas;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        MeterRegistry registro = registroMetricas != null ? registroMetricas.getIfAvailable() : null;
+        IMetricsTracker micrometer = registro != null
+            ? new MicrometerMetricsTrackerFactory(registro).create(poolName, poolStats)
+            : new IMetricsTracker() { };
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                micrometer.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                espera.registrar(elapsedAcquiredNanos / 1_000);
+                micrometer.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                uso.registrar(elapsedBorrowedMillis);
+                micrometer.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                if (elapsedBorrowedMillis >= usoProlongadoMs) {
+                    log.warn("Conexión retenida {} ms por {} (hilo {})",
+                        elapsedBorrowedMillis, origen(), Thread.currentThread().getName());
+                }
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+                micrometer.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                micrometer.close();
+            }
+        };
+    }
+
+    /**
+     * Conteos acumulados para calcular diferencias entre dos lecturas
+     */
+    public Instantanea instantanea() {
+        PoolStats stats = poolStats;
+        return new Instantanea(espera.conteos(), uso.conteos(), timeouts.sum(),
+            stats != null ? stats.getPendingThreads() : 0,
+            stats != null ? stats.getIdleConnections() : 0);
+    }
+
+    /**
+     * Solicitud HTTP que devolvió la conexión (Hikari informa el uso al cerrarla,
+     * en el mismo hilo que la usó); en tareas programadas, el nombre del hilo
+     */
+    private static String origen() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos instanceof ServletRequestAttributes servlet) {
+            return servlet.getRequest().getMethod() + " " + servlet.getRequest().getRequestURI();
+        }
+        return "sin solicitud HTTP";
+    }
+
+    static long total(long[] conteos) {
+        long total = 0;
+        for (long conteo : conteos) {
+            total += conteo;
+        }
+        return total;
+    }
+
+    /**
+     * Límite superior del bucket que contiene el percentil p (0 sin muestras).
+     * Las muestras por sobre el último límite se informan como ese límite.
+     */
+    static long percentil(long[] limites, long[] conteos, double p) {
+        long total = total(conteos);
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = (long) Math.ceil(p * total);
+        long acumulado = 0;
+        for (int i = 0; i < limites.length; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= objetivo) {
+                return limites[i];
+            }
+        }
+        return limites[limites.length - 1];
+    }
+
+    /**
+     * Conteos acumulados del pool en un momento dado
+     */
+    public static class Instantanea {
+
+        private final long[] espera;
+        private final long[] uso;
+        private final long timeouts;
+        private final int hilosEnEspera;
+        private final int inactivas;
+
+        Instantanea(long[] espera, long[] uso, long timeouts, int hilosEnEspera, int inactivas) {
+            this.espera = espera;
+            this.uso = uso;
+            this.timeouts = timeouts;
+            this.hilosEnEspera = hilosEnEspera;
+            this.inactivas = inactivas;
+        }
+
+        /**
+         * Préstamos registrados desde la instantánea anterior
+         */
+        public long prestamosDesde(Instantanea anterior) {
+            return total(diferencia(espera, anterior.espera));
+        }
+
+        public long esperaP95MsDesde(Instantanea anterior) {
+            return percentil(LIMITES_ESPERA_US, diferencia(espera, anterior.espera), 0.95) / 1_000;
+        }
+
+        public long usoP50MsDesde(Instantanea anterior) {
+            return percentil(LIMITES_USO_MS, diferencia(uso, anterior.uso), 0.50);
+        }
+
+        public long timeoutsDesde(Instantanea anterior) {
+            return timeouts - anterior.timeouts;
+        }
+
+        public int getHilosEnEspera() {
+            return hilosEnEspera;
+        }
+
+        public int getInactivas() {
+            return inactivas;
+        }
+
+        private static long[] diferencia(long[] actual, long[] anterior) {
+            long[] diferencia = new long[actual.length];
+            for (int i = 0; i < actual.length; i++) {
+                diferencia[i] = actual[i] - anterior[i];
+            }
+            return diferencia;
+        }
+    }
+
+    /**
+     * Histograma de buckets fijos; el último bucket recibe lo que supera el último límite
+     */
+    private static class Histograma {
+
+        private final long[] limites;
+        private final LongAdder[] conteos;
+
+        Histograma(long[] limites) {
+            this.limites = limites;
+            this.conteos = new LongAdder[limites.length + 1];
+            for (int i = 0; i < conteos.length; i++) {
+                conteos[i] = new LongAdder();
+            }
+        }
+
+        void registrar(long valor) {
+            int i = 0;
+            while (i < limites.length && valor > limites[i]) {
+                i++;
+            }
+            conteos[i].increment();
+        }
+
+        long[] conteos() {
+            long[] valores = new long[conteos.length];
+            for (int i = 0; i < conteos.length; i++) {
+                valores[i] = conteos[i].sum();
+            }
+            return valores;
+        }
+    }
+}
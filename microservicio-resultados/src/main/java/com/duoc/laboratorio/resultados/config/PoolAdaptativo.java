@@ -0,0 +1,94 @@
+package com.duoc.laboratorio.resultados.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Ajuste del tamaño máximo del pool según lo observado en cada intervalo
+ *
+ * - Si el uso mediano de las conexiones supera pool.adaptativo.uso-maximo, la BD
+ *   está respondiendo lento y más conexiones solo agregan carga: se reduce.
+ * - Si hubo timeouts, hilos en espera o el p95 de espera supera
+ *   pool.adaptativo.espera-objetivo: se agrega una conexión.
+ * - Si sobran conexiones inactivas durante pool.adaptativo.ventanas-para-reducir
+ *   intervalos seguidos: se quita una.
+ * Siempre de a una conexión y dentro de [minimo, maximo]. Hikari cierra las
+ * conexiones sobrantes a medida que quedan inactivas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "pool.adaptativo.habilitado", havingValue = "true")
+public class PoolAdaptativo {
+
+    private final DataSource dataSource;
+    private final MetricasPoolConexiones metricas;
+
+    @Value("${pool.adaptativo.minimo:${spring.datasource.hikari.minimum-idle:2}}")
+    private int minimo;
+
+    @Value("${pool.adaptativo.maximo:20}")
+    private int maximo;
+
+    @Value("${pool.adaptativo.espera-objetivo:20ms}")
+    private Duration esperaObjetivo;
+
+    @Value("${pool.adaptativo.uso-maximo:200ms}")
+    private Duration usoMaximo;
+
+    @Value("${pool.adaptativo.ventanas-para-reducir:6}")
+    private int ventanasParaReducir;
+
+    private MetricasPoolConexiones.Instantanea anterior;
+    private int ventanasHolgadas;
+
+    @Scheduled(fixedDelayString = "${pool.adaptativo.intervalo-ms:10000}")
+    public synchronized void ajustar() {
+        MetricasPoolConexiones.Instantanea actual = metricas.instantanea();
+        if (anterior != null) {
+            HikariDataSource pool = PoolConexionesConfig.pool(dataSource);
+            int tamano = pool.getMaximumPoolSize();
+            int nuevo = siguienteTamano(tamano, actual, anterior);
+            if (nuevo != tamano) {
+                log.info("Pool {}: tamaño máximo {} -> {}", pool.getPoolName(), tamano, nuevo);
+                pool.setMaximumPoolSize(nuevo);
+            }
+        }
+        anterior = actual;
+    }
+
+    int siguienteTamano(int tamano, MetricasPoolConexiones.Instantanea actual,
+                        MetricasPoolConexiones.Instantanea anterior) {
+        boolean bdLenta = actual.prestamosDesde(anterior) > 0
+            && actual.usoP50MsDesde(anterior) > usoMaximo.toMillis();
+        boolean hayEspera = actual.timeoutsDesde(anterior) > 0
+            || actual.getHilosEnEspera() > 0
+            || actual.esperaP95MsDesde(anterior) > esperaObjetivo.toMillis();
+
+        if (bdLenta) {
+            ventanasHolgadas = 0;
+            return Math.max(minimo, tamano - 1);
+        }
+        if (hayEspera) {
+            ventanasHolgadas = 0;
+            return Math.min(maximo, tamano + 1);
+        }
+        if (actual.getInactivas() <= 1) {
+            ventanasHolgadas = 0;
+            return tamano;
+        }
+        if (++ventanasHolgadas < ventanasParaReducir) {
+            return tamano;
+        }
+        ventanasHolgadas = 0;
+        return Math.max(minimo, tamano - 1);
+    }
+}
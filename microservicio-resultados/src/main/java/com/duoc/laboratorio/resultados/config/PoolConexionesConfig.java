@@ -0,0 +1,55 @@
+package com.duoc.laboratorio.resultados.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Instrumentación del pool de conexiones
+ * Registra MetricasPoolConexiones en el HikariDataSource antes de que se abra
+ * la primera conexión (Hikari no permite cambiarlo con el pool iniciado).
+ * datasource-micrometer reemplaza después el bean DataSource por un proxy que
+ * traza cada sentencia JDBC, por eso el pool se obtiene con pool(DataSource).
+ */
+@Configuration
+public class PoolConexionesConfig {
+
+    @Bean
+    public static MetricasPoolConexiones metricasPoolConexiones(
+            @Value("${pool.uso-prolongado:500ms}") Duration usoProlongado,
+            ObjectProvider<MeterRegistry> registroMetricas) {
+        return new MetricasPoolConexiones(usoProlongado, registroMetricas);
+    }
+
+    @Bean
+    public static BeanPostProcessor instrumentarPoolConexiones(ObjectProvider<MetricasPoolConexiones> metricas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMetricsTrackerFactory(metricas.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * El HikariDataSource detrás del bean DataSource
+     */
+    public static HikariDataSource pool(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("El DataSource no es un pool de Hikari", e);
+        }
+    }
+}
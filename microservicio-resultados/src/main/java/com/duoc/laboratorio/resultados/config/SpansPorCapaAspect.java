@@ -0,0 +1,76 @@
+package com.duoc.laboratorio.resultados.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Un span por cada llamada a controladores, servicios y repositorios
+ *
+ * El span se llama Clase.metodo, lleva el atributo capa y es hijo del span en
+ * curso. Con el span HTTP del servidor y los de cada sentencia JDBC
+ * (datasource-micrometer) una traza muestra en qué capa se fue el tiempo de la
+ * solicitud. Va por fuera de @Transactional: el span del servicio incluye
+ * obtener la conexión y el commit.
+ * Solo genera spans; los tiempos por endpoint y por repositorio ya están en las
+ * métricas de Actuator.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SpansPorCapaAspect {
+
+    public static final String ATRIBUTO_CAPA = "capa";
+
+    private final Tracer tracer;
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object controlador(ProceedingJoinPoint llamada) throws Throwable {
+        return enSpan("controlador", llamada.getSignature().getDeclaringType(), llamada);
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object servicio(ProceedingJoinPoint llamada) throws Throwable {
+        return enSpan("servicio", llamada.getSignature().getDeclaringType(), llamada);
+    }
+
+    /**
+     * Los métodos heredados (findById, saveAll...) se declaran en CrudRepository;
+     * el span lleva el nombre de la interfaz del repositorio
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repositorio(ProceedingJoinPoint llamada) throws Throwable {
+        Class<?> tipo = llamada.getSignature().getDeclaringType();
+        for (Class<?> interfaz : AopProxyUtils.proxiedUserInterfaces(llamada.getThis())) {
+            if (Repository.class.isAssignableFrom(interfaz)) {
+                tipo = interfaz;
+                break;
+            }
+        }
+        return enSpan("repositorio", tipo, llamada);
+    }
+
+    private Object enSpan(String capa, Class<?> tipo, ProceedingJoinPoint llamada) throws Throwable {
+        Span span = tracer.nextSpan()
+            .name(tipo.getSimpleName() + "." + llamada.getSignature().getName())
+            .tag(ATRIBUTO_CAPA, capa)
+            .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return llamada.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
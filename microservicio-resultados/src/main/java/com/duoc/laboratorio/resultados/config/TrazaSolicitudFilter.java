@@ -0,0 +1,41 @@
+package com.duoc.laboratorio.resultados.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Establece el ID de traza de cada solicitud (ver ContextoTraza)
+ * Va justo después del filtro de observación HTTP de Spring (que abre el span
+ * del servidor) y antes que los demás, para que ya lo tengan en el MDC, y lo
+ * devuelve en la cabecera X-Trace-Id de la respuesta.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class TrazaSolicitudFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String traceId = ContextoTraza.deSpanActual();
+        if (traceId == null) {
+            String recibido = request.getHeader(ContextoTraza.CABECERA);
+            traceId = ContextoTraza.esValido(recibido) ? recibido : ContextoTraza.generar();
+        }
+        MDC.put(ContextoTraza.CLAVE_MDC, traceId);
+        response.setHeader(ContextoTraza.CABECERA, traceId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(ContextoTraza.CLAVE_MDC);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.duoc.laboratorio.resultados.controller;
+
+import com.duoc.laboratorio.resultados.service.DespachadorEventos;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador de suscripción a eventos de resultados (Server-Sent Events)
+ *
+ * Endpoints disponibles:
+ * - GET /api/resultados/eventos/paciente/{idPaciente} - Resultados de las citas del paciente
+ * - GET /api/resultados/eventos/laboratorista/{idLaboratorista} - Resultados a cargo del laboratorista
+ *
+ * Cada evento (event: resultado) trae el resultado creado o su nuevo estado.
+ * Al reconectarse, EventSource envía la cabecera Last-Event-ID y se reenvían
+ * los eventos posteriores que sigan en la bandeja de salida.
+ */
+@RestController
+@RequestMapping("/api/resultados/eventos")
+@RequiredArgsConstructor
+public class EventosResultadoController {
+
+    private final DespachadorEventos despachadorEventos;
+
+    /**
+     * GET /api/resultados/eventos/paciente/{idPaciente}
+     * Suscribirse a los resultados de un paciente
+     */
+    @GetMapping(value = "/paciente/{idPaciente}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirPaciente(
+            @PathVariable Long idPaciente,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento) {
+        return despachadorEventos.suscribirPaciente(idPaciente, ultimoEvento);
+    }
+
+    /**
+     * GET /api/resultados/eventos/laboratorista/{idLaboratorista}
+     * Suscribirse a los resultados de un laboratorista
+     */
+    @GetMapping(value = "/laboratorista/{idLaboratorista}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirLaboratorista(
+            @PathVariable Long idLaboratorista,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento) {
+        return despachadorEventos.suscribirLaboratorista(idLaboratorista, ultimoEvento);
+    }
+}
@@ -3,14 +3,35 @@ package com.duoc.laboratorio.resultados.controller;
 import com.duoc.laboratorio.resultados.dto.ActualizarResultadoRequest;
 import com.duoc.laboratorio.resultados.dto.ApiResponse;
 import com.duoc.laboratorio.resultados.dto.CrearResultadoRequest;
+import com.duoc.laboratorio.resultados.dto.PaginaDTO;
 import com.duoc.laboratorio.resultados.dto.ResultadoDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoValorDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadosPorCitasRequest;
+import com.duoc.laboratorio.resultados.dto.TransicionLoteDTO;
+import com.duoc.laboratorio.resultados.dto.TransicionLoteResultadosRequest;
+import com.duoc.laboratorio.resultados.exception.BadRequestException;
+import com.duoc.laboratorio.resultados.service.ArchivadorResultados;
+import com.duoc.laboratorio.resultados.service.BackfillValoresService;
 import com.duoc.laboratorio.resultados.service.ResultadoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +45,9 @@ import java.util.Map;
 public class ResultadoController {
 
     private final ResultadoService resultadoService;
+    private final BackfillValoresService backfillValoresService;
+    private final ArchivadorResultados archivadorResultados;
+    private final ObjectMapper objectMapper;
 
     /**
      * Crear un nuevo resultado
@@ -39,17 +63,114 @@ public class ResultadoController {
     }
 
     /**
-     * Obtener todos los resultados
-     * GET /api/resultados
+     * Obtener resultados paginados (más recientes primero)
+     * GET /api/resultados?size={size}&cursor={cursor}
+     * La respuesta incluye nextCursor cuando existe una página siguiente
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ResultadoDTO>>> listarResultados() {
-        List<ResultadoDTO> resultados = resultadoService.listarTodos();
+    public ResponseEntity<ApiResponse<List<ResultadoResumenDTO>>> listarResultados(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        PaginaDTO<ResultadoResumenDTO> pagina = resultadoService.listarPagina(cursor, size);
+        return ResponseEntity.ok(
+            ApiResponse.success("Resultados obtenidos exitosamente",
+                pagina.getContenido(), pagina.getSiguienteCursor())
+        );
+    }
+
+    /**
+     * Obtener los resultados de varias citas en una sola consulta
+     * GET /api/resultados?idsCita=1,2,3
+     * Las citas sin resultado no aparecen en la respuesta
+     */
+    @GetMapping(params = "idsCita")
+    public ResponseEntity<ApiResponse<List<ResultadoResumenDTO>>> obtenerPorIdsCita(
+            @RequestParam List<Long> idsCita) {
+        List<ResultadoResumenDTO> resultados = resultadoService.obtenerPorIdsCita(idsCita);
+        return ResponseEntity.ok(
+            ApiResponse.success("Resultados obtenidos exitosamente", resultados)
+        );
+    }
+
+    /**
+     * Obtener los resultados de hasta 10.000 citas, indexados por ID de cita
+     * POST /api/resultados/por-citas  {"idsCita": [1, 2, 3]}
+     * Las citas sin resultado no aparecen en el mapa
+     */
+    @PostMapping("/por-citas")
+    public ResponseEntity<ApiResponse<Map<Long, ResultadoResumenDTO>>> obtenerPorCitas(
+            @Valid @RequestBody ResultadosPorCitasRequest request) {
+        Map<Long, ResultadoResumenDTO> resultados = resultadoService.obtenerMapaPorIdsCita(request.getIdsCita());
         return ResponseEntity.ok(
             ApiResponse.success("Resultados obtenidos exitosamente", resultados)
         );
     }
 
+    /**
+     * Exportar todos los resultados como NDJSON (un objeto JSON por línea)
+     * GET /api/resultados/exportar
+     * Los resultados se escriben a medida que se leen, sin acumularlos en memoria
+     */
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarResultados() {
+        ObjectWriter writer = objectMapper.writerFor(ResultadoDTO.class);
+        StreamingResponseBody cuerpo = salida -> resultadoService.recorrerTodos(resultado -> {
+            try {
+                salida.write(writer.writeValueAsBytes(resultado));
+                salida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
+    }
+
+    /**
+     * Buscar valores medidos por analito, rango de valor y rango de fechas
+     * GET /api/resultados/valores?analito=glucosa&min=126&desde=2025-11-01T00:00:00
+     */
+    @GetMapping("/valores")
+    public ResponseEntity<ApiResponse<List<ResultadoValorDTO>>> buscarValores(
+            @RequestParam String analito,
+            @RequestParam(required = false) BigDecimal min,
+            @RequestParam(required = false) BigDecimal max,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "100") int limite) {
+        List<ResultadoValorDTO> valores = resultadoService.buscarValores(analito, min, max, desde, hasta, limite);
+        return ResponseEntity.ok(
+            ApiResponse.success("Valores medidos obtenidos exitosamente", valores)
+        );
+    }
+
+    /**
+     * Generar RESULTADO_VALOR para los resultados existentes a partir de sus CLOB
+     * POST /api/resultados/valores/backfill
+     * Responde 202 de inmediato; el backfill sigue en segundo plano
+     */
+    @PostMapping("/valores/backfill")
+    public ResponseEntity<ApiResponse<Void>> backfillValores() {
+        backfillValoresService.iniciar();
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Backfill de valores medidos iniciado", null));
+    }
+
+    /**
+     * Mover al archivo los resultados anteriores al horizonte configurado
+     * POST /api/resultados/archivo
+     * Normalmente lo ejecuta la tarea programada; este endpoint permite adelantarlo
+     */
+    @PostMapping("/archivo")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> archivarResultados() {
+        int archivados = archivadorResultados.archivar();
+        return ResponseEntity.ok(
+            ApiResponse.success("Archivo de resultados completado", Map.of("resultadosArchivados", archivados))
+        );
+    }
+
     /**
      * Obtener resultado por ID
      * GET /api/resultados/{id}
@@ -63,6 +184,25 @@ public class ResultadoController {
         );
     }
 
+    /**
+     * Obtener los valores medidos de un resultado
+     * GET /api/resultados/{id}/valores
+     * El CLOB se transmite directamente a la respuesta, sin pasar por ApiResponse.
+     * La búsqueda y la lectura ocurren en la misma transacción al escribir el cuerpo;
+     * si el resultado no existe se lanza antes de escribir y la respuesta es 404.
+     */
+    @GetMapping(value = "/{id}/valores", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> obtenerValoresMedidos(@PathVariable Long id) {
+        StreamingResponseBody cuerpo = salida -> {
+            Writer writer = new OutputStreamWriter(salida, StandardCharsets.UTF_8);
+            resultadoService.escribirValoresMedidos(id, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cuerpo);
+    }
+
     /**
      * Obtener resultado por ID de cita
      * GET /api/resultados/cita/{idCita}
@@ -81,9 +221,9 @@ public class ResultadoController {
      * GET /api/resultados/laboratorista/{idLaboratorista}
      */
     @GetMapping("/laboratorista/{idLaboratorista}")
-    public ResponseEntity<ApiResponse<List<ResultadoDTO>>> obtenerResultadosPorLaboratorista(
+    public ResponseEntity<ApiResponse<List<ResultadoResumenDTO>>> obtenerResultadosPorLaboratorista(
             @PathVariable Long idLaboratorista) {
-        List<ResultadoDTO> resultados = resultadoService.listarPorLaboratorista(idLaboratorista);
+        List<ResultadoResumenDTO> resultados = resultadoService.listarPorLaboratorista(idLaboratorista);
         return ResponseEntity.ok(
             ApiResponse.success("Resultados del laboratorista obtenidos", resultados)
         );
@@ -94,9 +234,9 @@ public class ResultadoController {
      * GET /api/resultados/estado/{estado}
      */
     @GetMapping("/estado/{estado}")
-    public ResponseEntity<ApiResponse<List<ResultadoDTO>>> obtenerResultadosPorEstado(
+    public ResponseEntity<ApiResponse<List<ResultadoResumenDTO>>> obtenerResultadosPorEstado(
             @PathVariable String estado) {
-        List<ResultadoDTO> resultados = resultadoService.listarPorEstado(estado);
+        List<ResultadoResumenDTO> resultados = resultadoService.listarPorEstado(estado);
         return ResponseEntity.ok(
             ApiResponse.success("Resultados con estado " + estado + " obtenidos", resultados)
         );
@@ -119,18 +259,35 @@ public class ResultadoController {
     /**
      * Cambiar estado de un resultado
      * PATCH /api/resultados/{id}/estado
+     * Cuerpo: estado y, opcionales, estadoEsperado (transición condicional) y version
      */
     @PatchMapping("/{id}/estado")
     public ResponseEntity<ApiResponse<ResultadoDTO>> cambiarEstado(
             @PathVariable Long id,
             @RequestBody Map<String, String> body) {
         String nuevoEstado = body.get("estado");
-        ResultadoDTO resultado = resultadoService.cambiarEstado(id, nuevoEstado);
+        ResultadoDTO resultado = resultadoService.cambiarEstado(
+            id, nuevoEstado, body.get("estadoEsperado"), leerVersion(body.get("version")));
         return ResponseEntity.ok(
             ApiResponse.success("Estado del resultado actualizado", resultado)
         );
     }
 
+    /**
+     * Cambiar el estado de los resultados de un rango de fechas (máximo 31 días)
+     * PATCH /api/resultados/estado/lote
+     * Los que no admiten la transición se informan como omitidos
+     */
+    @PatchMapping("/estado/lote")
+    public ResponseEntity<ApiResponse<TransicionLoteDTO>> cambiarEstadoLote(
+            @Valid @RequestBody TransicionLoteResultadosRequest request) {
+        TransicionLoteDTO transicion = resultadoService.cambiarEstadoLote(request);
+        return ResponseEntity.ok(
+            ApiResponse.success(transicion.getActualizados() + " resultados pasaron a " + transicion.getEstado()
+                + ", " + transicion.getOmitidos() + " omitidos", transicion)
+        );
+    }
+
     /**
      * Eliminar un resultado
      * DELETE /api/resultados/{id}
@@ -159,5 +316,18 @@ public class ResultadoController {
             ApiResponse.success("Microservicio operativo", health)
         );
     }
-}
 
+    /**
+     * La versión llega como texto en el cuerpo de PATCH /{id}/estado (número o cadena)
+     */
+    private static Long leerVersion(String version) {
+        if (version == null || version.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(version.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Versión no válida: " + version);
+        }
+    }
+}
@@ -19,5 +19,8 @@ public class ActualizarResultadoRequest {
     private LocalDateTime fechaResultado;
     private String estado;
     private String valoresMedidos;
+
+    /** Versión que leyó el cliente (opcional): si ya no es la actual, 409 */
+    private Long version;
 }
 
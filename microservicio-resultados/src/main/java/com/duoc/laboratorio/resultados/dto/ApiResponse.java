@@ -1,11 +1,11 @@
 package com.duoc.laboratorio.resultados.dto;
 
+import com.duoc.laboratorio.resultados.config.ContextoTraza;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.UUID;
-
 /**
  * Respuesta estándar para todas las APIs del sistema
  * Incluye traceId para trazabilidad, code, message y data
@@ -14,30 +14,53 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ApiResponse<T> {
-    
+
     private String traceId;
     private String code;
     private String message;
     private T data;
 
+    /**
+     * Token opaco para solicitar la página siguiente (solo en listados paginados)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public ApiResponse(String traceId, String code, String message, T data) {
+        this(traceId, code, message, data, null);
+    }
+
     /**
      * Constructor para respuestas exitosas
      */
     public static <T> ApiResponse<T> success(String message, T data) {
         return new ApiResponse<>(
-            UUID.randomUUID().toString(),
+            ContextoTraza.actual(),
             "SUCCESS",
             message,
             data
         );
     }
 
+    /**
+     * Constructor para respuestas exitosas paginadas
+     */
+    public static <T> ApiResponse<T> success(String message, T data, String nextCursor) {
+        return new ApiResponse<>(
+            ContextoTraza.actual(),
+            "SUCCESS",
+            message,
+            data,
+            nextCursor
+        );
+    }
+
     /**
      * Constructor para respuestas de error
      */
     public static <T> ApiResponse<T> error(String message) {
         return new ApiResponse<>(
-            UUID.randomUUID().toString(),
+            ContextoTraza.actual(),
             "ERROR",
             message,
             null
@@ -49,11 +72,10 @@ public class ApiResponse<T> {
      */
     public static <T> ApiResponse<T> custom(String code, String message, T data) {
         return new ApiResponse<>(
-            UUID.randomUUID().toString(),
+            ContextoTraza.actual(),
             code,
             message,
             data
         );
     }
 }
-
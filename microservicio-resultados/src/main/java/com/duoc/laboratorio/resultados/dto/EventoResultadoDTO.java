@@ -0,0 +1,26 @@
+package com.duoc.laboratorio.resultados.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de un evento de resultado enviado por Server-Sent Events
+ * estadoAnterior es null cuando el resultado se acaba de crear
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoResultadoDTO {
+
+    private Long idEvento;
+    private Long idResultado;
+    private Long idCita;
+    private Long idLaboratorista;
+    private Long idPaciente;
+    private String estado;
+    private String estadoAnterior;
+    private LocalDateTime fechaEvento;
+}
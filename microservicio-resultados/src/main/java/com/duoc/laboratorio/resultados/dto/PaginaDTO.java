@@ -0,0 +1,20 @@
+package com.duoc.laboratorio.resultados.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para una página de un listado paginado por cursor
+ * siguienteCursor es null cuando no quedan más elementos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    private List<T> contenido;
+    private String siguienteCursor;
+}
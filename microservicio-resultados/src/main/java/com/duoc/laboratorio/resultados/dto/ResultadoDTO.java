@@ -27,5 +27,6 @@ public class ResultadoDTO {
     private String estado;
     private String valoresMedidos;
     private LocalDateTime fechaCreacion;
+    private Long version;
 }
 
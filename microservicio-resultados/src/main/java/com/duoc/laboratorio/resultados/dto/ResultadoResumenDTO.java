@@ -0,0 +1,26 @@
+package com.duoc.laboratorio.resultados.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO resumido de Resultados para listados
+ * No incluye VALORES_MEDIDOS: se obtienen aparte en GET /api/resultados/{id}/valores
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoResumenDTO {
+
+    private Long idResultado;
+    private Long idCita;
+    private Long idLaboratorista;
+    private String archivoPdf;
+    private String observaciones;
+    private LocalDateTime fechaResultado;
+    private String estado;
+    private LocalDateTime fechaCreacion;
+}
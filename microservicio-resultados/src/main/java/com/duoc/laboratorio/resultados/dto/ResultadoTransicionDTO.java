@@ -0,0 +1,27 @@
+package com.duoc.laboratorio.resultados.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con lo necesario para evaluar la transición de estado de un resultado,
+ * sin leer el CLOB de valores medidos
+ * La consulta entrega si tiene valores medidos como 1/0: Oracle no tiene un tipo
+ * booleano en SQL, así que la conversión se hace aquí y no en el driver
+ */
+@Data
+@NoArgsConstructor
+public class ResultadoTransicionDTO {
+
+    private Long idResultado;
+
+    private String estado;
+
+    private boolean tieneValoresMedidos;
+
+    public ResultadoTransicionDTO(Long idResultado, String estado, Integer valoresMedidos) {
+        this.idResultado = idResultado;
+        this.estado = estado;
+        this.tieneValoresMedidos = valoresMedidos != null && valoresMedidos == 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.duoc.laboratorio.resultados.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO para transferencia de valores medidos normalizados
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoValorDTO {
+
+    private Long idResultado;
+    private String analito;
+    private BigDecimal valorNumerico;
+    private String unidad;
+    private BigDecimal referenciaMin;
+    private BigDecimal referenciaMax;
+    private LocalDateTime fechaResultado;
+    private Boolean fueraDeRango;
+}
@@ -0,0 +1,24 @@
+package com.duoc.laboratorio.resultados.dto;
+
+import com.duoc.laboratorio.resultados.service.ResultadoService;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para buscar los resultados de varias citas (POST /api/resultados/por-citas)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadosPorCitasRequest {
+
+    @NotNull(message = "La lista de IDs de cita es obligatoria")
+    @Size(max = ResultadoService.MAX_IDS_CITA_LOTE,
+          message = "Se permiten como máximo " + ResultadoService.MAX_IDS_CITA_LOTE + " citas por consulta")
+    private List<Long> idsCita;
+}
@@ -0,0 +1,43 @@
+package com.duoc.laboratorio.resultados.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una transición de estado por lote
+ * Los resultados que ya estaban en el estado pedido no se cuentan como omitidos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransicionLoteDTO {
+
+    private String estado;
+
+    private int actualizados;
+
+    /**
+     * Total de resultados del filtro que no pudieron pasar al estado pedido
+     */
+    private long omitidos;
+
+    /**
+     * Detalle de los omitidos (los primeros, por ID)
+     */
+    private List<Omitido> detalleOmitidos;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Omitido {
+
+        private Long idResultado;
+
+        private String estado;
+
+        private String motivo;
+    }
+}
@@ -0,0 +1,38 @@
+package com.duoc.laboratorio.resultados.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para aplicar una transición de estado a un conjunto de resultados
+ * (PATCH /api/resultados/estado/lote): los resultados del rango de fechas, y
+ * del laboratorista y el estado actual si se indican, pasan al estado pedido
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransicionLoteResultadosRequest {
+
+    @NotNull(message = "El estado es obligatorio")
+    @Pattern(regexp = "PENDIENTE|EN_PROCESO|COMPLETADO|REVISADO",
+             message = "El estado debe ser: PENDIENTE, EN_PROCESO, COMPLETADO o REVISADO")
+    private String estado;
+
+    @NotNull(message = "La fecha desde es obligatoria")
+    private LocalDateTime desde;
+
+    @NotNull(message = "La fecha hasta es obligatoria")
+    private LocalDateTime hasta;
+
+    private Long idLaboratorista;
+
+    /**
+     * Solo los resultados que están en este estado (opcional)
+     */
+    private String estadoActual;
+}
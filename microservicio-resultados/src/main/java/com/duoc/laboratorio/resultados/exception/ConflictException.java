@@ -0,0 +1,20 @@
+package com.duoc.laboratorio.resultados.exception;
+
+/**
+ * Excepción lanzada cuando la operación entra en conflicto con el estado
+ * actual del recurso (p. ej. una versión desactualizada)
+ */
+public class ConflictException extends RuntimeException {
+
+    /** Versión actual del recurso, si el conflicto es de concurrencia */
+    private final Long versionActual;
+
+    public ConflictException(String message, Long versionActual) {
+        super(message);
+        this.versionActual = versionActual;
+    }
+
+    public Long getVersionActual() {
+        return versionActual;
+    }
+}
@@ -1,6 +1,8 @@
 package com.duoc.laboratorio.resultados.exception;
 
+import com.duoc.laboratorio.resultados.config.ContextoTraza;
 import com.duoc.laboratorio.resultados.dto.ApiResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -38,6 +40,29 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    /**
+     * Maneja conflictos con el estado actual del resultado
+     * La respuesta incluye la versión actual para que el cliente reintente
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleConflict(ConflictException ex) {
+        Object data = ex.getVersionActual() != null ? Map.of("versionActual", ex.getVersionActual()) : null;
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.custom("ERROR", ex.getMessage(), data));
+    }
+
+    /**
+     * Maneja modificaciones concurrentes detectadas al escribir: la VERSION de la
+     * fila cambió después de leerla en la misma transacción
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("El resultado fue modificado por otra operación; vuelva a consultarlo"));
+    }
+
     /**
      * Maneja errores de validación de campos
      */
@@ -0,0 +1,98 @@
+package com.duoc.laboratorio.resultados.model;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ciclo de vida de un resultado: transiciones permitidas y sus guardas
+ *
+ * - PENDIENTE -> EN_PROCESO
+ * - EN_PROCESO -> PENDIENTE, COMPLETADO
+ * - COMPLETADO -> EN_PROCESO (corrección), REVISADO
+ * - REVISADO es final
+ *
+ * Guarda: un resultado solo se completa si tiene valores medidos.
+ * Los nombres coinciden con CHK_RESULTADO_ESTADO; la columna ESTADO sigue siendo texto.
+ */
+public enum EstadoResultado {
+
+    PENDIENTE,
+    EN_PROCESO,
+    COMPLETADO,
+    REVISADO;
+
+    /**
+     * Estado en el que nace un resultado: los demás solo se alcanzan por transiciones
+     */
+    public static final EstadoResultado INICIAL = PENDIENTE;
+
+    private static final Map<EstadoResultado, Set<EstadoResultado>> SIGUIENTES = new EnumMap<>(EstadoResultado.class);
+
+    static {
+        SIGUIENTES.put(PENDIENTE, EnumSet.of(EN_PROCESO));
+        SIGUIENTES.put(EN_PROCESO, EnumSet.of(PENDIENTE, COMPLETADO));
+        SIGUIENTES.put(COMPLETADO, EnumSet.of(EN_PROCESO, REVISADO));
+        SIGUIENTES.put(REVISADO, EnumSet.noneOf(EstadoResultado.class));
+    }
+
+    /**
+     * Estado con ese nombre, o vacío si no es un estado válido
+     */
+    public static Optional<EstadoResultado> de(String nombre) {
+        return Arrays.stream(values()).filter(estado -> estado.name().equals(nombre)).findFirst();
+    }
+
+    /**
+     * Motivo por el que un resultado no puede crearse en ese estado, o vacío si es el
+     * inicial o no se indica
+     */
+    public static Optional<String> motivoRechazoCreacion(String estado) {
+        if (estado == null || INICIAL.name().equals(estado)) {
+            return Optional.empty();
+        }
+        return Optional.of("Un resultado nuevo debe crearse en estado " + INICIAL.name() + ", no " + estado);
+    }
+
+    /**
+     * Indica si un resultado en el estado origen puede pasar a este estado
+     */
+    public boolean permiteDesde(String origen) {
+        return de(origen).map(estado -> SIGUIENTES.get(estado).contains(this)).orElse(false);
+    }
+
+    /**
+     * Nombres de los estados desde los que se puede llegar a este
+     */
+    public Set<String> origenes() {
+        return SIGUIENTES.entrySet().stream()
+            .filter(transicion -> transicion.getValue().contains(this))
+            .map(transicion -> transicion.getKey().name())
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Guarda: la transición exige que el resultado tenga valores medidos
+     */
+    public boolean exigeValoresMedidos() {
+        return this == COMPLETADO;
+    }
+
+    /**
+     * Motivo por el que un resultado en el estado origen no puede pasar a este
+     * estado, o vacío si la transición es válida
+     */
+    public Optional<String> motivoRechazo(String origen, boolean tieneValoresMedidos) {
+        if (!permiteDesde(origen)) {
+            return Optional.of("Transición no permitida: " + origen + " -> " + name());
+        }
+        if (exigeValoresMedidos() && !tieneValoresMedidos) {
+            return Optional.of("El resultado no tiene valores medidos");
+        }
+        return Optional.empty();
+    }
+}
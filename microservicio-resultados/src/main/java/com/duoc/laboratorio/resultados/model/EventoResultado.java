@@ -0,0 +1,62 @@
+package com.duoc.laboratorio.resultados.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un evento de la bandeja de salida (outbox)
+ * Tabla: RESULTADO_EVENTO
+ * Se inserta en la misma transacción que crea el resultado o cambia su estado.
+ * ID_PACIENTE lo completa en Oracle el trigger TRG_EVENTO_PACIENTE desde CITAS.
+ */
+@Entity
+@Table(name = "RESULTADO_EVENTO", indexes = {
+    @Index(name = "IDX_EVENTO_FECHA", columnList = "FECHA_EVENTO"),
+    @Index(name = "IDX_EVENTO_PACIENTE", columnList = "ID_PACIENTE, ID_EVENTO"),
+    @Index(name = "IDX_EVENTO_LABORATORISTA", columnList = "ID_LABORATORISTA, ID_EVENTO")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoResultado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_resultado_evento")
+    @SequenceGenerator(name = "seq_resultado_evento", sequenceName = "SEQ_RESULTADO_EVENTO", allocationSize = 1)
+    @Column(name = "ID_EVENTO")
+    private Long idEvento;
+
+    @Column(name = "ID_RESULTADO", nullable = false)
+    private Long idResultado;
+
+    @Column(name = "ID_CITA", nullable = false)
+    private Long idCita;
+
+    @Column(name = "ID_LABORATORISTA", nullable = false)
+    private Long idLaboratorista;
+
+    @Column(name = "ID_PACIENTE", insertable = false, updatable = false)
+    private Long idPaciente;
+
+    @Column(name = "ESTADO", length = 50, nullable = false)
+    private String estado;
+
+    @Column(name = "ESTADO_ANTERIOR", length = 50)
+    private String estadoAnterior;
+
+    @Column(name = "FECHA_EVENTO", nullable = false)
+    private LocalDateTime fechaEvento;
+
+    public EventoResultado(Resultado resultado, String estadoAnterior) {
+        this.idResultado = resultado.getIdResultado();
+        this.idCita = resultado.getIdCita();
+        this.idLaboratorista = resultado.getIdLaboratorista();
+        this.estado = resultado.getEstado();
+        this.estadoAnterior = estadoAnterior;
+        this.fechaEvento = LocalDateTime.now();
+    }
+}
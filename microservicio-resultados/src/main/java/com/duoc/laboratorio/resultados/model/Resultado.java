@@ -4,15 +4,23 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 /**
  * Entidad que representa un Resultado de Análisis Clínico
  * Tabla: RESULTADOS_ANALISIS
+ * Los UPDATE solo escriben las columnas modificadas (el CLOB de valores medidos
+ * solo si cambió) y verifican VERSION contra modificaciones concurrentes
  */
 @Entity
-@Table(name = "RESULTADOS_ANALISIS")
+@Table(name = "RESULTADOS_ANALISIS", indexes = {
+    @Index(name = "IDX_RESULTADO_LABORATORISTA", columnList = "ID_LABORATORISTA"),
+    @Index(name = "IDX_RESULTADO_ESTADO_LAB", columnList = "ESTADO, ID_LABORATORISTA"),
+    @Index(name = "IDX_RESULTADO_FECHA", columnList = "FECHA_RESULTADO, ID_RESULTADO")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +28,7 @@ public class Resultado {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_resultado")
-    @SequenceGenerator(name = "seq_resultado", sequenceName = "SEQ_RESULTADO", allocationSize = 1)
+    @SequenceGenerator(name = "seq_resultado", sequenceName = "SEQ_RESULTADO", allocationSize = 50)
     @Column(name = "ID_RESULTADO")
     private Long idResultado;
 
@@ -49,6 +57,10 @@ public class Resultado {
     @Column(name = "FECHA_CREACION", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         fechaCreacion = LocalDateTime.now();
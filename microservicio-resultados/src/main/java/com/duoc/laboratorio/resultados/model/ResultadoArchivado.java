@@ -0,0 +1,60 @@
+package com.duoc.laboratorio.resultados.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de análisis movido al archivo (solo lectura)
+ * Tabla: RESULTADOS_ANALISIS_ARCHIVO, comprimida en Oracle
+ *
+ * Contiene los resultados anteriores al horizonte de archivo (ver ArchivadorResultados).
+ * Sus valores normalizados no se archivan: se pueden regenerar desde VALORES_MEDIDOS.
+ */
+@Entity
+@Immutable
+@Table(name = "RESULTADOS_ANALISIS_ARCHIVO", indexes = {
+    @Index(name = "IDX_RESULTADO_ARCH_FECHA", columnList = "FECHA_RESULTADO, ID_RESULTADO"),
+    @Index(name = "IDX_RESULTADO_ARCH_CITA", columnList = "ID_CITA")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoArchivado {
+
+    @Id
+    @Column(name = "ID_RESULTADO")
+    private Long idResultado;
+
+    @Column(name = "ID_CITA", nullable = false)
+    private Long idCita;
+
+    @Column(name = "ID_LABORATORISTA", nullable = false)
+    private Long idLaboratorista;
+
+    @Column(name = "ARCHIVO_PDF", length = 500)
+    private String archivoPdf;
+
+    @Column(name = "OBSERVACIONES", length = 1000)
+    private String observaciones;
+
+    @Column(name = "FECHA_RESULTADO", nullable = false)
+    private LocalDateTime fechaResultado;
+
+    @Column(name = "ESTADO", length = 50, nullable = false)
+    private String estado;
+
+    @Lob
+    @Column(name = "VALORES_MEDIDOS")
+    private String valoresMedidos;
+
+    @Column(name = "FECHA_CREACION")
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "FECHA_ARCHIVO", nullable = false)
+    private LocalDateTime fechaArchivo;
+}
@@ -0,0 +1,52 @@
+package com.duoc.laboratorio.resultados.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un valor medido normalizado (un analito de un resultado)
+ * Tabla: RESULTADO_VALOR
+ * FECHA_RESULTADO se copia del resultado para filtrar por analito y fecha con un solo índice
+ */
+@Entity
+@Table(name = "RESULTADO_VALOR", indexes = {
+    @Index(name = "IDX_VALOR_ANALITO", columnList = "ANALITO, FECHA_RESULTADO, VALOR_NUMERICO"),
+    @Index(name = "IDX_VALOR_RESULTADO", columnList = "ID_RESULTADO")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoValor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_resultado_valor")
+    @SequenceGenerator(name = "seq_resultado_valor", sequenceName = "SEQ_RESULTADO_VALOR", allocationSize = 50)
+    @Column(name = "ID_VALOR")
+    private Long idValor;
+
+    @Column(name = "ID_RESULTADO", nullable = false)
+    private Long idResultado;
+
+    @Column(name = "ANALITO", length = 100, nullable = false)
+    private String analito;
+
+    @Column(name = "VALOR_NUMERICO", precision = 18, scale = 6, nullable = false)
+    private BigDecimal valorNumerico;
+
+    @Column(name = "UNIDAD", length = 50)
+    private String unidad;
+
+    @Column(name = "REFERENCIA_MIN", precision = 18, scale = 6)
+    private BigDecimal referenciaMin;
+
+    @Column(name = "REFERENCIA_MAX", precision = 18, scale = 6)
+    private BigDecimal referenciaMax;
+
+    @Column(name = "FECHA_RESULTADO", nullable = false)
+    private LocalDateTime fechaResultado;
+}
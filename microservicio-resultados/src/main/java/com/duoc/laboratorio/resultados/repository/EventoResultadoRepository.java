@@ -0,0 +1,71 @@
+package com.duoc.laboratorio.resultados.repository;
+
+import com.duoc.laboratorio.resultados.model.EventoResultado;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de la bandeja de salida de eventos (RESULTADO_EVENTO)
+ */
+@Repository
+public interface EventoResultadoRepository extends JpaRepository<EventoResultado, Long> {
+
+    /**
+     * Eventos posteriores a un ID, en orden de creación
+     */
+    List<EventoResultado> findByIdEventoGreaterThanOrderByIdEvento(Long idEvento, Pageable pageable);
+
+    /**
+     * Eventos con los IDs indicados (huecos del despacho), en orden de creación
+     */
+    List<EventoResultado> findByIdEventoInOrderByIdEvento(Collection<Long> idsEvento);
+
+    /**
+     * ID del último evento creado antes de una fecha, o null si no hay (IDX_EVENTO_FECHA)
+     */
+    @Query("SELECT MAX(e.idEvento) FROM EventoResultado e WHERE e.fechaEvento < :antes")
+    Long ultimoIdAnteriorA(@Param("antes") LocalDateTime antes);
+
+    /**
+     * Eventos de un paciente posteriores al último que recibió (reconexión)
+     */
+    List<EventoResultado> findByIdPacienteAndIdEventoGreaterThanOrderByIdEvento(Long idPaciente, Long idEvento,
+                                                                                 Pageable pageable);
+
+    /**
+     * Eventos de un laboratorista posteriores al último que recibió (reconexión)
+     */
+    List<EventoResultado> findByIdLaboratoristaAndIdEventoGreaterThanOrderByIdEvento(Long idLaboratorista,
+                                                                                     Long idEvento,
+                                                                                     Pageable pageable);
+
+    /**
+     * Registrar en una sola sentencia el evento de cada resultado de una
+     * transición por lote, con su estado anterior. Debe ejecutarse antes del
+     * UPDATE de los mismos resultados. ID_PACIENTE lo completa TRG_EVENTO_PACIENTE
+     */
+    @Modifying
+    @Query(value = "INSERT INTO RESULTADO_EVENTO " +
+                   "(ID_EVENTO, ID_RESULTADO, ID_CITA, ID_LABORATORISTA, ESTADO, ESTADO_ANTERIOR, FECHA_EVENTO) " +
+                   "SELECT SEQ_RESULTADO_EVENTO.NEXTVAL, ID_RESULTADO, ID_CITA, ID_LABORATORISTA, " +
+                   ":estado, ESTADO, :fecha FROM RESULTADOS_ANALISIS WHERE ID_RESULTADO IN (:ids)",
+           nativeQuery = true)
+    int registrarTransicion(@Param("ids") Collection<Long> ids,
+                            @Param("estado") String estado,
+                            @Param("fecha") LocalDateTime fecha);
+
+    /**
+     * Eliminar los eventos anteriores a la retención
+     */
+    @Modifying
+    @Query("DELETE FROM EventoResultado e WHERE e.fechaEvento < :limite")
+    int deleteAnterioresA(@Param("limite") LocalDateTime limite);
+}
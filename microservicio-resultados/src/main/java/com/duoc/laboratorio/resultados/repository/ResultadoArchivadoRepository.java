@@ -0,0 +1,78 @@
+package com.duoc.laboratorio.resultados.repository;
+
+import com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO;
+import com.duoc.laboratorio.resultados.model.ResultadoArchivado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio del archivo de resultados (RESULTADOS_ANALISIS_ARCHIVO)
+ * Las consultas repiten las de ResultadoRepository que pueden necesitar el archivo
+ */
+@Repository
+public interface ResultadoArchivadoRepository extends JpaRepository<ResultadoArchivado, Long> {
+
+    String SELECT_RESUMEN = "SELECT new com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO(" +
+        "r.idResultado, r.idCita, r.idLaboratorista, r.archivoPdf, r.observaciones, " +
+        "r.fechaResultado, r.estado, r.fechaCreacion) FROM ResultadoArchivado r ";
+
+    /**
+     * Buscar resultado archivado por ID de cita
+     */
+    Optional<ResultadoArchivado> findByIdCita(Long idCita);
+
+    @Query(SELECT_RESUMEN + "WHERE r.idCita IN :idsCita")
+    List<ResultadoResumenDTO> findResumenByIdCitaIn(@Param("idsCita") Collection<Long> idsCita);
+
+    /**
+     * Primera página del archivo ordenada por fecha descendente
+     */
+    @Query(SELECT_RESUMEN + "ORDER BY r.fechaResultado DESC, r.idResultado DESC")
+    List<ResultadoResumenDTO> findPrimeraPagina(Pageable pageable);
+
+    /**
+     * Página siguiente del archivo a partir de un cursor (paginación keyset)
+     */
+    @Query(SELECT_RESUMEN +
+           "WHERE r.fechaResultado <= :fecha " +
+           "AND (r.fechaResultado < :fecha OR r.idResultado < :id) " +
+           "ORDER BY r.fechaResultado DESC, r.idResultado DESC")
+    List<ResultadoResumenDTO> findPaginaSiguiente(@Param("fecha") LocalDateTime fecha,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    /**
+     * Recorrer el archivo completo sin cargarlo en memoria
+     * Debe consumirse dentro de una transacción
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM ResultadoArchivado r ORDER BY r.fechaResultado DESC, r.idResultado DESC")
+    Stream<ResultadoArchivado> streamAllOrderByFechaDesc();
+
+    /**
+     * Copiar resultados de RESULTADOS_ANALISIS al archivo
+     * Se ejecuta en la misma transacción que los elimina de la tabla viva
+     */
+    @Modifying
+    @Query(value = "INSERT INTO RESULTADOS_ANALISIS_ARCHIVO (ID_RESULTADO, ID_CITA, ID_LABORATORISTA, " +
+                   "ARCHIVO_PDF, OBSERVACIONES, FECHA_RESULTADO, ESTADO, VALORES_MEDIDOS, FECHA_CREACION, " +
+                   "FECHA_ARCHIVO) " +
+                   "SELECT ID_RESULTADO, ID_CITA, ID_LABORATORISTA, ARCHIVO_PDF, OBSERVACIONES, " +
+                   "FECHA_RESULTADO, ESTADO, VALORES_MEDIDOS, FECHA_CREACION, CURRENT_TIMESTAMP " +
+                   "FROM RESULTADOS_ANALISIS WHERE ID_RESULTADO IN (:ids)",
+           nativeQuery = true)
+    int copiarDesdeResultados(@Param("ids") Collection<Long> ids);
+}
@@ -1,19 +1,40 @@
 package com.duoc.laboratorio.resultados.repository;
 
+import com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoTransicionDTO;
 import com.duoc.laboratorio.resultados.model.Resultado;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para gestión de Resultados de Análisis
  */
 @Repository
-public interface ResultadoRepository extends JpaRepository<Resultado, Long> {
+public interface ResultadoRepository extends JpaRepository<Resultado, Long>, ValoresMedidosRepository {
+
+    /**
+     * Proyección de listados: todas las columnas excepto el CLOB VALORES_MEDIDOS
+     */
+    String SELECT_RESUMEN = "SELECT new com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO(" +
+        "r.idResultado, r.idCita, r.idLaboratorista, r.archivoPdf, r.observaciones, " +
+        "r.fechaResultado, r.estado, r.fechaCreacion) FROM Resultado r ";
     
     /**
      * Buscar resultado por ID de cita
@@ -24,16 +45,24 @@ public interface ResultadoRepository extends JpaRepository<Resultado, Long> {
      * Verificar si existe un resultado para una cita
      */
     boolean existsByIdCita(Long idCita);
-    
+
     /**
-     * Buscar todos los resultados de un laboratorista
+     * Buscar todos los resultados de un laboratorista (sin valores medidos)
      */
-    List<Resultado> findByIdLaboratorista(Long idLaboratorista);
+    @Query(SELECT_RESUMEN + "WHERE r.idLaboratorista = :idLaboratorista")
+    List<ResultadoResumenDTO> findResumenByIdLaboratorista(@Param("idLaboratorista") Long idLaboratorista);
     
     /**
-     * Buscar resultados por estado
+     * Buscar resultados por estado (sin valores medidos)
      */
-    List<Resultado> findByEstado(String estado);
+    @Query(SELECT_RESUMEN + "WHERE r.estado = :estado")
+    List<ResultadoResumenDTO> findResumenByEstado(@Param("estado") String estado);
+
+    /**
+     * Buscar los resultados de varias citas en una consulta (sin valores medidos)
+     */
+    @Query(SELECT_RESUMEN + "WHERE r.idCita IN :idsCita")
+    List<ResultadoResumenDTO> findResumenByIdCitaIn(@Param("idsCita") Collection<Long> idsCita);
     
     /**
      * Buscar resultados por estado y laboratorista
@@ -41,9 +70,125 @@ public interface ResultadoRepository extends JpaRepository<Resultado, Long> {
     List<Resultado> findByEstadoAndIdLaboratorista(String estado, Long idLaboratorista);
     
     /**
-     * Obtener resultados ordenados por fecha descendente
+     * Primera página de resultados ordenados por fecha descendente
+     * El orden (FECHA_RESULTADO, ID_RESULTADO) coincide con IDX_RESULTADO_FECHA
      */
-    @Query("SELECT r FROM Resultado r ORDER BY r.fechaResultado DESC")
-    List<Resultado> findAllOrderByFechaDesc();
-}
+    @Query(SELECT_RESUMEN + "ORDER BY r.fechaResultado DESC, r.idResultado DESC")
+    List<ResultadoResumenDTO> findPrimeraPagina(Pageable pageable);
+
+    /**
+     * Página siguiente a partir de un cursor (paginación keyset)
+     * El predicado fecha <= :fecha permite un range scan sobre el índice
+     */
+    @Query(SELECT_RESUMEN +
+           "WHERE r.fechaResultado <= :fecha " +
+           "AND (r.fechaResultado < :fecha OR r.idResultado < :id) " +
+           "ORDER BY r.fechaResultado DESC, r.idResultado DESC")
+    List<ResultadoResumenDTO> findPaginaSiguiente(@Param("fecha") LocalDateTime fecha,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    /**
+     * Recorrer todos los resultados en el mismo orden sin cargarlos en memoria
+     * Debe consumirse dentro de una transacción
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM Resultado r ORDER BY r.fechaResultado DESC, r.idResultado DESC")
+    Stream<Resultado> streamAllOrderByFechaDesc();
+
+    /**
+     * IDs de resultados con valores medidos que aún no tienen filas en RESULTADO_VALOR
+     * Se recorren por ID ascendente para que el backfill avance aunque un CLOB no genere valores
+     */
+    @Query("SELECT r.idResultado FROM Resultado r " +
+           "WHERE r.idResultado > :desde AND r.valoresMedidos IS NOT NULL " +
+           "AND NOT EXISTS (SELECT 1 FROM ResultadoValor v WHERE v.idResultado = r.idResultado) " +
+           "ORDER BY r.idResultado")
+    List<Long> findIdsSinValores(@Param("desde") Long desde, Pageable pageable);
+
+    /**
+     * Resultados del lote que siguen sin filas en RESULTADO_VALOR, bloqueados hasta el
+     * fin de la transacción (SELECT ... FOR UPDATE SKIP LOCKED). Las filas que otra
+     * instancia está procesando se saltan y, cuando confirma, dejan de cumplir el filtro
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("SELECT r FROM Resultado r WHERE r.idResultado IN :ids " +
+           "AND NOT EXISTS (SELECT 1 FROM ResultadoValor v WHERE v.idResultado = r.idResultado)")
+    List<Resultado> findSinValoresParaBackfill(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs de resultados anteriores al límite de archivo, por lotes
+     * Usa IDX_RESULTADO_FECHA (local a cada partición mensual)
+     */
+    @Query("SELECT r.idResultado FROM Resultado r WHERE r.fechaResultado < :limite ORDER BY r.fechaResultado")
+    List<Long> findIdsAnterioresA(@Param("limite") LocalDateTime limite, Pageable pageable);
+
+    // ========== Transiciones de estado ==========
+
+    String GUARDA_VALORES_MEDIDOS = "AND (:exigeValores = false OR r.valoresMedidos IS NOT NULL) ";
+
+    String FILTRO_LOTE = "r.fechaResultado >= :desde AND r.fechaResultado <= :hasta " +
+                         "AND (:idLaboratorista IS NULL OR r.idLaboratorista = :idLaboratorista) ";
+
+    /**
+     * Cambiar el estado de un resultado en una sola sentencia, sin leerlo antes
+     * (ni su CLOB), solo si sigue en el estado esperado y en la versión indicada
+     * (si no es null) y cumple la guarda de EstadoResultado
+     * Devuelve 0 si el resultado no existe, ya cambió o no cumple la guarda
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Resultado r SET r.estado = :nuevoEstado, r.version = r.version + 1 " +
+           "WHERE r.idResultado = :id AND r.estado = :estadoEsperado " +
+           "AND (:version IS NULL OR r.version = :version) " + GUARDA_VALORES_MEDIDOS)
+    int actualizarEstado(@Param("id") Long id,
+                         @Param("estadoEsperado") String estadoEsperado,
+                         @Param("nuevoEstado") String nuevoEstado,
+                         @Param("version") Long version,
+                         @Param("exigeValores") boolean exigeValores);
 
+    /**
+     * IDs de los resultados del filtro que pueden pasar al nuevo estado (están en
+     * uno de los estados de origen y cumplen la guarda), bloqueados hasta el fin
+     * de la transacción (SELECT ... FOR UPDATE). Solo IDs: no se lee el CLOB
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.idResultado FROM Resultado r WHERE " + FILTRO_LOTE +
+           "AND r.estado IN :origenes " + GUARDA_VALORES_MEDIDOS)
+    List<Long> findIdsParaTransicion(@Param("desde") LocalDateTime desde,
+                                     @Param("hasta") LocalDateTime hasta,
+                                     @Param("idLaboratorista") Long idLaboratorista,
+                                     @Param("origenes") Collection<String> origenes,
+                                     @Param("exigeValores") boolean exigeValores);
+
+    /**
+     * Cambiar el estado de un bloque de resultados (ya bloqueados) en una sola sentencia
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Resultado r SET r.estado = :nuevoEstado, r.version = r.version + 1 " +
+           "WHERE r.idResultado IN :ids")
+    int actualizarEstadoLote(@Param("ids") Collection<Long> ids, @Param("nuevoEstado") String nuevoEstado);
+
+    /**
+     * Resultados del filtro que quedaron fuera de una transición por lote, sin leer el CLOB
+     */
+    @Query("SELECT new com.duoc.laboratorio.resultados.dto.ResultadoTransicionDTO(r.idResultado, r.estado, " +
+           "CASE WHEN r.valoresMedidos IS NULL THEN 0 ELSE 1 END) " +
+           "FROM Resultado r WHERE " + FILTRO_LOTE +
+           "AND (:estadoActual IS NULL OR r.estado = :estadoActual) AND r.estado <> :nuevoEstado " +
+           "ORDER BY r.idResultado")
+    List<ResultadoTransicionDTO> findOmitidosTransicion(@Param("desde") LocalDateTime desde,
+                                                        @Param("hasta") LocalDateTime hasta,
+                                                        @Param("idLaboratorista") Long idLaboratorista,
+                                                        @Param("estadoActual") String estadoActual,
+                                                        @Param("nuevoEstado") String nuevoEstado,
+                                                        Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM Resultado r WHERE " + FILTRO_LOTE +
+           "AND (:estadoActual IS NULL OR r.estado = :estadoActual) AND r.estado <> :nuevoEstado")
+    long countOmitidosTransicion(@Param("desde") LocalDateTime desde,
+                                 @Param("hasta") LocalDateTime hasta,
+                                 @Param("idLaboratorista") Long idLaboratorista,
+                                 @Param("estadoActual") String estadoActual,
+                                 @Param("nuevoEstado") String nuevoEstado);
+}
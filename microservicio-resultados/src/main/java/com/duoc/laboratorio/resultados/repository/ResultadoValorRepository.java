@@ -0,0 +1,56 @@
+package com.duoc.laboratorio.resultados.repository;
+
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para valores medidos normalizados
+ * Las búsquedas por rango se arman con Specification para enviar a la base de datos
+ * solo los predicados informados y aprovechar IDX_VALOR_ANALITO (ANALITO, FECHA_RESULTADO, VALOR_NUMERICO)
+ */
+@Repository
+public interface ResultadoValorRepository extends JpaRepository<ResultadoValor, Long>,
+        JpaSpecificationExecutor<ResultadoValor> {
+
+    /**
+     * Buscar los valores de un resultado
+     */
+    List<ResultadoValor> findByIdResultado(Long idResultado);
+
+    /**
+     * Eliminar los valores de un resultado (antes de volver a generarlos)
+     */
+    @Modifying
+    @Query("DELETE FROM ResultadoValor v WHERE v.idResultado = :idResultado")
+    void deleteByIdResultado(@Param("idResultado") Long idResultado);
+
+    static Specification<ResultadoValor> analito(String analito) {
+        return (root, query, cb) -> cb.equal(root.get("analito"), analito);
+    }
+
+    static Specification<ResultadoValor> valorMayorOIgual(BigDecimal min) {
+        return (root, query, cb) -> min == null ? null : cb.greaterThanOrEqualTo(root.get("valorNumerico"), min);
+    }
+
+    static Specification<ResultadoValor> valorMenorOIgual(BigDecimal max) {
+        return (root, query, cb) -> max == null ? null : cb.lessThanOrEqualTo(root.get("valorNumerico"), max);
+    }
+
+    static Specification<ResultadoValor> fechaDesde(LocalDateTime desde) {
+        return (root, query, cb) -> desde == null ? null : cb.greaterThanOrEqualTo(root.get("fechaResultado"), desde);
+    }
+
+    static Specification<ResultadoValor> fechaHasta(LocalDateTime hasta) {
+        return (root, query, cb) -> hasta == null ? null : cb.lessThan(root.get("fechaResultado"), hasta);
+    }
+}
@@ -0,0 +1,18 @@
+package com.duoc.laboratorio.resultados.repository;
+
+import java.io.Writer;
+
+/**
+ * Acceso directo a la columna CLOB VALORES_MEDIDOS
+ * Fragmento de {@link ResultadoRepository}
+ */
+public interface ValoresMedidosRepository {
+
+    /**
+     * Copiar los valores medidos de un resultado al destino leyendo el CLOB por partes
+     * Si la columna es NULL se escribe el literal JSON null
+     *
+     * @return false si el resultado no existe
+     */
+    boolean copiarValoresMedidos(Long idResultado, Writer destino);
+}
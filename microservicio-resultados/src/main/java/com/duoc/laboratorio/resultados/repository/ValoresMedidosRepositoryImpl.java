@@ -0,0 +1,66 @@
+package com.duoc.laboratorio.resultados.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Implementación JDBC de {@link ValoresMedidosRepository}
+ * Usa la conexión de la transacción actual y Clob.getCharacterStream para no materializar el CLOB.
+ * Si el resultado no está en la tabla viva se busca en el archivo.
+ */
+public class ValoresMedidosRepositoryImpl implements ValoresMedidosRepository {
+
+    private static final String SQL_VALORES =
+        "SELECT VALORES_MEDIDOS FROM RESULTADOS_ANALISIS WHERE ID_RESULTADO = ?";
+
+    private static final String SQL_VALORES_ARCHIVO =
+        "SELECT VALORES_MEDIDOS FROM RESULTADOS_ANALISIS_ARCHIVO WHERE ID_RESULTADO = ?";
+
+    /** Cuerpo para un resultado sin valores medidos (columna NULL) */
+    private static final String JSON_NULL = "null";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean copiarValoresMedidos(Long idResultado, Writer destino) {
+        return copiar(SQL_VALORES, idResultado, destino) || copiar(SQL_VALORES_ARCHIVO, idResultado, destino);
+    }
+
+    private boolean copiar(String sql, Long idResultado, Writer destino) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, idResultado);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    Clob clob = rs.getClob(1);
+                    try {
+                        if (clob == null) {
+                            destino.write(JSON_NULL);
+                            return true;
+                        }
+                        try (Reader reader = clob.getCharacterStream()) {
+                            reader.transferTo(destino);
+                        } finally {
+                            clob.free();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return true;
+                }
+            }
+        });
+    }
+}
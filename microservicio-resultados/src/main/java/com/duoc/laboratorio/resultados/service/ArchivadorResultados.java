@@ -0,0 +1,94 @@
+package com.duoc.laboratorio.resultados.service;
+
+import com.duoc.laboratorio.resultados.exception.BadRequestException;
+import com.duoc.laboratorio.resultados.repository.ResultadoArchivadoRepository;
+import com.duoc.laboratorio.resultados.repository.ResultadoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Archivo de resultados antiguos
+ * Mueve a RESULTADOS_ANALISIS_ARCHIVO los resultados anteriores al horizonte, por
+ * lotes y cada lote en su propia transacción (copiar y eliminar juntos). El límite
+ * es siempre el inicio de un mes, así las particiones mensuales antiguas de
+ * RESULTADOS_ANALISIS quedan vacías. Sus RESULTADO_VALOR se eliminan por la FK en cascada.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArchivadorResultados {
+
+    private final ResultadoRepository resultadoRepository;
+    private final ResultadoArchivadoRepository resultadoArchivadoRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean enEjecucion = new AtomicBoolean(false);
+
+    @Value("${resultados.archivo.horizonte-meses:24}")
+    private int horizonteMeses;
+
+    @Value("${resultados.archivo.tamano-lote:500}")
+    private int tamanoLote;
+
+    /**
+     * Fecha desde la que los resultados permanecen en la tabla viva
+     * Todo lo archivado es anterior a este límite
+     */
+    public LocalDateTime limite() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(horizonteMeses).atStartOfDay();
+    }
+
+    /**
+     * Ejecución programada (resultados.archivo.cron, "-" la desactiva)
+     */
+    @Scheduled(cron = "${resultados.archivo.cron:0 30 2 * * *}")
+    public void archivarProgramado() {
+        if (!enEjecucion.get()) {
+            archivar();
+        }
+    }
+
+    /**
+     * Archivar todos los resultados anteriores al límite
+     *
+     * @return cantidad de resultados archivados
+     */
+    public int archivar() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            throw new BadRequestException("El archivo de resultados ya está en ejecución");
+        }
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            LocalDateTime limite = limite();
+            int archivados = 0;
+            while (true) {
+                Integer lote = transaccion.execute(estado -> archivarLote(limite));
+                if (lote == null || lote == 0) {
+                    return archivados;
+                }
+                archivados += lote;
+            }
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+
+    private int archivarLote(LocalDateTime limite) {
+        List<Long> ids = resultadoRepository.findIdsAnterioresA(limite, PageRequest.of(0, tamanoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        resultadoArchivadoRepository.copiarDesdeResultados(ids);
+        resultadoRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,135 @@
+package com.duoc.laboratorio.resultados.service;
+
+import com.duoc.laboratorio.resultados.exception.BadRequestException;
+import com.duoc.laboratorio.resultados.model.Resultado;
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import com.duoc.laboratorio.resultados.repository.ResultadoRepository;
+import com.duoc.laboratorio.resultados.repository.ResultadoValorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Backfill de RESULTADO_VALOR a partir de los CLOB existentes
+ * Corre en segundo plano: lee los IDs pendientes por lotes y procesa cada ronda
+ * de lotes en paralelo, cada lote en su propia transacción. Cada lote bloquea sus
+ * resultados y vuelve a verificar que sigan sin valores, así una ejecución
+ * simultánea en otra instancia no duplica filas
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackfillValoresService {
+
+    private final ResultadoRepository resultadoRepository;
+    private final ResultadoValorRepository resultadoValorRepository;
+    private final ValoresMedidosParser valoresMedidosParser;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean enEjecucion = new AtomicBoolean(false);
+
+    private Executor lanzador = Executors.newSingleThreadExecutor(hiloDeBackfill());
+
+    @Value("${resultados.backfill-valores.hilos:4}")
+    private int hilos;
+
+    @Value("${resultados.backfill-valores.tamano-lote:200}")
+    private int tamanoLote;
+
+    /**
+     * Iniciar el backfill completo en segundo plano
+     * El resultado (o el error) queda en el log
+     */
+    public void iniciar() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            throw new BadRequestException("El backfill de valores medidos ya está en ejecución");
+        }
+        try {
+            lanzador.execute(() -> {
+                try {
+                    log.info("Backfill de valores medidos completado: {} resultados procesados", ejecutar());
+                } catch (RuntimeException e) {
+                    log.error("Backfill de valores medidos interrumpido", e);
+                } finally {
+                    enEjecucion.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            enEjecucion.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Ejecutar el backfill completo en el hilo actual
+     *
+     * @return cantidad de resultados procesados
+     */
+    int ejecutar() {
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            int procesados = 0;
+            Long desde = 0L;
+            while (true) {
+                List<List<Long>> ronda = new ArrayList<>();
+                while (ronda.size() < hilos) {
+                    List<Long> ids = resultadoRepository.findIdsSinValores(desde, PageRequest.of(0, tamanoLote));
+                    if (ids.isEmpty()) {
+                        break;
+                    }
+                    ronda.add(ids);
+                    desde = ids.get(ids.size() - 1);
+                }
+                if (ronda.isEmpty()) {
+                    return procesados;
+                }
+
+                List<CompletableFuture<Integer>> lotes = ronda.stream()
+                    .map(ids -> CompletableFuture.supplyAsync(
+                        () -> transaccion.execute(estado -> procesarLote(ids)), executor))
+                    .collect(Collectors.toList());
+                for (CompletableFuture<Integer> lote : lotes) {
+                    procesados += lote.join();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Parsear y guardar los valores de un lote de resultados
+     * Solo los que siguen pendientes y no tiene bloqueados otra transacción
+     */
+    int procesarLote(List<Long> ids) {
+        List<Resultado> pendientes = resultadoRepository.findSinValoresParaBackfill(ids);
+        List<ResultadoValor> valores = new ArrayList<>();
+        for (Resultado resultado : pendientes) {
+            valores.addAll(valoresMedidosParser.parsear(resultado));
+        }
+        resultadoValorRepository.saveAll(valores);
+        return pendientes.size();
+    }
+
+    private static CustomizableThreadFactory hiloDeBackfill() {
+        CustomizableThreadFactory fabrica = new CustomizableThreadFactory("backfill-valores-");
+        fabrica.setDaemon(true);
+        return fabrica;
+    }
+}
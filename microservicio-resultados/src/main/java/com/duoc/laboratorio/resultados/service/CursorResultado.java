@@ -0,0 +1,48 @@
+package com.duoc.laboratorio.resultados.service;
+
+import com.duoc.laboratorio.resultados.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor para paginación keyset sobre (FECHA_RESULTADO, ID_RESULTADO)
+ * Se expone al cliente como un token opaco en Base64 URL-safe
+ */
+@Getter
+@AllArgsConstructor
+public class CursorResultado {
+
+    private static final String SEPARADOR = "|";
+
+    private final LocalDateTime fechaResultado;
+    private final Long idResultado;
+
+    /**
+     * Codificar el cursor como token opaco
+     */
+    public String codificar() {
+        String valor = fechaResultado + SEPARADOR + idResultado;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodificar un token recibido del cliente
+     */
+    public static CursorResultado decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new CursorResultado(
+                LocalDateTime.parse(valor.substring(0, separador)),
+                Long.valueOf(valor.substring(separador + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.duoc.laboratorio.resultados.service;
+
+import com.duoc.laboratorio.resultados.dto.EventoResultadoDTO;
+import com.duoc.laboratorio.resultados.model.EventoResultado;
+import com.duoc.laboratorio.resultados.repository.EventoResultadoRepository;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Despacho de los eventos de la bandeja de salida (RESULTADO_EVENTO) a los
+ * clientes suscritos por Server-Sent Events
+ *
+ * Cada instancia guarda sus conexiones abiertas por canal (paciente o
+ * laboratorista) y, solo mientras tenga alguna, lee cada
+ * resultados.eventos.intervalo-ms los eventos de todas las instancias con ID
+ * mayor al último enviado: una consulta por instancia en lugar de una por cliente.
+ * Los IDs se asignan al insertar y no al confirmar, así que un ID menor puede
+ * aparecer después que uno mayor. La marca solo avanza sobre IDs consecutivos
+ * ya enviados; los IDs que faltan por debajo del último enviado se buscan por ID
+ * en cada despacho, hasta que aparecen o hasta que el evento siguiente lleva
+ * resultados.eventos.ventana leído (rollback o salto del caché de la secuencia).
+ * Los enviados por sobre la marca se recuerdan para no repetirlos.
+ *
+ * Cada conexión tiene su propia cola y un hilo de envío a la vez: un cliente
+ * lento no detiene a los demás. Si acumula más de resultados.eventos.max-pendientes
+ * envíos se cierra su conexión y el cliente se reconecta con Last-Event-ID.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DespachadorEventos {
+
+    static final String NOMBRE_EVENTO = "resultado";
+    static final String CANAL_PACIENTE = "paciente:";
+    static final String CANAL_LABORATORISTA = "laboratorista:";
+
+    /** Conexiones SSE abiertas en la instancia */
+    static final String METRICA_SUSCRIPCIONES = "resultados.eventos.suscripciones";
+
+    /** Máximo de eventos reenviados al reconectar con Last-Event-ID */
+    static final int MAX_EVENTOS_RECONEXION = 500;
+
+    /** Tamaño de página de la lectura de eventos nuevos */
+    static final int MAX_EVENTOS_DESPACHO = 1000;
+
+    /** Máximo de IDs faltantes buscados en cada despacho (límite de Oracle para una lista IN) */
+    static final int MAX_HUECOS_DESPACHO = 1000;
+
+    private final EventoResultadoRepository eventoResultadoRepository;
+
+    private final Map<String, Set<Suscripcion>> suscripciones = new ConcurrentHashMap<>();
+    private final AtomicInteger totalSuscripciones = Metrics.gauge(METRICA_SUSCRIPCIONES, new AtomicInteger());
+
+    /** Estado del despacho, solo se usa dentro de despachar(): ID enviado por sobre la marca y cuándo se leyó */
+    private final NavigableMap<Long, Instant> enviados = new TreeMap<>();
+    private Long marca;
+
+    private Executor ejecutor = Executors.newCachedThreadPool(hilosDeEnvio());
+
+    @Value("${resultados.eventos.ventana:10s}")
+    private Duration ventana;
+
+    @Value("${resultados.eventos.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${resultados.eventos.retencion:24h}")
+    private Duration retencion;
+
+    @Value("${resultados.eventos.max-pendientes:1000}")
+    private int maxPendientes;
+
+    /**
+     * Suscribirse a los eventos de los resultados de un paciente
+     *
+     * @param ultimoEvento ID del último evento recibido (cabecera Last-Event-ID), o null
+     */
+    public SseEmitter suscribirPaciente(Long idPaciente, Long ultimoEvento) {
+        return suscribir(CANAL_PACIENTE + idPaciente, ultimoEvento, () -> eventoResultadoRepository
+            .findByIdPacienteAndIdEventoGreaterThanOrderByIdEvento(
+                idPaciente, ultimoEvento, PageRequest.of(0, MAX_EVENTOS_RECONEXION)));
+    }
+
+    /**
+     * Suscribirse a los eventos de los resultados de un laboratorista
+     *
+     * @param ultimoEvento ID del último evento recibido (cabecera Last-Event-ID), o null
+     */
+    public SseEmitter suscribirLaboratorista(Long idLaboratorista, Long ultimoEvento) {
+        return suscribir(CANAL_LABORATORISTA + idLaboratorista, ultimoEvento, () -> eventoResultadoRepository
+            .findByIdLaboratoristaAndIdEventoGreaterThanOrderByIdEvento(
+                idLaboratorista, ultimoEvento, PageRequest.of(0, MAX_EVENTOS_RECONEXION)));
+    }
+
+    /**
+     * Leer los eventos nuevos y los que faltaban por debajo del último enviado,
+     * y encolarlos en los canales del paciente y del laboratorista
+     */
+    @Scheduled(fixedDelayString = "${resultados.eventos.intervalo-ms:500}")
+    public synchronized void despachar() {
+        if (suscripciones.isEmpty()) {
+            // Sin conexiones no hay a quién enviar: al volver a tener se parte de nuevo
+            marca = null;
+            enviados.clear();
+            return;
+        }
+        if (marca == null) {
+            // Los eventos anteriores a la ventana ya están confirmados; los nuevos
+            // suscriptores reciben los previos con Last-Event-ID
+            Long ultimo = eventoResultadoRepository.ultimoIdAnteriorA(LocalDateTime.now().minus(ventana));
+            marca = ultimo != null ? ultimo : 0L;
+        }
+        Instant ahora = Instant.now();
+        leerNuevos(ahora);
+        buscarHuecos(ahora);
+        avanzarMarca(ahora);
+    }
+
+    /**
+     * Comentario periódico: evita que proxies y balanceadores cierren conexiones
+     * inactivas y detecta los clientes que ya se fueron
+     */
+    @Scheduled(fixedDelayString = "${resultados.eventos.latido-ms:15000}")
+    public void mantenerConexiones() {
+        suscripciones.values().forEach(conexiones ->
+            conexiones.forEach(suscripcion -> suscripcion.encolar(() -> SseEmitter.event().comment("latido"))));
+    }
+
+    /**
+     * Eliminar los eventos más antiguos que resultados.eventos.retencion
+     */
+    @Scheduled(cron = "${resultados.eventos.cron-purga:0 15 * * * *}")
+    @Transactional
+    public void purgar() {
+        int eliminados = eventoResultadoRepository.deleteAnterioresA(LocalDateTime.now().minus(retencion));
+        if (eliminados > 0) {
+            log.info("Eventos de resultados eliminados por retención: {}", eliminados);
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        if (ejecutor instanceof ExecutorService servicio) {
+            servicio.shutdownNow();
+        }
+    }
+
+    int suscripcionesAbiertas() {
+        return totalSuscripciones.get();
+    }
+
+    /**
+     * Leer desde el último ID enviado y no desde la marca: cada página trae solo
+     * eventos nuevos aunque la marca siga detenida en un hueco
+     */
+    private void leerNuevos(Instant ahora) {
+        List<EventoResultado> pagina;
+        do {
+            long desde = enviados.isEmpty() ? marca : enviados.lastKey();
+            pagina = eventoResultadoRepository.findByIdEventoGreaterThanOrderByIdEvento(
+                desde, PageRequest.of(0, MAX_EVENTOS_DESPACHO));
+            pagina.forEach(evento -> enviar(evento, ahora));
+        } while (pagina.size() == MAX_EVENTOS_DESPACHO);
+    }
+
+    /**
+     * Buscar por ID solo los eventos que faltan entre la marca y el último enviado
+     */
+    private void buscarHuecos(Instant ahora) {
+        if (enviados.isEmpty() || enviados.size() == enviados.lastKey() - marca) {
+            return;
+        }
+        List<Long> faltantes = new ArrayList<>();
+        for (long id = marca + 1; id < enviados.lastKey() && faltantes.size() < MAX_HUECOS_DESPACHO; id++) {
+            if (!enviados.containsKey(id)) {
+                faltantes.add(id);
+            }
+        }
+        eventoResultadoRepository.findByIdEventoInOrderByIdEvento(faltantes)
+            .forEach(evento -> enviar(evento, ahora));
+    }
+
+    private void enviar(EventoResultado evento, Instant ahora) {
+        if (evento.getIdEvento() > marca && enviados.putIfAbsent(evento.getIdEvento(), ahora) == null) {
+            publicar(evento);
+        }
+    }
+
+    /**
+     * Avanzar la marca sobre los IDs consecutivos ya enviados. Un hueco detiene
+     * la marca hasta que llegue el evento que falta o hasta que el evento que lo
+     * sigue lleve la ventana leído
+     */
+    private void avanzarMarca(Instant ahora) {
+        while (!enviados.isEmpty()) {
+            Map.Entry<Long, Instant> siguiente = enviados.firstEntry();
+            if (siguiente.getKey() > marca + 1) {
+                if (Duration.between(siguiente.getValue(), ahora).compareTo(ventana) < 0) {
+                    return;
+                }
+                log.debug("Eventos {} a {} no confirmados en {}: se omiten", marca + 1, siguiente.getKey() - 1, ventana);
+            }
+            marca = enviados.pollFirstEntry().getKey();
+        }
+    }
+
+    /**
+     * Registrar la conexión antes de reenviar lo pendiente: un evento puede llegar
+     * dos veces (el cliente lo descarta por ID), pero no perderse
+     */
+    private SseEmitter suscribir(String canal, Long ultimoEvento, Supplier<List<EventoResultado>> pendientes) {
+        Suscripcion suscripcion = new Suscripcion(canal, new SseEmitter(timeout.toMillis()));
+        suscripciones.compute(canal, (clave, conexiones) -> {
+            Set<Suscripcion> conjunto = conexiones != null ? conexiones : ConcurrentHashMap.newKeySet();
+            conjunto.add(suscripcion);
+            return conjunto;
+        });
+        totalSuscripciones.incrementAndGet();
+        SseEmitter emisor = suscripcion.emisor;
+        emisor.onCompletion(() -> quitar(suscripcion));
+        emisor.onTimeout(() -> quitar(suscripcion));
+        emisor.onError(e -> quitar(suscripcion));
+
+        suscripcion.encolar(() -> SseEmitter.event().comment("suscrito a " + canal));
+        if (ultimoEvento != null) {
+            pendientes.get().forEach(evento -> suscripcion.encolar(() -> aEvento(evento)));
+        }
+        return emisor;
+    }
+
+    private void publicar(EventoResultado evento) {
+        publicar(CANAL_LABORATORISTA + evento.getIdLaboratorista(), evento);
+        if (evento.getIdPaciente() != null) {
+            publicar(CANAL_PACIENTE + evento.getIdPaciente(), evento);
+        }
+    }
+
+    private void publicar(String canal, EventoResultado evento) {
+        Set<Suscripcion> conexiones = suscripciones.get(canal);
+        if (conexiones != null) {
+            conexiones.forEach(suscripcion -> suscripcion.encolar(() -> aEvento(evento)));
+        }
+    }
+
+    private void quitar(Suscripcion suscripcion) {
+        suscripciones.computeIfPresent(suscripcion.canal, (clave, conexiones) -> {
+            if (conexiones.remove(suscripcion)) {
+                totalSuscripciones.decrementAndGet();
+            }
+            return conexiones.isEmpty() ? null : conexiones;
+        });
+    }
+
+    private SseEmitter.SseEventBuilder aEvento(EventoResultado evento) {
+        return SseEmitter.event()
+            .id(String.valueOf(evento.getIdEvento()))
+            .name(NOMBRE_EVENTO)
+            .data(convertToDTO(evento));
+    }
+
+    /**
+     * Convertir entidad a DTO
+     */
+    private EventoResultadoDTO convertToDTO(EventoResultado evento) {
+        return new EventoResultadoDTO(
+            evento.getIdEvento(),
+            evento.getIdResultado(),
+            evento.getIdCita(),
+            evento.getIdLaboratorista(),
+            evento.getIdPaciente(),
+            evento.getEstado(),
+            evento.getEstadoAnterior(),
+            evento.getFechaEvento()
+        );
+    }
+
+    /**
+     * Hilos que solo escriben en las conexiones: uno bloqueado por un cliente
+     * lento no retrasa a los demás (el pool crece según haga falta)
+     */
+    private static CustomizableThreadFactory hilosDeEnvio() {
+        CustomizableThreadFactory fabrica = new CustomizableThreadFactory("eventos-sse-");
+        fabrica.setDaemon(true);
+        return fabrica;
+    }
+
+    /**
+     * Conexión SSE con su cola de envíos, que vacía un solo hilo a la vez y en orden
+     */
+    private final class Suscripcion {
+
+        private final String canal;
+        private final SseEmitter emisor;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pendientes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger enCola = new AtomicInteger();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+
+        private Suscripcion(String canal, SseEmitter emisor) {
+            this.canal = canal;
+            this.emisor = emisor;
+        }
+
+        /**
+         * El builder acumula el texto al construirse: uno nuevo por cada envío
+         */
+        void encolar(Supplier<SseEmitter.SseEventBuilder> evento) {
+            if (cerrada.get()) {
+                return;
+            }
+            if (enCola.incrementAndGet() > maxPendientes) {
+                log.warn("Conexión SSE de {} con {} envíos pendientes: se cierra", canal, maxPendientes);
+                cerrar(null);
+                return;
+            }
+            pendientes.add(evento);
+            programar();
+        }
+
+        private void programar() {
+            if (enviando.compareAndSet(false, true)) {
+                ejecutor.execute(this::vaciar);
+            }
+        }
+
+        private void vaciar() {
+            Supplier<SseEmitter.SseEventBuilder> evento;
+            while (!cerrada.get() && (evento = pendientes.poll()) != null) {
+                enCola.decrementAndGet();
+                try {
+                    emisor.send(evento.get());
+                } catch (IOException e) {
+                    // Cliente desconectado
+                    cerrar(e);
+                } catch (IllegalStateException e) {
+                    // Conexión ya cerrada (timeout) antes de quitarla del canal
+                    cerrar(null);
+                }
+            }
+            enviando.set(false);
+            if (!cerrada.get() && !pendientes.isEmpty()) {
+                programar();
+            }
+        }
+
+        /**
+         * Quitarla del canal de inmediato; completar el emisor en un hilo de envío,
+         * porque espera a que termine un envío en curso
+         */
+        private void cerrar(IOException error) {
+            if (!cerrada.compareAndSet(false, true)) {
+                return;
+            }
+            quitar(this);
+            pendientes.clear();
+            ejecutor.execute(() -> {
+                try {
+                    if (error != null) {
+                        emisor.completeWithError(error);
+                    } else {
+                        emisor.complete();
+                    }
+                } catch (IllegalStateException e) {
+                    // Ya completado por el contenedor
+                }
+            });
+        }
+    }
+}
@@ -2,37 +2,107 @@ package com.duoc.laboratorio.resultados.service;
 
 import com.duoc.laboratorio.resultados.dto.ActualizarResultadoRequest;
 import com.duoc.laboratorio.resultados.dto.CrearResultadoRequest;
+import com.duoc.laboratorio.resultados.dto.PaginaDTO;
 import com.duoc.laboratorio.resultados.dto.ResultadoDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoValorDTO;
+import com.duoc.laboratorio.resultados.dto.TransicionLoteDTO;
+import com.duoc.laboratorio.resultados.dto.TransicionLoteResultadosRequest;
 import com.duoc.laboratorio.resultados.exception.BadRequestException;
+import com.duoc.laboratorio.resultados.exception.ConflictException;
 import com.duoc.laboratorio.resultados.exception.ResourceNotFoundException;
+import com.duoc.laboratorio.resultados.model.EstadoResultado;
+import com.duoc.laboratorio.resultados.model.EventoResultado;
 import com.duoc.laboratorio.resultados.model.Resultado;
+import com.duoc.laboratorio.resultados.model.ResultadoArchivado;
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import com.duoc.laboratorio.resultados.repository.EventoResultadoRepository;
+import com.duoc.laboratorio.resultados.repository.ResultadoArchivadoRepository;
 import com.duoc.laboratorio.resultados.repository.ResultadoRepository;
+import com.duoc.laboratorio.resultados.repository.ResultadoValorRepository;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.Writer;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio de lógica de negocio para Resultados de Análisis
+ *
+ * Las lecturas por ID y los listados por fecha consultan el archivo
+ * (RESULTADOS_ANALISIS_ARCHIVO) solo cuando la tabla viva no alcanza: resultado
+ * no encontrado o página que llega más atrás que los datos vivos. Los resultados
+ * archivados son de solo lectura.
+ * Cada resultado creado y cada cambio de estado se registra en la bandeja de
+ * salida (RESULTADO_EVENTO) en la misma transacción; DespachadorEventos lo envía
+ * a los clientes suscritos.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ResultadoService {
 
+    public static final int TAMANO_PAGINA_MAXIMO = 500;
+
+    /** Máximo de citas en GET /api/resultados?idsCita (acotado por el largo de la URL) */
+    public static final int MAX_IDS_CITA = 500;
+
+    /** Máximo de citas en POST /api/resultados/por-citas */
+    public static final int MAX_IDS_CITA_LOTE = 10_000;
+
+    /** Oracle admite hasta 1000 elementos por lista IN (ORA-01795) */
+    static final int TAMANO_BLOQUE_IN = 1000;
+
+    /** Contador de resultados que pasan a cada estado (al crearlos o al cambiar su estado) */
+    static final String METRICA_RESULTADOS_ESTADO = "resultados.estado";
+
+    /** Rango máximo de una transición por lote: acota las filas bloqueadas */
+    static final int MAX_DIAS_TRANSICION_LOTE = 31;
+
+    /** Resultados omitidos que se detallan en la respuesta de una transición por lote */
+    static final int MAX_DETALLE_OMITIDOS = 1000;
+
     private final ResultadoRepository resultadoRepository;
+    private final ResultadoArchivadoRepository resultadoArchivadoRepository;
+    private final ResultadoValorRepository resultadoValorRepository;
+    private final EventoResultadoRepository eventoResultadoRepository;
+    private final ValoresMedidosParser valoresMedidosParser;
+    private final EntityManager entityManager;
 
     /**
      * Crear un nuevo resultado
      */
     public ResultadoDTO crearResultado(CrearResultadoRequest request) {
+        // Los demás estados solo se alcanzan por las transiciones de EstadoResultado
+        EstadoResultado.motivoRechazoCreacion(request.getEstado()).ifPresent(motivo -> {
+            throw new BadRequestException(motivo);
+        });
         // Validar que no exista ya un resultado para esa cita
         if (resultadoRepository.existsByIdCita(request.getIdCita())) {
             throw new BadRequestException("Ya existe un resultado para la cita ID: " + request.getIdCita());
         }
+        // ID_CITA no se valida: CITAS es de laboratorios y la cita puede estar ya archivada
 
         Resultado resultado = new Resultado();
         resultado.setIdCita(request.getIdCita());
@@ -41,10 +111,13 @@ public class ResultadoService {
         resultado.setObservaciones(request.getObservaciones());
         resultado.setFechaResultado(request.getFechaResultado() != null ? 
             request.getFechaResultado() : LocalDateTime.now());
-        resultado.setEstado(request.getEstado() != null ? request.getEstado() : "PENDIENTE");
+        resultado.setEstado(EstadoResultado.INICIAL.name());
         resultado.setValoresMedidos(request.getValoresMedidos());
 
         Resultado savedResultado = resultadoRepository.save(resultado);
+        resultadoValorRepository.saveAll(valoresMedidosParser.parsear(savedResultado));
+        registrarEvento(savedResultado, null);
+        contarEstado(savedResultado.getEstado());
         return convertToDTO(savedResultado);
     }
 
@@ -53,9 +126,10 @@ public class ResultadoService {
      */
     @Transactional(readOnly = true)
     public ResultadoDTO obtenerPorId(Long id) {
-        Resultado resultado = resultadoRepository.findById(id)
+        return resultadoRepository.findById(id)
+            .map(this::convertToDTO)
+            .or(() -> resultadoArchivadoRepository.findById(id).map(this::convertToDTO))
             .orElseThrow(() -> new ResourceNotFoundException("Resultado", id));
-        return convertToDTO(resultado);
     }
 
     /**
@@ -63,47 +137,163 @@ public class ResultadoService {
      */
     @Transactional(readOnly = true)
     public ResultadoDTO obtenerPorIdCita(Long idCita) {
-        Resultado resultado = resultadoRepository.findByIdCita(idCita)
+        return resultadoRepository.findByIdCita(idCita)
+            .map(this::convertToDTO)
+            .or(() -> resultadoArchivadoRepository.findByIdCita(idCita).map(this::convertToDTO))
             .orElseThrow(() -> new ResourceNotFoundException("Resultado de la cita " + idCita + " no encontrado"));
-        return convertToDTO(resultado);
     }
 
     /**
-     * Listar todos los resultados
+     * Listar resultados por página (keyset sobre fecha e ID, más recientes primero)
+     * Se pide un elemento extra para saber si existe una página siguiente. Si la
+     * tabla viva se agota antes de completar la página, se completa desde el
+     * archivo continuando en el mismo orden (todo lo archivado es más antiguo).
      */
     @Transactional(readOnly = true)
-    public List<ResultadoDTO> listarTodos() {
-        return resultadoRepository.findAllOrderByFechaDesc().stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public PaginaDTO<ResultadoResumenDTO> listarPagina(String cursor, int tamano) {
+        int tamanoEfectivo = Math.max(1, Math.min(tamano, TAMANO_PAGINA_MAXIMO));
+        PageRequest limite = PageRequest.of(0, tamanoEfectivo + 1);
+
+        CursorResultado desde = cursor == null || cursor.isBlank() ? null : CursorResultado.decodificar(cursor);
+        List<ResultadoResumenDTO> resultados = desde == null
+            ? resultadoRepository.findPrimeraPagina(limite)
+            : resultadoRepository.findPaginaSiguiente(desde.getFechaResultado(), desde.getIdResultado(), limite);
+
+        if (resultados.size() <= tamanoEfectivo) {
+            resultados = new ArrayList<>(resultados);
+            if (!resultados.isEmpty()) {
+                ResultadoResumenDTO ultimo = resultados.get(resultados.size() - 1);
+                desde = new CursorResultado(ultimo.getFechaResultado(), ultimo.getIdResultado());
+            }
+            PageRequest faltantes = PageRequest.of(0, tamanoEfectivo + 1 - resultados.size());
+            resultados.addAll(desde == null
+                ? resultadoArchivadoRepository.findPrimeraPagina(faltantes)
+                : resultadoArchivadoRepository.findPaginaSiguiente(
+                    desde.getFechaResultado(), desde.getIdResultado(), faltantes));
+        }
+
+        String siguienteCursor = null;
+        if (resultados.size() > tamanoEfectivo) {
+            resultados = resultados.subList(0, tamanoEfectivo);
+            ResultadoResumenDTO ultimo = resultados.get(tamanoEfectivo - 1);
+            siguienteCursor = new CursorResultado(
+                ultimo.getFechaResultado(), ultimo.getIdResultado()).codificar();
+        }
+
+        return new PaginaDTO<>(resultados, siguienteCursor);
     }
 
     /**
-     * Listar resultados por laboratorista
+     * Recorrer todos los resultados en memoria constante: primero la tabla viva y
+     * luego el archivo, cada uno por fecha descendente
+     * Cada entidad se desacopla del contexto de persistencia después de convertirla
      */
     @Transactional(readOnly = true)
-    public List<ResultadoDTO> listarPorLaboratorista(Long idLaboratorista) {
-        return resultadoRepository.findByIdLaboratorista(idLaboratorista).stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public void recorrerTodos(Consumer<ResultadoDTO> consumidor) {
+        try (Stream<Resultado> resultados = resultadoRepository.streamAllOrderByFechaDesc()) {
+            resultados.forEach(resultado -> {
+                consumidor.accept(convertToDTO(resultado));
+                entityManager.detach(resultado);
+            });
+        }
+        try (Stream<ResultadoArchivado> archivados = resultadoArchivadoRepository.streamAllOrderByFechaDesc()) {
+            archivados.forEach(archivado -> {
+                consumidor.accept(convertToDTO(archivado));
+                entityManager.detach(archivado);
+            });
+        }
     }
 
     /**
-     * Listar resultados por estado
+     * Obtener los resultados de varias citas (resumen sin valores medidos)
+     * Las citas sin resultado no aparecen en la lista
      */
     @Transactional(readOnly = true)
-    public List<ResultadoDTO> listarPorEstado(String estado) {
-        return resultadoRepository.findByEstado(estado).stream()
-            .map(this::convertToDTO)
+    public List<ResultadoResumenDTO> obtenerPorIdsCita(List<Long> idsCita) {
+        return new ArrayList<>(buscarPorIdsCita(idsCita, MAX_IDS_CITA).values());
+    }
+
+    /**
+     * Obtener los resultados de hasta MAX_IDS_CITA_LOTE citas, indexados por ID de cita
+     * Las citas sin resultado no aparecen en el mapa
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ResultadoResumenDTO> obtenerMapaPorIdsCita(List<Long> idsCita) {
+        return buscarPorIdsCita(idsCita, MAX_IDS_CITA_LOTE);
+    }
+
+    /**
+     * Listar resultados por laboratorista (resumen sin valores medidos)
+     */
+    @Transactional(readOnly = true)
+    public List<ResultadoResumenDTO> listarPorLaboratorista(Long idLaboratorista) {
+        return resultadoRepository.findResumenByIdLaboratorista(idLaboratorista);
+    }
+
+    /**
+     * Listar resultados por estado (resumen sin valores medidos)
+     */
+    @Transactional(readOnly = true)
+    public List<ResultadoResumenDTO> listarPorEstado(String estado) {
+        return resultadoRepository.findResumenByEstado(estado);
+    }
+
+    /**
+     * Escribir los valores medidos de un resultado en el destino
+     * El CLOB se lee por partes, sin cargarlo completo como String. La búsqueda
+     * (tabla viva y archivo) y la lectura usan la misma transacción.
+     * Sin valores medidos se escribe null
+     */
+    @Transactional(readOnly = true)
+    public void escribirValoresMedidos(Long id, Writer destino) {
+        if (!resultadoRepository.copiarValoresMedidos(id, destino)) {
+            throw new ResourceNotFoundException("Resultado", id);
+        }
+    }
+
+    /**
+     * Buscar valores medidos de un analito por rango de valor y fecha
+     * Los filtros nulos no se envían a la consulta
+     */
+    @Transactional(readOnly = true)
+    public List<ResultadoValorDTO> buscarValores(String analito, BigDecimal min, BigDecimal max,
+                                                 LocalDateTime desde, LocalDateTime hasta, int limite) {
+        if (analito == null || analito.isBlank()) {
+            throw new BadRequestException("El analito es obligatorio");
+        }
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new BadRequestException("El valor mínimo no puede ser mayor que el máximo");
+        }
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new BadRequestException("La fecha desde no puede ser posterior a la fecha hasta");
+        }
+
+        Specification<ResultadoValor> filtro = Specification
+            .where(ResultadoValorRepository.analito(ValoresMedidosParser.normalizarAnalito(analito)))
+            .and(ResultadoValorRepository.valorMayorOIgual(min))
+            .and(ResultadoValorRepository.valorMenorOIgual(max))
+            .and(ResultadoValorRepository.fechaDesde(desde))
+            .and(ResultadoValorRepository.fechaHasta(hasta));
+        int limiteEfectivo = Math.max(1, Math.min(limite, TAMANO_PAGINA_MAXIMO));
+
+        return resultadoValorRepository.findBy(filtro, consulta -> consulta
+                .sortBy(Sort.by(Sort.Direction.DESC, "fechaResultado"))
+                .limit(limiteEfectivo)
+                .all())
+            .stream()
+            .map(this::convertToValorDTO)
             .collect(Collectors.toList());
     }
 
     /**
      * Actualizar un resultado
+     * Solo se escriben las columnas que cambian; si la petición trae la versión
+     * que leyó el cliente y el resultado cambió desde entonces, se rechaza
      */
     public ResultadoDTO actualizarResultado(Long id, ActualizarResultadoRequest request) {
         Resultado resultado = resultadoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Resultado", id));
+        verificarVersion(resultado, request.getVersion());
 
         if (request.getArchivoPdf() != null) {
             resultado.setArchivoPdf(request.getArchivoPdf());
@@ -114,34 +304,146 @@ public class ResultadoService {
         if (request.getFechaResultado() != null) {
             resultado.setFechaResultado(request.getFechaResultado());
         }
-        if (request.getEstado() != null) {
+        String estadoAnterior = resultado.getEstado();
+        boolean cambiaEstado = request.getEstado() != null && !request.getEstado().equals(estadoAnterior);
+        if (cambiaEstado) {
+            boolean tieneValores = request.getValoresMedidos() != null || resultado.getValoresMedidos() != null;
+            verificarTransicion(resultado, validarEstado(request.getEstado()), tieneValores);
             resultado.setEstado(request.getEstado());
+            contarEstado(request.getEstado());
         }
         if (request.getValoresMedidos() != null) {
             resultado.setValoresMedidos(request.getValoresMedidos());
         }
 
         Resultado updatedResultado = resultadoRepository.save(resultado);
+        if (cambiaEstado) {
+            registrarEvento(updatedResultado, estadoAnterior);
+        }
+        // Los valores normalizados dependen del CLOB y de la fecha del resultado
+        if (request.getValoresMedidos() != null || request.getFechaResultado() != null) {
+            resultadoValorRepository.deleteByIdResultado(id);
+            resultadoValorRepository.saveAll(valoresMedidosParser.parsear(updatedResultado));
+        }
         return convertToDTO(updatedResultado);
     }
 
     /**
      * Cambiar estado de un resultado
+     *
+     * Con estadoEsperado la transición es un UPDATE condicional (WHERE ESTADO =
+     * estadoEsperado), sin leer antes el resultado; si ya no está en ese estado,
+     * conflicto. Sin él se lee el resultado y el UPDATE verifica la versión leída.
+     * version es opcional: la versión que leyó el cliente.
+     * En ambos casos la transición debe estar permitida por EstadoResultado.
      */
-    public ResultadoDTO cambiarEstado(Long id, String nuevoEstado) {
+    public ResultadoDTO cambiarEstado(Long id, String nuevoEstado, String estadoEsperado, Long version) {
+        if (estadoEsperado != null && !estadoEsperado.equals(nuevoEstado)) {
+            return cambiarEstadoCondicional(id, estadoEsperado, nuevoEstado, version);
+        }
+
         Resultado resultado = resultadoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Resultado", id));
 
-        // Validar estados permitidos
-        if (!List.of("PENDIENTE", "EN_PROCESO", "COMPLETADO", "REVISADO").contains(nuevoEstado)) {
-            throw new BadRequestException("Estado no válido: " + nuevoEstado);
+        EstadoResultado destino = validarEstado(nuevoEstado);
+        verificarVersion(resultado, version);
+        if (estadoEsperado != null && !estadoEsperado.equals(resultado.getEstado())) {
+            throw conflicto(resultado);
         }
 
-        resultado.setEstado(nuevoEstado);
+        String estadoAnterior = resultado.getEstado();
+        boolean cambiaEstado = !nuevoEstado.equals(estadoAnterior);
+        if (cambiaEstado) {
+            verificarTransicion(resultado, destino, resultado.getValoresMedidos() != null);
+            resultado.setEstado(nuevoEstado);
+            contarEstado(nuevoEstado);
+        }
         Resultado updatedResultado = resultadoRepository.save(resultado);
+        if (cambiaEstado) {
+            registrarEvento(updatedResultado, estadoAnterior);
+        }
         return convertToDTO(updatedResultado);
     }
 
+    /**
+     * Transición en una sola sentencia; el resultado se lee después, para el
+     * evento y la respuesta. La guarda de valores medidos va en el WHERE del UPDATE.
+     */
+    private ResultadoDTO cambiarEstadoCondicional(Long id, String estadoEsperado, String nuevoEstado, Long version) {
+        EstadoResultado destino = validarEstado(nuevoEstado);
+        if (!destino.permiteDesde(estadoEsperado)) {
+            throw new BadRequestException("Transición no permitida: " + estadoEsperado + " -> " + nuevoEstado);
+        }
+        if (resultadoRepository.actualizarEstado(id, estadoEsperado, nuevoEstado, version,
+                destino.exigeValoresMedidos()) == 0) {
+            Resultado actual = resultadoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Resultado", id));
+            if (!estadoEsperado.equals(actual.getEstado())) {
+                throw conflicto(actual);
+            }
+            verificarVersion(actual, version);
+            verificarTransicion(actual, destino, actual.getValoresMedidos() != null);
+            throw conflicto(actual);
+        }
+        Resultado resultado = resultadoRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Resultado", id));
+        registrarEvento(resultado, estadoEsperado);
+        contarEstado(nuevoEstado);
+        return convertToDTO(resultado);
+    }
+
+    /**
+     * Aplicar una transición de estado a los resultados de un rango de fechas
+     * (y laboratorista), en una transacción
+     *
+     * Los IDs que pueden pasar al nuevo estado según EstadoResultado se bloquean
+     * con un SELECT ... FOR UPDATE; por cada bloque de TAMANO_BLOQUE_IN IDs se
+     * registran los eventos con un INSERT ... SELECT (que toma el estado anterior)
+     * y se cambia el estado con un UPDATE. El resto del filtro se informa como
+     * omitido, con el motivo.
+     */
+    public TransicionLoteDTO cambiarEstadoLote(TransicionLoteResultadosRequest request) {
+        EstadoResultado destino = validarEstado(request.getEstado());
+        if (request.getHasta().isBefore(request.getDesde())) {
+            throw new BadRequestException("La fecha hasta debe ser posterior a la fecha desde");
+        }
+        if (request.getDesde().plusDays(MAX_DIAS_TRANSICION_LOTE).isBefore(request.getHasta())) {
+            throw new BadRequestException("El rango de una transición por lote no puede superar "
+                + MAX_DIAS_TRANSICION_LOTE + " días");
+        }
+        Set<String> origenes = new HashSet<>(destino.origenes());
+        if (request.getEstadoActual() != null) {
+            origenes.retainAll(Set.of(request.getEstadoActual()));
+        }
+
+        int actualizados = 0;
+        if (!origenes.isEmpty()) {
+            List<Long> ids = resultadoRepository.findIdsParaTransicion(request.getDesde(), request.getHasta(),
+                request.getIdLaboratorista(), origenes, destino.exigeValoresMedidos());
+            LocalDateTime fecha = LocalDateTime.now();
+            for (int inicio = 0; inicio < ids.size(); inicio += TAMANO_BLOQUE_IN) {
+                List<Long> bloque = ids.subList(inicio, Math.min(inicio + TAMANO_BLOQUE_IN, ids.size()));
+                eventoResultadoRepository.registrarTransicion(bloque, destino.name(), fecha);
+                actualizados += resultadoRepository.actualizarEstadoLote(bloque, destino.name());
+            }
+            if (actualizados > 0) {
+                contarEstado(destino.name(), actualizados);
+            }
+        }
+
+        long omitidos = resultadoRepository.countOmitidosTransicion(request.getDesde(), request.getHasta(),
+            request.getIdLaboratorista(), request.getEstadoActual(), destino.name());
+        List<TransicionLoteDTO.Omitido> detalle = omitidos == 0 ? List.of() : resultadoRepository
+            .findOmitidosTransicion(request.getDesde(), request.getHasta(), request.getIdLaboratorista(),
+                request.getEstadoActual(), destino.name(), PageRequest.of(0, MAX_DETALLE_OMITIDOS))
+            .stream()
+            .map(omitido -> new TransicionLoteDTO.Omitido(omitido.getIdResultado(), omitido.getEstado(),
+                destino.motivoRechazo(omitido.getEstado(), omitido.isTieneValoresMedidos())
+                    .orElse("Modificado por otra operación durante la transición")))
+            .collect(Collectors.toList());
+        return new TransicionLoteDTO(destino.name(), actualizados, omitidos, detalle);
+    }
+
     /**
      * Eliminar un resultado
      */
@@ -149,9 +451,105 @@ public class ResultadoService {
         if (!resultadoRepository.existsById(id)) {
             throw new ResourceNotFoundException("Resultado", id);
         }
+        resultadoValorRepository.deleteByIdResultado(id);
         resultadoRepository.deleteById(id);
     }
 
+    /**
+     * Buscar los resultados de varias citas con consultas IN de hasta
+     * TAMANO_BLOQUE_IN elementos (índice UNQ_RESULTADO_CITA). Las citas sin
+     * resultado vivo se buscan después en el archivo, también por bloques.
+     */
+    private Map<Long, ResultadoResumenDTO> buscarPorIdsCita(List<Long> idsCita, int maximo) {
+        List<Long> ids = idsCita.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+        if (ids.size() > maximo) {
+            throw new BadRequestException("Se permiten como máximo " + maximo + " citas por consulta");
+        }
+        Map<Long, ResultadoResumenDTO> porCita = new LinkedHashMap<>();
+        consultarPorBloques(ids, resultadoRepository::findResumenByIdCitaIn, porCita);
+        if (porCita.size() < ids.size()) {
+            List<Long> sinResultado = ids.stream()
+                .filter(id -> !porCita.containsKey(id))
+                .collect(Collectors.toList());
+            consultarPorBloques(sinResultado, resultadoArchivadoRepository::findResumenByIdCitaIn, porCita);
+        }
+        return porCita;
+    }
+
+    private void consultarPorBloques(List<Long> ids,
+                                     Function<Collection<Long>, List<ResultadoResumenDTO>> consulta,
+                                     Map<Long, ResultadoResumenDTO> destino) {
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANO_BLOQUE_IN) {
+            List<Long> bloque = ids.subList(inicio, Math.min(inicio + TAMANO_BLOQUE_IN, ids.size()));
+            consulta.apply(bloque).forEach(resultado -> destino.put(resultado.getIdCita(), resultado));
+        }
+    }
+
+    /**
+     * Validar estados permitidos
+     */
+    private EstadoResultado validarEstado(String estado) {
+        return EstadoResultado.de(estado)
+            .orElseThrow(() -> new BadRequestException("Estado no válido: " + estado));
+    }
+
+    /**
+     * Rechazar la transición si EstadoResultado no la permite o no se cumple su guarda
+     */
+    private void verificarTransicion(Resultado resultado, EstadoResultado destino, boolean tieneValoresMedidos) {
+        destino.motivoRechazo(resultado.getEstado(), tieneValoresMedidos)
+            .ifPresent(motivo -> {
+                throw new ConflictException(motivo, resultado.getVersion());
+            });
+    }
+
+    /**
+     * Rechazar la modificación si el cliente leyó una versión anterior del resultado
+     */
+    private void verificarVersion(Resultado resultado, Long version) {
+        if (version != null && !version.equals(resultado.getVersion())) {
+            throw conflicto(resultado);
+        }
+    }
+
+    private ConflictException conflicto(Resultado resultado) {
+        return new ConflictException("El resultado " + resultado.getIdResultado() + " fue modificado por otra "
+            + "operación (estado " + resultado.getEstado() + ", versión " + resultado.getVersion() + ")",
+            resultado.getVersion());
+    }
+
+    /**
+     * Registrar el evento en la bandeja de salida, dentro de la transacción en curso:
+     * si el cambio se revierte, el evento también
+     */
+    private void registrarEvento(Resultado resultado, String estadoAnterior) {
+        eventoResultadoRepository.save(new EventoResultado(resultado, estadoAnterior));
+    }
+
+    /**
+     * Contar el paso a un estado una vez confirmada la transacción
+     */
+    private void contarEstado(String estado) {
+        contarEstado(estado, 1);
+    }
+
+    private void contarEstado(String estado, int cantidad) {
+        Runnable contar = () -> Metrics.counter(METRICA_RESULTADOS_ESTADO, "estado", estado).increment(cantidad);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            contar.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                contar.run();
+            }
+        });
+    }
+
     /**
      * Convertir entidad a DTO
      */
@@ -166,7 +564,46 @@ public class ResultadoService {
         dto.setEstado(resultado.getEstado());
         dto.setValoresMedidos(resultado.getValoresMedidos());
         dto.setFechaCreacion(resultado.getFechaCreacion());
+        dto.setVersion(resultado.getVersion());
+        return dto;
+    }
+
+    /**
+     * Convertir resultado archivado a DTO
+     */
+    private ResultadoDTO convertToDTO(ResultadoArchivado archivado) {
+        ResultadoDTO dto = new ResultadoDTO();
+        dto.setIdResultado(archivado.getIdResultado());
+        dto.setIdCita(archivado.getIdCita());
+        dto.setIdLaboratorista(archivado.getIdLaboratorista());
+        dto.setArchivoPdf(archivado.getArchivoPdf());
+        dto.setObservaciones(archivado.getObservaciones());
+        dto.setFechaResultado(archivado.getFechaResultado());
+        dto.setEstado(archivado.getEstado());
+        dto.setValoresMedidos(archivado.getValoresMedidos());
+        dto.setFechaCreacion(archivado.getFechaCreacion());
         return dto;
     }
-}
 
+    /**
+     * Convertir valor normalizado a DTO
+     */
+    private ResultadoValorDTO convertToValorDTO(ResultadoValor valor) {
+        BigDecimal numero = valor.getValorNumerico();
+        Boolean fueraDeRango = null;
+        if (valor.getReferenciaMin() != null || valor.getReferenciaMax() != null) {
+            fueraDeRango = (valor.getReferenciaMin() != null && numero.compareTo(valor.getReferenciaMin()) < 0)
+                || (valor.getReferenciaMax() != null && numero.compareTo(valor.getReferenciaMax()) > 0);
+        }
+        return new ResultadoValorDTO(
+            valor.getIdResultado(),
+            valor.getAnalito(),
+            numero,
+            valor.getUnidad(),
+            valor.getReferenciaMin(),
+            valor.getReferenciaMax(),
+            valor.getFechaResultado(),
+            fueraDeRango
+        );
+    }
+}
@@ -0,0 +1,206 @@
+package com.duoc.laboratorio.resultados.service;
+
+import com.duoc.laboratorio.resultados.model.Resultado;
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Convierte el JSON libre de VALORES_MEDIDOS en filas de RESULTADO_VALOR
+ *
+ * Formatos aceptados por analito:
+ * - número: {"glucosa": 95}
+ * - texto con unidad: {"hemoglobina": "14.5 g/dL"}
+ * - objeto: {"glucosa": {"valor": 95, "unidad": "mg/dL", "min": 70, "max": 100}}
+ * Los rangos de referencia en texto se asocian por nombre: {"rango_TSH_normal": "0.4-4.0 mUI/L"}
+ * Los valores no numéricos se ignoran, también los compuestos ("120/80 mmHg", "1:160")
+ *
+ * Lo que no cabe en RESULTADO_VALOR se omite en vez de fallar, porque el parseo
+ * corre al guardar el resultado: analitos de más de 100 caracteres o vacíos y
+ * valores fuera de NUMBER(18,6) (las referencias fuera de rango quedan nulas).
+ * Los decimales se redondean a 6 y las unidades se truncan a 50 caracteres.
+ */
+@Component
+@RequiredArgsConstructor
+public class ValoresMedidosParser {
+
+    private static final Pattern VALOR_CON_UNIDAD =
+        Pattern.compile("^\\s*(-?\\d+(?:[.,]\\d+)?)\\s*([^\\d\\s/:.,-].*?)?\\s*$");
+    private static final Pattern RANGO =
+        Pattern.compile("^\\s*(-?\\d+(?:[.,]\\d+)?)\\s*-\\s*(-?\\d+(?:[.,]\\d+)?)\\s*(.*?)\\s*$");
+    private static final Pattern CLAVE_RANGO =
+        Pattern.compile("^rango_(.+?)(?:_normal)?$", Pattern.CASE_INSENSITIVE);
+
+    /** Largo de ANALITO */
+    private static final int LARGO_ANALITO = 100;
+    /** Largo de UNIDAD */
+    private static final int LARGO_UNIDAD = 50;
+    /** Decimales de NUMBER(18,6) */
+    private static final int ESCALA = 6;
+    /** Primer valor absoluto que no cabe en NUMBER(18,6): 12 dígitos enteros */
+    private static final BigDecimal LIMITE = BigDecimal.TEN.pow(18 - ESCALA);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Obtener los valores numéricos de un resultado
+     * Un JSON inválido no genera valores (el CLOB se conserva igual)
+     */
+    public List<ResultadoValor> parsear(Resultado resultado) {
+        String json = resultado.getValoresMedidos();
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+
+        JsonNode raiz;
+        try {
+            raiz = objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return List.of();
+        }
+        if (raiz == null || !raiz.isObject()) {
+            return List.of();
+        }
+
+        Map<String, ResultadoValor> valores = new LinkedHashMap<>();
+        Map<String, BigDecimal[]> rangos = new LinkedHashMap<>();
+
+        Iterator<Map.Entry<String, JsonNode>> campos = raiz.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            String analito = normalizarAnalito(campo.getKey());
+            if (analito.isEmpty() || analito.length() > LARGO_ANALITO) {
+                continue;
+            }
+            Matcher claveRango = CLAVE_RANGO.matcher(campo.getKey());
+            if (claveRango.matches() && campo.getValue().isTextual()) {
+                BigDecimal[] rango = parsearRango(campo.getValue().asText());
+                if (rango != null) {
+                    rangos.put(normalizarAnalito(claveRango.group(1)), rango);
+                }
+                continue;
+            }
+            ResultadoValor valor = parsearValor(campo.getValue());
+            if (valor != null) {
+                valor.setIdResultado(resultado.getIdResultado());
+                valor.setFechaResultado(resultado.getFechaResultado());
+                valor.setAnalito(analito);
+                valores.put(valor.getAnalito(), valor);
+            }
+        }
+
+        rangos.forEach((analito, rango) -> {
+            ResultadoValor valor = valores.get(analito);
+            if (valor != null && valor.getReferenciaMin() == null && valor.getReferenciaMax() == null) {
+                valor.setReferenciaMin(rango[0]);
+                valor.setReferenciaMax(rango[1]);
+            }
+        });
+        return new ArrayList<>(valores.values());
+    }
+
+    /**
+     * Nombre canónico de un analito (minúsculas, sin espacios en los extremos)
+     */
+    public static String normalizarAnalito(String analito) {
+        return analito == null ? null : analito.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private ResultadoValor parsearValor(JsonNode nodo) {
+        ResultadoValor valor = new ResultadoValor();
+        if (nodo.isNumber()) {
+            valor.setValorNumerico(nodo.decimalValue());
+            return conValorAjustado(valor);
+        }
+        if (nodo.isTextual()) {
+            Matcher matcher = VALOR_CON_UNIDAD.matcher(nodo.asText());
+            if (!matcher.matches()) {
+                return null;
+            }
+            valor.setValorNumerico(numero(matcher.group(1)));
+            valor.setUnidad(unidad(matcher.group(2)));
+            return conValorAjustado(valor);
+        }
+        if (nodo.isObject() && nodo.hasNonNull("valor")) {
+            JsonNode numero = nodo.get("valor");
+            if (numero.isNumber()) {
+                valor.setValorNumerico(numero.decimalValue());
+            } else {
+                Matcher matcher = VALOR_CON_UNIDAD.matcher(numero.asText());
+                if (!matcher.matches()) {
+                    return null;
+                }
+                valor.setValorNumerico(numero(matcher.group(1)));
+            }
+            valor.setUnidad(unidad(nodo.path("unidad").asText(null)));
+            valor.setReferenciaMin(ajustar(decimalOpcional(nodo.get("min"))));
+            valor.setReferenciaMax(ajustar(decimalOpcional(nodo.get("max"))));
+            return conValorAjustado(valor);
+        }
+        return null;
+    }
+
+    private BigDecimal[] parsearRango(String texto) {
+        Matcher matcher = RANGO.matcher(texto);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new BigDecimal[] { ajustar(numero(matcher.group(1))), ajustar(numero(matcher.group(2))) };
+    }
+
+    private BigDecimal decimalOpcional(JsonNode nodo) {
+        if (nodo == null || nodo.isNull()) {
+            return null;
+        }
+        if (nodo.isNumber()) {
+            return nodo.decimalValue();
+        }
+        try {
+            return numero(nodo.asText().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * El valor redondeado a la escala de la columna, o null si no cabe
+     */
+    private ResultadoValor conValorAjustado(ResultadoValor valor) {
+        valor.setValorNumerico(ajustar(valor.getValorNumerico()));
+        return valor.getValorNumerico() != null ? valor : null;
+    }
+
+    private static BigDecimal ajustar(BigDecimal numero) {
+        if (numero == null) {
+            return null;
+        }
+        BigDecimal ajustado = numero.scale() > ESCALA ? numero.setScale(ESCALA, RoundingMode.HALF_UP) : numero;
+        return ajustado.abs().compareTo(LIMITE) < 0 ? ajustado : null;
+    }
+
+    private BigDecimal numero(String texto) {
+        return new BigDecimal(texto.replace(',', '.'));
+    }
+
+    private String unidad(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return null;
+        }
+        String unidad = texto.trim();
+        return unidad.length() > LARGO_UNIDAD ? unidad.substring(0, LARGO_UNIDAD) : unidad;
+    }
+}
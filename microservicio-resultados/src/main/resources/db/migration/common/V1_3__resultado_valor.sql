@@ -0,0 +1,24 @@
+-- ========================================
+-- V1_3: VALORES MEDIDOS NORMALIZADOS (RESULTADO_VALOR)
+-- Una fila por analito con el valor numérico, para filtrar por analito, fecha y
+-- rango de valores con índice en vez de leer el CLOB VALORES_MEDIDOS. Los
+-- resultados existentes se cargan con POST /api/resultados/valores/backfill.
+-- Compatible con Oracle y con H2 en modo Oracle (tests)
+-- ========================================
+
+CREATE SEQUENCE SEQ_RESULTADO_VALOR START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE RESULTADO_VALOR (
+    ID_VALOR NUMBER PRIMARY KEY,
+    ID_RESULTADO NUMBER NOT NULL,
+    ANALITO VARCHAR2(100) NOT NULL,
+    VALOR_NUMERICO NUMBER(18,6) NOT NULL,
+    UNIDAD VARCHAR2(50),
+    REFERENCIA_MIN NUMBER(18,6),
+    REFERENCIA_MAX NUMBER(18,6),
+    FECHA_RESULTADO TIMESTAMP NOT NULL,
+    CONSTRAINT FK_VALOR_RESULTADO FOREIGN KEY (ID_RESULTADO) REFERENCES RESULTADOS_ANALISIS(ID_RESULTADO) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_VALOR_ANALITO ON RESULTADO_VALOR(ANALITO, FECHA_RESULTADO, VALOR_NUMERICO);
+CREATE INDEX IDX_VALOR_RESULTADO ON RESULTADO_VALOR(ID_RESULTADO);
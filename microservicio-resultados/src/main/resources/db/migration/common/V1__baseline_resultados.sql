@@ -0,0 +1,68 @@
+-- ========================================
+-- V1: LÍNEA BASE DEL MICROSERVICIO DE RESULTADOS
+-- Tabla RESULTADOS_ANALISIS tal como la crea db/init.sql (línea base 1.1: una
+-- BD creada con ese script se registra en esta versión sin ejecutarla).
+-- Compatible con Oracle y con H2 en modo Oracle (tests). La FK hacia USUARIOS
+-- (tabla de otro servicio) está en V1_1, en la carpeta del proveedor; la FK
+-- hacia CITAS de init.sql no se crea (V2 la elimina).
+-- ========================================
+
+CREATE SEQUENCE SEQ_RESULTADO START WITH 1 INCREMENT BY 1;
+
+-- Tabla: RESULTADOS_ANALISIS
+CREATE TABLE RESULTADOS_ANALISIS (
+    ID_RESULTADO NUMBER PRIMARY KEY,
+    ID_CITA NUMBER NOT NULL,
+    ID_LABORATORISTA NUMBER NOT NULL,
+    ARCHIVO_PDF VARCHAR2(500),
+    OBSERVACIONES VARCHAR2(1000),
+    FECHA_RESULTADO TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    ESTADO VARCHAR2(50) DEFAULT 'PENDIENTE',
+    VALORES_MEDIDOS CLOB,
+    FECHA_CREACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT CHK_RESULTADO_ESTADO CHECK (ESTADO IN ('PENDIENTE', 'EN_PROCESO', 'COMPLETADO', 'REVISADO')),
+    CONSTRAINT UNQ_RESULTADO_CITA UNIQUE (ID_CITA)
+);
+
+CREATE INDEX IDX_RESULTADO_CITA ON RESULTADOS_ANALISIS(ID_CITA);
+CREATE INDEX IDX_RESULTADO_LABORATORISTA ON RESULTADOS_ANALISIS(ID_LABORATORISTA);
+CREATE INDEX IDX_RESULTADO_ESTADO ON RESULTADOS_ANALISIS(ESTADO);
+CREATE INDEX IDX_RESULTADO_FECHA ON RESULTADOS_ANALISIS(FECHA_RESULTADO);
+
+-- Resultados de Análisis (para citas completadas)
+INSERT INTO RESULTADOS_ANALISIS (ID_RESULTADO, ID_CITA, ID_LABORATORISTA, ARCHIVO_PDF, OBSERVACIONES, FECHA_RESULTADO, ESTADO, VALORES_MEDIDOS)
+VALUES (
+    SEQ_RESULTADO.NEXTVAL,
+    5,
+    3,
+    '/resultados/2025/11/resultado_cita_5.pdf',
+    'Hemograma dentro de parámetros normales. Glóbulos rojos, blancos y plaquetas en rangos esperados.',
+    TIMESTAMP '2025-11-04 15:30:00',
+    'COMPLETADO',
+    '{"globulos_rojos": "5.2 millones/uL", "globulos_blancos": "7800 /uL", "hemoglobina": "14.5 g/dL", "hematocrito": "43%", "plaquetas": "250000 /uL", "parametros_normales": true}'
+);
+
+INSERT INTO RESULTADOS_ANALISIS (ID_RESULTADO, ID_CITA, ID_LABORATORISTA, ARCHIVO_PDF, OBSERVACIONES, FECHA_RESULTADO, ESTADO, VALORES_MEDIDOS)
+VALUES (
+    SEQ_RESULTADO.NEXTVAL,
+    6,
+    3,
+    '/resultados/2025/11/resultado_cita_6.pdf',
+    'Perfil tiroideo alterado. TSH elevada, sugiere hipotiroidismo subclínico. Se recomienda consulta con endocrinólogo.',
+    TIMESTAMP '2025-11-05 16:45:00',
+    'REVISADO',
+    '{"TSH": "5.8 mUI/L", "T3_libre": "2.9 pg/mL", "T4_libre": "0.9 ng/dL", "anticuerpos_antiTPO": "45 UI/mL", "rango_TSH_normal": "0.4-4.0 mUI/L", "alerta": "TSH elevada"}'
+);
+
+INSERT INTO RESULTADOS_ANALISIS (ID_RESULTADO, ID_CITA, ID_LABORATORISTA, ARCHIVO_PDF, OBSERVACIONES, FECHA_RESULTADO, ESTADO, VALORES_MEDIDOS)
+VALUES (
+    SEQ_RESULTADO.NEXTVAL,
+    3,
+    3,
+    NULL,
+    'Resultado PCR COVID-19 en proceso. Se notificará al paciente en las próximas 2 horas.',
+    CURRENT_TIMESTAMP,
+    'EN_PROCESO',
+    '{"test_realizado": "PCR RT", "muestra": "hisopado nasofaringeo", "fecha_toma_muestra": "2025-11-07 14:15:00"}'
+);
+
@@ -0,0 +1,25 @@
+-- ========================================
+-- V3: BANDEJA DE SALIDA DE EVENTOS DE RESULTADOS (OUTBOX)
+-- Un evento por cada resultado creado o cambio de estado, escrito en la misma
+-- transacción que el cambio. DespachadorEventos lo envía a los suscriptores
+-- por Server-Sent Events; los eventos se eliminan al cumplir la retención.
+-- ========================================
+
+-- INCREMENT BY 1: los IDs siguen el orden de creación aunque haya varias
+-- instancias (el cliente se reconecta con Last-Event-ID)
+CREATE SEQUENCE SEQ_RESULTADO_EVENTO START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE RESULTADO_EVENTO (
+    ID_EVENTO NUMBER PRIMARY KEY,
+    ID_RESULTADO NUMBER NOT NULL,
+    ID_CITA NUMBER NOT NULL,
+    ID_LABORATORISTA NUMBER NOT NULL,
+    ID_PACIENTE NUMBER,
+    ESTADO VARCHAR2(50) NOT NULL,
+    ESTADO_ANTERIOR VARCHAR2(50),
+    FECHA_EVENTO TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_EVENTO_FECHA ON RESULTADO_EVENTO(FECHA_EVENTO);
+CREATE INDEX IDX_EVENTO_PACIENTE ON RESULTADO_EVENTO(ID_PACIENTE, ID_EVENTO);
+CREATE INDEX IDX_EVENTO_LABORATORISTA ON RESULTADO_EVENTO(ID_LABORATORISTA, ID_EVENTO);
@@ -0,0 +1,6 @@
+-- ========================================
+-- V1_1: equivalente H2 de oracle/V1_1 (sin cambios)
+-- En H2 cada servicio tiene solo sus tablas, por lo que no existe USUARIOS
+-- para la FK. Se mantiene para que ambas carpetas tengan las mismas
+-- versiones.
+-- ========================================
@@ -0,0 +1,6 @@
+-- ========================================
+-- V1_2: equivalente H2 de oracle/V1_2 (sin ONLINE)
+-- ========================================
+
+DROP INDEX IDX_RESULTADO_FECHA;
+CREATE INDEX IDX_RESULTADO_FECHA ON RESULTADOS_ANALISIS(FECHA_RESULTADO, ID_RESULTADO);
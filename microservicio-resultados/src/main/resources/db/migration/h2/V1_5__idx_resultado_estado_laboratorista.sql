@@ -0,0 +1,6 @@
+-- ========================================
+-- V1_5: equivalente H2 de oracle/V1_5 (sin ONLINE)
+-- ========================================
+
+CREATE INDEX IDX_RESULTADO_ESTADO_LAB ON RESULTADOS_ANALISIS(ESTADO, ID_LABORATORISTA);
+DROP INDEX IDX_RESULTADO_ESTADO;
@@ -0,0 +1,20 @@
+-- ========================================
+-- V2: equivalente H2 de oracle/V2
+-- H2 no tiene particiones ni compresión: solo se crea el archivo
+-- ========================================
+
+CREATE TABLE RESULTADOS_ANALISIS_ARCHIVO (
+    ID_RESULTADO NUMBER PRIMARY KEY,
+    ID_CITA NUMBER NOT NULL,
+    ID_LABORATORISTA NUMBER NOT NULL,
+    ARCHIVO_PDF VARCHAR2(500),
+    OBSERVACIONES VARCHAR2(1000),
+    FECHA_RESULTADO TIMESTAMP NOT NULL,
+    ESTADO VARCHAR2(50) NOT NULL,
+    VALORES_MEDIDOS CLOB,
+    FECHA_CREACION TIMESTAMP,
+    FECHA_ARCHIVO TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_RESULTADO_ARCH_FECHA ON RESULTADOS_ANALISIS_ARCHIVO(FECHA_RESULTADO, ID_RESULTADO);
+CREATE INDEX IDX_RESULTADO_ARCH_CITA ON RESULTADOS_ANALISIS_ARCHIVO(ID_CITA);
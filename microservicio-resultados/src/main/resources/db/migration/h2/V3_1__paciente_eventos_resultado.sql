@@ -0,0 +1,6 @@
+-- ========================================
+-- V3_1: equivalente H2 de oracle/V3_1 (sin cambios)
+-- En H2 no existe CITAS: los eventos quedan sin paciente y solo se publican en
+-- el canal del laboratorista. Se mantiene para que ambas carpetas tengan las
+-- mismas versiones.
+-- ========================================
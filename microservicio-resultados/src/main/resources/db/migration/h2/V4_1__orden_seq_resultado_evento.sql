@@ -0,0 +1,5 @@
+-- ========================================
+-- V4_1: equivalente H2 de oracle/V4_1 (sin cambios)
+-- H2 es una sola instancia: la secuencia ya entrega los IDs en orden. Se
+-- mantiene para que ambas carpetas tengan las mismas versiones.
+-- ========================================
@@ -0,0 +1,11 @@
+-- ========================================
+-- V1_1: FK HACIA TABLAS DE OTROS SERVICIOS (ESQUEMA COMPARTIDO EN ORACLE)
+-- Requiere que el microservicio de usuarios haya creado USUARIOS. No hay FK
+-- hacia CITAS: citas y resultados se archivan por separado (ver V2)
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+ALTER TABLE RESULTADOS_ANALISIS ADD CONSTRAINT FK_RESULTADO_LABORATORISTA
+    FOREIGN KEY (ID_LABORATORISTA) REFERENCES USUARIOS(ID_USUARIO);
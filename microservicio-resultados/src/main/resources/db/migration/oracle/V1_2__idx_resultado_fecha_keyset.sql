@@ -0,0 +1,12 @@
+-- ========================================
+-- V1_2: ÍNDICE DE FECHA PARA LA PAGINACIÓN POR CURSOR
+-- Los listados ordenan por (FECHA_RESULTADO, ID_RESULTADO) y continúan desde
+-- el último par leído: el índice incluye ID_RESULTADO para resolver el orden y
+-- el cursor sin leer la tabla.
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+DROP INDEX IDX_RESULTADO_FECHA;
+CREATE INDEX IDX_RESULTADO_FECHA ON RESULTADOS_ANALISIS(FECHA_RESULTADO, ID_RESULTADO) ONLINE;
@@ -0,0 +1,12 @@
+-- ========================================
+-- V1_5: ÍNDICE COMPUESTO ESTADO + LABORATORISTA
+-- findByEstadoAndIdLaboratorista y findResumenByEstado filtran por ambas
+-- columnas. Reemplaza a IDX_RESULTADO_ESTADO, que se elimina cuando el nuevo ya
+-- existe. Para comparar el antes y el después: ResultadoRepositoryBenchmark.
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+CREATE INDEX IDX_RESULTADO_ESTADO_LAB ON RESULTADOS_ANALISIS(ESTADO, ID_LABORATORISTA) ONLINE;
+DROP INDEX IDX_RESULTADO_ESTADO;
@@ -0,0 +1,58 @@
+-- ========================================
+-- V2: PARTICIÓN MENSUAL Y ARCHIVO DE RESULTADOS
+-- RESULTADOS_ANALISIS pasa a particiones mensuales por FECHA_RESULTADO (las
+-- consultas por fecha leen solo los meses pedidos) y se crea el archivo
+-- comprimido al que ArchivadorResultados mueve los resultados antiguos.
+-- ========================================
+
+-- Esperar locks en vez de fallar en tablas con tráfico
+ALTER SESSION SET DDL_LOCK_TIMEOUT = 30;
+
+-- El archivo de citas y el de resultados avanzan por separado: archivar una cita
+-- no debe eliminar en cascada su resultado. Las versiones anteriores de
+-- db/init.sql creaban FK_RESULTADO_CITA; se elimina si existe (también lo hace
+-- la V2 de laboratorios, el que corra primero). ID_CITA queda sin validar.
+BEGIN
+  FOR fk IN (SELECT table_name, constraint_name FROM user_constraints
+             WHERE constraint_name = 'FK_RESULTADO_CITA') LOOP
+    EXECUTE IMMEDIATE 'ALTER TABLE ' || fk.table_name || ' DROP CONSTRAINT ' || fk.constraint_name;
+  END LOOP;
+END;
+/
+
+-- La clave de partición de intervalo no admite nulos
+UPDATE RESULTADOS_ANALISIS
+   SET FECHA_RESULTADO = NVL(FECHA_CREACION, CURRENT_TIMESTAMP)
+ WHERE FECHA_RESULTADO IS NULL;
+ALTER TABLE RESULTADOS_ANALISIS MODIFY (FECHA_RESULTADO NOT NULL);
+
+-- Conversión en línea (sin bloquear lecturas ni escrituras). IDX_RESULTADO_FECHA
+-- empieza por la clave de partición y pasa a ser local; el resto de los índices
+-- (por laboratorista, estado o cita, sin fecha) quedan globales.
+ALTER TABLE RESULTADOS_ANALISIS MODIFY
+    PARTITION BY RANGE (FECHA_RESULTADO) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+    (PARTITION P_RESULTADOS_ANTES_2025 VALUES LESS THAN (TIMESTAMP '2025-01-01 00:00:00'))
+    ONLINE
+    UPDATE INDEXES (IDX_RESULTADO_FECHA LOCAL);
+
+-- Cambiar FECHA_RESULTADO a otro mes cambia la partición (sin esto, ORA-14402)
+ALTER TABLE RESULTADOS_ANALISIS ENABLE ROW MOVEMENT;
+
+-- Archivo: mismas columnas, sin FK, comprimido (filas y CLOB)
+CREATE TABLE RESULTADOS_ANALISIS_ARCHIVO (
+    ID_RESULTADO NUMBER PRIMARY KEY,
+    ID_CITA NUMBER NOT NULL,
+    ID_LABORATORISTA NUMBER NOT NULL,
+    ARCHIVO_PDF VARCHAR2(500),
+    OBSERVACIONES VARCHAR2(1000),
+    FECHA_RESULTADO TIMESTAMP NOT NULL,
+    ESTADO VARCHAR2(50) NOT NULL,
+    VALORES_MEDIDOS CLOB,
+    FECHA_CREACION TIMESTAMP,
+    FECHA_ARCHIVO TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+)
+ROW STORE COMPRESS ADVANCED
+LOB (VALORES_MEDIDOS) STORE AS SECUREFILE (COMPRESS MEDIUM);
+
+CREATE INDEX IDX_RESULTADO_ARCH_FECHA ON RESULTADOS_ANALISIS_ARCHIVO(FECHA_RESULTADO, ID_RESULTADO);
+CREATE INDEX IDX_RESULTADO_ARCH_CITA ON RESULTADOS_ANALISIS_ARCHIVO(ID_CITA);
@@ -0,0 +1,18 @@
+-- ========================================
+-- V3_1: PACIENTE DE CADA EVENTO DE RESULTADO (ESQUEMA COMPARTIDO EN ORACLE)
+-- Los resultados no guardan el paciente: está en la cita, en la tabla CITAS del
+-- microservicio de laboratorios. El trigger lo copia al evento al insertarlo,
+-- dentro de la misma transacción, para el canal de suscripción por paciente.
+-- ========================================
+
+CREATE OR REPLACE TRIGGER TRG_EVENTO_PACIENTE
+BEFORE INSERT ON RESULTADO_EVENTO
+FOR EACH ROW
+WHEN (NEW.ID_PACIENTE IS NULL)
+BEGIN
+  SELECT ID_PACIENTE INTO :NEW.ID_PACIENTE FROM CITAS WHERE ID_CITA = :NEW.ID_CITA;
+EXCEPTION
+  WHEN NO_DATA_FOUND THEN
+    NULL;
+END;
+/
@@ -0,0 +1,9 @@
+-- ========================================
+-- V4_1: SEQ_RESULTADO_EVENTO con ORDER
+-- DespachadorEventos avanza por ID_EVENTO y solo espera resultados.eventos.ventana
+-- a que se confirmen los IDs que faltan. Sin ORDER, en un clúster RAC (Autonomous
+-- Database) cada instancia entrega su propio rango del caché y un ID menor puede
+-- crearse mucho después que uno mayor.
+-- ========================================
+
+ALTER SEQUENCE SEQ_RESULTADO_EVENTO ORDER;
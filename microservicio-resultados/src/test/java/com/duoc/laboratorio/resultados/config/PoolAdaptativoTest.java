@@ -0,0 +1,82 @@
+package com.duoc.laboratorio.resultados.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests unitarios para PoolAdaptativo
+ */
+@DisplayName("Tests de PoolAdaptativo")
+class PoolAdaptativoTest {
+
+    private PoolAdaptativo poolAdaptativo;
+    private MetricasPoolConexiones.Instantanea inicial;
+
+    @BeforeEach
+    void setUp() {
+        poolAdaptativo = new PoolAdaptativo(mock(HikariDataSource.class),
+            new MetricasPoolConexiones(Duration.ofMillis(500)));
+        ReflectionTestUtils.setField(poolAdaptativo, "minimo", 2);
+        ReflectionTestUtils.setField(poolAdaptativo, "maximo", 6);
+        ReflectionTestUtils.setField(poolAdaptativo, "esperaObjetivo", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(poolAdaptativo, "usoMaximo", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(poolAdaptativo, "ventanasParaReducir", 2);
+        inicial = instantanea(0, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Debe agregar una conexión si hay hilos esperando, sin pasar del máximo")
+    void testSiguienteTamano_Espera() {
+        // Given: 100 préstamos con espera de hasta 50 ms y uso de 10 ms
+        MetricasPoolConexiones.Instantanea actual = instantanea(5, 100, 3, 0);
+
+        // When & Then
+        assertEquals(6, poolAdaptativo.siguienteTamano(5, actual, inicial));
+        assertEquals(6, poolAdaptativo.siguienteTamano(6, actual, inicial));
+    }
+
+    @Test
+    @DisplayName("Con la BD respondiendo lento debe reducir aunque haya espera")
+    void testSiguienteTamano_BdLenta() {
+        // Given: uso mediano de hasta 250 ms
+        MetricasPoolConexiones.Instantanea actual = instantanea(5, 100, 3, 0, 5);
+
+        // When & Then
+        assertEquals(4, poolAdaptativo.siguienteTamano(5, actual, inicial));
+        assertEquals(2, poolAdaptativo.siguienteTamano(2, actual, inicial));
+    }
+
+    @Test
+    @DisplayName("Debe quitar una conexión solo tras varios intervalos con conexiones inactivas")
+    void testSiguienteTamano_Holgura() {
+        // Given: préstamos rápidos y 3 conexiones inactivas
+        MetricasPoolConexiones.Instantanea actual = instantanea(0, 100, 0, 3);
+
+        // When & Then
+        assertEquals(5, poolAdaptativo.siguienteTamano(5, actual, inicial));
+        assertEquals(4, poolAdaptativo.siguienteTamano(5, actual, inicial));
+        assertEquals(4, poolAdaptativo.siguienteTamano(4, actual, inicial));
+    }
+
+    private static MetricasPoolConexiones.Instantanea instantanea(int bucketEspera, long prestamos,
+                                                                   int hilosEnEspera, int inactivas) {
+        return instantanea(bucketEspera, prestamos, hilosEnEspera, inactivas, 2);
+    }
+
+    private static MetricasPoolConexiones.Instantanea instantanea(int bucketEspera, long prestamos,
+                                                                   int hilosEnEspera, int inactivas, int bucketUso) {
+        long[] espera = new long[MetricasPoolConexiones.LIMITES_ESPERA_US.length + 1];
+        long[] uso = new long[MetricasPoolConexiones.LIMITES_USO_MS.length + 1];
+        espera[bucketEspera] = prestamos;
+        uso[bucketUso] = prestamos;
+        return new MetricasPoolConexiones.Instantanea(espera, uso, 0, hilosEnEspera, inactivas);
+    }
+}
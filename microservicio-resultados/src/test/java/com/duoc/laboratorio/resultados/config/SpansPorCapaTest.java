@@ -0,0 +1,136 @@
+package com.duoc.laboratorio.resultados.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la estructura de las trazas: con la aplicación completa sobre H2 y
+ * todas las solicitudes muestreadas, los spans se exportan a un
+ * InMemorySpanExporter en lugar del colector OTLP
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:trazas;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.show-sql=false",
+    "management.tracing.sampling.probability=1.0",
+    "spring.autoconfigure.exclude="
+        + "org.springframework.boot.actuate.autoconfigure.tracing.otlp.OtlpAutoConfiguration"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@DisplayName("Tests de SpansPorCapaAspect")
+class SpansPorCapaTest {
+
+    private static final AttributeKey<String> CAPA = AttributeKey.stringKey(SpansPorCapaAspect.ATRIBUTO_CAPA);
+
+    @TestConfiguration
+    static class ExportadorEnMemoria {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter exportador;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        exportador.reset();
+    }
+
+    @Test
+    @DisplayName("Una solicitud debe generar la cadena HTTP > controlador > servicio > repositorio > JDBC")
+    void testListarResultados_SpansPorCapa() throws Exception {
+        // When
+        MvcResult resultado = mockMvc.perform(get("/api/resultados").param("size", "5"))
+            .andExpect(status().isOk())
+            .andReturn();
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        List<SpanData> spans = exportador.getFinishedSpanItems();
+
+        // Then
+        SpanData http = spans.stream()
+            .filter(span -> span.getKind() == SpanKind.SERVER)
+            .findFirst()
+            .orElseThrow();
+        SpanData controlador = hijo(spans, http, "ResultadoController.listarResultados");
+        SpanData servicio = hijo(spans, controlador, "ResultadoService.listarPagina");
+        SpanData repositorio = hijo(spans, servicio, "ResultadoRepository.findPrimeraPagina");
+        hijo(spans, repositorio, "query");
+
+        assertEquals("controlador", controlador.getAttributes().get(CAPA));
+        assertEquals("repositorio", repositorio.getAttributes().get(CAPA));
+
+        // El traceId de la respuesta y de la cabecera es el de la traza
+        String cuerpo = resultado.getResponse().getContentAsString();
+        assertEquals(http.getTraceId(), objectMapper.readTree(cuerpo).get("traceId").asText());
+        assertEquals(http.getTraceId(), resultado.getResponse().getHeader(ContextoTraza.CABECERA));
+    }
+
+    @Test
+    @DisplayName("Un error en el servicio debe quedar en su span; los métodos heredados llevan el nombre del repositorio")
+    void testObtenerResultado_SpanConError() throws Exception {
+        // When
+        mockMvc.perform(get("/api/resultados/{id}", 999_999_999L))
+            .andExpect(status().isNotFound());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        List<SpanData> spans = exportador.getFinishedSpanItems();
+
+        // Then
+        SpanData servicio = spans.stream()
+            .filter(span -> span.getName().equals("ResultadoService.obtenerPorId"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(StatusCode.ERROR, servicio.getStatus().getStatusCode());
+        hijo(spans, servicio, "ResultadoRepository.findById");
+        hijo(spans, servicio, "ResultadoArchivadoRepository.findById");
+    }
+
+    private static SpanData hijo(List<SpanData> spans, SpanData padre, String nombre) {
+        return spans.stream()
+            .filter(span -> span.getName().equals(nombre))
+            .filter(span -> span.getParentSpanId().equals(padre.getSpanId()))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Sin span " + nombre + " bajo " + padre.getName()
+                + ": " + spans.stream().map(SpanData::getName).toList()));
+    }
+}
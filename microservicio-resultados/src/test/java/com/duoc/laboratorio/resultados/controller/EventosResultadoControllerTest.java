@@ -0,0 +1,240 @@
+package com.duoc.laboratorio.resultados.controller;
+
+import com.duoc.laboratorio.resultados.model.EventoResultado;
+import com.duoc.laboratorio.resultados.repository.EventoResultadoRepository;
+import com.duoc.laboratorio.resultados.service.DespachadorEventos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Tests de EventosResultadoController con DespachadorEventos real y la bandeja
+ * de salida simulada. Las tareas programadas quedan con intervalos largos: el
+ * test llama a despachar() directamente, y los envíos se hacen en el mismo hilo.
+ */
+@WebMvcTest(EventosResultadoController.class)
+@Import(DespachadorEventos.class)
+@TestPropertySource(properties = {
+    "resultados.eventos.intervalo-ms=3600000",
+    "resultados.eventos.latido-ms=3600000"
+})
+@DisplayName("Tests de EventosResultadoController")
+class EventosResultadoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DespachadorEventos despachadorEventos;
+
+    @MockBean
+    private EventoResultadoRepository eventoResultadoRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(despachadorEventos, "ejecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(despachadorEventos, "marca", null);
+        ((Map<?, ?>) ReflectionTestUtils.getField(despachadorEventos, "enviados")).clear();
+    }
+
+    @Test
+    @DisplayName("Debe enviar cada evento nuevo una sola vez al canal del laboratorista")
+    void testSuscribirLaboratorista_RecibeEventos() throws Exception {
+        // Given
+        MockHttpServletResponse respuesta = mockMvc.perform(get("/api/resultados/eventos/laboratorista/3"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+        when(eventoResultadoRepository.ultimoIdAnteriorA(any())).thenReturn(6L);
+        when(eventoResultadoRepository.findByIdEventoGreaterThanOrderByIdEvento(eq(6L), any(Pageable.class)))
+            .thenReturn(List.of(evento(7L, 3L, 2L, "COMPLETADO"), evento(8L, 4L, 2L, "EN_PROCESO")));
+
+        // When
+        despachadorEventos.despachar();
+        despachadorEventos.despachar();
+
+        // Then
+        String contenido = respuesta.getContentAsString();
+        assertTrue(respuesta.getContentType().startsWith("text/event-stream"));
+        assertEquals(1, ocurrencias(contenido, "id:7"));
+        assertTrue(contenido.contains("event:resultado"));
+        assertTrue(contenido.contains("\"estado\":\"COMPLETADO\""));
+        assertFalse(contenido.contains("id:8"), "El evento de otro laboratorista no debe llegar");
+    }
+
+    @Test
+    @DisplayName("Debe enviar un evento que confirma después que otro con un ID mayor")
+    void testDespachar_EventoConfirmadoTarde() throws Exception {
+        // Given: el evento 11 todavía no confirma cuando se lee el 12
+        MockHttpServletResponse respuesta = mockMvc.perform(get("/api/resultados/eventos/laboratorista/5"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+        when(eventoResultadoRepository.ultimoIdAnteriorA(any())).thenReturn(10L);
+        when(eventoResultadoRepository.findByIdEventoGreaterThanOrderByIdEvento(eq(10L), any(Pageable.class)))
+            .thenReturn(List.of(evento(12L, 5L, 2L, "EN_PROCESO")));
+        when(eventoResultadoRepository.findByIdEventoInOrderByIdEvento(List.of(11L)))
+            .thenReturn(List.of())
+            .thenReturn(List.of(evento(11L, 5L, 2L, "COMPLETADO")));
+
+        // When
+        despachadorEventos.despachar();
+        despachadorEventos.despachar();
+        despachadorEventos.despachar();
+
+        // Then: el 11 se buscó por ID hasta aparecer y la marca avanzó hasta el 12
+        String contenido = respuesta.getContentAsString();
+        assertEquals(1, ocurrencias(contenido, "id:11"));
+        assertEquals(1, ocurrencias(contenido, "id:12"));
+        verify(eventoResultadoRepository, times(1))
+            .findByIdEventoGreaterThanOrderByIdEvento(eq(10L), any(Pageable.class));
+        verify(eventoResultadoRepository, times(2)).findByIdEventoInOrderByIdEvento(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Con más de una página enviada por sobre un hueco debe seguir entregando los eventos nuevos")
+    void testDespachar_HuecoConMasDeUnaPaginaEnviada() throws Exception {
+        // Given: el evento 1 no confirma y ya se leyó una página completa (1000) de eventos posteriores
+        MockHttpServletResponse respuesta = mockMvc.perform(get("/api/resultados/eventos/laboratorista/7"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+        List<EventoResultado> pagina = new ArrayList<>();
+        for (long id = 2; id <= 1001; id++) {
+            pagina.add(evento(id, 8L, 2L, "EN_PROCESO"));
+        }
+        long ultimo = 1001L;
+        when(eventoResultadoRepository.ultimoIdAnteriorA(any())).thenReturn(0L);
+        when(eventoResultadoRepository.findByIdEventoGreaterThanOrderByIdEvento(eq(0L), any(Pageable.class)))
+            .thenReturn(pagina);
+        when(eventoResultadoRepository.findByIdEventoGreaterThanOrderByIdEvento(eq(ultimo), any(Pageable.class)))
+            .thenReturn(List.of())
+            .thenReturn(List.of(evento(ultimo + 1, 7L, 2L, "COMPLETADO")));
+
+        // When
+        despachadorEventos.despachar();
+        despachadorEventos.despachar();
+
+        // Then: la lectura continúa desde el último enviado y el hueco se busca solo por su ID
+        assertEquals(1, ocurrencias(respuesta.getContentAsString(), "id:" + (ultimo + 1)));
+        verify(eventoResultadoRepository, times(1))
+            .findByIdEventoGreaterThanOrderByIdEvento(eq(0L), any(Pageable.class));
+        verify(eventoResultadoRepository, times(2)).findByIdEventoInOrderByIdEvento(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Debe dejar de buscar un ID faltante cuando el evento siguiente supera la ventana")
+    void testDespachar_HuecoVencido() {
+        // Given
+        DespachadorEventos despachador = nuevoDespachador(Runnable::run);
+        ReflectionTestUtils.setField(despachador, "ventana", Duration.ZERO);
+        despachador.suscribirLaboratorista(3L, null);
+        when(eventoResultadoRepository.ultimoIdAnteriorA(any())).thenReturn(0L);
+        when(eventoResultadoRepository.findByIdEventoGreaterThanOrderByIdEvento(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(evento(2L, 3L, 2L, "EN_PROCESO")));
+
+        // When
+        despachador.despachar();
+        despachador.despachar();
+
+        // Then: la marca pasó al 2 y el 1 se buscó una sola vez
+        verify(eventoResultadoRepository, times(1)).findByIdEventoInOrderByIdEvento(List.of(1L));
+        verify(eventoResultadoRepository).findByIdEventoGreaterThanOrderByIdEvento(eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Debe cerrar la conexión de un cliente que acumula demasiados envíos pendientes")
+    void testDespachar_ClienteLento() {
+        // Given: ningún hilo procesa los envíos, quedan en la cola de la conexión
+        List<Runnable> envios = new ArrayList<>();
+        DespachadorEventos despachador = nuevoDespachador(envios::add);
+        ReflectionTestUtils.setField(despachador, "maxPendientes", 2);
+        despachador.suscribirLaboratorista(3L, null);
+        when(eventoResultadoRepository.ultimoIdAnteriorA(any())).thenReturn(0L);
+        when(eventoResultadoRepository.findByIdEventoGreaterThanOrderByIdEvento(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(evento(1L, 3L, 2L, "EN_PROCESO"), evento(2L, 3L, 2L, "COMPLETADO")));
+
+        // When
+        despachador.despachar();
+
+        // Then: el comentario inicial y el evento 1 caben; el evento 2 cierra la conexión
+        Integer abiertas = ReflectionTestUtils.invokeMethod(despachador, "suscripcionesAbiertas");
+        assertEquals(0, abiertas.intValue());
+    }
+
+    @Test
+    @DisplayName("Al reconectar con Last-Event-ID debe reenviar los eventos pendientes del paciente")
+    void testSuscribirPaciente_Reconexion() throws Exception {
+        // Given
+        when(eventoResultadoRepository.findByIdPacienteAndIdEventoGreaterThanOrderByIdEvento(
+                eq(2L), eq(6L), any(Pageable.class)))
+            .thenReturn(List.of(evento(7L, 3L, 2L, "COMPLETADO")));
+
+        // When
+        MockHttpServletResponse respuesta = mockMvc.perform(get("/api/resultados/eventos/paciente/2")
+                .header("Last-Event-ID", "6"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+
+        // Then
+        assertEquals(1, ocurrencias(respuesta.getContentAsString(), "id:7"));
+    }
+
+    @Test
+    @DisplayName("Sin suscriptores no debe consultar la bandeja de salida")
+    void testDespachar_SinSuscriptores() {
+        // Given: instancia propia, la del contexto conserva las conexiones de otros tests
+        DespachadorEventos sinSuscriptores = nuevoDespachador(Runnable::run);
+
+        // When
+        sinSuscriptores.despachar();
+
+        // Then
+        verify(eventoResultadoRepository, never()).ultimoIdAnteriorA(any());
+        verify(eventoResultadoRepository, never()).findByIdEventoGreaterThanOrderByIdEvento(anyLong(), any());
+    }
+
+    private DespachadorEventos nuevoDespachador(Executor ejecutor) {
+        DespachadorEventos despachador = new DespachadorEventos(eventoResultadoRepository);
+        ReflectionTestUtils.setField(despachador, "ventana", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(despachador, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(despachador, "maxPendientes", 1000);
+        ReflectionTestUtils.setField(despachador, "ejecutor", ejecutor);
+        return despachador;
+    }
+
+    private static EventoResultado evento(Long idEvento, Long idLaboratorista, Long idPaciente, String estado) {
+        return new EventoResultado(idEvento, 10L + idEvento, 20L + idEvento, idLaboratorista, idPaciente,
+            estado, "PENDIENTE", LocalDateTime.now());
+    }
+
+    private static int ocurrencias(String texto, String buscado) {
+        return texto.split(buscado, -1).length - 1;
+    }
+}
@@ -2,9 +2,17 @@ package com.duoc.laboratorio.resultados.controller;
 
 import com.duoc.laboratorio.resultados.dto.ActualizarResultadoRequest;
 import com.duoc.laboratorio.resultados.dto.CrearResultadoRequest;
+import com.duoc.laboratorio.resultados.dto.PaginaDTO;
 import com.duoc.laboratorio.resultados.dto.ResultadoDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoValorDTO;
+import com.duoc.laboratorio.resultados.dto.TransicionLoteDTO;
+import com.duoc.laboratorio.resultados.dto.TransicionLoteResultadosRequest;
 import com.duoc.laboratorio.resultados.exception.BadRequestException;
+import com.duoc.laboratorio.resultados.exception.ConflictException;
 import com.duoc.laboratorio.resultados.exception.ResourceNotFoundException;
+import com.duoc.laboratorio.resultados.service.ArchivadorResultados;
+import com.duoc.laboratorio.resultados.service.BackfillValoresService;
 import com.duoc.laboratorio.resultados.service.ResultadoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,14 +23,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.Writer;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,7 +57,14 @@ class ResultadoControllerTest {
     @MockBean
     private ResultadoService resultadoService;
 
+    @MockBean
+    private BackfillValoresService backfillValoresService;
+
+    @MockBean
+    private ArchivadorResultados archivadorResultados;
+
     private ResultadoDTO resultadoDTO;
+    private ResultadoResumenDTO resumenDTO;
     private CrearResultadoRequest crearRequest;
 
     @BeforeEach
@@ -61,6 +81,10 @@ class ResultadoControllerTest {
         resultadoDTO.setValoresMedidos("{\"hemoglobina\": \"14.5 g/dL\"}");
         resultadoDTO.setFechaCreacion(LocalDateTime.now());
 
+        // Configurar resumen usado por los listados
+        resumenDTO = new ResultadoResumenDTO(1L, 1L, 3L, "/resultados/2025/resultado_1.pdf",
+            "Resultado normal", resultadoDTO.getFechaResultado(), "COMPLETADO", resultadoDTO.getFechaCreacion());
+
         // Configurar request de creación
         crearRequest = new CrearResultadoRequest();
         crearRequest.setIdCita(1L);
@@ -105,20 +129,136 @@ class ResultadoControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/resultados - Debe listar todos los resultados")
+    @DisplayName("GET /api/resultados - Debe listar la primera página de resultados")
     void testListarResultados() throws Exception {
         // Given
-        List<ResultadoDTO> resultados = Arrays.asList(resultadoDTO);
-        when(resultadoService.listarTodos()).thenReturn(resultados);
+        PaginaDTO<ResultadoResumenDTO> pagina = new PaginaDTO<>(Arrays.asList(resumenDTO), "c2lndWllbnRl");
+        when(resultadoService.listarPagina(null, 50)).thenReturn(pagina);
 
         // When & Then
         mockMvc.perform(get("/api/resultados"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.code").value("SUCCESS"))
             .andExpect(jsonPath("$.data", hasSize(1)))
-            .andExpect(jsonPath("$.data[0].estado").value("COMPLETADO"));
+            .andExpect(jsonPath("$.data[0].estado").value("COMPLETADO"))
+            .andExpect(jsonPath("$.data[0].valoresMedidos").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor").value("c2lndWllbnRl"));
+
+        verify(resultadoService, times(1)).listarPagina(null, 50);
+    }
+
+    @Test
+    @DisplayName("GET /api/resultados?cursor= - Debe omitir nextCursor en la última página")
+    void testListarResultados_UltimaPagina() throws Exception {
+        // Given
+        PaginaDTO<ResultadoResumenDTO> pagina = new PaginaDTO<>(Arrays.asList(resumenDTO), null);
+        when(resultadoService.listarPagina("c2lndWllbnRl", 10)).thenReturn(pagina);
 
-        verify(resultadoService, times(1)).listarTodos();
+        // When & Then
+        mockMvc.perform(get("/api/resultados")
+                .param("cursor", "c2lndWllbnRl")
+                .param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/resultados/exportar - Debe transmitir resultados como NDJSON")
+    @SuppressWarnings("unchecked")
+    void testExportarResultados() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<ResultadoDTO> consumidor = invocation.getArgument(0);
+            consumidor.accept(resultadoDTO);
+            consumidor.accept(resultadoDTO);
+            return null;
+        }).when(resultadoService).recorrerTodos(any());
+
+        // When
+        MvcResult asincrono = mockMvc.perform(get("/api/resultados/exportar")
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        MvcResult resultado = mockMvc.perform(asyncDispatch(asincrono))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+        String[] lineas = resultado.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals(1, objectMapper.readTree(lineas[0]).get("idResultado").asInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/resultados/{id}/valores - Debe transmitir los valores medidos")
+    void testObtenerValoresMedidos() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Writer writer = invocation.getArgument(1);
+            writer.write(resultadoDTO.getValoresMedidos());
+            return null;
+        }).when(resultadoService).escribirValoresMedidos(eq(1L), any(Writer.class));
+
+        // When
+        MvcResult asincrono = mockMvc.perform(get("/api/resultados/1/valores"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(asincrono))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.hemoglobina").value("14.5 g/dL"));
+    }
+
+    @Test
+    @DisplayName("GET /api/resultados/{id}/valores - Debe retornar 404 si el resultado no existe")
+    void testObtenerValoresMedidos_NoEncontrado() throws Exception {
+        // Given
+        doThrow(new ResourceNotFoundException("Resultado", 999L))
+            .when(resultadoService).escribirValoresMedidos(eq(999L), any(Writer.class));
+
+        // When
+        MvcResult asincrono = mockMvc.perform(get("/api/resultados/999/valores"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(asincrono))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/resultados/valores - Debe buscar valores por analito y rango")
+    void testBuscarValores() throws Exception {
+        // Given
+        ResultadoValorDTO valor = new ResultadoValorDTO(1L, "glucosa", new BigDecimal("130"), "mg/dL",
+            new BigDecimal("70"), new BigDecimal("100"), LocalDateTime.of(2025, 11, 5, 10, 0), true);
+        when(resultadoService.buscarValores(eq("glucosa"), eq(new BigDecimal("126")), isNull(),
+                eq(LocalDateTime.of(2025, 11, 1, 0, 0)), isNull(), eq(100)))
+            .thenReturn(List.of(valor));
+
+        // When & Then
+        mockMvc.perform(get("/api/resultados/valores")
+                .param("analito", "glucosa")
+                .param("min", "126")
+                .param("desde", "2025-11-01T00:00:00"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.data[0].valorNumerico").value(130))
+            .andExpect(jsonPath("$.data[0].fueraDeRango").value(true));
+    }
+
+    @Test
+    @DisplayName("POST /api/resultados/valores/backfill - Debe iniciar el backfill y responder 202")
+    void testBackfillValores() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/resultados/valores/backfill"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.message").value("Backfill de valores medidos iniciado"));
+        verify(backfillValoresService, times(1)).iniciar();
     }
 
     @Test
@@ -170,7 +310,7 @@ class ResultadoControllerTest {
     @DisplayName("GET /api/resultados/laboratorista/{id} - Debe obtener resultados por laboratorista")
     void testObtenerResultadosPorLaboratorista() throws Exception {
         // Given
-        List<ResultadoDTO> resultados = Arrays.asList(resultadoDTO);
+        List<ResultadoResumenDTO> resultados = Arrays.asList(resumenDTO);
         when(resultadoService.listarPorLaboratorista(3L)).thenReturn(resultados);
 
         // When & Then
@@ -187,7 +327,7 @@ class ResultadoControllerTest {
     @DisplayName("GET /api/resultados/estado/{estado} - Debe obtener resultados por estado")
     void testObtenerResultadosPorEstado() throws Exception {
         // Given
-        List<ResultadoDTO> resultados = Arrays.asList(resultadoDTO);
+        List<ResultadoResumenDTO> resultados = Arrays.asList(resumenDTO);
         when(resultadoService.listarPorEstado("COMPLETADO")).thenReturn(resultados);
 
         // When & Then
@@ -229,7 +369,7 @@ class ResultadoControllerTest {
         Map<String, String> body = new HashMap<>();
         body.put("estado", "REVISADO");
 
-        when(resultadoService.cambiarEstado(1L, "REVISADO")).thenReturn(resultadoDTO);
+        when(resultadoService.cambiarEstado(1L, "REVISADO", null, null)).thenReturn(resultadoDTO);
 
         // When & Then
         mockMvc.perform(patch("/api/resultados/1/estado")
@@ -239,7 +379,7 @@ class ResultadoControllerTest {
             .andExpect(jsonPath("$.code").value("SUCCESS"))
             .andExpect(jsonPath("$.message").value("Estado del resultado actualizado"));
 
-        verify(resultadoService, times(1)).cambiarEstado(1L, "REVISADO");
+        verify(resultadoService, times(1)).cambiarEstado(1L, "REVISADO", null, null);
     }
 
     @Test
@@ -249,7 +389,7 @@ class ResultadoControllerTest {
         Map<String, String> body = new HashMap<>();
         body.put("estado", "INVALIDO");
 
-        when(resultadoService.cambiarEstado(1L, "INVALIDO"))
+        when(resultadoService.cambiarEstado(1L, "INVALIDO", null, null))
             .thenThrow(new BadRequestException("Estado no válido"));
 
         // When & Then
@@ -258,7 +398,52 @@ class ResultadoControllerTest {
                 .content(objectMapper.writeValueAsString(body)))
             .andExpect(status().isBadRequest());
 
-        verify(resultadoService, times(1)).cambiarEstado(1L, "INVALIDO");
+        verify(resultadoService, times(1)).cambiarEstado(1L, "INVALIDO", null, null);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/resultados/{id}/estado - Debe retornar 409 con la versión actual si el resultado cambió")
+    void testCambiarEstado_Conflicto() throws Exception {
+        // Given
+        Map<String, String> body = new HashMap<>();
+        body.put("estado", "REVISADO");
+        body.put("estadoEsperado", "COMPLETADO");
+        body.put("version", "3");
+
+        when(resultadoService.cambiarEstado(1L, "REVISADO", "COMPLETADO", 3L))
+            .thenThrow(new ConflictException("El resultado 1 fue modificado por otra operación", 4L));
+
+        // When & Then
+        mockMvc.perform(patch("/api/resultados/1/estado")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.data.versionActual").value(4));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/resultados/estado/lote - Debe informar actualizados y omitidos")
+    void testCambiarEstadoLote() throws Exception {
+        // Given
+        Map<String, String> body = new HashMap<>();
+        body.put("estado", "REVISADO");
+        body.put("desde", "2025-11-01T00:00:00");
+        body.put("hasta", "2025-11-30T00:00:00");
+
+        when(resultadoService.cambiarEstadoLote(any(TransicionLoteResultadosRequest.class)))
+            .thenReturn(new TransicionLoteDTO("REVISADO", 2, 1L, List.of(
+                new TransicionLoteDTO.Omitido(5L, "EN_PROCESO", "Transición no permitida: EN_PROCESO -> REVISADO"))));
+
+        // When & Then
+        mockMvc.perform(patch("/api/resultados/estado/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.actualizados").value(2))
+            .andExpect(jsonPath("$.data.detalleOmitidos[0].idResultado").value(5));
+
+        verify(resultadoService, times(1)).cambiarEstadoLote(argThat(request ->
+            request.getEstado().equals("REVISADO") && request.getIdLaboratorista() == null));
     }
 
     @Test
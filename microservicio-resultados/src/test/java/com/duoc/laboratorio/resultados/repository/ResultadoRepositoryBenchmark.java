@@ -0,0 +1,230 @@
+package com.duoc.laboratorio.resultados.repository;
+
+import com.duoc.laboratorio.resultados.ResultadosApplication;
+import com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO;
+import com.duoc.laboratorio.resultados.model.Resultado;
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark JMH de todas las consultas de los repositorios de resultados
+ *
+ * Levanta la aplicación sin servidor web sobre H2 en modo Oracle, con el esquema
+ * generado desde las entidades (mismos índices que las migraciones), siembra un
+ * conjunto sintético reproducible (semilla fija) y mide la latencia de cada
+ * método. Sirve para comparar cambios de esquema o de consultas: correrlo antes
+ * y después y comparar los percentiles.
+ *
+ * Ejecutar: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.duoc.laboratorio.resultados.repository.ResultadoRepositoryBenchmark
+ * Para otro volumen: -Dexec.args="-p totalResultados=1000000"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultadoRepositoryBenchmark {
+
+    private static final int TOTAL_LABORATORISTAS = 100;
+    private static final String[] ESTADOS = {"PENDIENTE", "EN_PROCESO", "COMPLETADO", "REVISADO"};
+    private static final String[] ANALITOS = {"glucosa", "colesterol_total", "hemoglobina", "tsh", "creatinina"};
+
+    @Param({"200000"})
+    public int totalResultados;
+
+    private ConfigurableApplicationContext contexto;
+    private ResultadoRepository resultadoRepository;
+    private ResultadoValorRepository resultadoValorRepository;
+    private TransactionTemplate transactionTemplate;
+
+    private final Long idLaboratorista = 17L;
+    private final Pageable limite = PageRequest.of(0, 51);
+    private LocalDateTime ahora;
+    private Long idMedio;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        contexto = new SpringApplicationBuilder(ResultadosApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                // No cargar application.yml (conexión a Oracle Cloud)
+                "--spring.config.name=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                // Esquema desde las entidades, sin los datos iniciales de las migraciones
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.hibernate.naming.physical-strategy="
+                    + "org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl",
+                "--logging.level.root=WARN"
+            );
+        resultadoRepository = contexto.getBean(ResultadoRepository.class);
+        resultadoValorRepository = contexto.getBean(ResultadoValorRepository.class);
+        transactionTemplate = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        ahora = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        idMedio = (long) totalResultados / 2;
+        sembrar(contexto.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    /**
+     * Datos sintéticos: resultados del último año, uno de cada cinco sin valores
+     * normalizados (pendientes de backfill) y el resto con un valor por analito
+     */
+    private void sembrar(JdbcTemplate jdbc) {
+        Random random = new Random(42);
+        List<Object[]> resultados = new ArrayList<>(10_000);
+        List<Object[]> valores = new ArrayList<>(50_000);
+        long idValor = 1;
+        for (long id = 1; id <= totalResultados; id++) {
+            Timestamp fecha = Timestamp.valueOf(ahora.minusMinutes(random.nextInt(365 * 24 * 60)));
+            resultados.add(new Object[]{id, id, 1 + random.nextInt(TOTAL_LABORATORISTAS), null, null, fecha,
+                ESTADOS[random.nextInt(ESTADOS.length)], "{\"glucosa\": {\"valor\": 95, \"unidad\": \"mg/dL\"}}", fecha});
+            if (id % 5 != 0) {
+                for (String analito : ANALITOS) {
+                    valores.add(new Object[]{idValor++, id, analito,
+                        BigDecimal.valueOf(50 + random.nextInt(200)), "mg/dL", fecha});
+                }
+            }
+            if (resultados.size() == 10_000 || id == totalResultados) {
+                jdbc.batchUpdate("INSERT INTO RESULTADOS_ANALISIS (ID_RESULTADO, ID_CITA, ID_LABORATORISTA, " +
+                    "ARCHIVO_PDF, OBSERVACIONES, FECHA_RESULTADO, ESTADO, VALORES_MEDIDOS, FECHA_CREACION) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", resultados);
+                jdbc.batchUpdate("INSERT INTO RESULTADO_VALOR (ID_VALOR, ID_RESULTADO, ANALITO, VALOR_NUMERICO, " +
+                    "UNIDAD, FECHA_RESULTADO) VALUES (?, ?, ?, ?, ?, ?)", valores);
+                resultados.clear();
+                valores.clear();
+            }
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    // ========== ResultadoRepository ==========
+
+    @Benchmark
+    public Optional<Resultado> findById() {
+        return resultadoRepository.findById(idMedio);
+    }
+
+    @Benchmark
+    public Optional<Resultado> findByIdCita() {
+        return resultadoRepository.findByIdCita(idMedio);
+    }
+
+    @Benchmark
+    public boolean existsByIdCita() {
+        return resultadoRepository.existsByIdCita(idMedio);
+    }
+
+    @Benchmark
+    public List<ResultadoResumenDTO> findResumenByIdLaboratorista() {
+        return resultadoRepository.findResumenByIdLaboratorista(idLaboratorista);
+    }
+
+    @Benchmark
+    public List<ResultadoResumenDTO> findResumenByEstado() {
+        return resultadoRepository.findResumenByEstado("EN_PROCESO");
+    }
+
+    @Benchmark
+    public List<Resultado> findByEstadoAndIdLaboratorista() {
+        return resultadoRepository.findByEstadoAndIdLaboratorista("PENDIENTE", idLaboratorista);
+    }
+
+    @Benchmark
+    public List<ResultadoResumenDTO> findPrimeraPagina() {
+        return resultadoRepository.findPrimeraPagina(limite);
+    }
+
+    @Benchmark
+    public List<ResultadoResumenDTO> findPaginaSiguiente() {
+        return resultadoRepository.findPaginaSiguiente(ahora.minusDays(180), idMedio, limite);
+    }
+
+    @Benchmark
+    public List<Resultado> streamAllOrderByFechaDesc() {
+        return transactionTemplate.execute(status -> {
+            try (Stream<Resultado> resultados = resultadoRepository.streamAllOrderByFechaDesc()) {
+                return resultados.limit(500).toList();
+            }
+        });
+    }
+
+    @Benchmark
+    public List<Long> findIdsSinValores() {
+        return resultadoRepository.findIdsSinValores(idMedio, PageRequest.of(0, 500));
+    }
+
+    @Benchmark
+    public String copiarValoresMedidos() {
+        return transactionTemplate.execute(status -> {
+            StringWriter destino = new StringWriter();
+            resultadoRepository.copiarValoresMedidos(idMedio, destino);
+            return destino.toString();
+        });
+    }
+
+    // ========== ResultadoValorRepository ==========
+
+    @Benchmark
+    public List<ResultadoValor> valorFindByIdResultado() {
+        return resultadoValorRepository.findByIdResultado(idMedio + 1);
+    }
+
+    @Benchmark
+    public List<ResultadoValor> valorFindByAnalitoYRango() {
+        Specification<ResultadoValor> filtro = Specification
+            .where(ResultadoValorRepository.analito("glucosa"))
+            .and(ResultadoValorRepository.valorMayorOIgual(BigDecimal.valueOf(180)))
+            .and(ResultadoValorRepository.fechaDesde(ahora.minusDays(30)));
+        return resultadoValorRepository.findBy(filtro, consulta -> consulta
+            .sortBy(Sort.by(Sort.Direction.DESC, "fechaResultado"))
+            .limit(100)
+            .all());
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ResultadoRepositoryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
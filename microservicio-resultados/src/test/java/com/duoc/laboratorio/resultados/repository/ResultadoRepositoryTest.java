@@ -0,0 +1,163 @@
+package com.duoc.laboratorio.resultados.repository;
+
+import com.duoc.laboratorio.resultados.dto.ResultadoTransicionDTO;
+import com.duoc.laboratorio.resultados.model.Resultado;
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de ResultadoRepository contra H2 en modo Oracle, con el esquema creado
+ * por las migraciones de Flyway
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.test.database.replace=none",
+    "spring.datasource.url=jdbc:h2:mem:resultados;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.show-sql=false"
+})
+@DisplayName("Tests de ResultadoRepository")
+class ResultadoRepositoryTest {
+
+    @Autowired
+    private ResultadoRepository resultadoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Debe mover la fecha de un resultado a otro mes (otra partición en Oracle)")
+    void testActualizarFechaResultado_OtroMes() {
+        // Given
+        Resultado resultado = resultado(900_001L, LocalDateTime.of(2025, 1, 31, 23, 30));
+        entityManager.persistAndFlush(resultado);
+        entityManager.clear();
+
+        // When
+        Resultado leido = resultadoRepository.findById(resultado.getIdResultado()).orElseThrow();
+        leido.setFechaResultado(LocalDateTime.of(2025, 2, 1, 0, 30));
+        resultadoRepository.saveAndFlush(leido);
+        entityManager.clear();
+
+        // Then
+        Resultado movido = resultadoRepository.findById(resultado.getIdResultado()).orElseThrow();
+        assertEquals(LocalDateTime.of(2025, 2, 1, 0, 30), movido.getFechaResultado());
+        assertEquals(1L, movido.getVersion());
+    }
+
+    @Test
+    @DisplayName("H2 no tiene particiones: la migración de Oracle debe habilitar el movimiento de filas")
+    void testMigracionOracle_HabilitaMovimientoDeFilas() throws IOException {
+        // When
+        String migracion = new ClassPathResource("db/migration/oracle/V2__particion_mensual_y_archivo_resultados.sql")
+            .getContentAsString(StandardCharsets.UTF_8);
+
+        // Then
+        assertTrue(migracion.contains("ALTER TABLE RESULTADOS_ANALISIS ENABLE ROW MOVEMENT"));
+    }
+
+    @Test
+    @DisplayName("Debe indicar con un valor tipado si cada omitido tiene valores medidos")
+    void testFindOmitidosTransicion_TieneValoresMedidos() {
+        // Given
+        Resultado sinValores = resultado(900_002L, LocalDateTime.of(2025, 3, 10, 9, 0));
+        sinValores.setEstado("EN_PROCESO");
+        Resultado conValores = resultado(900_003L, LocalDateTime.of(2025, 3, 11, 9, 0));
+        conValores.setEstado("EN_PROCESO");
+        conValores.setValoresMedidos("{\"glucosa\": 95}");
+        entityManager.persist(sinValores);
+        entityManager.persist(conValores);
+        entityManager.flush();
+
+        // When
+        List<ResultadoTransicionDTO> omitidos = resultadoRepository.findOmitidosTransicion(
+            LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 3, 31, 0, 0), 3L, null, "REVISADO",
+            PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(2, omitidos.size());
+        assertEquals(sinValores.getIdResultado(), omitidos.get(0).getIdResultado());
+        assertEquals("EN_PROCESO", omitidos.get(0).getEstado());
+        assertFalse(omitidos.get(0).isTieneValoresMedidos());
+        assertEquals(conValores.getIdResultado(), omitidos.get(1).getIdResultado());
+        assertTrue(omitidos.get(1).isTieneValoresMedidos());
+    }
+
+    @Test
+    @DisplayName("El backfill debe bloquear solo los resultados del lote que siguen sin valores")
+    void testFindSinValoresParaBackfill_OmiteLosQueYaTienenValores() {
+        // Given
+        Resultado pendiente = resultado(900_004L, LocalDateTime.of(2025, 4, 10, 9, 0));
+        pendiente.setValoresMedidos("{\"glucosa\": 95}");
+        Resultado procesado = resultado(900_005L, LocalDateTime.of(2025, 4, 11, 9, 0));
+        procesado.setValoresMedidos("{\"glucosa\": 90}");
+        entityManager.persist(pendiente);
+        entityManager.persist(procesado);
+        ResultadoValor valor = new ResultadoValor();
+        valor.setIdResultado(procesado.getIdResultado());
+        valor.setAnalito("glucosa");
+        valor.setValorNumerico(new BigDecimal("90"));
+        valor.setFechaResultado(procesado.getFechaResultado());
+        entityManager.persist(valor);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Resultado> pendientes = resultadoRepository.findSinValoresParaBackfill(
+            List.of(pendiente.getIdResultado(), procesado.getIdResultado()));
+
+        // Then
+        assertEquals(1, pendientes.size());
+        assertEquals(pendiente.getIdResultado(), pendientes.get(0).getIdResultado());
+    }
+
+    @Test
+    @DisplayName("Debe escribir null si el resultado existe sin valores medidos y false si no existe")
+    void testCopiarValoresMedidos_SinValoresYNoExistente() {
+        // Given
+        Resultado sinValores = resultado(900_006L, LocalDateTime.of(2025, 5, 2, 9, 0));
+        Resultado conValores = resultado(900_007L, LocalDateTime.of(2025, 5, 3, 9, 0));
+        conValores.setValoresMedidos("{\"glucosa\": 95}");
+        entityManager.persist(sinValores);
+        entityManager.persist(conValores);
+        entityManager.flush();
+        StringWriter nulo = new StringWriter();
+        StringWriter valores = new StringWriter();
+
+        // When & Then
+        assertTrue(resultadoRepository.copiarValoresMedidos(sinValores.getIdResultado(), nulo));
+        assertEquals("null", nulo.toString());
+        assertTrue(resultadoRepository.copiarValoresMedidos(conValores.getIdResultado(), valores));
+        assertEquals("{\"glucosa\": 95}", valores.toString());
+        assertFalse(resultadoRepository.copiarValoresMedidos(-1L, new StringWriter()));
+    }
+
+    private static Resultado resultado(Long idCita, LocalDateTime fechaResultado) {
+        Resultado resultado = new Resultado();
+        resultado.setIdCita(idCita);
+        resultado.setIdLaboratorista(3L);
+        resultado.setFechaResultado(fechaResultado);
+        resultado.setEstado("PENDIENTE");
+        return resultado;
+    }
+}
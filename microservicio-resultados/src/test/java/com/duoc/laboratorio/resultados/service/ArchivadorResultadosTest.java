@@ -0,0 +1,78 @@
+package com.duoc.laboratorio.resultados.service;
+
+import com.duoc.laboratorio.resultados.repository.ResultadoArchivadoRepository;
+import com.duoc.laboratorio.resultados.repository.ResultadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ArchivadorResultados
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de ArchivadorResultados")
+class ArchivadorResultadosTest {
+
+    @Mock
+    private ResultadoRepository resultadoRepository;
+
+    @Mock
+    private ResultadoArchivadoRepository resultadoArchivadoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ArchivadorResultados archivadorResultados;
+
+    @BeforeEach
+    void setUp() {
+        archivadorResultados = new ArchivadorResultados(resultadoRepository, resultadoArchivadoRepository,
+            transactionManager);
+        ReflectionTestUtils.setField(archivadorResultados, "horizonteMeses", 24);
+        ReflectionTestUtils.setField(archivadorResultados, "tamanoLote", 2);
+    }
+
+    @Test
+    @DisplayName("El límite debe ser el inicio del mes, tantos meses atrás como el horizonte")
+    void testLimite() {
+        // When
+        LocalDateTime limite = archivadorResultados.limite();
+
+        // Then
+        assertEquals(LocalDate.now().withDayOfMonth(1).minusMonths(24).atStartOfDay(), limite);
+    }
+
+    @Test
+    @DisplayName("Debe copiar y eliminar cada lote en su propia transacción hasta agotar los pendientes")
+    void testArchivar_ProcesaLotes() {
+        // Given
+        LocalDateTime limite = archivadorResultados.limite();
+        when(resultadoRepository.findIdsAnterioresA(eq(limite), any(Pageable.class)))
+            .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+
+        // When
+        int archivados = archivadorResultados.archivar();
+
+        // Then
+        assertEquals(3, archivados);
+        verify(resultadoArchivadoRepository).copiarDesdeResultados(List.of(1L, 2L));
+        verify(resultadoRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(resultadoArchivadoRepository).copiarDesdeResultados(List.of(3L));
+        verify(resultadoRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(transactionManager, times(3)).commit(any());
+    }
+}
@@ -0,0 +1,134 @@
+package com.duoc.laboratorio.resultados.service;
+
+import com.duoc.laboratorio.resultados.exception.BadRequestException;
+import com.duoc.laboratorio.resultados.model.Resultado;
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import com.duoc.laboratorio.resultados.repository.ResultadoRepository;
+import com.duoc.laboratorio.resultados.repository.ResultadoValorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para BackfillValoresService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de BackfillValoresService")
+class BackfillValoresServiceTest {
+
+    @Mock
+    private ResultadoRepository resultadoRepository;
+
+    @Mock
+    private ResultadoValorRepository resultadoValorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BackfillValoresService backfillValoresService;
+
+    @BeforeEach
+    void setUp() {
+        backfillValoresService = new BackfillValoresService(resultadoRepository, resultadoValorRepository,
+            new ValoresMedidosParser(new ObjectMapper()), transactionManager);
+        ReflectionTestUtils.setField(backfillValoresService, "hilos", 2);
+        ReflectionTestUtils.setField(backfillValoresService, "tamanoLote", 2);
+    }
+
+    @Test
+    @DisplayName("Debe procesar todos los lotes pendientes avanzando por ID")
+    @SuppressWarnings("unchecked")
+    void testEjecutar_ProcesaLotes() {
+        // Given
+        when(resultadoRepository.findIdsSinValores(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(resultadoRepository.findIdsSinValores(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(resultadoRepository.findIdsSinValores(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(resultadoRepository.findSinValoresParaBackfill(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            List<Resultado> resultados = new ArrayList<>();
+            ids.forEach(id -> resultados.add(resultado(id)));
+            return resultados;
+        });
+
+        // When
+        int procesados = backfillValoresService.ejecutar();
+
+        // Then
+        assertEquals(3, procesados);
+        verify(resultadoValorRepository, times(2)).saveAll(anyList());
+        verify(resultadoValorRepository, times(1)).saveAll(argThat((List<ResultadoValor> valores) -> valores.size() == 1));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Debe terminar sin procesar cuando no hay resultados pendientes")
+    void testEjecutar_SinPendientes() {
+        // Given
+        when(resultadoRepository.findIdsSinValores(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        // When & Then
+        assertEquals(0, backfillValoresService.ejecutar());
+        verifyNoInteractions(resultadoValorRepository);
+    }
+
+    @Test
+    @DisplayName("Debe contar solo los resultados que el lote encontró pendientes y sin bloquear")
+    void testProcesarLote_OmiteLosTomadosPorOtraInstancia() {
+        // Given
+        when(resultadoRepository.findSinValoresParaBackfill(List.of(1L, 2L))).thenReturn(List.of(resultado(2L)));
+
+        // When
+        int procesados = backfillValoresService.procesarLote(List.of(1L, 2L));
+
+        // Then
+        assertEquals(1, procesados);
+        verify(resultadoValorRepository, times(1)).saveAll(argThat((List<ResultadoValor> valores) ->
+            valores.size() == 1 && valores.get(0).getIdResultado() == 2L));
+    }
+
+    @Test
+    @DisplayName("Debe iniciar en segundo plano y rechazar otro inicio mientras corre")
+    void testIniciar_EnSegundoPlano() {
+        // Given
+        List<Runnable> tareas = new ArrayList<>();
+        ReflectionTestUtils.setField(backfillValoresService, "lanzador", (Executor) tareas::add);
+        when(resultadoRepository.findIdsSinValores(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        backfillValoresService.iniciar();
+
+        // Then
+        assertEquals(1, tareas.size());
+        verifyNoInteractions(resultadoRepository);
+        assertThrows(BadRequestException.class, () -> backfillValoresService.iniciar());
+
+        tareas.get(0).run();
+        backfillValoresService.iniciar();
+        assertEquals(2, tareas.size());
+    }
+
+    private Resultado resultado(Long id) {
+        Resultado resultado = new Resultado();
+        resultado.setIdResultado(id);
+        resultado.setFechaResultado(LocalDateTime.now());
+        resultado.setValoresMedidos("{\"glucosa\": \"95 mg/dL\"}");
+        return resultado;
+    }
+}
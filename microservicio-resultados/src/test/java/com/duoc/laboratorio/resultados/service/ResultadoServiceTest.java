@@ -2,23 +2,52 @@ package com.duoc.laboratorio.resultados.service;
 
 import com.duoc.laboratorio.resultados.dto.ActualizarResultadoRequest;
 import com.duoc.laboratorio.resultados.dto.CrearResultadoRequest;
+import com.duoc.laboratorio.resultados.dto.PaginaDTO;
 import com.duoc.laboratorio.resultados.dto.ResultadoDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoResumenDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoTransicionDTO;
+import com.duoc.laboratorio.resultados.dto.ResultadoValorDTO;
+import com.duoc.laboratorio.resultados.dto.TransicionLoteDTO;
+import com.duoc.laboratorio.resultados.dto.TransicionLoteResultadosRequest;
 import com.duoc.laboratorio.resultados.exception.BadRequestException;
+import com.duoc.laboratorio.resultados.exception.ConflictException;
 import com.duoc.laboratorio.resultados.exception.ResourceNotFoundException;
+import com.duoc.laboratorio.resultados.model.EventoResultado;
 import com.duoc.laboratorio.resultados.model.Resultado;
+import com.duoc.laboratorio.resultados.model.ResultadoArchivado;
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import com.duoc.laboratorio.resultados.repository.EventoResultadoRepository;
+import com.duoc.laboratorio.resultados.repository.ResultadoArchivadoRepository;
 import com.duoc.laboratorio.resultados.repository.ResultadoRepository;
+import com.duoc.laboratorio.resultados.repository.ResultadoValorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,10 +63,26 @@ class ResultadoServiceTest {
     @Mock
     private ResultadoRepository resultadoRepository;
 
+    @Mock
+    private ResultadoArchivadoRepository resultadoArchivadoRepository;
+
+    @Mock
+    private ResultadoValorRepository resultadoValorRepository;
+
+    @Mock
+    private EventoResultadoRepository eventoResultadoRepository;
+
+    @Spy
+    private ValoresMedidosParser valoresMedidosParser = new ValoresMedidosParser(new ObjectMapper());
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private ResultadoService resultadoService;
 
     private Resultado resultado;
+    private ResultadoResumenDTO resumen;
     private CrearResultadoRequest crearRequest;
     private ActualizarResultadoRequest actualizarRequest;
 
@@ -55,6 +100,10 @@ class ResultadoServiceTest {
         resultado.setValoresMedidos("{\"hemoglobina\": \"14.5 g/dL\"}");
         resultado.setFechaCreacion(LocalDateTime.now());
 
+        // Configurar resumen de prueba (proyección sin valores medidos)
+        resumen = new ResultadoResumenDTO(1L, 1L, 3L, "/resultados/2025/resultado_1.pdf",
+            "Resultado normal", resultado.getFechaResultado(), "COMPLETADO", resultado.getFechaCreacion());
+
         // Configurar request de creación
         crearRequest = new CrearResultadoRequest();
         crearRequest.setIdCita(1L);
@@ -85,6 +134,8 @@ class ResultadoServiceTest {
         assertEquals(3L, resultadoDTO.getIdLaboratorista());
         verify(resultadoRepository, times(1)).existsByIdCita(1L);
         verify(resultadoRepository, times(1)).save(any(Resultado.class));
+        verify(eventoResultadoRepository, times(1)).save(argThat((EventoResultado evento) ->
+            evento.getEstadoAnterior() == null));
     }
 
     @Test
@@ -103,6 +154,22 @@ class ResultadoServiceTest {
         verify(resultadoRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Debe rechazar un resultado nuevo en un estado distinto del inicial")
+    void testCrearResultado_EstadoNoInicial() {
+        // Given
+        crearRequest.setEstado("REVISADO");
+
+        // When & Then
+        BadRequestException exception = assertThrows(
+            BadRequestException.class,
+            () -> resultadoService.crearResultado(crearRequest)
+        );
+        assertEquals("Un resultado nuevo debe crearse en estado PENDIENTE, no REVISADO", exception.getMessage());
+        verify(resultadoRepository, never()).save(any());
+        verifyNoInteractions(eventoResultadoRepository);
+    }
+
     @Test
     @DisplayName("Debe obtener resultado por ID exitosamente")
     void testObtenerPorId_Exitoso() {
@@ -133,6 +200,26 @@ class ResultadoServiceTest {
         verify(resultadoRepository, times(1)).findById(999L);
     }
 
+    @Test
+    @DisplayName("Debe buscar en el archivo el resultado que no está en la tabla viva")
+    void testObtenerPorId_Archivado() {
+        // Given
+        ResultadoArchivado archivado = new ResultadoArchivado();
+        archivado.setIdResultado(7L);
+        archivado.setIdCita(4L);
+        archivado.setEstado("REVISADO");
+        archivado.setFechaResultado(LocalDateTime.now().minusYears(3));
+        when(resultadoRepository.findById(7L)).thenReturn(Optional.empty());
+        when(resultadoArchivadoRepository.findById(7L)).thenReturn(Optional.of(archivado));
+
+        // When
+        ResultadoDTO resultadoDTO = resultadoService.obtenerPorId(7L);
+
+        // Then
+        assertEquals(7L, resultadoDTO.getIdResultado());
+        assertEquals("REVISADO", resultadoDTO.getEstado());
+    }
+
     @Test
     @DisplayName("Debe obtener resultado por ID de cita")
     void testObtenerPorIdCita_Exitoso() {
@@ -149,53 +236,280 @@ class ResultadoServiceTest {
     }
 
     @Test
-    @DisplayName("Debe listar todos los resultados")
-    void testListarTodos() {
+    @DisplayName("Debe listar la primera página e informar el cursor siguiente")
+    void testListarPagina_PrimeraPagina() {
         // Given
-        List<Resultado> resultados = Arrays.asList(resultado);
-        when(resultadoRepository.findAllOrderByFechaDesc()).thenReturn(resultados);
+        ResultadoResumenDTO anterior = new ResultadoResumenDTO();
+        anterior.setIdResultado(2L);
+        anterior.setFechaResultado(resultado.getFechaResultado().minusDays(1));
+        when(resultadoRepository.findPrimeraPagina(any(Pageable.class)))
+            .thenReturn(Arrays.asList(resumen, anterior));
 
         // When
-        List<ResultadoDTO> resultadosDTO = resultadoService.listarTodos();
+        PaginaDTO<ResultadoResumenDTO> pagina = resultadoService.listarPagina(null, 1);
 
         // Then
-        assertNotNull(resultadosDTO);
-        assertEquals(1, resultadosDTO.size());
-        verify(resultadoRepository, times(1)).findAllOrderByFechaDesc();
+        assertEquals(1, pagina.getContenido().size());
+        assertNotNull(pagina.getSiguienteCursor());
+        CursorResultado cursor = CursorResultado.decodificar(pagina.getSiguienteCursor());
+        assertEquals(1L, cursor.getIdResultado());
+        assertEquals(resultado.getFechaResultado(), cursor.getFechaResultado());
+        verify(resultadoRepository, times(1)).findPrimeraPagina(argThat(p -> p.getPageSize() == 2));
+    }
+
+    @Test
+    @DisplayName("Debe continuar desde el cursor y terminar sin cursor siguiente")
+    void testListarPagina_UltimaPagina() {
+        // Given
+        String cursor = new CursorResultado(resultado.getFechaResultado(), 5L).codificar();
+        when(resultadoRepository.findPaginaSiguiente(eq(resultado.getFechaResultado()), eq(5L), any(Pageable.class)))
+            .thenReturn(Arrays.asList(resumen));
+
+        // When
+        PaginaDTO<ResultadoResumenDTO> pagina = resultadoService.listarPagina(cursor, 50);
+
+        // Then
+        assertEquals(1, pagina.getContenido().size());
+        assertNull(pagina.getSiguienteCursor());
+        verify(resultadoRepository, never()).findPrimeraPagina(any());
+    }
+
+    @Test
+    @DisplayName("Debe completar la página desde el archivo cuando se agota la tabla viva")
+    void testListarPagina_CompletaDesdeArchivo() {
+        // Given
+        ResultadoResumenDTO archivado = new ResultadoResumenDTO();
+        archivado.setIdResultado(9L);
+        archivado.setFechaResultado(resultado.getFechaResultado().minusYears(3));
+        ResultadoResumenDTO archivadoAnterior = new ResultadoResumenDTO();
+        archivadoAnterior.setIdResultado(8L);
+        archivadoAnterior.setFechaResultado(archivado.getFechaResultado().minusDays(1));
+        when(resultadoRepository.findPrimeraPagina(any(Pageable.class))).thenReturn(List.of(resumen));
+        when(resultadoArchivadoRepository.findPaginaSiguiente(
+                eq(resumen.getFechaResultado()), eq(resumen.getIdResultado()), any(Pageable.class)))
+            .thenReturn(List.of(archivado, archivadoAnterior));
+
+        // When
+        PaginaDTO<ResultadoResumenDTO> pagina = resultadoService.listarPagina(null, 2);
+
+        // Then
+        assertEquals(List.of(resumen, archivado), pagina.getContenido());
+        CursorResultado cursor = CursorResultado.decodificar(pagina.getSiguienteCursor());
+        assertEquals(9L, cursor.getIdResultado());
+        verify(resultadoArchivadoRepository).findPaginaSiguiente(any(), any(), argThat(p -> p.getPageSize() == 2));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un cursor de paginación inválido")
+    void testListarPagina_CursorInvalido() {
+        assertThrows(
+            BadRequestException.class,
+            () -> resultadoService.listarPagina("no-es-un-cursor", 50)
+        );
+        verifyNoInteractions(resultadoRepository);
+    }
+
+    @Test
+    @DisplayName("Debe recorrer todos los resultados desacoplando cada entidad")
+    void testRecorrerTodos() {
+        // Given
+        when(resultadoRepository.streamAllOrderByFechaDesc()).thenReturn(Stream.of(resultado));
+        List<ResultadoDTO> recibidos = new ArrayList<>();
+
+        // When
+        resultadoService.recorrerTodos(recibidos::add);
+
+        // Then
+        assertEquals(1, recibidos.size());
+        assertEquals(1L, recibidos.get(0).getIdResultado());
+        verify(entityManager, times(1)).detach(resultado);
     }
 
     @Test
     @DisplayName("Debe listar resultados por laboratorista")
     void testListarPorLaboratorista() {
         // Given
-        List<Resultado> resultados = Arrays.asList(resultado);
-        when(resultadoRepository.findByIdLaboratorista(3L)).thenReturn(resultados);
+        List<ResultadoResumenDTO> resultados = Arrays.asList(resumen);
+        when(resultadoRepository.findResumenByIdLaboratorista(3L)).thenReturn(resultados);
 
         // When
-        List<ResultadoDTO> resultadosDTO = resultadoService.listarPorLaboratorista(3L);
+        List<ResultadoResumenDTO> resultadosDTO = resultadoService.listarPorLaboratorista(3L);
 
         // Then
         assertNotNull(resultadosDTO);
         assertEquals(1, resultadosDTO.size());
         assertEquals(3L, resultadosDTO.get(0).getIdLaboratorista());
-        verify(resultadoRepository, times(1)).findByIdLaboratorista(3L);
+        verify(resultadoRepository, times(1)).findResumenByIdLaboratorista(3L);
+        verify(resultadoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Debe obtener los resultados de varias citas y buscar en el archivo solo las faltantes")
+    void testObtenerPorIdsCita() {
+        // Given
+        ResultadoResumenDTO archivado = new ResultadoResumenDTO(9L, 2L, 3L, null, null,
+            LocalDateTime.now().minusYears(3), "REVISADO", null);
+        when(resultadoRepository.findResumenByIdCitaIn(anyCollection())).thenReturn(List.of(resumen));
+        when(resultadoArchivadoRepository.findResumenByIdCitaIn(anyCollection())).thenReturn(List.of(archivado));
+
+        // When
+        List<ResultadoResumenDTO> resultados = resultadoService.obtenerPorIdsCita(List.of(1L, 2L, 3L, 1L));
+
+        // Then
+        assertEquals(2, resultados.size());
+        verify(resultadoRepository).findResumenByIdCitaIn(argThat(ids -> ids.size() == 3));
+        verify(resultadoArchivadoRepository).findResumenByIdCitaIn(argThat(ids ->
+            ids.size() == 2 && ids.contains(2L) && ids.contains(3L)));
+    }
+
+    @Test
+    @DisplayName("Debe dividir las consultas por lotes de IDs en bloques IN admitidos por Oracle")
+    void testObtenerMapaPorIdsCita_Bloques() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().collect(Collectors.toList());
+        when(resultadoRepository.findResumenByIdCitaIn(anyCollection())).thenAnswer(invocacion -> {
+            Collection<Long> bloque = invocacion.getArgument(0);
+            return bloque.contains(1L) ? List.of(resumen) : List.of();
+        });
+        when(resultadoArchivadoRepository.findResumenByIdCitaIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        Map<Long, ResultadoResumenDTO> resultados = resultadoService.obtenerMapaPorIdsCita(ids);
+
+        // Then
+        assertEquals(1, resultados.size());
+        assertSame(resumen, resultados.get(1L));
+        verify(resultadoRepository, times(3)).findResumenByIdCitaIn(
+            argThat(bloque -> bloque.size() <= ResultadoService.TAMANO_BLOQUE_IN));
+        verify(resultadoArchivadoRepository, times(3)).findResumenByIdCitaIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar más IDs de cita que el máximo por consulta")
+    void testObtenerMapaPorIdsCita_Excede() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, ResultadoService.MAX_IDS_CITA_LOTE + 1).boxed()
+            .collect(Collectors.toList());
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> resultadoService.obtenerMapaPorIdsCita(ids));
+        verifyNoInteractions(resultadoRepository);
     }
 
     @Test
     @DisplayName("Debe listar resultados por estado")
     void testListarPorEstado() {
         // Given
-        List<Resultado> resultados = Arrays.asList(resultado);
-        when(resultadoRepository.findByEstado("COMPLETADO")).thenReturn(resultados);
+        List<ResultadoResumenDTO> resultados = Arrays.asList(resumen);
+        when(resultadoRepository.findResumenByEstado("COMPLETADO")).thenReturn(resultados);
 
         // When
-        List<ResultadoDTO> resultadosDTO = resultadoService.listarPorEstado("COMPLETADO");
+        List<ResultadoResumenDTO> resultadosDTO = resultadoService.listarPorEstado("COMPLETADO");
 
         // Then
         assertNotNull(resultadosDTO);
         assertEquals(1, resultadosDTO.size());
         assertEquals("COMPLETADO", resultadosDTO.get(0).getEstado());
-        verify(resultadoRepository, times(1)).findByEstado("COMPLETADO");
+        verify(resultadoRepository, times(1)).findResumenByEstado("COMPLETADO");
+    }
+
+    @Test
+    @DisplayName("Debe guardar los valores normalizados al crear un resultado")
+    @SuppressWarnings("unchecked")
+    void testCrearResultado_GuardaValoresNormalizados() {
+        // Given
+        when(resultadoRepository.existsByIdCita(1L)).thenReturn(false);
+        when(resultadoRepository.save(any(Resultado.class))).thenReturn(resultado);
+
+        // When
+        resultadoService.crearResultado(crearRequest);
+
+        // Then
+        verify(resultadoValorRepository, times(1)).saveAll(argThat((List<ResultadoValor> valores) ->
+            valores.size() == 1
+                && "hemoglobina".equals(valores.get(0).getAnalito())
+                && new BigDecimal("14.5").compareTo(valores.get(0).getValorNumerico()) == 0
+                && Long.valueOf(1L).equals(valores.get(0).getIdResultado())));
+    }
+
+    @Test
+    @DisplayName("Debe regenerar los valores normalizados al actualizar los valores medidos")
+    void testActualizarResultado_RegeneraValores() {
+        // Given
+        actualizarRequest.setValoresMedidos("{\"glucosa\": \"130 mg/dL\"}");
+        when(resultadoRepository.findById(1L)).thenReturn(Optional.of(resultado));
+        when(resultadoRepository.save(any(Resultado.class))).thenReturn(resultado);
+
+        // When
+        resultadoService.actualizarResultado(1L, actualizarRequest);
+
+        // Then
+        verify(resultadoValorRepository, times(1)).deleteByIdResultado(1L);
+        verify(resultadoValorRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Debe buscar valores por analito marcando los fuera de rango")
+    @SuppressWarnings("unchecked")
+    void testBuscarValores_Exitoso() {
+        // Given
+        ResultadoValor valor = new ResultadoValor(10L, 1L, "glucosa", new BigDecimal("130"), "mg/dL",
+            new BigDecimal("70"), new BigDecimal("100"), resultado.getFechaResultado());
+        when(resultadoValorRepository.findBy(any(Specification.class), any())).thenReturn(List.of(valor));
+
+        // When
+        List<ResultadoValorDTO> valores = resultadoService.buscarValores(
+            "Glucosa", new BigDecimal("126"), null, null, null, 100);
+
+        // Then
+        assertEquals(1, valores.size());
+        assertEquals("glucosa", valores.get(0).getAnalito());
+        assertTrue(valores.get(0).getFueraDeRango());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar búsqueda de valores sin analito o con rango invertido")
+    void testBuscarValores_FiltrosInvalidos() {
+        assertThrows(
+            BadRequestException.class,
+            () -> resultadoService.buscarValores(" ", null, null, null, null, 100)
+        );
+        assertThrows(
+            BadRequestException.class,
+            () -> resultadoService.buscarValores("glucosa", new BigDecimal("200"), new BigDecimal("100"), null, null, 100)
+        );
+        verifyNoInteractions(resultadoValorRepository);
+    }
+
+    @Test
+    @DisplayName("Debe escribir los valores medidos de un resultado existente")
+    void testEscribirValoresMedidos_Exitoso() {
+        // Given
+        StringWriter destino = new StringWriter();
+        when(resultadoRepository.copiarValoresMedidos(eq(1L), any(Writer.class))).thenAnswer(invocation -> {
+            Writer writer = invocation.getArgument(1);
+            writer.write(resultado.getValoresMedidos());
+            return true;
+        });
+
+        // When
+        resultadoService.escribirValoresMedidos(1L, destino);
+
+        // Then
+        assertEquals("{\"hemoglobina\": \"14.5 g/dL\"}", destino.toString());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción al escribir valores de un resultado inexistente")
+    void testEscribirValoresMedidos_NoEncontrado() {
+        // Given
+        when(resultadoRepository.copiarValoresMedidos(eq(999L), any(Writer.class))).thenReturn(false);
+
+        // When & Then
+        assertThrows(
+            ResourceNotFoundException.class,
+            () -> resultadoService.escribirValoresMedidos(999L, new StringWriter())
+        );
     }
 
     @Test
@@ -229,6 +543,119 @@ class ResultadoServiceTest {
         verify(resultadoRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Debe rechazar la actualización con una versión desactualizada e informar la actual")
+    void testActualizarResultado_VersionDesactualizada() {
+        // Given
+        resultado.setVersion(4L);
+        actualizarRequest.setVersion(3L);
+        when(resultadoRepository.findById(1L)).thenReturn(Optional.of(resultado));
+
+        // When
+        ConflictException ex = assertThrows(
+            ConflictException.class,
+            () -> resultadoService.actualizarResultado(1L, actualizarRequest)
+        );
+
+        // Then
+        assertEquals(4L, ex.getVersionActual());
+        verify(resultadoRepository, never()).save(any());
+        verifyNoInteractions(eventoResultadoRepository);
+    }
+
+    @Test
+    @DisplayName("Con estado esperado debe cambiar el estado con un UPDATE condicional sin leer antes")
+    void testCambiarEstado_Condicional() {
+        // Given
+        resultado.setEstado("REVISADO");
+        when(resultadoRepository.actualizarEstado(1L, "COMPLETADO", "REVISADO", 2L, false)).thenReturn(1);
+        when(resultadoRepository.findById(1L)).thenReturn(Optional.of(resultado));
+
+        // When
+        ResultadoDTO resultadoDTO = resultadoService.cambiarEstado(1L, "REVISADO", "COMPLETADO", 2L);
+
+        // Then
+        assertEquals("REVISADO", resultadoDTO.getEstado());
+        InOrder orden = inOrder(resultadoRepository);
+        orden.verify(resultadoRepository).actualizarEstado(1L, "COMPLETADO", "REVISADO", 2L, false);
+        orden.verify(resultadoRepository).findById(1L);
+        verify(resultadoRepository, never()).save(any());
+        verify(eventoResultadoRepository).save(argThat((EventoResultado evento) ->
+            evento.getEstado().equals("REVISADO") && evento.getEstadoAnterior().equals("COMPLETADO")));
+    }
+
+    @Test
+    @DisplayName("Si el resultado ya no está en el estado esperado debe responder conflicto con la versión actual")
+    void testCambiarEstado_CondicionalConflicto() {
+        // Given
+        resultado.setEstado("EN_PROCESO");
+        resultado.setVersion(5L);
+        when(resultadoRepository.actualizarEstado(1L, "COMPLETADO", "REVISADO", null, false)).thenReturn(0);
+        when(resultadoRepository.findById(1L)).thenReturn(Optional.of(resultado));
+
+        // When
+        ConflictException ex = assertThrows(
+            ConflictException.class,
+            () -> resultadoService.cambiarEstado(1L, "REVISADO", "COMPLETADO", null)
+        );
+
+        // Then
+        assertEquals(5L, ex.getVersionActual());
+        verifyNoInteractions(eventoResultadoRepository);
+    }
+
+    @Test
+    @DisplayName("No debe completar un resultado sin valores medidos")
+    void testCambiarEstado_SinValoresMedidos() {
+        // Given
+        resultado.setEstado("EN_PROCESO");
+        resultado.setValoresMedidos(null);
+        resultado.setVersion(2L);
+        when(resultadoRepository.findById(1L)).thenReturn(Optional.of(resultado));
+
+        // When
+        ConflictException ex = assertThrows(
+            ConflictException.class,
+            () -> resultadoService.cambiarEstado(1L, "COMPLETADO", null, null)
+        );
+
+        // Then
+        assertEquals("El resultado no tiene valores medidos", ex.getMessage());
+        assertEquals(2L, ex.getVersionActual());
+        verify(resultadoRepository, never()).save(any());
+        verifyNoInteractions(eventoResultadoRepository);
+    }
+
+    @Test
+    @DisplayName("La transición por lote debe registrar los eventos antes del UPDATE e informar los omitidos")
+    void testCambiarEstadoLote_InformaOmitidos() {
+        // Given
+        LocalDateTime desde = LocalDateTime.of(2025, 11, 1, 0, 0);
+        LocalDateTime hasta = LocalDateTime.of(2025, 11, 30, 0, 0);
+        when(resultadoRepository.findIdsParaTransicion(desde, hasta, 3L, Set.of("COMPLETADO"), false))
+            .thenReturn(List.of(1L, 2L));
+        when(resultadoRepository.actualizarEstadoLote(List.of(1L, 2L), "REVISADO")).thenReturn(2);
+        when(resultadoRepository.countOmitidosTransicion(desde, hasta, 3L, null, "REVISADO")).thenReturn(1L);
+        when(resultadoRepository.findOmitidosTransicion(eq(desde), eq(hasta), eq(3L), isNull(), eq("REVISADO"),
+                any(Pageable.class)))
+            .thenReturn(List.of(new ResultadoTransicionDTO(5L, "EN_PROCESO", 1)));
+
+        // When
+        TransicionLoteDTO transicion = resultadoService.cambiarEstadoLote(
+            new TransicionLoteResultadosRequest("REVISADO", desde, hasta, 3L, null));
+
+        // Then
+        assertEquals(2, transicion.getActualizados());
+        assertEquals(1L, transicion.getOmitidos());
+        TransicionLoteDTO.Omitido omitido = transicion.getDetalleOmitidos().get(0);
+        assertEquals(5L, omitido.getIdResultado());
+        assertEquals("Transición no permitida: EN_PROCESO -> REVISADO", omitido.getMotivo());
+        InOrder orden = inOrder(eventoResultadoRepository, resultadoRepository);
+        orden.verify(eventoResultadoRepository).registrarTransicion(eq(List.of(1L, 2L)), eq("REVISADO"), any());
+        orden.verify(resultadoRepository).actualizarEstadoLote(List.of(1L, 2L), "REVISADO");
+        verify(resultadoRepository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("Debe cambiar estado de resultado exitosamente")
     void testCambiarEstado_Exitoso() {
@@ -237,7 +664,7 @@ class ResultadoServiceTest {
         when(resultadoRepository.save(any(Resultado.class))).thenReturn(resultado);
 
         // When
-        ResultadoDTO resultadoDTO = resultadoService.cambiarEstado(1L, "REVISADO");
+        ResultadoDTO resultadoDTO = resultadoService.cambiarEstado(1L, "REVISADO", null, null);
 
         // Then
         assertNotNull(resultadoDTO);
@@ -245,6 +672,25 @@ class ResultadoServiceTest {
         verify(resultadoRepository, times(1)).save(any(Resultado.class));
     }
 
+    @Test
+    @DisplayName("Debe registrar un evento en la bandeja de salida solo si el estado cambia")
+    void testCambiarEstado_RegistraEvento() {
+        // Given
+        when(resultadoRepository.findById(1L)).thenReturn(Optional.of(resultado));
+        when(resultadoRepository.save(any(Resultado.class))).thenReturn(resultado);
+
+        // When
+        resultadoService.cambiarEstado(1L, "REVISADO", null, null);
+        resultadoService.cambiarEstado(1L, "REVISADO", null, null);
+
+        // Then
+        verify(eventoResultadoRepository, times(1)).save(argThat((EventoResultado evento) ->
+            evento.getIdResultado().equals(1L)
+                && evento.getIdLaboratorista().equals(3L)
+                && evento.getEstado().equals("REVISADO")
+                && evento.getEstadoAnterior().equals("COMPLETADO")));
+    }
+
     @Test
     @DisplayName("Debe lanzar excepción si estado no es válido")
     void testCambiarEstado_EstadoInvalido() {
@@ -254,7 +700,7 @@ class ResultadoServiceTest {
         // When & Then
         assertThrows(
             BadRequestException.class,
-            () -> resultadoService.cambiarEstado(1L, "ESTADO_INVALIDO")
+            () -> resultadoService.cambiarEstado(1L, "ESTADO_INVALIDO", null, null)
         );
         verify(resultadoRepository, times(1)).findById(1L);
         verify(resultadoRepository, never()).save(any());
@@ -272,6 +718,7 @@ class ResultadoServiceTest {
 
         // Then
         verify(resultadoRepository, times(1)).existsById(1L);
+        verify(resultadoValorRepository, times(1)).deleteByIdResultado(1L);
         verify(resultadoRepository, times(1)).deleteById(1L);
     }
 
@@ -0,0 +1,142 @@
+package com.duoc.laboratorio.resultados.service;
+
+import com.duoc.laboratorio.resultados.model.Resultado;
+import com.duoc.laboratorio.resultados.model.ResultadoValor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para ValoresMedidosParser
+ */
+@DisplayName("Tests de ValoresMedidosParser")
+class ValoresMedidosParserTest {
+
+    private ValoresMedidosParser parser;
+    private Resultado resultado;
+
+    @BeforeEach
+    void setUp() {
+        parser = new ValoresMedidosParser(new ObjectMapper());
+
+        resultado = new Resultado();
+        resultado.setIdResultado(7L);
+        resultado.setFechaResultado(LocalDateTime.of(2025, 11, 5, 16, 45));
+    }
+
+    @Test
+    @DisplayName("Debe extraer valores con unidad y asociar rangos de referencia por nombre")
+    void testParsear_TextoConUnidadYRango() {
+        // Given
+        resultado.setValoresMedidos("{\"TSH\": \"5.8 mUI/L\", \"hematocrito\": \"43%\", "
+            + "\"rango_TSH_normal\": \"0.4-4.0 mUI/L\", \"alerta\": \"TSH elevada\"}");
+
+        // When
+        List<ResultadoValor> valores = parser.parsear(resultado);
+
+        // Then
+        assertEquals(2, valores.size());
+        ResultadoValor tsh = valores.get(0);
+        assertEquals("tsh", tsh.getAnalito());
+        assertEquals(0, new BigDecimal("5.8").compareTo(tsh.getValorNumerico()));
+        assertEquals("mUI/L", tsh.getUnidad());
+        assertEquals(0, new BigDecimal("0.4").compareTo(tsh.getReferenciaMin()));
+        assertEquals(0, new BigDecimal("4.0").compareTo(tsh.getReferenciaMax()));
+        assertEquals(7L, tsh.getIdResultado());
+        assertEquals(resultado.getFechaResultado(), tsh.getFechaResultado());
+        assertEquals("%", valores.get(1).getUnidad());
+    }
+
+    @Test
+    @DisplayName("Debe aceptar números y objetos con valor, unidad y referencia")
+    void testParsear_NumerosYObjetos() {
+        // Given
+        resultado.setValoresMedidos("{\"leucocitos\": 7500, "
+            + "\"glucosa\": {\"valor\": 130, \"unidad\": \"mg/dL\", \"min\": 70, \"max\": 100}}");
+
+        // When
+        List<ResultadoValor> valores = parser.parsear(resultado);
+
+        // Then
+        assertEquals(2, valores.size());
+        assertEquals(0, new BigDecimal("7500").compareTo(valores.get(0).getValorNumerico()));
+        assertNull(valores.get(0).getUnidad());
+        assertEquals("mg/dL", valores.get(1).getUnidad());
+        assertEquals(0, new BigDecimal("100").compareTo(valores.get(1).getReferenciaMax()));
+    }
+
+    @Test
+    @DisplayName("Debe ignorar fechas, textos, booleanos y JSON inválido")
+    void testParsear_ValoresNoNumericos() {
+        // Given
+        resultado.setValoresMedidos("{\"test_realizado\": \"PCR RT\", "
+            + "\"fecha_toma_muestra\": \"2025-11-07 14:15:00\", \"parametros_normales\": true}");
+
+        // When & Then
+        assertTrue(parser.parsear(resultado).isEmpty());
+
+        resultado.setValoresMedidos("texto libre");
+        assertTrue(parser.parsear(resultado).isEmpty());
+
+        resultado.setValoresMedidos(null);
+        assertTrue(parser.parsear(resultado).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe ignorar valores compuestos como presión arterial o títulos")
+    void testParsear_ValoresCompuestos() {
+        // Given
+        resultado.setValoresMedidos("{\"presion_arterial\": \"120/80 mmHg\", \"titulo\": \"1:160\", "
+            + "\"presion_sistolica\": {\"valor\": \"120 / 80\"}, \"glucosa\": \"95 mg/dL\"}");
+
+        // When
+        List<ResultadoValor> valores = parser.parsear(resultado);
+
+        // Then
+        assertEquals(1, valores.size());
+        assertEquals("glucosa", valores.get(0).getAnalito());
+        assertEquals("mg/dL", valores.get(0).getUnidad());
+    }
+
+    @Test
+    @DisplayName("Debe omitir analitos vacíos o más largos que la columna ANALITO")
+    void testParsear_AnalitoFueraDeLargo() {
+        // Given
+        String largoMaximo = "a".repeat(100);
+        resultado.setValoresMedidos("{\"" + largoMaximo + "\": 1, \"" + "b".repeat(101) + "\": 2, "
+            + "\"  \": 3}");
+
+        // When
+        List<ResultadoValor> valores = parser.parsear(resultado);
+
+        // Then
+        assertEquals(1, valores.size());
+        assertEquals(largoMaximo, valores.get(0).getAnalito());
+    }
+
+    @Test
+    @DisplayName("Debe omitir valores que no caben en NUMBER(18,6) y redondear los decimales")
+    void testParsear_ValorFueraDeRango() {
+        // Given
+        resultado.setValoresMedidos("{\"enorme\": 1000000000000, \"texto_enorme\": \"1000000000000 UI\", "
+            + "\"ferritina\": \"0.1234567 ng/mL\", "
+            + "\"glucosa\": {\"valor\": 95, \"min\": -1000000000000, \"max\": 100}}");
+
+        // When
+        List<ResultadoValor> valores = parser.parsear(resultado);
+
+        // Then
+        assertEquals(2, valores.size());
+        assertEquals("ferritina", valores.get(0).getAnalito());
+        assertEquals(new BigDecimal("0.123457"), valores.get(0).getValorNumerico());
+        assertNull(valores.get(1).getReferenciaMin());
+        assertEquals(0, new BigDecimal("100").compareTo(valores.get(1).getReferenciaMax()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.duoc.laboratorio.usuarios.config;
+
+import com.duoc.laboratorio.usuarios.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de solicitudes en curso para el modo de hilos virtuales
+ *
+ * Con spring.threads.virtual.enabled=true (en Java 21) cada solicitud tiene su
+ * propio hilo virtual y Tomcat deja de acotar la concurrencia; sin este filtro el
+ * exceso esperaría una conexión en el pool de Hikari hasta connection-timeout. Se
+ * admiten tantas solicitudes como conexiones tiene el pool (maximum-pool-size), o
+ * concurrencia.max-solicitudes si se fija; las demás esperan como máximo
+ * concurrencia.espera-maxima y luego reciben 429 con Retry-After.
+ * Este servicio no cambia el tamaño del pool en ejecución ni tiene respuestas
+ * asíncronas: el permiso se devuelve al terminar la cadena de filtros.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    private final Semaphore permisos;
+    private final Duration esperaMaxima;
+    private final ObjectMapper objectMapper;
+
+    public LimiteConcurrenciaFilter(
+            DataSource dataSource,
+            @Value("${concurrencia.max-solicitudes:0}") int maxSolicitudes,
+            @Value("${concurrencia.espera-maxima:1s}") Duration esperaMaxima,
+            ObjectMapper objectMapper) {
+        int limite = maxSolicitudes > 0
+            ? maxSolicitudes
+            : PoolConexionesConfig.pool(dataSource).getMaximumPoolSize();
+        this.permisos = new Semaphore(limite, true);
+        this.esperaMaxima = esperaMaxima;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean admitida;
+        try {
+            admitida = permisos.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitida = false;
+        }
+        if (!admitida) {
+            rechazar(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Los scrapes de /actuator no compiten por permisos (deben responder aun con
+     * el servicio saturado)
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    private void rechazar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+            ApiResponse.error("Servicio saturado. Intente nuevamente en unos segundos"));
+    }
+}
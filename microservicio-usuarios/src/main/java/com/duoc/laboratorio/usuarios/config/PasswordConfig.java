@@ -1,14 +1,60 @@
 package com.duoc.laboratorio.usuarios.config;
 
+import com.duoc.laboratorio.usuarios.security.PasswordEncoderAcotado;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+/**
+ * Configuración del hashing de contraseñas
+ * - password.bcrypt.strength: factor de trabajo de BCrypt (por defecto 10)
+ * - password.bcrypt.latencia-objetivo-ms: si es mayor a 0, el factor se calibra al iniciar
+ *   para que un hash tome como máximo ese tiempo en este equipo
+ * - password.hashing.capacidad-cola: hashes en espera antes de responder 429
+ * Las contraseñas con un factor menor al configurado se recalculan en el siguiente login
+ */
 @Configuration
 public class PasswordConfig {
+
+    static final int STRENGTH_MINIMO = 10;
+    static final int STRENGTH_MAXIMO = 16;
+
+    @Value("${password.bcrypt.strength:10}")
+    private int strength;
+
+    @Value("${password.bcrypt.latencia-objetivo-ms:0}")
+    private long latenciaObjetivoMs;
+
+    @Value("${password.hashing.capacidad-cola:64}")
+    private int capacidadCola;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strengthEfectivo = latenciaObjetivoMs > 0 ? calibrarStrength(latenciaObjetivoMs) : strength;
+        return new PasswordEncoderAcotado(
+                new BCryptPasswordEncoder(strengthEfectivo),
+                Runtime.getRuntime().availableProcessors(),
+                capacidadCola);
+    }
+
+    /**
+     * Mide un hash con el factor mínimo y sube el factor mientras el tiempo estimado
+     * (se duplica con cada punto) no supere la latencia objetivo
+     */
+    static int calibrarStrength(long latenciaObjetivoMs) {
+        BCryptPasswordEncoder referencia = new BCryptPasswordEncoder(STRENGTH_MINIMO);
+        referencia.encode("calentamiento");
+        long inicio = System.nanoTime();
+        referencia.encode("calibracion");
+        double estimadoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        int calibrado = STRENGTH_MINIMO;
+        while (calibrado < STRENGTH_MAXIMO && estimadoMs * 2 <= latenciaObjetivoMs) {
+            estimadoMs *= 2;
+            calibrado++;
+        }
+        return calibrado;
     }
 }
@@ -1,9 +1,9 @@
 package com.duoc.laboratorio.usuarios.dto;
 
+import com.duoc.laboratorio.usuarios.config.ContextoTraza;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -15,11 +15,11 @@ public class ApiResponse<T> {
     private T data;
 
     public static <T> ApiResponse<T> success(String message, T data) {
-        return new ApiResponse<>(UUID.randomUUID().toString(), "SUCCESS", message, data);
+        return new ApiResponse<>(ContextoTraza.actual(), "SUCCESS", message, data);
     }
 
     public static <T> ApiResponse<T> error(String message) {
-        return new ApiResponse<>(UUID.randomUUID().toString(), "ERROR", message, null);
+        return new ApiResponse<>(ContextoTraza.actual(), "ERROR", message, null);
     }
 
     public static <T> ApiResponse<T> error(String traceId, String message) {
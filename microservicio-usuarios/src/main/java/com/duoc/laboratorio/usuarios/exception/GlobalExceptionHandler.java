@@ -1,6 +1,8 @@
 package com.duoc.laboratorio.usuarios.exception;
 
+import com.duoc.laboratorio.usuarios.config.ContextoTraza;
 import com.duoc.laboratorio.usuarios.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,7 +11,6 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -26,6 +27,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(ServicioSaturadoException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServicioSaturadoException(ServicioSaturadoException ex) {
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
@@ -37,7 +46,7 @@ public class GlobalExceptionHandler {
         });
 
         ApiResponse<Map<String, String>> response = new ApiResponse<>(
-            UUID.randomUUID().toString(),
+            ContextoTraza.actual(),
             "VALIDATION_ERROR",
             "Error de validación en los campos enviados",
             errors
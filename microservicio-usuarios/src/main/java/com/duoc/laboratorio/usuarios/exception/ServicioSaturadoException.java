@@ -0,0 +1,14 @@
+package com.duoc.laboratorio.usuarios.exception;
+
+/**
+ * El servicio no puede aceptar más trabajo por ahora (se responde 429)
+ */
+public class ServicioSaturadoException extends RuntimeException {
+    public ServicioSaturadoException(String message) {
+        super(message);
+    }
+
+    public ServicioSaturadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
 public class Rol {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_rol")
-    @SequenceGenerator(name = "seq_rol", sequenceName = "SEQ_ROL", allocationSize = 1)
+    @SequenceGenerator(name = "seq_rol", sequenceName = "SEQ_ROL", allocationSize = 50)
     @Column(name = "ID_ROL")
     private Long idRol;
 
@@ -5,16 +5,18 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "USUARIOS")
+@Table(name = "USUARIOS",
+       uniqueConstraints = @UniqueConstraint(name = "UK_USUARIO_EMAIL_NORM", columnNames = "EMAIL_NORMALIZADO"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Usuario {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_usuario")
-    @SequenceGenerator(name = "seq_usuario", sequenceName = "SEQ_USUARIO", allocationSize = 1)
+    @SequenceGenerator(name = "seq_usuario", sequenceName = "SEQ_USUARIO", allocationSize = 50)
     @Column(name = "ID_USUARIO")
     private Long idUsuario;
 
@@ -27,6 +29,13 @@ public class Usuario {
     @Column(name = "EMAIL", nullable = false, unique = true, length = 150)
     private String email;
 
+    /**
+     * Email en minúsculas y sin espacios, usado para búsquedas exactas indexadas.
+     * Se mantiene automáticamente desde {@link #email}.
+     */
+    @Column(name = "EMAIL_NORMALIZADO", nullable = false, length = 150)
+    private String emailNormalizado;
+
     @Column(name = "PASSWORD", nullable = false, length = 255)
     private String password;
 
@@ -43,5 +52,18 @@ public class Usuario {
     protected void onCreate() {
         if (fechaCreacion == null) fechaCreacion = LocalDateTime.now();
         if (activo == null) activo = 1;
+        emailNormalizado = normalizarEmail(email);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        emailNormalizado = normalizarEmail(email);
+    }
+
+    /**
+     * Forma canónica de un email para comparaciones sin distinguir mayúsculas
+     */
+    public static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
 }
@@ -10,14 +10,24 @@ import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-    @Query("SELECT u FROM Usuario u WHERE LOWER(u.email) = LOWER(:email)")
-    Optional<Usuario> findByEmail(@Param("email") String email);
+    Optional<Usuario> findByEmailNormalizado(String emailNormalizado);
+
+    boolean existsByEmailNormalizado(String emailNormalizado);
+
+    /**
+     * Búsqueda sin distinguir mayúsculas: compara exacto contra EMAIL_NORMALIZADO
+     * para que la consulta use su índice único en vez de recorrer la tabla.
+     */
+    default Optional<Usuario> findByEmail(String email) {
+        return findByEmailNormalizado(Usuario.normalizarEmail(email));
+    }
     
     List<Usuario> findByRol(String rol);
     List<Usuario> findByActivo(Integer activo);
     
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM Usuario u WHERE LOWER(u.email) = LOWER(:email)")
-    boolean existsByEmail(@Param("email") String email);
+    default boolean existsByEmail(String email) {
+        return existsByEmailNormalizado(Usuario.normalizarEmail(email));
+    }
     
     @Query("SELECT u FROM Usuario u WHERE u.rol = :rol AND u.activo = :activo")
     List<Usuario> findByRolAndActivo(@Param("rol") String rol, @Param("activo") Integer activo);
@@ -1,5 +1,6 @@
 package com.duoc.laboratorio.usuarios.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,8 +9,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,13 +18,15 @@ import java.util.Collections;
 
 /**
  * Filtro para validar tokens JWT en cada petición
+ * La autenticación se construye desde los claims firmados (sub, rol, idUsuario) sin consultar la BD;
+ * las desactivaciones se aplican mediante {@link RevocacionTokens}
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final RevocacionTokens revocacionTokens;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -34,41 +35,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        // Extraer token del header
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        // Validar token y establecer autenticación
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.error("Error al extraer username del token: " + e.getMessage());
-            }
-        }
+                // Verifica firma y expiración (una sola vez por token, ver JwtUtil)
+                TokenClaims claims = jwtUtil.parse(jwt);
+                String username = claims.getSubject();
+                String rol = claims.getRol();
+                Long idUsuario = claims.getIdUsuario();
 
-        // Validar token y establecer autenticación
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                if (username != null && rol != null && idUsuario != null
+                        && !revocacionTokens.estaRevocado(idUsuario, claims.getIssuedAt())) {
+                    UsernamePasswordAuthenticationToken authenticationToken =
+                            new UsernamePasswordAuthenticationToken(
+                                    new UsuarioAutenticado(idUsuario, username, rol),
+                                    null,
+                                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + rol))
+                            );
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
 
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                
-                logger.debug("Usuario autenticado: " + username);
+                    logger.debug("Usuario autenticado: " + username);
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.error("Error al validar el token: " + e.getMessage());
             }
         }
 
         filterChain.doFilter(request, response);
     }
 }
-
-
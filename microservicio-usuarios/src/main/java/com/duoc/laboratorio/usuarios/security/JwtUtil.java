@@ -1,8 +1,9 @@
 package com.duoc.laboratorio.usuarios.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,13 +11,15 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * Utilidad para generación y validación de tokens JWT
+ * Cada token se verifica una sola vez con {@link #parse(String)}: la clave y el parser se crean
+ * una vez y los tokens verificados se guardan en una cache acotada hasta su expiración
  */
 @Component
 public class JwtUtil {
@@ -27,44 +30,81 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 horas por defecto
     private Long expiration;
 
+    @Value("${jwt.cache.max-entradas:10000}")
+    private int cacheMaxEntradas = 10000;
+
+    private volatile Estado estado;
+
     /**
-     * Extrae el email (username) del token
+     * Clave, parser y cache construidos a partir de la configuración (thread-safe)
      */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    private static final class Estado {
+        private final SecretKey signingKey;
+        private final JwtParser parser;
+        private final TokensVerificadosCache cache;
+
+        private Estado(String secret, int cacheMaxEntradas) {
+            this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            this.parser = Jwts.parser().verifyWith(signingKey).build();
+            this.cache = new TokensVerificadosCache(cacheMaxEntradas);
+        }
     }
 
-    /**
-     * Extrae la fecha de expiración del token
-     */
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private Estado estado() {
+        Estado actual = estado;
+        if (actual == null) {
+            synchronized (this) {
+                actual = estado;
+                if (actual == null) {
+                    actual = new Estado(secret, cacheMaxEntradas);
+                    estado = actual;
+                }
+            }
+        }
+        return actual;
     }
 
     /**
-     * Extrae un claim específico del token
+     * Verifica firma y expiración del token y retorna sus claims
+     *
+     * @throws JwtException si el token es inválido o expiró
+     * @throws IllegalArgumentException si el token está vacío
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public TokenClaims parse(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("El token JWT está vacío");
+        }
+        Estado actual = estado();
+        TokenClaims verificado = actual.cache.obtener(token);
+        if (verificado != null) {
+            return verificado;
+        }
+
+        Claims claims = actual.parser.parseSignedClaims(token).getPayload();
+        verificado = new TokenClaims(
+                claims.getSubject(),
+                claims.get("rol", String.class),
+                claims.get("idUsuario", Long.class),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration())
+        );
+        actual.cache.guardar(token, verificado);
+        return verificado;
     }
 
     /**
-     * Extrae todos los claims del token
+     * Extrae el email (username) del token
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public String extractUsername(String token) {
+        return parse(token).getSubject();
     }
 
     /**
-     * Verifica si el token ha expirado
+     * Extrae la fecha de expiración del token
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Date extractExpiration(String token) {
+        Instant instante = parse(token).getExpiration();
+        return instante != null ? Date.from(instante) : null;
     }
 
     /**
@@ -89,12 +129,13 @@ public class JwtUtil {
      * Crea el token JWT
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        long ahora = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .claims(claims)
+                .subject(subject)
+                .issuedAt(new Date(ahora))
+                .expiration(new Date(ahora + expiration))
+                .signWith(estado().signingKey, Jwts.SIG.HS512)
                 .compact();
     }
 
@@ -102,8 +143,7 @@ public class JwtUtil {
      * Valida el token contra los detalles del usuario
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return parse(token).getSubject().equals(userDetails.getUsername());
     }
 
     /**
@@ -111,35 +151,28 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
+            parse(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
-    /**
-     * Obtiene la clave de firma
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     /**
      * Extrae el rol del token
      */
     public String extractRole(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("rol", String.class);
+        return parse(token).getRol();
     }
 
     /**
      * Extrae el ID de usuario del token
      */
     public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("idUsuario", Long.class);
+        return parse(token).getIdUsuario();
     }
-}
 
+    private static Instant toInstant(Date fecha) {
+        return fecha != null ? fecha.toInstant() : null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import com.duoc.laboratorio.usuarios.exception.ServicioSaturadoException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder que ejecuta el hashing (BCrypt) en un pool acotado
+ * El pool tiene un hilo por núcleo y una cola de capacidad fija: cuando la cola está llena
+ * se lanza {@link ServicioSaturadoException} (429) en vez de acumular peticiones
+ */
+public class PasswordEncoderAcotado implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegado;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordEncoderAcotado(PasswordEncoder delegado, int hilos, int capacidadCola) {
+        this.delegado = delegado;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "password-hash-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ejecutar(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return ejecutar(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Tareas en espera en la cola del pool
+     */
+    public int getTareasEnCola() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T ejecutar(Callable<T> tarea) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(tarea);
+        } catch (RejectedExecutionException e) {
+            throw new ServicioSaturadoException("Demasiadas solicitudes de autenticación. Intente nuevamente en unos segundos", e);
+        }
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing de contraseña interrumpido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Error al procesar la contraseña", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
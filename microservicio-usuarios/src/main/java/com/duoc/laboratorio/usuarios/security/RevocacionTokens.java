@@ -0,0 +1,45 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de tokens revocados
+ * Guarda por ID de usuario el instante de revocación: los tokens emitidos hasta ese
+ * instante dejan de ser válidos (desactivación, eliminación o cambio de rol).
+ * Una entrada se descarta cuando todos los tokens anteriores a ella ya expiraron,
+ * por lo que el registro se mantiene pequeño. Es local a cada instancia del microservicio.
+ */
+@Component
+public class RevocacionTokens {
+
+    private final Map<Long, Long> revocadosHasta = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration:86400000}")
+    private Long expiration;
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para el usuario
+     */
+    public void revocar(Long idUsuario) {
+        long ahora = System.currentTimeMillis();
+        revocadosHasta.merge(idUsuario, ahora, Math::max);
+        revocadosHasta.values().removeIf(instante -> instante + expiration < ahora);
+    }
+
+    /**
+     * Indica si un token del usuario, emitido en la fecha indicada, fue revocado
+     * La fecha de emisión del JWT tiene precisión de segundos: ante la duda se considera revocado
+     */
+    public boolean estaRevocado(Long idUsuario, Instant emitidoEn) {
+        Long instante = revocadosHasta.get(idUsuario);
+        if (instante == null) {
+            return false;
+        }
+        return emitidoEn == null || emitidoEn.toEpochMilli() <= instante;
+    }
+}
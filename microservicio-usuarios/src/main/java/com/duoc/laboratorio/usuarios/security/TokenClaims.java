@@ -0,0 +1,20 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Vista inmutable de los claims de un token JWT ya verificado
+ */
+@Getter
+@AllArgsConstructor
+public final class TokenClaims {
+
+    private final String subject;
+    private final String rol;
+    private final Long idUsuario;
+    private final Instant issuedAt;
+    private final Instant expiration;
+}
@@ -0,0 +1,95 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Cache acotada de tokens ya verificados (Caffeine)
+ * La clave es el token completo: la firma sola no sirve, porque la misma firma
+ * con otro payload resolvería a los claims del token original. Cada entrada vence
+ * junto con el token y, si la cache se llena, Caffeine descarta según frecuencia
+ * de uso en tiempo constante. Con maxEntradas <= 0 la cache queda desactivada.
+ */
+class TokensVerificadosCache {
+
+    private final Cache<String, TokenClaims> entradas;
+
+    TokensVerificadosCache(int maxEntradas) {
+        this(maxEntradas, Clock.systemUTC(), Ticker.systemTicker(), false);
+    }
+
+    /**
+     * Con reloj fijo para tests: el vencimiento y el mantenimiento de la cache
+     * usan ese reloj y se ejecutan en el hilo que llama
+     */
+    TokensVerificadosCache(int maxEntradas, Clock reloj) {
+        this(maxEntradas, reloj, () -> reloj.millis() * 1_000_000L, true);
+    }
+
+    private TokensVerificadosCache(int maxEntradas, Clock reloj, Ticker ticker, boolean sincronica) {
+        if (maxEntradas <= 0) {
+            this.entradas = null;
+            return;
+        }
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(maxEntradas)
+            .ticker(ticker);
+        if (sincronica) {
+            builder.executor(Runnable::run);
+        }
+        this.entradas = builder
+            .expireAfter(new VenceConElToken(reloj))
+            .build();
+    }
+
+    /**
+     * Obtiene los claims de un token verificado que aún no expira
+     */
+    TokenClaims obtener(String token) {
+        return entradas != null ? entradas.getIfPresent(token) : null;
+    }
+
+    /**
+     * Guarda los claims de un token recién verificado (los tokens sin expiración no se guardan)
+     */
+    void guardar(String token, TokenClaims claims) {
+        if (entradas == null || claims.getExpiration() == null) {
+            return;
+        }
+        entradas.put(token, claims);
+    }
+
+    long tamano() {
+        if (entradas == null) {
+            return 0;
+        }
+        entradas.cleanUp();
+        return entradas.estimatedSize();
+    }
+
+    /**
+     * Cada entrada vive hasta la expiración de su token; leerla no la extiende
+     */
+    private record VenceConElToken(Clock reloj) implements Expiry<String, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(String token, TokenClaims claims, long ahoraNanos) {
+            return Math.max(0, Duration.between(reloj.instant(), claims.getExpiration()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, TokenClaims claims, long ahoraNanos, long restanteNanos) {
+            return expireAfterCreate(token, claims, ahoraNanos);
+        }
+
+        @Override
+        public long expireAfterRead(String token, TokenClaims claims, long ahoraNanos, long restanteNanos) {
+            return restanteNanos;
+        }
+    }
+}
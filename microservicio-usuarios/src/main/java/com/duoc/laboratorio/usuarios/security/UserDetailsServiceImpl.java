@@ -26,7 +26,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email: " + email));
 
-        if (!usuario.isActivo()) {
+        boolean activo = Integer.valueOf(1).equals(usuario.getActivo());
+        if (!activo) {
             throw new UsernameNotFoundException("Usuario inactivo: " + email);
         }
 
@@ -37,7 +38,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .accountExpired(false)
                 .accountLocked(false)
                 .credentialsExpired(false)
-                .disabled(!usuario.isActivo())
+                .disabled(!activo)
                 .build();
     }
 }
@@ -0,0 +1,29 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+
+/**
+ * Usuario autenticado construido desde los claims firmados del token JWT
+ * (sin consultar la base de datos)
+ */
+@Getter
+@AllArgsConstructor
+public class UsuarioAutenticado implements Principal {
+
+    private final Long idUsuario;
+    private final String email;
+    private final String rol;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
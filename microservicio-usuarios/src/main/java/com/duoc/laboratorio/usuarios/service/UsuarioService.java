@@ -6,17 +6,24 @@ import com.duoc.laboratorio.usuarios.exception.ResourceNotFoundException;
 import com.duoc.laboratorio.usuarios.model.Usuario;
 import com.duoc.laboratorio.usuarios.repository.UsuarioRepository;
 import com.duoc.laboratorio.usuarios.security.JwtUtil;
+import com.duoc.laboratorio.usuarios.security.RevocacionTokens;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class UsuarioService {
 
+    /** Contador de intentos de login, por resultado (exito/fallo) y motivo del fallo */
+    static final String METRICA_LOGIN = "usuarios.login";
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -26,6 +33,13 @@ public class UsuarioService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RevocacionTokens revocacionTokens;
+
+    /**
+     * El hash BCrypt se calcula fuera de transacción para no retener una conexión del pool
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UsuarioDTO registrarUsuario(RegistroRequest request) {
         if (usuarioRepository.existsByEmail(request.getEmail())) {
             throw new BadRequestException("El email ya está registrado en el sistema");
@@ -43,20 +57,37 @@ public class UsuarioService {
         return convertirADTO(usuarioGuardado);
     }
 
+    /**
+     * La verificación BCrypt se ejecuta fuera de transacción, en el pool acotado del PasswordEncoder;
+     * cada consulta usa su propia transacción corta
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponse login(LoginRequest request) {
-        Usuario usuario = usuarioRepository.findByEmail(request.getEmail())
-            .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+        Usuario usuario = usuarioRepository.findByEmail(request.getEmail()).orElse(null);
+        if (usuario == null) {
+            contarLogin("fallo", "usuario_inexistente");
+            throw new ResourceNotFoundException("Usuario no encontrado");
+        }
 
         if (usuario.getActivo() == 0) {
+            contarLogin("fallo", "inactivo");
             throw new BadRequestException("Usuario inactivo. Contacte al administrador");
         }
 
         if (!passwordEncoder.matches(request.getPassword(), usuario.getPassword())) {
+            contarLogin("fallo", "credenciales");
             throw new BadRequestException("Credenciales incorrectas");
         }
 
+        // Rehash transparente si el factor de trabajo configurado cambió
+        if (passwordEncoder.upgradeEncoding(usuario.getPassword())) {
+            usuario.setPassword(passwordEncoder.encode(request.getPassword()));
+            usuarioRepository.save(usuario);
+        }
+
         // Generar token JWT
         String token = jwtUtil.generateToken(usuario.getEmail(), usuario.getRol(), usuario.getIdUsuario());
+        contarLogin("exito", "ninguno");
 
         return new LoginResponse(
             usuario.getIdUsuario(),
@@ -94,11 +125,16 @@ public class UsuarioService {
         Usuario usuario = usuarioRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + id));
 
-        if (!usuario.getEmail().equals(usuarioDTO.getEmail()) && 
+        if (!Objects.equals(Usuario.normalizarEmail(usuario.getEmail()), Usuario.normalizarEmail(usuarioDTO.getEmail())) &&
             usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
             throw new BadRequestException("El email ya está registrado en el sistema");
         }
 
+        // Los tokens emitidos llevan email y rol: si cambian, o el usuario se desactiva, se revocan
+        boolean revocarTokens = !Objects.equals(usuario.getEmail(), usuarioDTO.getEmail())
+            || !Objects.equals(usuario.getRol(), usuarioDTO.getRol())
+            || !Integer.valueOf(1).equals(usuarioDTO.getActivo());
+
         usuario.setNombre(usuarioDTO.getNombre());
         usuario.setApellido(usuarioDTO.getApellido());
         usuario.setEmail(usuarioDTO.getEmail());
@@ -106,6 +142,9 @@ public class UsuarioService {
         usuario.setActivo(usuarioDTO.getActivo());
 
         Usuario usuarioActualizado = usuarioRepository.save(usuario);
+        if (revocarTokens) {
+            revocacionTokens.revocar(id);
+        }
         return convertirADTO(usuarioActualizado);
     }
 
@@ -114,6 +153,7 @@ public class UsuarioService {
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + id));
         usuario.setActivo(0);
         usuarioRepository.save(usuario);
+        revocacionTokens.revocar(id);
     }
 
     public void eliminarUsuarioPermanente(Long id) {
@@ -121,6 +161,7 @@ public class UsuarioService {
             throw new ResourceNotFoundException("Usuario no encontrado con ID: " + id);
         }
         usuarioRepository.deleteById(id);
+        revocacionTokens.revocar(id);
     }
 
     @Transactional(readOnly = true)
@@ -143,6 +184,7 @@ public class UsuarioService {
         // En producción: generar token temporal, enviar email, etc.
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cambiarPassword(Long idUsuario, String passwordActual, String passwordNueva) {
         Usuario usuario = usuarioRepository.findById(idUsuario)
             .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con ID: " + idUsuario));
@@ -163,6 +205,13 @@ public class UsuarioService {
         
         usuario.setActivo(activar ? 1 : 0);
         usuarioRepository.save(usuario);
+        if (!activar) {
+            revocacionTokens.revocar(idUsuario);
+        }
+    }
+
+    private static void contarLogin(String resultado, String motivo) {
+        Metrics.counter(METRICA_LOGIN, "resultado", resultado, "motivo", motivo).increment();
     }
 
     private UsuarioDTO convertirADTO(Usuario usuario) {
@@ -0,0 +1,21 @@
+-- ========================================
+-- V1_2: EMAIL_NORMALIZADO EN USUARIOS
+-- Las búsquedas por email dejaban de usar índice al comparar LOWER(EMAIL). Se
+-- agrega la columna normalizada, se rellena y se protege con un índice único.
+-- Compatible con Oracle y con H2 en modo Oracle (tests)
+-- ========================================
+
+ALTER TABLE USUARIOS ADD (EMAIL_NORMALIZADO VARCHAR2(150));
+
+-- USUARIOS es pequeña: una sola actualización
+UPDATE USUARIOS
+   SET EMAIL_NORMALIZADO = LOWER(TRIM(EMAIL))
+ WHERE EMAIL_NORMALIZADO IS NULL;
+
+-- Falla si dos emails difieren solo en mayúsculas o espacios; para listarlos:
+-- SELECT LOWER(TRIM(EMAIL)), COUNT(*) FROM USUARIOS GROUP BY LOWER(TRIM(EMAIL)) HAVING COUNT(*) > 1
+ALTER TABLE USUARIOS MODIFY (EMAIL_NORMALIZADO NOT NULL);
+ALTER TABLE USUARIOS ADD CONSTRAINT UK_USUARIO_EMAIL_NORM UNIQUE (EMAIL_NORMALIZADO);
+
+-- Redundante: EMAIL ya es UNIQUE y las búsquedas usan EMAIL_NORMALIZADO
+DROP INDEX IDX_USUARIO_EMAIL;
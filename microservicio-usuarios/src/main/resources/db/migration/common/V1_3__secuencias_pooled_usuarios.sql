@@ -0,0 +1,9 @@
+-- ========================================
+-- V1_3: SECUENCIAS CON BLOQUES DE IDS
+-- Las entidades reservan IDs por bloques (optimizador pooled de Hibernate): un
+-- NEXTVAL = N reserva el rango (N - 49 .. N), por lo que los IDs ya asignados
+-- no se reutilizan. Compatible con Oracle y con H2 en modo Oracle (tests)
+-- ========================================
+
+ALTER SEQUENCE SEQ_USUARIO INCREMENT BY 50;
+ALTER SEQUENCE SEQ_ROL INCREMENT BY 50;
@@ -0,0 +1,56 @@
+-- ========================================
+-- V1: LÍNEA BASE DEL MICROSERVICIO DE USUARIOS
+-- Tablas ROLES y USUARIOS tal como las crea db/init.sql (línea base 1.1: una
+-- BD creada con ese script se registra en esta versión sin ejecutarla).
+-- Compatible con Oracle y con H2 en modo Oracle (tests)
+-- ========================================
+
+CREATE SEQUENCE SEQ_USUARIO START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_ROL START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE ROLES (
+    ID_ROL NUMBER PRIMARY KEY,
+    NOMBRE VARCHAR2(50) NOT NULL UNIQUE,
+    DESCRIPCION VARCHAR2(200),
+    PERMISOS VARCHAR2(500),
+    CONSTRAINT CHK_ROL_NOMBRE CHECK (NOMBRE IN ('ADMINISTRADOR', 'PACIENTE', 'LABORATORISTA', 'MEDICO'))
+);
+
+CREATE TABLE USUARIOS (
+    ID_USUARIO NUMBER PRIMARY KEY,
+    NOMBRE VARCHAR2(100) NOT NULL,
+    APELLIDO VARCHAR2(100) NOT NULL,
+    EMAIL VARCHAR2(150) NOT NULL UNIQUE,
+    PASSWORD VARCHAR2(255) NOT NULL,
+    ROL VARCHAR2(50) NOT NULL,
+    FECHA_CREACION TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    ACTIVO NUMBER(1) DEFAULT 1,
+    CONSTRAINT CHK_USUARIO_ACTIVO CHECK (ACTIVO IN (0, 1)),
+    CONSTRAINT CHK_USUARIO_ROL CHECK (ROL IN ('ADMINISTRADOR', 'PACIENTE', 'LABORATORISTA', 'MEDICO'))
+);
+
+CREATE INDEX IDX_USUARIO_EMAIL ON USUARIOS(EMAIL);
+CREATE INDEX IDX_USUARIO_ROL ON USUARIOS(ROL);
+
+-- Roles
+INSERT INTO ROLES VALUES (SEQ_ROL.NEXTVAL, 'ADMINISTRADOR', 'Administrador del sistema con acceso completo', 'ALL');
+INSERT INTO ROLES VALUES (SEQ_ROL.NEXTVAL, 'PACIENTE', 'Paciente que puede agendar citas y ver resultados', 'READ,CREATE_CITA');
+INSERT INTO ROLES VALUES (SEQ_ROL.NEXTVAL, 'LABORATORISTA', 'Personal de laboratorio', 'READ,WRITE,UPDATE_RESULTADO');
+INSERT INTO ROLES VALUES (SEQ_ROL.NEXTVAL, 'MEDICO', 'Médico que puede ver resultados de pacientes', 'READ,CREATE_CITA');
+
+-- Usuarios de prueba (los IDs 2, 3 y 5 se referencian desde CITAS y RESULTADOS_ANALISIS)
+INSERT INTO USUARIOS (ID_USUARIO, NOMBRE, APELLIDO, EMAIL, PASSWORD, ROL, ACTIVO)
+VALUES (SEQ_USUARIO.NEXTVAL, 'Admin', 'Sistema', 'admin@lab.cl', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'ADMINISTRADOR', 1);
+
+INSERT INTO USUARIOS (ID_USUARIO, NOMBRE, APELLIDO, EMAIL, PASSWORD, ROL, ACTIVO)
+VALUES (SEQ_USUARIO.NEXTVAL, 'María', 'González', 'maria.gonzalez@email.cl', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'PACIENTE', 1);
+
+INSERT INTO USUARIOS (ID_USUARIO, NOMBRE, APELLIDO, EMAIL, PASSWORD, ROL, ACTIVO)
+VALUES (SEQ_USUARIO.NEXTVAL, 'Carlos', 'López', 'carlos.lopez@lab.cl', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'LABORATORISTA', 1);
+
+INSERT INTO USUARIOS (ID_USUARIO, NOMBRE, APELLIDO, EMAIL, PASSWORD, ROL, ACTIVO)
+VALUES (SEQ_USUARIO.NEXTVAL, 'Ana', 'Martínez', 'ana.martinez@hospital.cl', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'MEDICO', 1);
+
+INSERT INTO USUARIOS (ID_USUARIO, NOMBRE, APELLIDO, EMAIL, PASSWORD, ROL, ACTIVO)
+VALUES (SEQ_USUARIO.NEXTVAL, 'Pedro', 'Silva', 'pedro.silva@email.cl', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy', 'PACIENTE', 1);
+
@@ -1,6 +1,8 @@
 package com.duoc.laboratorio.usuarios.controller;
 
 import com.duoc.laboratorio.usuarios.dto.*;
+import com.duoc.laboratorio.usuarios.security.JwtUtil;
+import com.duoc.laboratorio.usuarios.security.RevocacionTokens;
 import com.duoc.laboratorio.usuarios.service.UsuarioService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +42,13 @@ class UsuarioControllerTest {
     @MockBean
     private UsuarioService usuarioService;
 
+    // Dependencias de JwtAuthenticationFilter, que @WebMvcTest registra aunque no se ejecute
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private RevocacionTokens revocacionTokens;
+
     private UsuarioDTO usuarioDTO;
     private RegistroRequest registroRequest;
     private LoginRequest loginRequest;
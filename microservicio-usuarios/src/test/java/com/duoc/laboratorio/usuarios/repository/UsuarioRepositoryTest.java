@@ -0,0 +1,116 @@
+package com.duoc.laboratorio.usuarios.repository;
+
+import com.duoc.laboratorio.usuarios.model.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de UsuarioRepository contra H2 con una tabla de usuarios poblada,
+ * verificando que la búsqueda por email use el índice de EMAIL_NORMALIZADO.
+ * El esquema lo crean las migraciones de Flyway (H2 en modo Oracle), igual que
+ * en producción.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.test.database.replace=none",
+    "spring.datasource.url=jdbc:h2:mem:usuarios;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.show-sql=false"
+})
+@DisplayName("UsuarioRepository Tests")
+class UsuarioRepositoryTest {
+
+    private static final int TOTAL_USUARIOS = 20_000;
+
+    /** IDs sembrados fuera del rango de los datos iniciales y de SEQ_USUARIO */
+    private static final long ID_BASE = 1_000_000L;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> filas = new ArrayList<>(TOTAL_USUARIOS);
+        for (int i = 1; i <= TOTAL_USUARIOS; i++) {
+            String email = "Usuario" + i + "@Lab.cl";
+            filas.add(new Object[]{ID_BASE + i, "Nombre" + i, "Apellido" + i, email,
+                Usuario.normalizarEmail(email), "$2a$10$hash", "PACIENTE", 1});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO USUARIOS (ID_USUARIO, NOMBRE, APELLIDO, EMAIL, EMAIL_NORMALIZADO, PASSWORD, ROL, ACTIVO) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", filas);
+    }
+
+    @Test
+    @DisplayName("findByEmail encuentra al usuario sin distinguir mayúsculas ni espacios")
+    void testFindByEmail_SinDistinguirMayusculas() {
+        // Act
+        Optional<Usuario> resultado = usuarioRepository.findByEmail("  USUARIO12345@lab.CL ");
+
+        // Assert
+        assertTrue(resultado.isPresent());
+        assertEquals(ID_BASE + 12345, resultado.get().getIdUsuario());
+        assertEquals("Usuario12345@Lab.cl", resultado.get().getEmail());
+    }
+
+    @Test
+    @DisplayName("existsByEmail compara contra el email normalizado")
+    void testExistsByEmail() {
+        // Act & Assert
+        assertTrue(usuarioRepository.existsByEmail("usuario1@LAB.CL"));
+        assertFalse(usuarioRepository.existsByEmail("noexiste@lab.cl"));
+    }
+
+    @Test
+    @DisplayName("Al guardar un usuario se calcula EMAIL_NORMALIZADO")
+    void testSave_CalculaEmailNormalizado() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setNombre("Nuevo");
+        usuario.setApellido("Usuario");
+        usuario.setEmail(" Nuevo.Usuario@Email.CL");
+        usuario.setPassword("$2a$10$hash");
+        usuario.setRol("PACIENTE");
+
+        // Act
+        usuarioRepository.saveAndFlush(usuario);
+
+        // Assert
+        String normalizado = jdbcTemplate.queryForObject(
+            "SELECT EMAIL_NORMALIZADO FROM USUARIOS WHERE ID_USUARIO = ?", String.class, usuario.getIdUsuario());
+        assertEquals("nuevo.usuario@email.cl", normalizado);
+    }
+
+    @Test
+    @DisplayName("La búsqueda por EMAIL_NORMALIZADO usa el índice único y no recorre la tabla")
+    void testPlanConsulta_UsaIndice() {
+        // Act
+        String planNormalizado = jdbcTemplate.queryForObject(
+            "EXPLAIN SELECT * FROM USUARIOS WHERE EMAIL_NORMALIZADO = 'usuario12345@lab.cl'", String.class);
+        String planLower = jdbcTemplate.queryForObject(
+            "EXPLAIN SELECT * FROM USUARIOS WHERE LOWER(EMAIL) = 'usuario12345@lab.cl'", String.class);
+
+        // Assert
+        assertTrue(planNormalizado.contains("UK_USUARIO_EMAIL_NORM"), planNormalizado);
+        assertFalse(planNormalizado.contains("tableScan"), planNormalizado);
+        assertTrue(planLower.contains("tableScan"), planLower);
+    }
+}
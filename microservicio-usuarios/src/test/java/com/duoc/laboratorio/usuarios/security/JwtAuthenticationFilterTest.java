@@ -0,0 +1,96 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para JwtAuthenticationFilter
+ */
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private JwtUtil jwtUtil;
+    private RevocacionTokens revocacionTokens;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret",
+            "LaboratorioSecretKeyForJWTTokenGenerationAndValidation2025MustBeLongEnoughForHS512Algorithm");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+
+        revocacionTokens = new RevocacionTokens();
+        ReflectionTestUtils.setField(revocacionTokens, "expiration", 86400000L);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, revocacionTokens);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Autentica desde los claims del token sin consultar la BD")
+    void testDoFilter_TokenValido() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken("test@example.com", "MEDICO", 4L);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("test@example.com", authentication.getName());
+        assertEquals(4L, ((UsuarioAutenticado) authentication.getPrincipal()).getIdUsuario());
+        assertTrue(authentication.getAuthorities().stream()
+            .anyMatch(a -> a.getAuthority().equals("ROLE_MEDICO")));
+    }
+
+    @Test
+    @DisplayName("No autentica tokens de usuarios revocados")
+    void testDoFilter_TokenRevocado() throws Exception {
+        // Arrange
+        String token = jwtUtil.generateToken("test@example.com", "MEDICO", 4L);
+        revocacionTokens.revocar(4L);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("No autentica tokens inválidos")
+    void testDoFilter_TokenInvalido() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token.invalido.123");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest()); // la cadena continúa
+    }
+}
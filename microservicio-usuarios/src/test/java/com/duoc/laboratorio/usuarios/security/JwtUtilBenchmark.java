@@ -0,0 +1,88 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la validación de tokens por petición
+ *
+ * - anterior: lo que hacía el filtro antes (extractUsername + validateToken = 3 parseos,
+ *   cada uno creando un parser nuevo y derivando la clave HMAC desde el secreto)
+ * - sinCache: JwtUtil.parse con clave y parser precreados, cache desactivada
+ * - conCache: JwtUtil.parse con la cache de tokens verificados (peticiones repetidas)
+ *
+ * Ejecutar: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.duoc.laboratorio.usuarios.security.JwtUtilBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET =
+        "LaboratorioSecretKeyForJWTTokenGenerationAndValidation2025MustBeLongEnoughForHS512Algorithm";
+
+    private JwtUtil sinCache;
+    private JwtUtil conCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        sinCache = crear(0);
+        conCache = crear(10000);
+        token = conCache.generateToken("test@example.com", "PACIENTE", 1L);
+    }
+
+    @Benchmark
+    public boolean anterior() {
+        String username = parseAnterior(token).getSubject();
+        String usernameValidacion = parseAnterior(token).getSubject();
+        Date expiracion = parseAnterior(token).getExpiration();
+        return username.equals(usernameValidacion) && !expiracion.before(new Date());
+    }
+
+    @Benchmark
+    public TokenClaims sinCache() {
+        return sinCache.parse(token);
+    }
+
+    @Benchmark
+    public TokenClaims conCache() {
+        return conCache.parse(token);
+    }
+
+    private static Claims parseAnterior(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static JwtUtil crear(int cacheMaxEntradas) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntradas", cacheMaxEntradas);
+        return jwtUtil;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
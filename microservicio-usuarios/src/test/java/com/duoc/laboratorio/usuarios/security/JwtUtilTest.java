@@ -173,6 +173,59 @@ class JwtUtilTest {
         assertNotNull(expiration);
         assertTrue(expiration.getTime() > System.currentTimeMillis());
     }
-}
 
+    @Test
+    @DisplayName("Parse retorna todos los claims del token en una sola verificación")
+    void testParse() {
+        // Arrange
+        String token = jwtUtil.generateToken(testEmail, testRol, testUserId);
+
+        // Act
+        TokenClaims claims = jwtUtil.parse(token);
+
+        // Assert
+        assertEquals(testEmail, claims.getSubject());
+        assertEquals(testRol, claims.getRol());
+        assertEquals(testUserId, claims.getIdUsuario());
+        assertNotNull(claims.getIssuedAt());
+        assertTrue(claims.getExpiration().isAfter(claims.getIssuedAt()));
+    }
+
+    @Test
+    @DisplayName("Un token ya verificado se obtiene desde la cache")
+    void testParse_UsaCache() {
+        // Arrange
+        String token = jwtUtil.generateToken(testEmail, testRol, testUserId);
+
+        // Act
+        TokenClaims primera = jwtUtil.parse(token);
+        TokenClaims segunda = jwtUtil.parse(token);
+
+        // Assert
+        assertSame(primera, segunda);
+    }
+
+    @Test
+    @DisplayName("Un token adulterado no se acepta aunque el original esté en cache")
+    void testParse_TokenAdulterado() {
+        // Arrange
+        String token = jwtUtil.generateToken(testEmail, testRol, testUserId);
+        jwtUtil.parse(token);
+        String[] partes = token.split("\\.");
+        String adulterado = partes[0] + "." + partes[1] + "." + new StringBuilder(partes[2]).reverse();
 
+        // Act & Assert
+        assertFalse(jwtUtil.validateToken(adulterado));
+    }
+
+    @Test
+    @DisplayName("Token expirado debe fallar validación")
+    void testValidateToken_Expirado() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1000L);
+        String token = jwtUtil.generateToken(testEmail, testRol, testUserId);
+
+        // Act & Assert
+        assertFalse(jwtUtil.validateToken(token));
+    }
+}
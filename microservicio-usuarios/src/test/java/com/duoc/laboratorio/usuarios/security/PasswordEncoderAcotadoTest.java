@@ -0,0 +1,98 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import com.duoc.laboratorio.usuarios.exception.ServicioSaturadoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para PasswordEncoderAcotado
+ */
+@DisplayName("PasswordEncoderAcotado Tests")
+class PasswordEncoderAcotadoTest {
+
+    private PasswordEncoderAcotado encoder;
+    private ExecutorService clientes;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+        if (clientes != null) {
+            clientes.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Codifica y verifica usando BCrypt en el pool")
+    void testEncodeYMatches() {
+        // Arrange
+        encoder = new PasswordEncoderAcotado(new BCryptPasswordEncoder(4), 2, 4);
+
+        // Act
+        String hash = encoder.encode("Password123*");
+
+        // Assert
+        assertTrue(encoder.matches("Password123*", hash));
+        assertFalse(encoder.matches("otra", hash));
+    }
+
+    @Test
+    @DisplayName("Detecta hashes con un factor de trabajo menor al configurado")
+    void testUpgradeEncoding() {
+        // Arrange
+        encoder = new PasswordEncoderAcotado(new BCryptPasswordEncoder(6), 1, 1);
+        String hashAntiguo = new BCryptPasswordEncoder(4).encode("Password123*");
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(hashAntiguo));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("Password123*")));
+    }
+
+    @Test
+    @DisplayName("Con el pool ocupado y la cola llena responde saturado")
+    void testCola_Llena() throws Exception {
+        // Arrange: un hilo bloqueado y una tarea en cola
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch enEjecucion = new CountDownLatch(1);
+        PasswordEncoder lento = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                enEjecucion.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        encoder = new PasswordEncoderAcotado(lento, 1, 1);
+        clientes = Executors.newFixedThreadPool(2);
+        clientes.submit(() -> encoder.encode("a"));
+        assertTrue(enEjecucion.await(5, TimeUnit.SECONDS));
+        clientes.submit(() -> encoder.encode("b"));
+        while (encoder.getTareasEnCola() < 1) {
+            Thread.sleep(5);
+        }
+
+        // Act & Assert
+        assertThrows(ServicioSaturadoException.class, () -> encoder.matches("c", "hash"));
+        liberar.countDown();
+    }
+}
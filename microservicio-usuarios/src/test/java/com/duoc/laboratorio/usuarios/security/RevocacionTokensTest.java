@@ -0,0 +1,70 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RevocacionTokens
+ */
+@DisplayName("RevocacionTokens Tests")
+class RevocacionTokensTest {
+
+    private RevocacionTokens revocacionTokens;
+
+    @BeforeEach
+    void setUp() {
+        revocacionTokens = new RevocacionTokens();
+        ReflectionTestUtils.setField(revocacionTokens, "expiration", 86400000L);
+    }
+
+    @Test
+    @DisplayName("Tokens emitidos antes de la revocación quedan revocados")
+    void testEstaRevocado_TokenAnterior() {
+        // Arrange
+        Instant emitido = Instant.now().minusSeconds(60);
+
+        // Act
+        revocacionTokens.revocar(1L);
+
+        // Assert
+        assertTrue(revocacionTokens.estaRevocado(1L, emitido));
+        assertFalse(revocacionTokens.estaRevocado(2L, emitido));
+    }
+
+    @Test
+    @DisplayName("Tokens emitidos después de la revocación siguen siendo válidos")
+    void testEstaRevocado_TokenPosterior() {
+        // Arrange
+        revocacionTokens.revocar(1L);
+
+        // Act
+        Instant emitido = Instant.now().plusSeconds(5);
+
+        // Assert
+        assertFalse(revocacionTokens.estaRevocado(1L, emitido));
+    }
+
+    @Test
+    @DisplayName("Las revocaciones más antiguas que la expiración se descartan")
+    @SuppressWarnings("unchecked")
+    void testRevocar_DescartaEntradasExpiradas() {
+        // Arrange
+        Map<Long, Long> revocadosHasta =
+            (Map<Long, Long>) ReflectionTestUtils.getField(revocacionTokens, "revocadosHasta");
+        revocadosHasta.put(9L, System.currentTimeMillis() - 86400000L - 1000);
+
+        // Act
+        revocacionTokens.revocar(1L);
+
+        // Assert
+        assertFalse(revocadosHasta.containsKey(9L));
+        assertTrue(revocadosHasta.containsKey(1L));
+    }
+}
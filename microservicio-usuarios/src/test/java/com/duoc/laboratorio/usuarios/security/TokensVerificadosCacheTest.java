@@ -0,0 +1,115 @@
+package com.duoc.laboratorio.usuarios.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TokensVerificadosCache
+ */
+@DisplayName("TokensVerificadosCache Tests")
+class TokensVerificadosCacheTest {
+
+    private final Instant ahora = Instant.parse("2025-06-01T12:00:00Z");
+
+    private TokenClaims claims(Instant expiracion) {
+        return new TokenClaims("test@example.com", "PACIENTE", 1L, ahora.minusSeconds(60), expiracion);
+    }
+
+    @Test
+    @DisplayName("Las entradas vencen junto con su token")
+    void testObtener_EntradaVencida() {
+        // Arrange
+        RelojManual reloj = new RelojManual(ahora);
+        TokensVerificadosCache cache = new TokensVerificadosCache(10, reloj);
+        cache.guardar("a", claims(ahora.plusSeconds(30)));
+        assertNotNull(cache.obtener("a"));
+
+        // Act
+        reloj.avanzar(Duration.ofSeconds(31));
+
+        // Assert
+        assertNull(cache.obtener("a"));
+        assertEquals(0, cache.tamano());
+    }
+
+    @Test
+    @DisplayName("La cache no supera el máximo de entradas")
+    void testGuardar_RespetaMaximo() {
+        // Arrange
+        TokensVerificadosCache cache = new TokensVerificadosCache(2, Clock.fixed(ahora, ZoneOffset.UTC));
+
+        // Act
+        cache.guardar("a", claims(ahora.plusSeconds(60)));
+        cache.guardar("b", claims(ahora.plusSeconds(60)));
+        cache.guardar("c", claims(ahora.plusSeconds(60)));
+
+        // Assert
+        assertEquals(2, cache.tamano());
+    }
+
+    @Test
+    @DisplayName("Con máximo cero la cache queda desactivada")
+    void testGuardar_CacheDesactivada() {
+        // Arrange
+        TokensVerificadosCache cache = new TokensVerificadosCache(0);
+
+        // Act
+        cache.guardar("a", claims(ahora.plusSeconds(60)));
+
+        // Assert
+        assertNull(cache.obtener("a"));
+        assertEquals(0, cache.tamano());
+    }
+
+    @Test
+    @DisplayName("Los tokens sin expiración no se guardan")
+    void testGuardar_SinExpiracion() {
+        // Arrange
+        TokensVerificadosCache cache = new TokensVerificadosCache(10, Clock.fixed(ahora, ZoneOffset.UTC));
+
+        // Act
+        cache.guardar("a", claims(null));
+
+        // Assert
+        assertNull(cache.obtener("a"));
+    }
+
+    /**
+     * Reloj que solo avanza cuando el test lo indica
+     */
+    private static final class RelojManual extends Clock {
+
+        private Instant instante;
+
+        RelojManual(Instant instante) {
+            this.instante = instante;
+        }
+
+        void avanzar(Duration duracion) {
+            instante = instante.plus(duracion);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
@@ -6,6 +6,9 @@ import com.duoc.laboratorio.usuarios.exception.ResourceNotFoundException;
 import com.duoc.laboratorio.usuarios.model.Usuario;
 import com.duoc.laboratorio.usuarios.repository.UsuarioRepository;
 import com.duoc.laboratorio.usuarios.security.JwtUtil;
+import com.duoc.laboratorio.usuarios.security.RevocacionTokens;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +24,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -40,6 +44,9 @@ class UsuarioServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private RevocacionTokens revocacionTokens;
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -127,6 +134,40 @@ class UsuarioServiceTest {
         verify(jwtUtil, times(1)).generateToken(anyString(), anyString(), anyLong());
     }
 
+    @Test
+    @DisplayName("Login recalcula el hash si el factor de trabajo cambió")
+    void testLogin_RehashPassword() {
+        // Arrange
+        when(usuarioRepository.findByEmail(anyString())).thenReturn(Optional.of(usuarioTest));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("Password123*")).thenReturn("$2a$12$nuevoHash");
+        when(jwtUtil.generateToken(anyString(), anyString(), anyLong())).thenReturn("mock-jwt-token");
+
+        // Act
+        usuarioService.login(loginRequest);
+
+        // Assert
+        assertEquals("$2a$12$nuevoHash", usuarioTest.getPassword());
+        verify(usuarioRepository, times(1)).save(usuarioTest);
+    }
+
+    @Test
+    @DisplayName("Login sin cambio de factor de trabajo no recalcula el hash")
+    void testLogin_SinRehash() {
+        // Arrange
+        when(usuarioRepository.findByEmail(anyString())).thenReturn(Optional.of(usuarioTest));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(jwtUtil.generateToken(anyString(), anyString(), anyLong())).thenReturn("mock-jwt-token");
+
+        // Act
+        usuarioService.login(loginRequest);
+
+        // Assert
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(usuarioRepository, never()).save(any(Usuario.class));
+    }
+
     @Test
     @DisplayName("Login con usuario no existente debe lanzar ResourceNotFoundException")
     void testLogin_UsuarioNoExiste() {
@@ -158,6 +199,31 @@ class UsuarioServiceTest {
         assertEquals("Credenciales incorrectas", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Login debe contar intentos exitosos y fallidos por motivo")
+    void testLogin_Metricas() {
+        // Arrange
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        Metrics.addRegistry(registro);
+        when(usuarioRepository.findByEmail(anyString())).thenReturn(Optional.of(usuarioTest));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true, false);
+        when(jwtUtil.generateToken(anyString(), anyString(), anyLong())).thenReturn("token");
+
+        try {
+            // Act
+            usuarioService.login(loginRequest);
+            assertThrows(BadRequestException.class, () -> usuarioService.login(loginRequest));
+
+            // Assert
+            assertEquals(1.0, registro.get(UsuarioService.METRICA_LOGIN)
+                .tags("resultado", "exito").counter().count());
+            assertEquals(1.0, registro.get(UsuarioService.METRICA_LOGIN)
+                .tags("resultado", "fallo", "motivo", "credenciales").counter().count());
+        } finally {
+            Metrics.removeRegistry(registro);
+        }
+    }
+
     @Test
     @DisplayName("Login con usuario inactivo debe lanzar BadRequestException")
     void testLogin_UsuarioInactivo() {
@@ -259,6 +325,7 @@ class UsuarioServiceTest {
         // Assert
         assertNotNull(result);
         verify(usuarioRepository, times(1)).save(any(Usuario.class));
+        verify(revocacionTokens, times(1)).revocar(1L); // cambio de rol
     }
 
     @Test
@@ -296,6 +363,7 @@ class UsuarioServiceTest {
 
         // Assert
         verify(usuarioRepository, times(1)).save(any(Usuario.class));
+        verify(revocacionTokens, times(1)).revocar(1L);
     }
 
     @Test
@@ -327,6 +395,35 @@ class UsuarioServiceTest {
         assertEquals(1, result.size());
         verify(usuarioRepository, times(1)).buscarPorNombreOApellido("Juan");
     }
-}
 
+    @Test
+    @DisplayName("Desactivar usuario revoca sus tokens")
+    void testActivarDesactivarUsuario_Desactivar() {
+        // Arrange
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioTest));
+        when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuarioTest);
+
+        // Act
+        usuarioService.activarDesactivarUsuario(1L, false);
 
+        // Assert
+        assertEquals(0, usuarioTest.getActivo());
+        verify(revocacionTokens, times(1)).revocar(1L);
+    }
+
+    @Test
+    @DisplayName("Activar usuario no revoca tokens")
+    void testActivarDesactivarUsuario_Activar() {
+        // Arrange
+        usuarioTest.setActivo(0);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioTest));
+        when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuarioTest);
+
+        // Act
+        usuarioService.activarDesactivarUsuario(1L, true);
+
+        // Assert
+        assertEquals(1, usuarioTest.getActivo());
+        verify(revocacionTokens, never()).revocar(anyLong());
+    }
+}